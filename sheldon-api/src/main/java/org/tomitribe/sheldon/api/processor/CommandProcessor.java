@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.api.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes the names of the commands of every class to {@link #DESCRIPTOR}
+ * so the resource adapter can register the commands of a bean without
+ * reflecting on it at activation.
+ *
+ * One line per class, its binary name followed by the names of its
+ * public command methods, inherited ones included:
+ *
+ * <pre>
+ * org.superbiz.Hello hello bye sum
+ * </pre>
+ *
+ * Annotations are matched by name, crest doesn't have to be on the
+ * processor path.  Classes annotated with @Command themselves are
+ * command groups and are left out, as are classes compiled without
+ * this processor; the adapter scans those as before.
+ */
+@SupportedAnnotationTypes("*")
+public class CommandProcessor extends AbstractProcessor {
+
+    public static final String DESCRIPTOR = "META-INF/sheldon/commands";
+
+    private static final String COMMAND = "org.tomitribe.crest.api.Command";
+
+    private final Map<String, String> classes = new TreeMap<String, String>();
+    private final Set<String> compiled = new HashSet<String>();
+    private final List<Element> originating = new ArrayList<Element>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!compiled.isEmpty()) write();
+            return false;
+        }
+
+        for (final TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            scan(type);
+        }
+
+        // never claim anything, other processors may want the same annotations
+        return false;
+    }
+
+    private void scan(final TypeElement type) {
+        for (final TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            scan(nested);
+        }
+
+        if (type.getKind() != ElementKind.CLASS) return;
+
+        final String name = binaryName(type);
+        compiled.add(name);
+
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return;
+        if (command(type) != null) return;
+
+        final Set<String> names = new LinkedHashSet<String>();
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        for (final ExecutableElement method : methods) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) continue;
+
+            final AnnotationMirror command = command(method);
+            if (command == null) continue;
+
+            names.add(commandName(method, command));
+        }
+
+        if (names.isEmpty()) return;
+
+        final StringBuilder line = new StringBuilder();
+        for (final String command : names) {
+            line.append(' ').append(command);
+        }
+
+        classes.put(name, line.toString());
+        originating.add(type);
+    }
+
+    private static AnnotationMirror command(final Element element) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            final TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (COMMAND.equals(annotation.getQualifiedName().toString())) return mirror;
+        }
+        return null;
+    }
+
+    /**
+     * The value of the annotation when there is one, as crest does
+     */
+    private static String commandName(final ExecutableElement method, final AnnotationMirror command) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : command.getElementValues().entrySet()) {
+            if (!"value".contentEquals(entry.getKey().getSimpleName())) continue;
+
+            Object value = entry.getValue().getValue();
+            if (value instanceof List) {
+                final List<?> values = (List<?>) value;
+                value = values.isEmpty() ? null : ((AnnotationValue) values.get(0)).getValue();
+            }
+
+            if (value != null && value.toString().length() > 0) return value.toString();
+        }
+        return method.getSimpleName().toString();
+    }
+
+    private String binaryName(final TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write() {
+        // incremental builds only hand us the classes that changed
+        boolean previously = false;
+        try {
+            final FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", DESCRIPTOR);
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8));
+            try {
+                previously = true;
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int space = line.indexOf(' ');
+                    if (line.startsWith("#") || space < 0) continue;
+
+                    final String name = line.substring(0, space);
+                    if (!compiled.contains(name)) classes.put(name, line.substring(space));
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // nothing from a previous build
+        }
+
+        if (classes.isEmpty() && !previously) return;
+
+        try {
+            final FileObject descriptor = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", DESCRIPTOR,
+                    originating.toArray(new Element[originating.size()]));
+
+            final PrintWriter writer = new PrintWriter(new OutputStreamWriter(descriptor.openOutputStream(), StandardCharsets.UTF_8));
+            try {
+                writer.println("# Generated by " + CommandProcessor.class.getName());
+                for (final Map.Entry<String, String> entry : classes.entrySet()) {
+                    writer.print(entry.getKey());
+                    writer.println(entry.getValue());
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Cannot write " + DESCRIPTOR + ": " + e.getMessage());
+        }
+    }
+}
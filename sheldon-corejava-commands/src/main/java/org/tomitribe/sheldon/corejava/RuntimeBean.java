@@ -24,7 +24,8 @@ import org.tomitribe.util.Size;
 import org.tomitribe.util.SizeUnit;
 
 import javax.ejb.MessageDriven;
-import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @MessageDriven(name = "Runtime")
 public class RuntimeBean implements CommandListener {
@@ -55,18 +56,20 @@ public class RuntimeBean implements CommandListener {
         return size.toString();
     }
 
+    /**
+     * One line per thread, written as the threads are listed
+     */
     @Command
-    public String threads() {
-        final StringBuilder sb = new StringBuilder();
-        final Set<Thread> threads = Thread.getAllStackTraces().keySet();
-        for (Thread thread : threads) {
-            sb.append("{ id: \"" + thread.getId() + "\"")
-                    .append(" name: \"" + thread.getName() + "\"")
-                    .append(" state: \"" + thread.getState() + "\"")
-                    .append(" priority: \"" + thread.getPriority() + "\"")
-                    .append(" group: \"" + (thread.getThreadGroup() != null ? thread.getThreadGroup().getName() : "none") + "\" }")
-                    .append("\n");
-        }
-        return sb.toString();
+    public Stream<String> threads() {
+        return Thread.getAllStackTraces().keySet().stream().map(new Function<Thread, String>() {
+            @Override
+            public String apply(final Thread thread) {
+                return "{ id: \"" + thread.getId() + "\"" +
+                        " name: \"" + thread.getName() + "\"" +
+                        " state: \"" + thread.getState() + "\"" +
+                        " priority: \"" + thread.getPriority() + "\"" +
+                        " group: \"" + (thread.getThreadGroup() != null ? thread.getThreadGroup().getName() : "none") + "\" }";
+            }
+        });
     }
 }
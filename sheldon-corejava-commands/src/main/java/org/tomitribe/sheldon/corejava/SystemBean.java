@@ -17,12 +17,16 @@
 package org.tomitribe.sheldon.corejava;
 
 import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.api.StreamingOutput;
 import org.tomitribe.sheldon.api.CommandListener;
-import org.tomitribe.util.PrintString;
 
 import javax.ejb.MessageDriven;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.TreeSet;
+import java.util.TreeMap;
 
 @MessageDriven(name = "System")
 public class SystemBean implements CommandListener {
@@ -33,25 +37,34 @@ public class SystemBean implements CommandListener {
     }
 
     @Command
-    public String env() {
-        final PrintString out = new PrintString();
+    public Iterator<String> env() {
+        final Map<String, String> env = new TreeMap<String, String>(System.getenv());
+        final Iterator<Map.Entry<String, String>> entries = env.entrySet().iterator();
 
-        final Map<String, String> env = System.getenv();
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
 
-        for (String key : new TreeSet<String>(env.keySet())) {
-            out.printf("%s = %s%n", key, env.get(key));
-        }
-
-        return out.toString();
+            @Override
+            public String next() {
+                final Map.Entry<String, String> entry = entries.next();
+                return entry.getKey() + " = " + entry.getValue();
+            }
+        };
     }
 
     @Command
-    public String properties() {
-        final PrintString out = new PrintString();
-
-        System.getProperties().list(out);
-
-        return out.toString();
+    public StreamingOutput properties() {
+        return new StreamingOutput() {
+            @Override
+            public void write(final OutputStream os) throws IOException {
+                final PrintStream out = os instanceof PrintStream ? (PrintStream) os : new PrintStream(os);
+                System.getProperties().list(out);
+                out.flush();
+            }
+        };
     }
 
 }
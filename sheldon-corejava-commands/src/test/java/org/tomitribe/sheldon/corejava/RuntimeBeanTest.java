@@ -20,7 +20,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.tomitribe.crest.Main;
 
+import java.util.stream.Stream;
+
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class RuntimeBeanTest {
     private Main main;
@@ -50,8 +53,11 @@ public class RuntimeBeanTest {
 
     @Test
     public void testThreads() throws Exception {
-        final String threads = (String) main.exec("threads");
+        final Stream<?> threads = (Stream<?>) main.exec("threads");
         assertNotNull(threads);
+
+        final String current = "name: \"" + Thread.currentThread().getName() + "\"";
+        assertTrue(threads.map(String::valueOf).anyMatch(line -> line.contains(current)));
     }
 
 }
@@ -19,9 +19,12 @@ package org.tomitribe.sheldon.corejava;
 import org.junit.Before;
 import org.junit.Test;
 import org.tomitribe.crest.Main;
+import org.tomitribe.crest.api.StreamingOutput;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Calendar;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -48,18 +51,29 @@ public class SystemBeanTest {
 
     @Test
     public void testEnv() throws Exception {
-        final String env = (String) main.exec("env");
-        assertNotNull(env);
+        final Iterator<?> lines = (Iterator<?>) main.exec("env");
+        assertNotNull(lines);
+
+        final StringBuilder env = new StringBuilder();
+        while (lines.hasNext()) {
+            env.append(lines.next()).append('\n');
+        }
+
         final Set<String> systemEnvKeys = System.getenv().keySet();
         for (String key : systemEnvKeys) {
-            assertTrue(env.contains(key));
+            assertTrue(env.indexOf(key) >= 0);
         }
     }
 
     @Test
     public void testProperties() throws Exception {
-        final String properties = (String) main.exec("properties");
-        assertNotNull(properties);
+        final StreamingOutput output = (StreamingOutput) main.exec("properties");
+        assertNotNull(output);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        output.write(bytes);
+        final String properties = bytes.toString();
+
         final Enumeration<?> property = System.getProperties().propertyNames();
         while(property.hasMoreElements()) {
             assertTrue(properties.contains(property.nextElement() + ""));
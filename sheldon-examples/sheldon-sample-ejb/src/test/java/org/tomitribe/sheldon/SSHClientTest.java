@@ -41,7 +41,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 @RunWith(Arquillian.class)
@@ -143,6 +149,85 @@ public class SSHClientTest {
         assertContains("tomee", responseReceived);
     }
 
+    @Test
+    public void testShouldRunExecCommand() throws Exception {
+        SshClient client = SshClient.setUpDefaultClient();
+        client.start();
+        ClientSession session = client.connect("tomee", "localhost", 2222).verify(7L, TimeUnit.SECONDS).getSession();
+        session.addPasswordIdentity("tomee");
+        final AuthFuture authFuture = session.auth();
+        authFuture.await();
+        Assert.assertTrue(authFuture.isSuccess());
+        ClientChannel channel = session.createExecChannel("whoami");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        channel.setOut(out);
+        channel.setErr(err);
+        channel.open();
+
+        channel.waitFor(Collections.singleton(ClientChannelEvent.CLOSED), 0);
+        final Integer exitStatus = channel.getExitStatus();
+
+        channel.close(false);
+        client.stop();
+
+        assertContains("tomee", out.toString());
+        Assert.assertEquals(Integer.valueOf(0), exitStatus);
+    }
+
+    /**
+     * The commands would take clients * 1s if they were delivered to
+     * the bean one at a time
+     */
+    @Test
+    public void testConcurrentClientsShouldNotQueueOnTheSameBean() throws Exception {
+        final int clients = 6;
+
+        final SshClient client = SshClient.setUpDefaultClient();
+        client.start();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            final List<Future<String>> outputs = new ArrayList<Future<String>>();
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                outputs.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        final ClientSession session = client.connect("tomee", "localhost", 2222).verify(7L, TimeUnit.SECONDS).getSession();
+                        session.addPasswordIdentity("tomee");
+                        session.auth().verify(7L, TimeUnit.SECONDS);
+
+                        final ClientChannel channel = session.createExecChannel("sleep 1000");
+                        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        channel.setOut(out);
+                        channel.setErr(new ByteArrayOutputStream());
+                        channel.open();
+
+                        channel.waitFor(Collections.singleton(ClientChannelEvent.CLOSED), 0);
+                        Assert.assertEquals(Integer.valueOf(0), channel.getExitStatus());
+
+                        channel.close(false);
+                        session.close(false);
+                        return out.toString();
+                    }
+                }));
+            }
+
+            for (Future<String> output : outputs) {
+                assertContains("slept 1000ms", output.get(30, TimeUnit.SECONDS));
+            }
+
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue("Commands ran one after the other, took " + elapsed + "ms", elapsed < clients * 1000 / 2);
+        } finally {
+            executor.shutdownNow();
+            client.stop();
+        }
+    }
+
     private void assertContains(String lineToFind, String responseReceived) {
         boolean matchFound = false;
         
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.tomitribe.sheldon.ssh.CommandRegistry;
+
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
+import javax.resource.spi.work.WorkManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs endpoint activations on a bounded number of WorkManager threads.
+ *
+ * Activations are queued and drained by at most {@code threads} works,
+ * so deploying sixty beans neither runs them one after the other nor
+ * takes sixty threads from the server.  Each queued activation counts
+ * as loading in the {@link CommandRegistry} until it registered its
+ * commands or failed.  When the last one is done a report of the time
+ * each bean took is logged.
+ *
+ * A bean undeployed while its activation runs can't be stopped, the
+ * activation is marked instead and must not register its commands.
+ */
+public class Activations {
+
+    private static final Logger LOGGER = Logger.getLogger(Activations.class.getName());
+
+    private final WorkManager workManager;
+    private final CommandRegistry registry;
+    private final int threads;
+
+    private final Queue<Activation> queue = new ConcurrentLinkedQueue<Activation>();
+    private final Queue<Activation> done = new ConcurrentLinkedQueue<Activation>();
+    private final Map<Object, Activation> owners = new ConcurrentHashMap<Object, Activation>();
+    private final AtomicInteger workers = new AtomicInteger();
+    private volatile long started;
+
+    public Activations(final WorkManager workManager, final CommandRegistry registry, final int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Activation threads must be at least 1: " + threads);
+        this.workManager = workManager;
+        this.registry = registry;
+        this.threads = threads;
+    }
+
+    public void submit(final Activation activation) {
+        if (registry.getLoading() == 0) started = System.nanoTime();
+        registry.loading();
+
+        owners.put(activation.owner, activation);
+        queue.add(activation);
+
+        if (claim()) {
+            final Drain drain = new Drain();
+            try {
+                workManager.scheduleWork(drain);
+            } catch (WorkException e) {
+                LOGGER.log(Level.WARNING, "Cannot schedule activation work, activating " + activation.getName() + " now", e);
+                drain.run();
+            }
+        }
+    }
+
+    /**
+     * Drops the activation for this owner if it didn't start yet, or
+     * marks it deactivated if it is running
+     *
+     * @return true if it was still queued
+     */
+    public boolean cancel(final Object owner) {
+        final Activation activation = owners.get(owner);
+        if (activation == null) return false;
+
+        activation.deactivate();
+
+        if (!queue.remove(activation)) return false;
+
+        owners.remove(owner, activation);
+        if (registry.loaded() == 0) report();
+        return true;
+    }
+
+    private boolean claim() {
+        int running;
+        do {
+            running = workers.get();
+            if (running >= threads) return false;
+        } while (!workers.compareAndSet(running, running + 1));
+        return true;
+    }
+
+    private void activate(final Activation activation) {
+        final long start = System.nanoTime();
+        try {
+            activation.activate();
+        } catch (Throwable t) {
+            activation.failure = t;
+            LOGGER.log(Level.SEVERE, "Activation of " + activation.getName() + " failed", t);
+        }
+        activation.nanos = System.nanoTime() - start;
+
+        owners.remove(activation.owner, activation);
+        done.add(activation);
+        if (registry.loaded() == 0) report();
+    }
+
+    private void report() {
+        final List<Activation> activations = new ArrayList<Activation>();
+        Activation activation;
+        while ((activation = done.poll()) != null) {
+            activations.add(activation);
+        }
+        if (activations.isEmpty() || !LOGGER.isLoggable(Level.INFO)) return;
+
+        Collections.sort(activations, new Comparator<Activation>() {
+            @Override
+            public int compare(final Activation a, final Activation b) {
+                return Long.compare(b.nanos, a.nanos);
+            }
+        });
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Activation of %d command beans took %d ms on up to %d threads",
+                activations.size(), millis(System.nanoTime() - started), threads));
+
+        for (final Activation a : activations) {
+            sb.append(String.format("%n  %-60s %6d ms, commands %6d ms", a.getName(), millis(a.nanos), millis(a.scanNanos)));
+            if (a.failure != null) sb.append("  FAILED ").append(a.failure);
+            else if (a.isDeactivated()) sb.append("  UNDEPLOYED");
+        }
+
+        LOGGER.info(sb.toString());
+    }
+
+    private static long millis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private class Drain implements Work {
+
+        @Override
+        public void run() {
+            do {
+                Activation activation;
+                while ((activation = queue.poll()) != null) {
+                    activate(activation);
+                }
+
+                workers.decrementAndGet();
+
+                // an activation queued since the last poll may have found all workers busy
+            } while (!queue.isEmpty() && claim());
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+
+    /**
+     * The activation of one bean
+     */
+    public abstract static class Activation {
+        private final Object owner;
+        private final String name;
+        private volatile long nanos;
+        private volatile long scanNanos;
+        private volatile Throwable failure;
+        private boolean deactivated;
+
+        protected Activation(final Object owner, final String name) {
+            this.owner = owner;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Creates the endpoint and registers its commands, unless it
+         * was {@link #isDeactivated() deactivated} meanwhile.  Checking
+         * and registering while holding the lock of this activation is
+         * what keeps an undeploy from slipping in between.
+         */
+        protected abstract void activate() throws Exception;
+
+        /**
+         * @return true if the bean was undeployed since the activation was submitted
+         */
+        protected synchronized boolean isDeactivated() {
+            return deactivated;
+        }
+
+        private synchronized void deactivate() {
+            deactivated = true;
+        }
+
+        /**
+         * Time spent finding the commands of the bean, for the report
+         */
+        protected void scanned(final long nanos) {
+            this.scanNanos = nanos;
+        }
+    }
+}
@@ -16,7 +16,6 @@
  */
 package org.tomitribe.sheldon.adapter;
 
-import org.tomitribe.crest.cmds.Cmd;
 import org.tomitribe.sheldon.api.CommandListener;
 
 import javax.resource.ResourceException;
@@ -25,19 +24,22 @@ import javax.resource.spi.ActivationSpec;
 import javax.resource.spi.InvalidPropertyException;
 import javax.resource.spi.ResourceAdapter;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Activation(messageListeners = CommandListener.class)
 public class CommandActivationSpec implements ActivationSpec {
 
     private ResourceAdapter resourceAdapter;
     private Class beanClass;
-    private List<Cmd> commands = new ArrayList<Cmd>();
 
-    public List<Cmd> getCommands() {
-        return commands;
-    }
+    /**
+     * Maximum number of endpoints, so of commands of this bean
+     * running at once
+     */
+    private Integer poolSize = 8;
+
+    /**
+     * Milliseconds a command waits for a free endpoint
+     */
+    private Long poolTimeout = 30000L;
 
     public Class getBeanClass() {
         return beanClass;
@@ -47,8 +49,30 @@ public class CommandActivationSpec implements ActivationSpec {
         this.beanClass = beanClass;
     }
 
+    public Integer getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(Integer poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public Long getPoolTimeout() {
+        return poolTimeout;
+    }
+
+    public void setPoolTimeout(Long poolTimeout) {
+        this.poolTimeout = poolTimeout;
+    }
+
     @Override
     public void validate() throws InvalidPropertyException {
+        if (poolSize == null || poolSize < 1) {
+            throw new InvalidPropertyException("poolSize must be greater than zero: " + poolSize);
+        }
+        if (poolTimeout == null || poolTimeout < 0) {
+            throw new InvalidPropertyException("poolTimeout must not be negative: " + poolTimeout);
+        }
     }
 
     @Override
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.tomitribe.crest.cmds.Cmd;
+import org.tomitribe.crest.cmds.processors.Commands;
+import org.tomitribe.crest.cmds.targets.SimpleBean;
+import org.tomitribe.crest.cmds.targets.Target;
+import org.tomitribe.sheldon.api.processor.CommandProcessor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The command names listed by the descriptors {@link CommandProcessor}
+ * writes at compile time.
+ *
+ * Crest finds the commands of a class by reading the annotations of
+ * each of its methods, which is most of the activation time of a bean.
+ * A class listed in a descriptor gets its commands registered by name
+ * only, the class is scanned the first time one of them is used.
+ * Classes the descriptors don't know about are scanned right away.
+ */
+public class CommandDescriptors {
+
+    private static final Logger LOGGER = Logger.getLogger(CommandDescriptors.class.getName());
+
+    private static final CommandDescriptors EMPTY = new CommandDescriptors(Collections.<String, String[]>emptyMap());
+
+    /**
+     * Read once per class loader, all beans of an application share them
+     */
+    private static final Map<ClassLoader, CommandDescriptors> LOADED = new WeakHashMap<ClassLoader, CommandDescriptors>();
+
+    private final Map<String, String[]> commands;
+
+    CommandDescriptors(final Map<String, String[]> commands) {
+        this.commands = commands;
+    }
+
+    public static Map<String, Cmd> get(final Object bean) {
+        return get(bean.getClass(), new SimpleBean(bean));
+    }
+
+    /**
+     * Same commands as {@link Commands} would find on the class
+     */
+    public static Map<String, Cmd> get(final Class<?> clazz, final Target target) {
+        return of(clazz.getClassLoader()).commands(clazz, target);
+    }
+
+    Map<String, Cmd> commands(final Class<?> clazz, final Target target) {
+        final String[] names = names(clazz);
+        if (names == null) {
+            return Commands.get(clazz, target, null);
+        }
+
+        final Scan scan = new Scan(clazz, target);
+        final Map<String, Cmd> commands = new HashMap<String, Cmd>();
+        for (final String name : names) {
+            commands.put(name, (Cmd) Proxy.newProxyInstance(CommandDescriptors.class.getClassLoader(),
+                    new Class<?>[]{Cmd.class}, new Described(name, scan)));
+        }
+        return commands;
+    }
+
+    static CommandDescriptors of(final ClassLoader loader) {
+        if (loader == null) return EMPTY;
+
+        synchronized (LOADED) {
+            CommandDescriptors descriptors = LOADED.get(loader);
+            if (descriptors == null) {
+                descriptors = read(loader);
+                LOADED.put(loader, descriptors);
+            }
+            return descriptors;
+        }
+    }
+
+    static CommandDescriptors read(final ClassLoader loader) {
+        final Map<String, String[]> commands = new HashMap<String, String[]>();
+        try {
+            final Enumeration<URL> resources = loader.getResources(CommandProcessor.DESCRIPTOR);
+            while (resources.hasMoreElements()) {
+                final URL url = resources.nextElement();
+                try {
+                    parse(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8), commands);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Cannot read command descriptor " + url, e);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot list command descriptors", e);
+        }
+        return new CommandDescriptors(commands);
+    }
+
+    /**
+     * The first descriptor listing a class wins, as the first
+     * jar containing it does when it's loaded
+     */
+    static void parse(final Reader reader, final Map<String, String[]> commands) throws IOException {
+        final BufferedReader lines = new BufferedReader(reader);
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                final String[] parts = line.split(" +");
+                if (commands.containsKey(parts[0])) continue;
+
+                final String[] names = new String[parts.length - 1];
+                System.arraycopy(parts, 1, names, 0, names.length);
+                commands.put(parts[0], names);
+            }
+        } finally {
+            lines.close();
+        }
+    }
+
+    /**
+     * @return the command names of the class or null if it has to be scanned
+     */
+    String[] names(final Class<?> clazz) {
+        return commands.get(clazz.getName());
+    }
+
+    /**
+     * The commands crest finds on the class, the first time any is used
+     */
+    private static class Scan {
+        private final Class<?> clazz;
+        private final Target target;
+        private volatile Map<String, Cmd> commands;
+
+        public Scan(final Class<?> clazz, final Target target) {
+            this.clazz = clazz;
+            this.target = target;
+        }
+
+        public Cmd get(final String name) {
+            Map<String, Cmd> commands = this.commands;
+            if (commands == null) {
+                synchronized (this) {
+                    commands = this.commands;
+                    if (commands == null) {
+                        commands = Commands.get(clazz, target, null);
+                        this.commands = commands;
+                    }
+                }
+            }
+
+            final Cmd cmd = commands.get(name);
+            if (cmd == null) {
+                throw new IllegalStateException("No command " + name + " on " + clazz.getName()
+                        + ", its command descriptor is out of date");
+            }
+            return cmd;
+        }
+    }
+
+    /**
+     * A Cmd that only knows its name until anything else is asked.
+     * A proxy rather than an implementation, all crest versions
+     * don't have the same Cmd methods.
+     */
+    private static class Described implements InvocationHandler {
+        private final String name;
+        private final Scan scan;
+
+        public Described(final String name, final Scan scan) {
+            this.name = name;
+            this.scan = scan;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Cmd{" + name + "}";
+                }
+            }
+
+            if ("getName".equals(method.getName()) && method.getParameterTypes().length == 0) {
+                return name;
+            }
+
+            try {
+                return method.invoke(scan.get(name), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -16,15 +16,23 @@
  */
 package org.tomitribe.sheldon.adapter;
 
-import org.tomitribe.crest.Main;
-import org.tomitribe.crest.cmds.Cmd;
-import org.tomitribe.crest.cmds.processors.Commands;
-import org.tomitribe.crest.cmds.targets.Target;
+import org.tomitribe.sheldon.audit.AuditLog;
 import org.tomitribe.sheldon.authenticator.AuthenticateWork;
+import org.tomitribe.sheldon.authenticator.AuthenticationCache;
+import org.tomitribe.sheldon.authenticator.AuthorizedKeys;
+import org.tomitribe.sheldon.authenticator.Identity;
+import org.tomitribe.sheldon.authenticator.LoginRateLimiter;
+import org.tomitribe.sheldon.authenticator.PendingAuthentications;
 import org.tomitribe.sheldon.authenticator.WorkSecurityContext;
+import org.tomitribe.sheldon.ssh.HostKeys;
 import org.tomitribe.sheldon.ssh.SshdServer;
 import org.tomitribe.sheldon.ssh.BuildIn;
+import org.tomitribe.sheldon.ssh.CommandRegistry;
 import org.tomitribe.sheldon.ssh.ConsoleSession;
+import org.tomitribe.sheldon.ssh.Filters;
+import org.tomitribe.sheldon.ssh.SessionExecutor;
+import org.tomitribe.sheldon.ssh.SessionRegistry;
+import org.tomitribe.sheldon.stats.Stats;
 
 import javax.resource.ResourceException;
 import javax.resource.spi.ActivationSpec;
@@ -33,23 +41,34 @@ import javax.resource.spi.ConfigProperty;
 import javax.resource.spi.Connector;
 import javax.resource.spi.ResourceAdapter;
 import javax.resource.spi.ResourceAdapterInternalException;
-import javax.resource.spi.endpoint.MessageEndpoint;
 import javax.resource.spi.endpoint.MessageEndpointFactory;
-import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkAdapter;
+import javax.resource.spi.work.WorkEvent;
 import javax.resource.spi.work.WorkException;
 import javax.resource.spi.work.WorkManager;
 import javax.transaction.xa.XAResource;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.validation.constraints.NotNull;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @Connector(description = "SSH ResourceAdapter", displayName = "SSH ResourceAdapter", eisType = "SSH Adapter", version = "1.0")
 public class CommandResourceAdapter implements ResourceAdapter, SecurityHandler {
 
+    private static final Logger LOGGER = Logger.getLogger(CommandResourceAdapter.class.getName());
+
     private SshdServer sshdServer;
 
     /**
@@ -62,8 +81,141 @@ public class CommandResourceAdapter implements ResourceAdapter, SecurityHandler
     @ConfigProperty(defaultValue = "2222")
     private Integer sshPort;
 
-    private Main main;
+    /**
+     * One of auto, virtual or pool.  See {@link SessionExecutor}
+     */
+    @ConfigProperty(defaultValue = "auto")
+    private String sessionExecution;
+
+    @ConfigProperty(defaultValue = "256")
+    private Integer maxSessions;
+
+    /**
+     * Bytes the sort filter holds in memory before spilling to disk
+     */
+    @ConfigProperty(defaultValue = "4194304")
+    private Integer sortBufferSize;
+
+    /**
+     * Beans activated at once when an application is deployed
+     */
+    @ConfigProperty(defaultValue = "4")
+    private Integer activationThreads;
+
+    /**
+     * Milliseconds a login waits for the realm before it is refused
+     */
+    @ConfigProperty(defaultValue = "30000")
+    private Integer authTimeout;
+
+    /**
+     * Password checks on the WorkManager at once, logins beyond are refused
+     */
+    @ConfigProperty(defaultValue = "32")
+    private Integer maxPendingAuthentications;
+
+    /**
+     * Login decisions remembered, 0 to ask the realm every time
+     */
+    @ConfigProperty(defaultValue = "0")
+    private Integer authCacheSize;
+
+    /**
+     * Milliseconds a successful login is remembered
+     */
+    @ConfigProperty(defaultValue = "60000")
+    private Integer authCacheTtl;
+
+    /**
+     * Milliseconds a failed login is remembered
+     */
+    @ConfigProperty(defaultValue = "5000")
+    private Integer authCacheFailureTtl;
+
+    /**
+     * authorized_keys file, or directory of one per principal, users may
+     * log in with instead of a password.  No public key login if not set.
+     */
+    @ConfigProperty
+    private String authorizedKeys;
+
+    /**
+     * Password logins an address or a username may attempt in a row, 0 for no limit
+     */
+    @ConfigProperty(defaultValue = "10")
+    private Integer loginBurst;
+
+    /**
+     * Password logins an address or a username regains per minute
+     */
+    @ConfigProperty(defaultValue = "60")
+    private Integer loginRefill;
+
+    /**
+     * File the host key is read from, or generated into the first time,
+     * ssh-key.pem or ssh-key.ser in the working directory if not set
+     */
+    @ConfigProperty
+    private String hostKey;
+
+    /**
+     * RSA, EC or EdDSA
+     */
+    @ConfigProperty(defaultValue = "RSA")
+    private String hostKeyAlgorithm;
+
+    /**
+     * Bits of a generated host key, the algorithm's default if not set
+     */
+    @ConfigProperty
+    private Integer hostKeySize;
+
+    /**
+     * eager to have the host key before the port is bound, background
+     * to bind at once and load or generate it on another thread
+     */
+    @ConfigProperty(defaultValue = "eager")
+    private String hostKeyGeneration;
+
+    /**
+     * File command lines are audited to, no audit if not set
+     */
+    @ConfigProperty
+    private String auditLog;
+
+    /**
+     * batch, never or a number of milliseconds.  See {@link AuditLog}
+     */
+    @ConfigProperty(defaultValue = "batch")
+    private String auditFsync;
+
+    @ConfigProperty(defaultValue = "67108864")
+    private Integer auditMaxFileSize;
+
+    @ConfigProperty(defaultValue = "10")
+    private Integer auditMaxFiles;
+
+    /**
+     * Entries waiting for the writer before new ones are dropped
+     */
+    @ConfigProperty(defaultValue = "8192")
+    private Integer auditBufferSize;
+
+    /**
+     * Role allowed to kill the sessions of other users with kill-session
+     */
+    @ConfigProperty(defaultValue = "admin")
+    private String adminRole;
+
+    private final CommandRegistry registry = new CommandRegistry();
+    private final Stats stats = new Stats();
+    private final SessionRegistry sessions = new SessionRegistry();
+    private final List<ObjectName> mbeans = new CopyOnWriteArrayList<ObjectName>();
+    private AuditLog audit;
+    private PendingAuthentications authentications;
+    private AuthorizedKeys keys;
     private ConsoleSession session;
+    private SessionExecutor sessionExecutor;
 
     public Integer getSshPort() {
         return sshPort;
@@ -81,31 +233,336 @@ public class CommandResourceAdapter implements ResourceAdapter, SecurityHandler
         this.prompt = prompt;
     }
 
+    public String getSessionExecution() {
+        return sessionExecution;
+    }
+
+    public void setSessionExecution(String sessionExecution) {
+        this.sessionExecution = sessionExecution;
+    }
+
+    public Integer getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(Integer maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public Integer getSortBufferSize() {
+        return sortBufferSize;
+    }
+
+    public void setSortBufferSize(Integer sortBufferSize) {
+        this.sortBufferSize = sortBufferSize;
+    }
+
+    public Integer getActivationThreads() {
+        return activationThreads;
+    }
+
+    public void setActivationThreads(Integer activationThreads) {
+        this.activationThreads = activationThreads;
+    }
+
+    public Integer getAuthTimeout() {
+        return authTimeout;
+    }
+
+    public void setAuthTimeout(Integer authTimeout) {
+        this.authTimeout = authTimeout;
+    }
+
+    public Integer getMaxPendingAuthentications() {
+        return maxPendingAuthentications;
+    }
+
+    public void setMaxPendingAuthentications(Integer maxPendingAuthentications) {
+        this.maxPendingAuthentications = maxPendingAuthentications;
+    }
+
+    public Integer getAuthCacheSize() {
+        return authCacheSize;
+    }
+
+    public void setAuthCacheSize(Integer authCacheSize) {
+        this.authCacheSize = authCacheSize;
+    }
+
+    public Integer getAuthCacheTtl() {
+        return authCacheTtl;
+    }
+
+    public void setAuthCacheTtl(Integer authCacheTtl) {
+        this.authCacheTtl = authCacheTtl;
+    }
+
+    public Integer getAuthCacheFailureTtl() {
+        return authCacheFailureTtl;
+    }
+
+    public void setAuthCacheFailureTtl(Integer authCacheFailureTtl) {
+        this.authCacheFailureTtl = authCacheFailureTtl;
+    }
+
+    public String getAuthorizedKeys() {
+        return authorizedKeys;
+    }
+
+    public void setAuthorizedKeys(String authorizedKeys) {
+        this.authorizedKeys = authorizedKeys;
+    }
+
+    public Integer getLoginBurst() {
+        return loginBurst;
+    }
+
+    public void setLoginBurst(Integer loginBurst) {
+        this.loginBurst = loginBurst;
+    }
+
+    public Integer getLoginRefill() {
+        return loginRefill;
+    }
+
+    public void setLoginRefill(Integer loginRefill) {
+        this.loginRefill = loginRefill;
+    }
+
+    public String getHostKey() {
+        return hostKey;
+    }
+
+    public void setHostKey(String hostKey) {
+        this.hostKey = hostKey;
+    }
+
+    public String getHostKeyAlgorithm() {
+        return hostKeyAlgorithm;
+    }
+
+    public void setHostKeyAlgorithm(String hostKeyAlgorithm) {
+        this.hostKeyAlgorithm = hostKeyAlgorithm;
+    }
+
+    public Integer getHostKeySize() {
+        return hostKeySize;
+    }
+
+    public void setHostKeySize(Integer hostKeySize) {
+        this.hostKeySize = hostKeySize;
+    }
+
+    public String getHostKeyGeneration() {
+        return hostKeyGeneration;
+    }
+
+    public void setHostKeyGeneration(String hostKeyGeneration) {
+        this.hostKeyGeneration = hostKeyGeneration;
+    }
+
+    public String getAuditLog() {
+        return auditLog;
+    }
+
+    public void setAuditLog(String auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    public String getAuditFsync() {
+        return auditFsync;
+    }
+
+    public void setAuditFsync(String auditFsync) {
+        this.auditFsync = auditFsync;
+    }
+
+    public Integer getAuditMaxFileSize() {
+        return auditMaxFileSize;
+    }
+
+    public void setAuditMaxFileSize(Integer auditMaxFileSize) {
+        this.auditMaxFileSize = auditMaxFileSize;
+    }
+
+    public Integer getAuditMaxFiles() {
+        return auditMaxFiles;
+    }
+
+    public void setAuditMaxFiles(Integer auditMaxFiles) {
+        this.auditMaxFiles = auditMaxFiles;
+    }
+
+    public Integer getAuditBufferSize() {
+        return auditBufferSize;
+    }
+
+    public void setAuditBufferSize(Integer auditBufferSize) {
+        this.auditBufferSize = auditBufferSize;
+    }
+
+    public String getAdminRole() {
+        return adminRole;
+    }
+
+    public void setAdminRole(String adminRole) {
+        this.adminRole = adminRole;
+    }
+
     public void start(BootstrapContext bootstrapContext) throws ResourceAdapterInternalException {
 
+        // checked before anything is started, there is nothing to undo when it fails
+        HostKeys hostKeys = null;
+        if (sshPort != null) {
+            try {
+                hostKeys = HostKeys.create(hostKey, hostKeyAlgorithm, hostKeySize, hostKeyGeneration);
+            } catch (IllegalArgumentException e) {
+                throw new ResourceAdapterInternalException("Invalid host key configuration: " + e.getMessage(), e);
+            }
+        }
+
+        try {
+            start(bootstrapContext, hostKeys);
+        } catch (ResourceAdapterInternalException | RuntimeException e) {
+            // the audit log, authorized keys or MBeans started so far are not left behind
+            stop();
+            throw e;
+        }
+    }
+
+    private void start(final BootstrapContext bootstrapContext, final HostKeys hostKeys) throws ResourceAdapterInternalException {
         workManager = bootstrapContext.getWorkManager();
-        main = new Main();
-        
+        activations = new Activations(workManager, registry, activationThreads == null ? 4 : activationThreads);
+
         // add built-in commands
-        final Map<String, Cmd> commands = Commands.get(new BuildIn());
-        for (Cmd cmd : commands.values()) {
-            main.add(cmd);
+        final BuildIn buildIn = new BuildIn(stats, sessions, adminRole == null ? "admin" : adminRole);
+        registry.register(buildIn, CommandDescriptors.get(buildIn).values());
+
+        // and the filters for the right hand side of pipes
+        final Filters filters = new Filters(sortBufferSize == null ? 4 * 1024 * 1024 : sortBufferSize);
+        registry.register(filters, CommandDescriptors.get(filters).values());
+
+        if (auditLog != null && auditLog.trim().length() > 0) {
+            try {
+                audit = new AuditLog(new File(auditLog.trim()), auditFsync,
+                        auditMaxFileSize == null ? 64 * 1024 * 1024 : auditMaxFileSize,
+                        auditMaxFiles == null ? 10 : auditMaxFiles,
+                        auditBufferSize == null ? 8192 : auditBufferSize);
+            } catch (IOException e) {
+                // commands must not run unaudited
+                throw new ResourceAdapterInternalException("Cannot open audit log " + auditLog, e);
+            }
+            register("AuditLog", audit);
         }
 
-        session = new ConsoleSession(main, prompt);
+        session = new ConsoleSession(registry, prompt, stats, sessions, audit);
+        register("Stats", stats);
+        register("Sessions", sessions);
 
         if (sshPort != null) {
-            sshdServer = new SshdServer(session, sshPort, this);
-            sshdServer.start();
-        }
+            AuthenticationCache authenticationCache = null;
+            if (authCacheSize != null && authCacheSize > 0) {
+                authenticationCache = new AuthenticationCache(authCacheSize,
+                        authCacheTtl == null ? 60000 : authCacheTtl,
+                        authCacheFailureTtl == null ? 5000 : authCacheFailureTtl);
+                register("AuthenticationCache", authenticationCache);
+            }
+
+            if (authorizedKeys != null && authorizedKeys.trim().length() > 0) {
+                keys = new AuthorizedKeys(new File(authorizedKeys.trim()).toPath());
+                try {
+                    keys.start();
+                } catch (IOException e) {
+                    throw new ResourceAdapterInternalException("Cannot read authorized keys " + authorizedKeys, e);
+                }
+                register("AuthorizedKeys", keys);
+            }
 
+            LoginRateLimiter loginRateLimiter = null;
+            if (loginBurst == null || loginBurst > 0) {
+                // 4096 stripes of addresses and as many of usernames, 64k of memory
+                loginRateLimiter = new LoginRateLimiter(4096, loginBurst == null ? 10 : loginBurst,
+                        loginRefill == null ? 60 : loginRefill);
+                register("LoginRateLimiter", loginRateLimiter);
+            }
 
+            authentications = new PendingAuthentications(this, authenticationCache, loginRateLimiter, authTimeout == null ? 30000 : authTimeout,
+                    maxPendingAuthentications == null ? 32 : maxPendingAuthentications);
+            register("Authentications", authentications);
+
+            sessionExecutor = SessionExecutor.create(sessionExecution, maxSessions);
+            sshdServer = new SshdServer(session, sshPort, this, sessionExecutor, authentications, keys, hostKeys);
+            sshdServer.start();
+        }
     }
 
     public void stop() {
         if (sshdServer != null) {
             sshdServer.stop();
         }
+
+        if (sessionExecutor != null) {
+            sessionExecutor.shutdown();
+        }
+
+        if (authentications != null) {
+            authentications.close();
+        }
+
+        if (keys != null) {
+            keys.close();
+        }
+
+        if (audit != null) {
+            audit.close();
+        }
+
+        unregisterAll();
+    }
+
+    /**
+     * JMX is a nicety, the shell works without it
+     */
+    private void register(final String type, final Object mbean) {
+        register("type=" + type, type, mbean);
+    }
+
+    /**
+     * @return the name it's registered as, null if it isn't
+     */
+    private ObjectName register(final String properties, final String description, final Object mbean) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName("org.tomitribe.sheldon:" + properties + ",port=" + sshPort);
+            server.registerMBean(mbean, name);
+            mbeans.add(name);
+            return name;
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, description + " not available over JMX", e);
+            return null;
+        }
+    }
+
+    private void unregister(final ObjectName name) {
+        if (name == null || !mbeans.remove(name)) return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Could not unregister " + name, e);
+        }
+    }
+
+    private void unregisterAll() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : mbeans) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                LOGGER.log(Level.FINE, "Could not unregister " + name, e);
+            }
+        }
+        mbeans.clear();
     }
 
     public void endpointActivation(final MessageEndpointFactory messageEndpointFactory, final ActivationSpec activationSpec)
@@ -113,51 +570,62 @@ public class CommandResourceAdapter implements ResourceAdapter, SecurityHandler
         
         final CommandActivationSpec telnetActivationSpec = (CommandActivationSpec) activationSpec;
 
-        workManager.scheduleWork(new Work() {
+        final Class<?> endpointClass = telnetActivationSpec.getBeanClass() != null ? telnetActivationSpec
+                .getBeanClass() : messageEndpointFactory.getEndpointClass();
 
+        activations.submit(new Activations.Activation(telnetActivationSpec, endpointClass.getName()) {
             @Override
-            public void run() {
-                try {
-                    final MessageEndpoint messageEndpoint = messageEndpointFactory.createEndpoint(null);
+            protected void activate() throws Exception {
+                final EndpointPool pool = new EndpointPool(messageEndpointFactory, endpointClass.getName(),
+                        telnetActivationSpec.getPoolSize(), telnetActivationSpec.getPoolTimeout());
 
-                    final EndpointTarget target = new EndpointTarget(messageEndpoint);
-                    final Class<?> endpointClass = telnetActivationSpec.getBeanClass() != null ? telnetActivationSpec
-                            .getBeanClass() : messageEndpointFactory.getEndpointClass();
+                // create the first endpoint now, failing the activation as before if it can't be
+                pool.release(pool.lease());
 
-                    target.commands.addAll(Commands.get(endpointClass, target, null).values());
+                final EndpointTarget target = new EndpointTarget(pool);
 
-                    for (Cmd cmd : target.commands) {
-                        main.add(cmd);
-                    }
+                final long start = System.nanoTime();
+                target.getCommands().addAll(CommandDescriptors.get(endpointClass, target).values());
+                scanned(System.nanoTime() - start);
 
-                    targets.put(telnetActivationSpec, target);
-                } catch (Exception e) {
-                    e.printStackTrace();
+                synchronized (this) {
+                    if (!isDeactivated()) {
+                        targets.put(telnetActivationSpec, target);
+                        registry.register(telnetActivationSpec, target.getCommands());
+
+                        final ObjectName name = register("type=EndpointPool,bean=" + endpointClass.getName(),
+                                "Endpoint pool of " + endpointClass.getName(), pool);
+                        if (name != null) poolMBeans.put(telnetActivationSpec, name);
+                        return;
+                    }
                 }
-            }
 
-            @Override
-            public void release() {
+                // undeployed while activating, nothing may use the endpoints
+                pool.close();
             }
-
         });
-
     }
 
     public void endpointDeactivation(MessageEndpointFactory messageEndpointFactory, ActivationSpec activationSpec) {
         final CommandActivationSpec telnetActivationSpec = (CommandActivationSpec) activationSpec;
 
-        final EndpointTarget endpointTarget = targets.get(telnetActivationSpec);
-        if (endpointTarget == null) {
-            throw new IllegalStateException("No EndpointTarget to undeploy for ActivationSpec " + activationSpec);
+        if (activations.cancel(telnetActivationSpec)) {
+            // undeployed before it got its turn
+            return;
         }
 
-        final List<Cmd> commands = telnetActivationSpec.getCommands();
-        for (Cmd command : commands) {
-            main.remove(command);
+        final EndpointTarget endpointTarget = targets.remove(telnetActivationSpec);
+        if (endpointTarget == null) {
+            // still activating, it closes its own pool, or it failed
+            LOGGER.fine("No EndpointTarget to undeploy for ActivationSpec " + activationSpec);
+            return;
         }
 
-        endpointTarget.messageEndpoint.release();
+        registry.unregister(telnetActivationSpec);
+
+        unregister(poolMBeans.remove(telnetActivationSpec));
+
+        endpointTarget.getPool().close();
     }
 
     public XAResource[] getXAResources(ActivationSpec[] activationSpecs) throws ResourceException {
@@ -165,49 +633,26 @@ public class CommandResourceAdapter implements ResourceAdapter, SecurityHandler
     }
 
     final Map<CommandActivationSpec, EndpointTarget> targets = new ConcurrentHashMap<CommandActivationSpec, EndpointTarget>();
+    private final Map<CommandActivationSpec, ObjectName> poolMBeans = new ConcurrentHashMap<CommandActivationSpec, ObjectName>();
     private WorkManager workManager;
+    private Activations activations;
 
     @Override
-    public void runWithSecurityContext(Runnable runnable, String username, String password) {
+    public <T> Future<T> submit(Callable<T> callable, Identity identity) {
+        final WorkFuture<T> future = new WorkFuture<T>(callable);
 
         // create a work with a security context
-        RunnableWork runnableWork = new RunnableWork(runnable);
-        runnableWork.getWorkContexts().add(new WorkSecurityContext(username, password));
+        final RunnableWork runnableWork = new RunnableWork(future);
+        runnableWork.getWorkContexts().add(new WorkSecurityContext(identity));
 
         // get the work manager to execute asynchronously
         try {
-            workManager.startWork(runnableWork);
+            workManager.scheduleWork(runnableWork, WorkManager.INDEFINITE, null, future.listener());
         } catch (WorkException e) {
-            e.printStackTrace();
+            future.fail(e);
         }
-    }
-
-    private static class EndpointTarget implements Target {
-        private final MessageEndpoint messageEndpoint;
-        private final List<Cmd> commands = new ArrayList<Cmd>();
 
-        public EndpointTarget(MessageEndpoint messageEndpoint) {
-            this.messageEndpoint = messageEndpoint;
-        }
-
-        @Override
-        public Object invoke(Method method, Object... objects) 
-                throws InvocationTargetException, IllegalAccessException {
-
-            try {
-                try {
-                    messageEndpoint.beforeDelivery(method);
-
-                    return method.invoke(messageEndpoint, objects);
-                } finally {
-                    messageEndpoint.afterDelivery();
-                }
-            } catch (NoSuchMethodException e) {
-                throw new RuntimeException(e);
-            } catch (ResourceException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        return future;
     }
 
     @Override
@@ -242,18 +687,31 @@ public class CommandResourceAdapter implements ResourceAdapter, SecurityHandler
     }
 
     @Override
-    public boolean authenticate(String username, String password) {
-        boolean authenticated = false;
-        
+    public CompletableFuture<Identity> authenticate(final String username, final String password) {
+        final CompletableFuture<Identity> identity = new CompletableFuture<Identity>();
+
         final AuthenticateWork authenticateWork = new AuthenticateWork(username, password);
         try {
-            workManager.doWork(authenticateWork);
-            authenticated = authenticateWork.isAuthenticated();
+            workManager.scheduleWork(authenticateWork, WorkManager.INDEFINITE, null, new WorkAdapter() {
+                @Override
+                public void workRejected(final WorkEvent e) {
+                    identity.completeExceptionally(e.getException() != null ? e.getException() : new IllegalStateException("Work rejected"));
+                }
+
+                @Override
+                public void workCompleted(final WorkEvent e) {
+                    if (e.getException() != null) {
+                        identity.completeExceptionally(e.getException());
+                    } else {
+                        identity.complete(authenticateWork.getIdentity());
+                    }
+                }
+            });
         } catch (WorkException e) {
-            authenticated = false;
+            identity.completeExceptionally(e);
         }
 
-        return authenticated;
+        return identity;
     }
     
     
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import javax.resource.ResourceException;
+import javax.resource.spi.UnavailableException;
+import javax.resource.spi.endpoint.MessageEndpoint;
+import javax.resource.spi.endpoint.MessageEndpointFactory;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * MessageEndpoints of one activation, leased for the duration of a
+ * single command.
+ *
+ * With a single endpoint per bean, commands from different sessions
+ * queue behind each other's beforeDelivery/afterDelivery brackets.
+ * Endpoints are created on demand, up to the activation's poolSize,
+ * and kept in a fixed array of slots, so leasing and returning one
+ * takes no lock and allocates nothing.  A command
+ * that finds all of them busy waits at most poolTimeout milliseconds,
+ * only those waits are timed.
+ */
+public class EndpointPool implements EndpointPoolMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(EndpointPool.class.getName());
+
+    private final MessageEndpointFactory factory;
+    private final String name;
+    private final int size;
+    private final long timeout;
+    private final Semaphore permits;
+    private final AtomicReferenceArray<MessageEndpoint> idle;
+
+    private final AtomicLong created = new AtomicLong();
+    private final LongAdder leases = new LongAdder();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalWait = new AtomicLong();
+    private final AtomicLong maxWait = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public EndpointPool(final MessageEndpointFactory factory, final String name, final int size, final long timeout) {
+        if (size < 1) throw new IllegalArgumentException("Pool size must be greater than zero: " + size);
+
+        this.factory = factory;
+        this.name = name;
+        this.size = size;
+        this.timeout = timeout;
+        this.permits = new Semaphore(size, true);
+        this.idle = new AtomicReferenceArray<MessageEndpoint>(size);
+    }
+
+    /**
+     * @throws UnavailableException if no endpoint was free within the timeout
+     */
+    public MessageEndpoint lease() throws ResourceException {
+        if (closed) throw new UnavailableException("Bean " + name + " is being undeployed");
+
+        if (permits.tryAcquire()) {
+            leases.increment();
+        } else {
+            await();
+        }
+
+        final MessageEndpoint endpoint = takeIdle();
+        if (endpoint != null) return endpoint;
+
+        try {
+            final MessageEndpoint fresh = factory.createEndpoint(null);
+            created.incrementAndGet();
+            return fresh;
+        } catch (ResourceException e) {
+            permits.release();
+            throw e;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void await() throws UnavailableException {
+        final long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new UnavailableException("No endpoint of bean " + name + " available after " + timeout + "ms, " + size + " in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnavailableException("Interrupted waiting for an endpoint of bean " + name);
+        }
+
+        final long nanos = System.nanoTime() - start;
+        leases.increment();
+        waits.incrementAndGet();
+        totalWait.addAndGet(nanos);
+
+        long max;
+        while (nanos > (max = maxWait.get())) {
+            if (maxWait.compareAndSet(max, nanos)) break;
+        }
+    }
+
+    public void release(final MessageEndpoint endpoint) {
+        if (closed) {
+            endpoint.release();
+        } else {
+            final int slot = putIdle(endpoint);
+
+            // closed meanwhile, don't leave it behind
+            if (closed && idle.compareAndSet(slot, endpoint, null)) {
+                endpoint.release();
+            }
+        }
+
+        permits.release();
+    }
+
+    /**
+     * Lower slots are scanned first, so the endpoints used most
+     * recently, and most likely to be warm, are reused first
+     */
+    private MessageEndpoint takeIdle() {
+        for (int i = 0; i < size; i++) {
+            final MessageEndpoint endpoint = idle.get(i);
+            if (endpoint != null && idle.compareAndSet(i, endpoint, null)) return endpoint;
+        }
+        return null;
+    }
+
+    /**
+     * There are never more endpoints than slots, so one is free
+     */
+    private int putIdle(final MessageEndpoint endpoint) {
+        while (true) {
+            for (int i = 0; i < size; i++) {
+                if (idle.get(i) == null && idle.compareAndSet(i, null, endpoint)) return i;
+            }
+        }
+    }
+
+    /**
+     * Releases the idle endpoints.  Leased ones are released
+     * when their command returns them.
+     */
+    public void close() {
+        closed = true;
+
+        for (int i = 0; i < size; i++) {
+            final MessageEndpoint endpoint = idle.getAndSet(i, null);
+            if (endpoint != null) endpoint.release();
+        }
+
+        LOGGER.info(String.format("Endpoint pool of %s: %s endpoints created, %s leases, %s waited, %s timed out, average wait %.3fms, max wait %.3fms",
+                name, getCreated(), getLeases(), getWaits(), getTimeouts(), getAverageWaitMillis(), getMaxWaitMillis()));
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getActive() {
+        return size - permits.availablePermits();
+    }
+
+    @Override
+    public long getCreated() {
+        return created.get();
+    }
+
+    @Override
+    public long getLeases() {
+        return leases.sum();
+    }
+
+    /**
+     * Number of leases that found all endpoints busy and had to wait
+     */
+    @Override
+    public long getWaits() {
+        return waits.get();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Average wait of the leases that had to wait
+     */
+    @Override
+    public double getAverageWaitMillis() {
+        final long count = waits.get();
+        return count == 0 ? 0 : totalWait.get() / (count * 1000000.0);
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return maxWait.get() / 1000000.0;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.tomitribe.crest.api.StreamingOutput;
+import org.tomitribe.crest.cmds.Cmd;
+import org.tomitribe.crest.cmds.targets.Target;
+import org.tomitribe.sheldon.stats.CommandStats;
+import org.tomitribe.sheldon.stats.CommandStats.Phase;
+
+import javax.resource.ResourceException;
+import javax.resource.spi.endpoint.MessageEndpoint;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers crest commands to the MessageEndpoints of a bean, each
+ * command to an endpoint leased from the pool for its duration.
+ *
+ * crest hands over the same Method instance on every call of a command.
+ * The first call marks it accessible so Method.invoke skips the access
+ * checks from then on, and remembers it did rather than asking the
+ * Method, whose isAccessible is deprecated.  See EndpointTargetBenchmark
+ * for why this is preferred to a MethodHandle per command.
+ *
+ * Iterator, Stream, Publisher, Future and CompletionStage results are
+ * handed to crest as {@link StreamingResults}.  Their elements are
+ * produced while crest writes the output, right after the call and on
+ * the same thread, so the endpoint stays leased and the delivery open
+ * until the output is written, or failed because the command was
+ * cancelled.  The lazy code of the bean runs in its transaction and
+ * security context, and no other command gets the endpoint meanwhile.
+ *
+ * The time spent in beforeDelivery, the method and afterDelivery is
+ * recorded for the command the calling thread is running, if any.
+ */
+public class EndpointTarget implements Target {
+
+    private final EndpointPool pool;
+    private final List<Cmd> commands = new ArrayList<Cmd>();
+    private final Set<Method> accessible = ConcurrentHashMap.newKeySet();
+
+    public EndpointTarget(EndpointPool pool) {
+        this.pool = pool;
+    }
+
+    public EndpointPool getPool() {
+        return pool;
+    }
+
+    public List<Cmd> getCommands() {
+        return commands;
+    }
+
+    @Override
+    public Object invoke(Method method, Object... objects)
+            throws InvocationTargetException, IllegalAccessException {
+
+        if (!accessible.contains(method)) {
+            trySetAccessible(method);
+            accessible.add(method);
+        }
+
+        final Delivery delivery;
+        try {
+            delivery = new Delivery(pool.lease(), CommandStats.current());
+        } catch (ResourceException e) {
+            throw new RuntimeException(e);
+        }
+
+        try {
+            delivery.begin(method);
+
+            final Object result = StreamingResults.of(method.invoke(delivery.endpoint, objects));
+            delivery.invoked();
+
+            if (result instanceof StreamingOutput) {
+                delivery.output = (StreamingOutput) result;
+                return delivery;
+            }
+            return result;
+        } finally {
+            // a streamed result ends the delivery once written
+            if (delivery.output == null) delivery.end();
+        }
+    }
+
+    /**
+     * One command on a leased endpoint, from beforeDelivery until
+     * afterDelivery and the endpoint going back to the pool
+     */
+    private class Delivery implements StreamingOutput {
+        private final MessageEndpoint endpoint;
+        private final CommandStats stats;
+        private StreamingOutput output;
+        private boolean begun;
+        private boolean ended;
+        private long start;
+        private long delivered;
+        private long invoked;
+
+        private Delivery(final MessageEndpoint endpoint, final CommandStats stats) {
+            this.endpoint = endpoint;
+            this.stats = stats;
+        }
+
+        private void begin(final Method method) {
+            start = System.nanoTime();
+            try {
+                endpoint.beforeDelivery(method);
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            } catch (ResourceException e) {
+                throw new RuntimeException(e);
+            }
+            begun = true;
+            delivered = System.nanoTime();
+            invoked = delivered;
+        }
+
+        private void invoked() {
+            invoked = System.nanoTime();
+        }
+
+        @Override
+        public void write(final OutputStream os) throws IOException {
+            try {
+                output.write(os);
+            } finally {
+                end();
+            }
+        }
+
+        private void end() {
+            if (ended) return;
+            ended = true;
+
+            try {
+                if (!begun) return;
+
+                // the method failed, or the output was written since
+                final long after = System.nanoTime();
+                if (invoked == delivered) invoked = after;
+
+                try {
+                    endpoint.afterDelivery();
+                } catch (ResourceException e) {
+                    throw new RuntimeException(e);
+                }
+
+                if (stats != null) {
+                    stats.record(Phase.BEFORE_DELIVERY, delivered - start);
+                    stats.record(Phase.INVOKE, invoked - delivered);
+                    stats.record(Phase.AFTER_DELIVERY, System.nanoTime() - after);
+                }
+            } finally {
+                pool.release(endpoint);
+            }
+        }
+    }
+
+    private static void trySetAccessible(final Method method) {
+        try {
+            method.setAccessible(true);
+        } catch (SecurityException e) {
+            // checked on every call then, as before
+        }
+    }
+}
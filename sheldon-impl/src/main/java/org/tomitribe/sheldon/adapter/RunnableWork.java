@@ -50,8 +50,11 @@ public class RunnableWork implements Work, WorkContextProvider {
         
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         Thread.currentThread().setContextClassLoader(classLoader);
-        runnable.run();
-        Thread.currentThread().setContextClassLoader(cl);
+        try {
+            runnable.run();
+        } finally {
+            Thread.currentThread().setContextClassLoader(cl);
+        }
     }
 
     private boolean isAuthenticated() {
@@ -16,10 +16,28 @@
  */
 package org.tomitribe.sheldon.adapter;
 
+import org.tomitribe.sheldon.authenticator.Identity;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 public interface SecurityHandler {
 
-    boolean authenticate(String username, String password);
-    void runWithSecurityContext(Runnable runnable, String username, String password);
+    /**
+     * Validates the password against the container's realm on a
+     * WorkManager thread, the caller doesn't wait for it
+     *
+     * @return completes with who the user is, or null if not authenticated,
+     * and exceptionally if the realm couldn't be asked
+     */
+    CompletableFuture<Identity> authenticate(String username, String password);
+
+    /**
+     * Executes the callable on a WorkManager thread with a security context
+     * for the given user.  The thread is only held while the callable runs.
+     * The identity is established as it is, without asking the realm again.
+     */
+    <T> Future<T> submit(Callable<T> callable, Identity identity);
 
 }
@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.tomitribe.crest.api.StreamingOutput;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.stream.BaseStream;
+
+/**
+ * Turns command results that produce their elements over time into
+ * a {@link StreamingOutput}, which crest writes as the command output.
+ *
+ * Iterator, Stream and Publisher results are written one element per
+ * line, each flushed as soon as it is written.  The next element is
+ * only asked for once the previous one is out, so a command producing
+ * faster than the client reads is held back by the SSH channel window,
+ * or by the next command of a pipeline, rather than buffered.  When
+ * the output is closed, a pipeline ended by head for instance, the
+ * remaining elements are never produced.
+ *
+ * Publishers are java.util.concurrent.Flow or Reactive Streams ones,
+ * recognized by name and subscribed to by reflection so neither has
+ * to be there at runtime.
+ *
+ * Future and CompletionStage results are waited for and their value
+ * written as any other result.  When the command is cancelled, by
+ * Ctrl-C or the client going away, the wait is interrupted and the
+ * future cancelled in turn.
+ */
+public class StreamingResults {
+
+    private static final String[] PUBLISHERS = {"java.util.concurrent.Flow$", "org.reactivestreams."};
+
+    private StreamingResults() {
+    }
+
+    /**
+     * @return the result itself unless it is one of the streamed types
+     */
+    public static Object of(final Object result) {
+        if (result == null || result instanceof StreamingOutput) return result;
+
+        if (result instanceof Future) {
+            return new FutureOutput((Future<?>) result);
+        }
+
+        if (result instanceof CompletionStage) {
+            return new FutureOutput(future((CompletionStage<?>) result));
+        }
+
+        if (result instanceof Iterator) {
+            return new IteratorOutput((Iterator<?>) result, null);
+        }
+
+        if (result instanceof BaseStream) {
+            final BaseStream<?, ?> stream = (BaseStream<?, ?>) result;
+            return new IteratorOutput(stream.iterator(), stream);
+        }
+
+        final Class<?> publisher = publisherType(result.getClass());
+        if (publisher != null) {
+            return new PublisherOutput(result, publisher);
+        }
+
+        return result;
+    }
+
+    /**
+     * Not toCompletableFuture(), which a stage may not support
+     */
+    private static Future<?> future(final CompletionStage<?> stage) {
+        final CompletableFuture<Object> future = new CompletableFuture<Object>();
+        stage.whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(final Object value, final Throwable failure) {
+                if (failure != null) {
+                    future.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure);
+                } else {
+                    future.complete(value);
+                }
+            }
+        });
+        return future;
+    }
+
+    private static Class<?> publisherType(final Class<?> clazz) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (final Class<?> type : c.getInterfaces()) {
+                if (isPublisher(type)) return type;
+
+                final Class<?> inherited = publisherType(type);
+                if (inherited != null) return inherited;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPublisher(final Class<?> type) {
+        for (final String prefix : PUBLISHERS) {
+            if (type.getName().equals(prefix + "Publisher")) return true;
+        }
+        return false;
+    }
+
+    private static PrintStream print(final OutputStream os) {
+        return os instanceof PrintStream ? (PrintStream) os : new PrintStream(os);
+    }
+
+    /**
+     * @return false once whoever reads the output is gone
+     */
+    private static boolean println(final PrintStream out, final Object element) {
+        out.println(element);
+
+        // flushes as well
+        return !out.checkError();
+    }
+
+    private static class FutureOutput implements StreamingOutput {
+        private final Future<?> future;
+
+        public FutureOutput(final Future<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void write(final OutputStream os) throws IOException {
+            final Object value;
+            try {
+                value = future.get();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Command cancelled");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new CompletionException(cause);
+            }
+
+            final Object result = of(value);
+            if (result instanceof StreamingOutput) {
+                ((StreamingOutput) result).write(os);
+            } else if (result != null) {
+                println(print(os), result);
+            }
+        }
+    }
+
+    private static class IteratorOutput implements StreamingOutput {
+        private final Iterator<?> iterator;
+        private final AutoCloseable closeable;
+
+        public IteratorOutput(final Iterator<?> iterator, final AutoCloseable closeable) {
+            this.iterator = iterator;
+            this.closeable = closeable;
+        }
+
+        @Override
+        public void write(final OutputStream os) throws IOException {
+            final PrintStream out = print(os);
+            try {
+                while (iterator.hasNext()) {
+                    if (!println(out, iterator.next())) break;
+                }
+            } finally {
+                close();
+            }
+        }
+
+        private void close() throws IOException {
+            if (closeable == null) return;
+
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * Requests one element at a time, written on the command thread
+     * while the publisher may signal from any thread
+     */
+    private static class PublisherOutput implements StreamingOutput, InvocationHandler {
+        private static final Object COMPLETE = new Object();
+        private static final Object NULL = new Object();
+
+        private final Object publisher;
+        private final Class<?> subscriberType;
+        private final Method subscribe;
+        private final Method request;
+        private final Method cancel;
+
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<Object>();
+        private volatile Object subscription;
+
+        public PublisherOutput(final Object publisher, final Class<?> publisherType) {
+            this.publisher = publisher;
+
+            final String prefix = publisherType.getName().substring(0, publisherType.getName().length() - "Publisher".length());
+            try {
+                final ClassLoader loader = publisherType.getClassLoader();
+                this.subscriberType = Class.forName(prefix + "Subscriber", false, loader);
+
+                final Class<?> subscriptionType = Class.forName(prefix + "Subscription", false, loader);
+                this.subscribe = publisherType.getMethod("subscribe", subscriberType);
+                this.request = subscriptionType.getMethod("request", long.class);
+                this.cancel = subscriptionType.getMethod("cancel");
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                throw new IllegalStateException("Unsupported publisher " + publisherType.getName(), e);
+            }
+        }
+
+        @Override
+        public void write(final OutputStream os) throws IOException {
+            final PrintStream out = print(os);
+
+            final ClassLoader loader = subscriberType.getClassLoader() != null
+                    ? subscriberType.getClassLoader() : StreamingResults.class.getClassLoader();
+            final Object subscriber = Proxy.newProxyInstance(loader, new Class<?>[]{subscriberType}, this);
+            call(subscribe, publisher, subscriber);
+
+            try {
+                Object signal;
+                while ((signal = signals.take()) != COMPLETE) {
+                    if (signal instanceof Failure) {
+                        final Throwable failure = ((Failure) signal).failure;
+                        if (failure instanceof IOException) throw (IOException) failure;
+                        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+                        if (failure instanceof Error) throw (Error) failure;
+                        throw new IOException(failure);
+                    }
+
+                    if (!println(out, signal == NULL ? null : signal)) {
+                        cancel();
+                        return;
+                    }
+
+                    call(request, subscription, 1L);
+                }
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the publisher");
+            }
+        }
+
+        private void cancel() {
+            final Object subscription = this.subscription;
+            if (subscription != null) call(cancel, subscription);
+        }
+
+        /**
+         * The Subscriber methods
+         */
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "onSubscribe":
+                    subscription = args[0];
+                    call(request, subscription, 1L);
+                    return null;
+                case "onNext":
+                    signals.add(args[0] == null ? NULL : args[0]);
+                    return null;
+                case "onError":
+                    signals.add(new Failure((Throwable) args[0]));
+                    return null;
+                case "onComplete":
+                    signals.add(COMPLETE);
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Subscriber{" + publisher + "}";
+            }
+        }
+
+        private static Object call(final Method method, final Object target, final Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        private static class Failure {
+            private final Throwable failure;
+
+            public Failure(final Throwable failure) {
+                this.failure = failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import javax.resource.spi.work.WorkAdapter;
+import javax.resource.spi.work.WorkEvent;
+import javax.resource.spi.work.WorkListener;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The result of a Callable executed as a WorkManager work.
+ *
+ * The WorkManager reports rejected works, and works that failed before
+ * reaching the Callable, through a WorkListener only.  The listener
+ * returned by {@link #listener()} turns those into a failed future so
+ * callers waiting on {@link #get()} are always released.
+ */
+public class WorkFuture<T> extends FutureTask<T> {
+
+    public WorkFuture(final Callable<T> callable) {
+        super(callable);
+    }
+
+    public void fail(final Throwable throwable) {
+        setException(throwable);
+    }
+
+    public WorkListener listener() {
+        return new WorkAdapter() {
+            @Override
+            public void workRejected(final WorkEvent e) {
+                fail(e.getException() != null ? e.getException() : new IllegalStateException("Work rejected"));
+            }
+
+            @Override
+            public void workCompleted(final WorkEvent e) {
+                if (isDone()) return;
+
+                fail(e.getException() != null ? e.getException() : new IllegalStateException("Work completed without running"));
+            }
+        };
+    }
+}
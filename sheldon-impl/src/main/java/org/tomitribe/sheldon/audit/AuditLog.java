@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.audit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Audit trail of the command lines executed, one line per command line.
+ *
+ * Recording never blocks and never touches the disk.  Entries go into
+ * a {@link RingBuffer} and a single writer thread appends them to the
+ * file in batches, whatever accumulated while the previous batch was
+ * written.  When the buffer is full the entry is dropped and counted;
+ * a slow disk slows down the audit, not the shell.
+ *
+ * The fsync policy is one of
+ * <ul>
+ * <li>batch: every batch is forced to disk before the next, a group commit</li>
+ * <li>never: left to the operating system</li>
+ * <li>a number of milliseconds: forced at most that often</li>
+ * </ul>
+ *
+ * Once the file reaches the maximum size it is renamed to file.1,
+ * the previous file.1 to file.2 and so on, up to the maximum number
+ * of files.
+ */
+public class AuditLog implements AuditLogMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(AuditLog.class.getName());
+
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Path file;
+    private final long syncMillis;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final RingBuffer<Entry> buffer;
+
+    private final AtomicLong written = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+
+    private final Thread writer;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    // writer thread only
+    private FileChannel channel;
+    private long size;
+    private long lastSync;
+    private boolean unsynced;
+    private Entry next;
+    private final StringBuilder batch = new StringBuilder();
+
+    /**
+     * @param fsync batch, never or a number of milliseconds, see above
+     */
+    public AuditLog(final File file, final String fsync, final long maxFileSize, final int maxFiles, final int bufferSize) throws IOException {
+        this.file = file.getAbsoluteFile().toPath();
+        this.syncMillis = syncMillis(fsync);
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.buffer = new RingBuffer<Entry>(bufferSize);
+
+        final Path parent = this.file.getParent();
+        if (parent != null) Files.createDirectories(parent);
+        open();
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "sheldon-audit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * -1 for never, 0 for every batch
+     */
+    private static long syncMillis(final String fsync) {
+        if (fsync == null || "batch".equalsIgnoreCase(fsync)) return 0;
+        if ("never".equalsIgnoreCase(fsync)) return -1;
+
+        try {
+            return Math.max(0, Long.parseLong(fsync.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("fsync must be batch, never or a number of milliseconds: " + fsync);
+        }
+    }
+
+    /**
+     * @param status exit status of the command line, -1 if it ended the session
+     */
+    public void record(final String user, final long session, final String remoteAddress, final String commandline,
+                       final long nanos, final int status) {
+
+        if (closed || !buffer.offer(new Entry(System.currentTimeMillis(), user, session, remoteAddress, commandline, nanos, status))) {
+            dropped.increment();
+            return;
+        }
+
+        if (idle) LockSupport.unpark(writer);
+    }
+
+    /**
+     * Writes what is buffered and stops the writer
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getFile() {
+        return file.toString();
+    }
+
+    @Override
+    public long getWritten() {
+        return written.get();
+    }
+
+    @Override
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.get();
+    }
+
+    @Override
+    public long getSyncs() {
+        return syncs.get();
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                final boolean closing = closed;
+
+                final int count = fill();
+                if (count > 0) {
+                    write(count);
+                    continue;
+                }
+
+                if (unsynced && syncMillis > 0 && System.currentTimeMillis() - lastSync >= syncMillis) {
+                    sync();
+                }
+
+                if (closing) break;
+
+                idle = true;
+                // an entry may have come in before idle was seen
+                if (!closed && !hasNext()) LockSupport.parkNanos(this, IDLE_NANOS);
+                idle = false;
+            }
+
+            if (unsynced && syncMillis >= 0) sync();
+        } catch (Throwable t) {
+            LOGGER.log(Level.SEVERE, "Audit log " + file + " failed, entries are dropped from now on", t);
+            closed = true;
+        } finally {
+            // whatever is left is lost
+            for (Entry entry = buffer.poll(); entry != null; entry = buffer.poll()) {
+                dropped.increment();
+            }
+            close(channel);
+        }
+    }
+
+    private boolean hasNext() {
+        if (next == null) next = buffer.poll();
+        return next != null;
+    }
+
+    private int fill() {
+        batch.setLength(0);
+
+        int count = 0;
+        while (count < MAX_BATCH && hasNext()) {
+            next.format(batch);
+            next = null;
+            count++;
+        }
+        return count;
+    }
+
+    private void write(final int count) throws IOException {
+        final ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (size > 0 && size + bytes.remaining() > maxFileSize) {
+            rotate();
+        }
+
+        while (bytes.hasRemaining()) {
+            size += channel.write(bytes);
+        }
+        written.addAndGet(count);
+        batches.incrementAndGet();
+        unsynced = true;
+
+        if (syncMillis == 0) sync();
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        syncs.incrementAndGet();
+        lastSync = System.currentTimeMillis();
+        unsynced = false;
+    }
+
+    private void rotate() throws IOException {
+        if (syncMillis >= 0 && unsynced) sync();
+        channel.close();
+
+        final Path directory = file.getParent();
+        final String name = file.getFileName().toString();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            final Path older = directory.resolve(name + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, directory.resolve(name + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles >= 1) {
+            Files.move(file, directory.resolve(name + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    private static void close(final FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing more to write
+        }
+    }
+
+    private static class Entry {
+        private final long time;
+        private final String user;
+        private final long session;
+        private final String remoteAddress;
+        private final String commandline;
+        private final long nanos;
+        private final int status;
+
+        Entry(final long time, final String user, final long session, final String remoteAddress, final String commandline,
+              final long nanos, final int status) {
+            this.time = time;
+            this.user = user;
+            this.session = session;
+            this.remoteAddress = remoteAddress;
+            this.commandline = commandline;
+            this.nanos = nanos;
+            this.status = status;
+        }
+
+        /**
+         * time user=alice session=3 remote=/10.0.0.1:5123 status=0 millis=12.345 line="threads | grep main"
+         */
+        void format(final StringBuilder line) {
+            line.append(Instant.ofEpochMilli(time));
+            line.append(" user=").append(user);
+            line.append(" session=").append(session);
+            line.append(" remote=").append(remoteAddress);
+            line.append(" status=");
+            if (status < 0) {
+                line.append("exit");
+            } else {
+                line.append(status);
+            }
+            final long micros = nanos / 1000;
+            line.append(" millis=").append(micros / 1000).append('.');
+            final long fraction = micros % 1000;
+            if (fraction < 100) line.append('0');
+            if (fraction < 10) line.append('0');
+            line.append(fraction);
+            line.append(" line=");
+            quote(line, commandline);
+            line.append('\n');
+        }
+
+        /**
+         * Keeps one entry per line whatever the user typed
+         */
+        private static void quote(final StringBuilder line, final String value) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                    case '\\':
+                        line.append('\\').append(c);
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    default:
+                        if (c < ' ') {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                }
+            }
+            line.append('"');
+        }
+    }
+}
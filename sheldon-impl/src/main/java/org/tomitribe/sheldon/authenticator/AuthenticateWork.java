@@ -50,4 +50,11 @@ public class AuthenticateWork implements Work, WorkContextProvider {
     public boolean isAuthenticated() {
         return authenticated;
     }
+
+    /**
+     * @return who the user is to the container, null if not authenticated
+     */
+    public Identity getIdentity() {
+        return securityContext.getIdentity();
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers what the realm answered for a username and password, so
+ * scripts logging in over and over with the same account don't cost a
+ * realm round trip each time.
+ *
+ * Passwords are not kept, entries are keyed by the username and a hash
+ * of the password salted with a random value of this cache.  Successful
+ * and failed logins expire separately, failures usually sooner so a
+ * password fixed in the realm is picked up quickly.  Once full, the
+ * least recently used decision is dropped.
+ *
+ * A decision stays valid until it expires even if the realm changes its
+ * mind meanwhile, {@link #clear()} forgets them all.
+ */
+public class AuthenticationCache implements AuthenticationCacheMXBean {
+
+    private final byte[] salt = new byte[16];
+    private final int maxSize;
+    private final long successTtl;
+    private final long failureTtl;
+
+    private final Map<Key, Decision> decisions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param successTtl milliseconds a successful login is remembered
+     * @param failureTtl milliseconds a failed login is remembered, 0 not to
+     */
+    public AuthenticationCache(final int maxSize, final long successTtl, final long failureTtl) {
+        if (maxSize < 1) throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+
+        this.maxSize = maxSize;
+        this.successTtl = TimeUnit.MILLISECONDS.toNanos(successTtl);
+        this.failureTtl = TimeUnit.MILLISECONDS.toNanos(failureTtl);
+        new SecureRandom().nextBytes(salt);
+
+        this.decisions = new LinkedHashMap<Key, Decision>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Decision> eldest) {
+                if (size() <= AuthenticationCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return the remembered decision, null when there is none
+     */
+    public Decision get(final String username, final String password) {
+        final Key key = key(username, password);
+
+        final Decision decision;
+        synchronized (decisions) {
+            decision = decisions.get(key);
+            if (decision != null && decision.expired(System.nanoTime())) {
+                decisions.remove(key);
+                misses.increment();
+                return null;
+            }
+        }
+
+        if (decision == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return decision;
+    }
+
+    /**
+     * @param identity as answered by the realm, null if the login failed
+     */
+    public void put(final String username, final String password, final Identity identity) {
+        final long ttl = identity != null ? successTtl : failureTtl;
+        if (ttl <= 0) return;
+
+        final Decision decision = new Decision(identity, System.nanoTime() + ttl);
+        final Key key = key(username, password);
+        synchronized (decisions) {
+            decisions.put(key, decision);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (decisions) {
+            return decisions.size();
+        }
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void clear() {
+        synchronized (decisions) {
+            decisions.clear();
+        }
+    }
+
+    private Key key(final String username, final String password) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return new Key(username, digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Decision {
+        private final Identity identity;
+        private final long expires;
+
+        private Decision(final Identity identity, final long expires) {
+            this.identity = identity;
+            this.expires = expires;
+        }
+
+        /**
+         * @return who logged in, null if the login failed
+         */
+        public Identity getIdentity() {
+            return identity;
+        }
+
+        private boolean expired(final long now) {
+            return now - expires >= 0;
+        }
+    }
+
+    private static class Key {
+        private final String username;
+        private final byte[] hash;
+        private final int hashCode;
+
+        private Key(final String username, final byte[] hash) {
+            this.username = username;
+            this.hash = hash;
+            this.hashCode = 31 * username.hashCode() + Arrays.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            final Key key = (Key) o;
+            return username.equals(key.username) && MessageDigest.isEqual(hash, key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Public keys users may log in with, read from a file or a directory
+ * in the OpenSSH authorized_keys format and indexed by fingerprint, so
+ * finding who a key belongs to is a map lookup and never involves the
+ * realm.
+ *
+ * Each key names the principal it logs in as and the roles it is given:
+ *
+ * <pre>
+ * principal="deploy",roles="admin,ops" ssh-ed25519 AAAAC3NzaC1lZDI1NTE5AAAA... ci@build
+ * </pre>
+ *
+ * In a directory, each file holds the keys of the principal it is named
+ * after and the principal option can be left out.
+ *
+ * A key authorized as two different identities is ambiguous, which one
+ * wins would depend on the order the files are listed in.  Such a key
+ * is not authorized at all and an error is logged.
+ *
+ * The keys are read again whenever the file or directory changes.  The
+ * new keys replace the old ones at once, lookups never wait for a
+ * reload, and if the keys can't be read the old ones stay in place.
+ */
+public class AuthorizedKeys implements AuthorizedKeysMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(AuthorizedKeys.class.getName());
+
+    private final Path path;
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failedReloads = new AtomicLong();
+
+    private volatile Map<String, Identity> keys = Collections.emptyMap();
+    private WatchService watchService;
+    private Thread watcher;
+
+    public AuthorizedKeys(final Path path) {
+        this.path = path.toAbsolutePath();
+    }
+
+    /**
+     * Loads the keys and watches for changes
+     */
+    public void start() throws IOException {
+        keys = read();
+        reloads.incrementAndGet();
+
+        final boolean directory = Files.isDirectory(path);
+        final Path watched = directory ? path : path.getParent();
+
+        watchService = FileSystems.getDefault().newWatchService();
+        watched.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        watcher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch(directory);
+            }
+        }, "sheldon-authorized-keys");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public void close() {
+        if (watchService == null) return;
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not close the watch service of " + path, e);
+        }
+    }
+
+    /**
+     * @param fingerprint as printed by ssh-keygen -l, SHA256:&lt;base64&gt;
+     * @return who the key logs in as, or null if it isn't authorized
+     */
+    public Identity get(final String fingerprint) {
+        return keys.get(fingerprint);
+    }
+
+    @Override
+    public String getPath() {
+        return path.toString();
+    }
+
+    @Override
+    public int getKeyCount() {
+        return keys.size();
+    }
+
+    @Override
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    @Override
+    public long getFailedReloads() {
+        return failedReloads.get();
+    }
+
+    @Override
+    public void reload() {
+        try {
+            final Map<String, Identity> read = read();
+            keys = read;
+            reloads.incrementAndGet();
+            LOGGER.info("Loaded " + read.size() + " authorized keys from " + path);
+        } catch (IOException | RuntimeException e) {
+            failedReloads.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Could not reload the authorized keys from " + path + ", keeping the previous ones", e);
+        }
+    }
+
+    private void watch(final boolean directory) {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+
+                boolean changed = directory;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // a file is watched through its directory, other files don't matter
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context());
+                }
+                key.reset();
+
+                if (!changed) continue;
+
+                // editors and copies touch the files several times, settle first
+                WatchKey more;
+                while ((more = watchService.poll(100, TimeUnit.MILLISECONDS)) != null) {
+                    more.pollEvents();
+                    more.reset();
+                }
+
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private Map<String, Identity> read() throws IOException {
+        final Map<String, Identity> read = new HashMap<String, Identity>();
+        final Set<String> ambiguous = new HashSet<String>();
+
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(path)) {
+                for (Path file : files) {
+                    if (!Files.isRegularFile(file) || file.getFileName().toString().startsWith(".")) continue;
+                    read(file, file.getFileName().toString(), read, ambiguous);
+                }
+            }
+        } else {
+            read(path, null, read, ambiguous);
+        }
+
+        read.keySet().removeAll(ambiguous);
+        return read;
+    }
+
+    private static void read(final Path file, final String owner, final Map<String, Identity> read,
+                             final Set<String> ambiguous) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int number = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                try {
+                    final Entry entry = Entry.parse(line);
+
+                    final String principal = entry.options.containsKey("principal") ? entry.options.get("principal") : owner;
+                    if (principal == null || principal.isEmpty()) {
+                        throw new IllegalArgumentException("no principal option");
+                    }
+
+                    final Identity identity = new Identity(principal, roles(entry.options.get("roles")));
+                    final String fingerprint = entry.fingerprint();
+                    final Identity previous = read.put(fingerprint, identity);
+                    if (previous == null) continue;
+
+                    if (previous.getUsername().equals(identity.getUsername()) && previous.getGroups().equals(identity.getGroups())) {
+                        LOGGER.fine("Key of " + principal + " authorized again in " + file + ":" + number);
+                    } else if (ambiguous.add(fingerprint)) {
+                        LOGGER.severe("Key " + fingerprint + " of " + previous.getUsername() + " authorized again in " + file + ":"
+                                + number + " as " + principal + ", it is ambiguous and not authorized at all");
+                    }
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warning("Skipping key " + file + ":" + number + ", " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static List<String> roles(final String roles) {
+        final List<String> list = new ArrayList<String>();
+        if (roles == null) return list;
+
+        for (String role : roles.split(",")) {
+            role = role.trim();
+            if (!role.isEmpty()) list.add(role);
+        }
+        return list;
+    }
+
+    /**
+     * One line of an authorized_keys file: [options] type base64 [comment]
+     */
+    static class Entry {
+        private final Map<String, String> options;
+        private final String type;
+        private final byte[] blob;
+
+        private Entry(final Map<String, String> options, final String type, final byte[] blob) {
+            this.options = options;
+            this.type = type;
+            this.blob = blob;
+        }
+
+        static Entry parse(final String line) {
+            final List<String> tokens = tokens(line);
+
+            int i = 0;
+            Map<String, String> options = Collections.emptyMap();
+            if (tokens.size() > 2 && !isKeyType(tokens.get(0))) {
+                options = options(tokens.get(i++));
+            }
+
+            if (tokens.size() < i + 2) {
+                throw new IllegalArgumentException("expected a key type and a base64 key");
+            }
+
+            final String type = tokens.get(i++);
+            final byte[] blob;
+            try {
+                blob = Base64.getDecoder().decode(tokens.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("the key isn't base64");
+            }
+
+            return new Entry(options, type, blob);
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Map<String, String> getOptions() {
+            return options;
+        }
+
+        /**
+         * @return SHA256:&lt;base64 without padding&gt;, the format of ssh-keygen -l
+         */
+        public String fingerprint() {
+            try {
+                final byte[] digest = MessageDigest.getInstance("SHA-256").digest(blob);
+                return "SHA256:" + Base64.getEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                // every JRE has SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static boolean isKeyType(final String token) {
+            return token.startsWith("ssh-") || token.startsWith("ecdsa-") || token.startsWith("sk-");
+        }
+
+        /**
+         * Splits on whitespace outside of double quotes
+         */
+        private static List<String> tokens(final String line) {
+            final List<String> tokens = new ArrayList<String>();
+            final StringBuilder token = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                final char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && Character.isWhitespace(c)) {
+                    if (token.length() > 0) {
+                        tokens.add(token.toString());
+                        token.setLength(0);
+                    }
+                    continue;
+                }
+                token.append(c);
+            }
+
+            if (quoted) throw new IllegalArgumentException("unbalanced quotes");
+            if (token.length() > 0) tokens.add(token.toString());
+            return tokens;
+        }
+
+        /**
+         * name="value",flag,... with commas inside quotes kept
+         */
+        private static Map<String, String> options(final String options) {
+            final Map<String, String> map = new HashMap<String, String>();
+
+            int start = 0;
+            boolean quoted = false;
+            for (int i = 0; i <= options.length(); i++) {
+                if (i < options.length()) {
+                    final char c = options.charAt(i);
+                    if (c == '"') quoted = !quoted;
+                    if (quoted || c != ',') continue;
+                }
+
+                final String option = options.substring(start, i);
+                start = i + 1;
+                if (option.isEmpty()) continue;
+
+                final int eq = option.indexOf('=');
+                if (eq < 0) {
+                    map.put(option, "");
+                } else {
+                    String value = option.substring(eq + 1);
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    map.put(option.substring(0, eq), value);
+                }
+            }
+
+            return map;
+        }
+    }
+}
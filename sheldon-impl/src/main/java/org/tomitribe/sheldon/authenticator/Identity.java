@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.security.auth.Subject;
+
+/**
+ * Who a user turned out to be once the realm validated the password:
+ * the caller principal and the groups the container put in the Subject.
+ *
+ * Works run for the user afterwards establish this identity with
+ * CallerPrincipalCallback and GroupPrincipalCallback, so the realm
+ * is only asked at login and the password needn't be kept.
+ */
+public class Identity {
+
+    private final String username;
+    private final List<String> groups;
+
+    public Identity(final String username, final List<String> groups) {
+        this.username = username;
+        this.groups = Collections.unmodifiableList(new ArrayList<String>(groups));
+    }
+
+    /**
+     * The principal named after the user is the caller, any other
+     * principal of the Subject is taken for a group.
+     */
+    public static Identity of(final String username, final Subject subject) {
+        final List<String> groups = new ArrayList<String>();
+
+        final Set<Principal> principals = subject != null ? subject.getPrincipals() : Collections.<Principal>emptySet();
+        for (Principal principal : principals) {
+            if (username.equals(principal.getName())) continue;
+            groups.add(principal.getName());
+        }
+
+        Collections.sort(groups);
+        return new Identity(username, groups);
+    }
+
+    /**
+     * @return the name the user logged in with, the caller principal
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    @Override
+    public String toString() {
+        return username + (groups.isEmpty() ? "" : " " + groups);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import java.util.logging.Logger;
+
+/**
+ * Limits how fast password logins are attempted, per remote address
+ * and per username, so a flood of logins is refused before it gets to
+ * the WorkManager.  An address or a username may try burst logins in a
+ * row, then refill per minute.  Logins that succeed are refunded, only
+ * failed ones use the rate up.
+ *
+ * Memory is bounded, addresses and usernames are hashed to a fixed
+ * number of {@link TokenBuckets} stripes.
+ */
+public class LoginRateLimiter implements LoginRateLimiterMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(LoginRateLimiter.class.getName());
+
+    private final int burst;
+    private final int refill;
+    private final TokenBuckets addresses;
+    private final TokenBuckets usernames;
+
+    public LoginRateLimiter(final int stripes, final int burst, final int refill) {
+        this.burst = burst;
+        this.refill = refill;
+        this.addresses = new TokenBuckets(stripes, burst, refill);
+        this.usernames = new TokenBuckets(stripes, burst, refill);
+    }
+
+    /**
+     * @param address the remote host, without the port
+     * @return false if the address or the username is over its rate
+     */
+    public boolean tryAcquire(final String address, final String username) {
+        if (address != null && !addresses.tryAcquire(address)) {
+            refused(address, username, addresses);
+            return false;
+        }
+
+        if (!usernames.tryAcquire(username)) {
+            refused(address, username, usernames);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gives back the tokens taken by {@link #tryAcquire}, for a login
+     * that succeeded
+     */
+    public void refund(final String address, final String username) {
+        if (address != null) addresses.refund(address);
+        usernames.refund(username);
+    }
+
+    @Override
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public int getRefill() {
+        return refill;
+    }
+
+    @Override
+    public long getRejectedByAddress() {
+        return addresses.getRejected();
+    }
+
+    @Override
+    public long getRejectedByUsername() {
+        return usernames.getRejected();
+    }
+
+    private static void refused(final String address, final String username, final TokenBuckets buckets) {
+        // a flood would flood the log too, only say it once in a while
+        final long rejected = buckets.getRejected();
+        if (Long.bitCount(rejected) == 1) {
+            LOGGER.warning("Refused login of " + username + " from " + address + ", too many logins ("
+                    + rejected + " refused so far)");
+        }
+    }
+}
@@ -14,33 +14,69 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.tomitribe.sheldon.authenticator;
 
+import org.apache.sshd.server.auth.AsyncAuthException;
 import org.apache.sshd.server.auth.password.PasswordAuthenticator;
 import org.apache.sshd.server.session.ServerSession;
-import org.tomitribe.sheldon.adapter.SecurityHandler;
 import org.tomitribe.sheldon.ssh.SshdServer;
-import org.tomitribe.sheldon.ssh.SshdServer.Credential;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * The realm is asked on a WorkManager thread, the sshd thread only
+ * waits when the answer is already there.  Otherwise sshd is told the
+ * answer comes later and the login is completed from the callback.
+ */
 public class PasswordAuthenticatorImpl implements PasswordAuthenticator {
 
-    private final SecurityHandler securityHandler;
+    private final PendingAuthentications authentications;
 
-    public PasswordAuthenticatorImpl(final SecurityHandler securityHandler) {
-        this.securityHandler = securityHandler;
+    public PasswordAuthenticatorImpl(final PendingAuthentications authentications) {
+        this.authentications = authentications;
     }
 
     @Override
-    public boolean authenticate(String username, String password, ServerSession session) {
-        final boolean authenticated = securityHandler.authenticate(username, password);
+    public boolean authenticate(String username, String password, final ServerSession session) {
+        final CompletableFuture<Identity> future = authentications.authenticate(address(session), username, password);
+
+        if (future.isDone()) {
+            return authenticated(future.getNow(null), session);
+        }
+
+        final AsyncAuthException async = new AsyncAuthException();
+        future.whenComplete(new BiConsumer<Identity, Throwable>() {
+            @Override
+            public void accept(final Identity identity, final Throwable throwable) {
+                async.setAuthed(authenticated(throwable == null ? identity : null, session));
+            }
+        });
+        throw async;
+    }
+
+    private static String address(final ServerSession session) {
+        if (session == null || session.getIoSession() == null) return null;
+
+        final SocketAddress address = session.getIoSession().getRemoteAddress();
+        if (address instanceof InetSocketAddress) {
+            // every connection comes from another port, the host is what counts
+            final InetSocketAddress inet = (InetSocketAddress) address;
+            return inet.getAddress() != null ? inet.getAddress().getHostAddress() : inet.getHostString();
+        }
+        return String.valueOf(address);
+    }
 
-        if (!authenticated) {
+    private static boolean authenticated(final Identity identity, final ServerSession session) {
+        if (identity == null) {
             return false;
         }
 
+        // the password is forgotten, commands run as this identity
         if (session != null) {
-            session.setAttribute(SshdServer.CREDENTIAL, new Credential(password));
+            session.setAttribute(SshdServer.IDENTITY, identity);
         }
 
         return true;
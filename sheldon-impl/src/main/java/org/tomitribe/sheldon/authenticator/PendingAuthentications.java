@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Password checks handed to the WorkManager without waiting for them.
+ *
+ * A login that isn't decided within the timeout is refused, though the
+ * check itself runs on and still counts as pending until the realm
+ * answers.  No more than the maximum number of checks are pending at
+ * once, logins beyond that are refused straight away rather than
+ * queueing up on the WorkManager behind a slow realm.
+ *
+ * Logins the {@link AuthenticationCache} can decide never reach the
+ * realm, they are neither counted as pending nor timed.
+ *
+ * Before any of that, logins over the {@link LoginRateLimiter} rate are
+ * refused.  A successful login gets its token back, so it's failed
+ * logins that are limited and a script logging in over and over with
+ * the right password never is.
+ */
+public class PendingAuthentications implements PendingAuthenticationsMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(PendingAuthentications.class.getName());
+
+    private final SecurityHandler securityHandler;
+    private final AuthenticationCache cache;
+    private final LoginRateLimiter limiter;
+    private final long timeoutMillis;
+    private final int maxPending;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * @param cache login decisions, null to ask the realm every time
+     * @param limiter rate of failed logins, null for no limit
+     */
+    public PendingAuthentications(final SecurityHandler securityHandler, final AuthenticationCache cache,
+                                  final LoginRateLimiter limiter, final long timeoutMillis, final int maxPending) {
+        this.securityHandler = securityHandler;
+        this.cache = cache;
+        this.limiter = limiter;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPending = maxPending;
+
+        this.timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "sheldon-auth-timeout");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    public CompletableFuture<Identity> authenticate(final String username, final String password) {
+        return authenticate(null, username, password);
+    }
+
+    /**
+     * @param address the remote host, null if unknown
+     * @return completes with the identity, or null if the login is refused
+     */
+    public CompletableFuture<Identity> authenticate(final String address, final String username, final String password) {
+        if (limiter == null) return check(username, password);
+
+        if (!limiter.tryAcquire(address, username)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return check(username, password).thenApply(new Function<Identity, Identity>() {
+            @Override
+            public Identity apply(final Identity identity) {
+                if (identity != null) limiter.refund(address, username);
+                return identity;
+            }
+        });
+    }
+
+    private CompletableFuture<Identity> check(final String username, final String password) {
+        // answered without asking the realm, however busy it is
+        if (cache != null) {
+            final AuthenticationCache.Decision decision = cache.get(username, password);
+            if (decision != null) return CompletableFuture.completedFuture(decision.getIdentity());
+        }
+
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.incrementAndGet();
+            LOGGER.warning("Refused login of " + username + ", " + maxPending + " authentications already pending");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Identity> check;
+        try {
+            check = securityHandler.authenticate(username, password);
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // nothing to wait for
+        if (check.isDone()) {
+            pending.decrementAndGet();
+            return check.handle(new BiFunction<Identity, Throwable, Identity>() {
+                @Override
+                public Identity apply(final Identity identity, final Throwable throwable) {
+                    return answered(username, password, identity, throwable);
+                }
+            });
+        }
+
+        final CompletableFuture<Identity> result = new CompletableFuture<Identity>();
+        final ScheduledFuture<?> timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (result.complete(null)) {
+                    timedOut.incrementAndGet();
+                    LOGGER.warning("Refused login of " + username + ", no answer from the realm within " + timeoutMillis + "ms");
+                }
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        check.whenComplete(new BiConsumer<Identity, Throwable>() {
+            @Override
+            public void accept(final Identity identity, final Throwable throwable) {
+                pending.decrementAndGet();
+                timeout.cancel(false);
+                result.complete(answered(username, password, identity, throwable));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Remembers what the realm answered, even too late for this login.
+     * A check that failed is no answer and isn't remembered.
+     */
+    private Identity answered(final String username, final String password, final Identity identity, final Throwable throwable) {
+        if (throwable != null) return null;
+
+        if (cache != null) cache.put(username, password, identity);
+        return identity;
+    }
+
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    @Override
+    public int getPending() {
+        return pending.get();
+    }
+
+    @Override
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    @Override
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+}
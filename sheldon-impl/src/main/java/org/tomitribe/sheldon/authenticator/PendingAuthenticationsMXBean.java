@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+/**
+ * JMX view of the password checks in flight, registered by the resource
+ * adapter as org.tomitribe.sheldon:type=Authentications,port=&lt;sshPort&gt;
+ */
+public interface PendingAuthenticationsMXBean {
+
+    /**
+     * @return password checks running or queued on the WorkManager
+     */
+    int getPending();
+
+    int getMaxPending();
+
+    /**
+     * @return logins refused because too many checks were pending
+     */
+    long getRejected();
+
+    /**
+     * @return logins refused because the realm did not answer in time
+     */
+    long getTimedOut();
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.apache.sshd.common.config.keys.KeyUtils;
+import org.apache.sshd.common.digest.BuiltinDigests;
+import org.apache.sshd.server.auth.pubkey.PublickeyAuthenticator;
+import org.apache.sshd.server.session.ServerSession;
+import org.tomitribe.sheldon.ssh.SshdServer;
+
+import java.security.PublicKey;
+
+/**
+ * Lets users in with a key of {@link AuthorizedKeys}, provided they
+ * log in as the principal the key belongs to.  The realm isn't asked,
+ * commands run with the principal and roles given to the key.
+ *
+ * sshd asks about a key when the client offers it, before it proves to
+ * hold the private key, so the identity is only noted as the one of the
+ * key offered.  It becomes the session's once the login succeeded.
+ */
+public class PublickeyAuthenticatorImpl implements PublickeyAuthenticator {
+
+    private final AuthorizedKeys authorizedKeys;
+
+    public PublickeyAuthenticatorImpl(final AuthorizedKeys authorizedKeys) {
+        this.authorizedKeys = authorizedKeys;
+    }
+
+    @Override
+    public boolean authenticate(final String username, final PublicKey key, final ServerSession session) {
+        final Identity identity = authorizedKeys.get(KeyUtils.getFingerPrint(BuiltinDigests.sha256, key));
+        final boolean authorized = identity != null && identity.getUsername().equals(username);
+
+        if (session != null) {
+            // the signature isn't checked yet, a key that isn't authorized leaves nothing behind
+            if (authorized) {
+                session.setAttribute(SshdServer.KEY_IDENTITY, identity);
+            } else {
+                session.removeAttribute(SshdServer.KEY_IDENTITY);
+            }
+        }
+
+        return authorized;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed number of token buckets, keys are hashed to one of them.
+ * Memory doesn't grow with the number of keys seen, at the price of
+ * unrelated keys sharing a bucket now and then, which only makes the
+ * limit stricter for them.
+ *
+ * Each bucket is a single long, the time at which it will be full
+ * again (the generic cell rate algorithm), updated with a CAS.  A
+ * bucket holds up to burst tokens and regains one every refill
+ * interval.
+ */
+class TokenBuckets {
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long interval;
+    private final long tolerance;
+    private final long origin = System.nanoTime();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param stripes rounded up to a power of two
+     * @param burst tokens a full bucket holds
+     * @param perMinute tokens regained per minute
+     */
+    TokenBuckets(final int stripes, final int burst, final int perMinute) {
+        if (burst < 1) throw new IllegalArgumentException("Burst must be positive: " + burst);
+        if (perMinute < 1) throw new IllegalArgumentException("Refill must be positive: " + perMinute);
+
+        final int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.buckets = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.interval = TimeUnit.MINUTES.toNanos(1) / perMinute;
+        this.tolerance = interval * (burst - 1);
+    }
+
+    /**
+     * @return true if the key's bucket had a token, which is now taken
+     */
+    public boolean tryAcquire(final Object key) {
+        final int index = spread(key.hashCode()) & mask;
+        final long now = System.nanoTime() - origin;
+
+        while (true) {
+            final long full = buckets.get(index);
+            final long from = Math.max(full, now);
+
+            if (from - now > tolerance) {
+                rejected.increment();
+                return false;
+            }
+
+            if (buckets.compareAndSet(index, full, from + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Puts back a token taken from the key's bucket
+     */
+    public void refund(final Object key) {
+        // a bucket emptying in the past is as good as full, no extra burst
+        buckets.addAndGet(spread(key.hashCode()) & mask, -interval);
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getStripes() {
+        return buckets.length();
+    }
+
+    private static int spread(final int h) {
+        return (h ^ (h >>> 16)) * 0x45d9f3b;
+    }
+}
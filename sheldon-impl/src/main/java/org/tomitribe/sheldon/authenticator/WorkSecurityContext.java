@@ -25,12 +25,20 @@ import javax.security.auth.Subject;
 import javax.security.auth.callback.Callback;
 import javax.security.auth.callback.CallbackHandler;
 import javax.security.auth.callback.UnsupportedCallbackException;
+import javax.security.auth.message.callback.CallerPrincipalCallback;
+import javax.security.auth.message.callback.GroupPrincipalCallback;
 import javax.security.auth.message.callback.PasswordValidationCallback;
 
+/**
+ * Either validates a password against the container's realm, at login,
+ * or establishes an {@link Identity} captured at login without going
+ * back to the realm, for every work run for the user afterwards.
+ */
 public class WorkSecurityContext extends SecurityContext {
 
     private final String username;
     private final String password;
+    private Identity identity;
     private boolean authenticated = false;
 
     public WorkSecurityContext(String username, String password) {
@@ -38,8 +46,19 @@ public class WorkSecurityContext extends SecurityContext {
         this.password = password;
     }
 
+    public WorkSecurityContext(Identity identity) {
+        this.username = identity.getUsername();
+        this.password = null;
+        this.identity = identity;
+    }
+
     @Override
     public void setupSecurityContext(final CallbackHandler handler, final Subject executionSubject, final Subject serviceSubject) {
+        if (password == null) {
+            propagate(handler, executionSubject);
+            return;
+        }
+
         List<Callback> callbacks = new ArrayList<Callback>();
 
         final PasswordValidationCallback pvc = new PasswordValidationCallback(executionSubject, username, password.toCharArray());
@@ -56,10 +75,39 @@ public class WorkSecurityContext extends SecurityContext {
         }
         
         this.authenticated = pvc.getResult();
+        if (authenticated) {
+            this.identity = Identity.of(username, executionSubject);
+        }
         System.out.println("Authenticated: " + this.authenticated);
     }
 
+    private void propagate(final CallbackHandler handler, final Subject executionSubject) {
+        final List<Callback> callbacks = new ArrayList<Callback>();
+        callbacks.add(new CallerPrincipalCallback(executionSubject, identity.getUsername()));
+
+        final List<String> groups = identity.getGroups();
+        if (!groups.isEmpty()) {
+            callbacks.add(new GroupPrincipalCallback(executionSubject, groups.toArray(new String[groups.size()])));
+        }
+
+        try {
+            handler.handle(callbacks.toArray(new Callback[callbacks.size()]));
+            this.authenticated = true;
+        } catch (UnsupportedCallbackException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     public boolean isAuthenticated() {
         return authenticated;
     }
+
+    /**
+     * @return the identity established, null until authenticated
+     */
+    public Identity getIdentity() {
+        return authenticated ? identity : null;
+    }
 }
\ No newline at end of file
@@ -75,6 +75,18 @@ public class TerminalSessionContext implements Context {
         return state.get() != null;
     }
 
+    /**
+     * Makes the terminal state of a session current on this thread.
+     * Commands of a session may run on any WorkManager thread.
+     */
+    public static void attach(final TerminalState terminalState) {
+        state.set(terminalState);
+    }
+
+    public static void detach() {
+        state.remove();
+    }
+
     public static void destroy() {
         final TerminalState terminalState = state.get();
         if (terminalState != null) {
@@ -117,6 +129,10 @@ public class TerminalSessionContext implements Context {
             return (T) scopedInstance.getInstance();
         }
 
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
         public void destroy() {
             logger.info(m("destroying context"));
             //Since this is not a CDI NormalScope we are responsible for managing the entire lifecycle, including
@@ -23,6 +23,8 @@ import org.apache.sshd.server.SessionAware;
 import org.apache.sshd.server.session.ServerSession;
 import org.tomitribe.sheldon.adapter.SecurityHandler;
 import org.tomitribe.sheldon.ssh.ConsoleSession;
+import org.tomitribe.sheldon.ssh.SessionContext;
+import org.tomitribe.sheldon.ssh.SessionExecutor;
 import org.tomitribe.sheldon.ssh.SshdServer;
 import org.tomitribe.sheldon.ssh.StopException;
 import org.tomitribe.sheldon.ssh.TtyCodes;
@@ -30,6 +32,9 @@ import org.tomitribe.sheldon.ssh.TtyCodes;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 public class CrestCommands implements Command, Runnable, TtyCodes, SessionAware {
 
@@ -38,21 +43,26 @@ public class CrestCommands implements Command, Runnable, TtyCodes, SessionAware
     private InputStream in;
     private OutputStream out;
     private Environment env;
-    private Thread thread;
+    private Future<?> task;
 
     private final ConsoleSession consoleSession;
     private final SecurityHandler contextRunnable;
+    private final SessionExecutor sessionExecutor;
     private ServerSession session;
 
-    public CrestCommands(ConsoleSession session, SecurityHandler contextRunnable) {
+    public CrestCommands(ConsoleSession session, SecurityHandler contextRunnable, SessionExecutor sessionExecutor) {
         super();
         this.consoleSession = session;
         this.contextRunnable = contextRunnable;
+        this.sessionExecutor = sessionExecutor;
     }
 
     @Override
     public void destroy() {
-        thread.interrupt();
+        // the interrupted session thread cancels the works running the command line
+        if (task != null) {
+            task.cancel(true);
+        }
     }
 
     @Override
@@ -78,27 +88,30 @@ public class CrestCommands implements Command, Runnable, TtyCodes, SessionAware
     @Override
     public void start(Environment env) throws IOException {
         this.env = env;
-        thread = new Thread(this);
-        thread.start();
+        try {
+            task = sessionExecutor.submit(this);
+        } catch (RejectedExecutionException e) {
+            final PrintStream ps = new PrintStream(err);
+            ps.println(e.getMessage());
+            ps.flush();
+            cbk.onExit(1);
+        }
     }
 
     @Override
     public void run() {
-        contextRunnable.runWithSecurityContext(new Runnable() {
-
-            @Override
-            public void run() {
-                try {
-                    consoleSession.doSession(in, out);
-                } catch (StopException s) {
-                    // exit normally
-                } catch (Throwable t) {
-                    t.printStackTrace();
-                }
-
-                cbk.onExit(0);
-            }
-        }, session.getUsername(), session.getAttribute(SshdServer.CREDENTIAL).getValue());
+        final SessionContext context = new SessionContext(contextRunnable, SshdServer.identity(session),
+                String.valueOf(session.getIoSession().getRemoteAddress()), SshdServer.closer(session));
+
+        try {
+            consoleSession.doSession(context.count(in), context.count(out), context);
+        } catch (StopException s) {
+            // exit normally
+        } catch (Throwable t) {
+            t.printStackTrace();
+        }
+
+        cbk.onExit(0);
     }
 
     @Override
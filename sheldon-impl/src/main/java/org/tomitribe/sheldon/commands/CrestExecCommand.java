@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tomitribe.sheldon.commands;
+
+import org.apache.sshd.server.Command;
+import org.apache.sshd.server.Environment;
+import org.apache.sshd.server.ExitCallback;
+import org.apache.sshd.server.SessionAware;
+import org.apache.sshd.server.session.ServerSession;
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+import org.tomitribe.sheldon.ssh.ConsoleSession;
+import org.tomitribe.sheldon.ssh.SessionContext;
+import org.tomitribe.sheldon.ssh.SessionExecutor;
+import org.tomitribe.sheldon.ssh.SshdServer;
+import org.tomitribe.sheldon.ssh.StopException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Handles non-interactive requests such as <code>ssh host 'threads'</code>
+ *
+ * There is no line editor, banner or prompt.  The command line is
+ * dispatched straight to crest, the output streamed back and the
+ * exit status of the command reported to the client.
+ */
+public class CrestExecCommand implements Command, Runnable, SessionAware {
+
+    private final String commandline;
+    private final ConsoleSession consoleSession;
+    private final SecurityHandler contextRunnable;
+    private final SessionExecutor sessionExecutor;
+
+    private OutputStream err;
+    private ExitCallback cbk;
+    private InputStream in;
+    private OutputStream out;
+    private ServerSession session;
+    private Future<?> task;
+
+    public CrestExecCommand(String commandline, ConsoleSession consoleSession, SecurityHandler contextRunnable, SessionExecutor sessionExecutor) {
+        this.commandline = commandline;
+        this.consoleSession = consoleSession;
+        this.contextRunnable = contextRunnable;
+        this.sessionExecutor = sessionExecutor;
+    }
+
+    @Override
+    public void setInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public void setOutputStream(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void setErrorStream(OutputStream err) {
+        this.err = err;
+    }
+
+    @Override
+    public void setExitCallback(ExitCallback cbk) {
+        this.cbk = cbk;
+    }
+
+    @Override
+    public void setSession(ServerSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public void start(Environment env) throws IOException {
+        try {
+            task = sessionExecutor.submit(this);
+        } catch (RejectedExecutionException e) {
+            final PrintStream ps = new PrintStream(err);
+            ps.println(e.getMessage());
+            ps.flush();
+            cbk.onExit(1);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // the interrupted session thread cancels the works running the command line
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    @Override
+    public void run() {
+        final SessionContext context = new SessionContext(contextRunnable, SshdServer.identity(session),
+                String.valueOf(session.getIoSession().getRemoteAddress()), SshdServer.closer(session));
+
+        final PrintStream stdout = new PrintStream(new BufferedOutputStream(context.count(out), 8192));
+        final PrintStream stderr = new PrintStream(new BufferedOutputStream(context.count(err), 1024));
+
+        int status;
+        try {
+            status = consoleSession.execute(commandline.trim(), context.count(in), stdout, stderr, context);
+        } catch (StopException s) {
+            status = 0;
+        } catch (Throwable t) {
+            t.printStackTrace(stderr);
+            status = 1;
+        } finally {
+            context.close();
+        }
+
+        stdout.flush();
+        stderr.flush();
+        cbk.onExit(status);
+    }
+}
@@ -22,19 +22,22 @@ import org.apache.sshd.server.Command;
 import org.tomitribe.sheldon.adapter.SecurityHandler;
 import org.tomitribe.sheldon.commands.CrestCommands;
 import org.tomitribe.sheldon.ssh.ConsoleSession;
+import org.tomitribe.sheldon.ssh.SessionExecutor;
 
 public class CrestComandsFactory implements Factory<Command> {
 
     private final ConsoleSession session;
     private final SecurityHandler contextRunnable;
+    private final SessionExecutor sessionExecutor;
 
-    public CrestComandsFactory(ConsoleSession session, SecurityHandler contextRunnable) {
+    public CrestComandsFactory(ConsoleSession session, SecurityHandler contextRunnable, SessionExecutor sessionExecutor) {
         this.session = session;
         this.contextRunnable = contextRunnable;
+        this.sessionExecutor = sessionExecutor;
     }
 
     @Override
     public Command create() {
-        return new CrestCommands(session, contextRunnable);
+        return new CrestCommands(session, contextRunnable, sessionExecutor);
     }
 }
@@ -16,45 +16,89 @@
  */
 package org.tomitribe.sheldon.ssh;
 
-import org.tomitribe.util.IO;
-
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
+/**
+ * Splits a command line into arguments the way bash would.
+ *
+ * The line is walked in place with an index, the only allocations
+ * are the resulting Strings and arrays.  States are handled in one
+ * flat loop so the stack depth does not depend on the input.
+ */
 public class ArgumentsParser {
 
-    private static final char EOF = (char) -1;
+    private static final int BARE = 0;
+    private static final int SINGLE_QUOTED = 1;
+    private static final int DOUBLE_QUOTED = 2;
+    private static final int ESCAPED = 3;
+    private static final int ESCAPED_IN_DOUBLE_QUOTES = 4;
+
     final List<Arguments> commands = new ArrayList<>();
     final List<String> result = new ArrayList<>();
-    final InputStream input;
+    final CharSequence input;
+    final int length;
 
-    StringBuilder arg;
-    State state = this::continueBare;
+    final StringBuilder arg = new StringBuilder();
+    boolean inArg;
 
-    public ArgumentsParser(final String input) {
-        this(IO.read(input));
-    }
-
-    public ArgumentsParser(final InputStream input) {
+    public ArgumentsParser(final CharSequence input) {
         this.input = input;
+        this.length = input.length();
     }
 
-    public static Arguments[] parse(final String line) {
+    public static Arguments[] parse(final CharSequence line) {
         final ArgumentsParser parser = new ArgumentsParser(line);
         return parser.parseArgs();
     }
 
     public Arguments[] parseArgs() {
+        int state = BARE;
+
+        for (int i = 0; i < length; i++) {
+            final char c = input.charAt(i);
+
+            switch (state) {
+                case BARE:
+                    state = bare(c);
+                    break;
+
+                case SINGLE_QUOTED:
+                    if ('\'' == c) {
+                        state = BARE;
+                    } else {
+                        append(c);
+                    }
+                    break;
+
+                case DOUBLE_QUOTED:
+                    if ('\"' == c) {
+                        state = BARE;
+                    } else if ('\\' == c) {
+                        state = ESCAPED_IN_DOUBLE_QUOTES;
+                    } else {
+                        append(c);
+                    }
+                    break;
+
+                case ESCAPED:
+                    append(c);
+                    state = BARE;
+                    break;
+
+                case ESCAPED_IN_DOUBLE_QUOTES:
+                    escapeInDoubleQuotes(c);
+                    state = DOUBLE_QUOTED;
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown state " + state);
+            }
+        }
 
-        char c = EOF;
-
-        while ((c = state.read()) != EOF) {
-            if (arg == null) arg = new StringBuilder();
-            arg.append(c);
+        // A trailing backslash inside double quotes is kept
+        if (state == ESCAPED_IN_DOUBLE_QUOTES) {
+            append('\\');
         }
 
         endCommand();
@@ -63,10 +107,7 @@ public class ArgumentsParser {
     }
 
     public void endCommand() {
-        if (arg != null) {
-            result.add(arg.toString());
-            arg.setLength(0);
-        }
+        endArg();
 
         if (!result.isEmpty()) {
             commands.add(new Arguments(result.toArray(new String[result.size()])));
@@ -74,129 +115,65 @@ public class ArgumentsParser {
         }
     }
 
-    private char continueBare() {
-
-        final char read = read();
-
-        // Skip passed any white space
-        if (isSeparator(read)) {
-
-            // If we were reading an arg, close it
-            if (arg != null) {
-                result.add(arg.toString());
-                arg = null;
-            }
-
-            return continueBare();
-        }
-
-        if ('|' == read) {
-            endCommand();
-            return continueBare();
-        }
-
-        // We've found something not whitespace
-        if (EOF != read && arg == null) {
-            arg = new StringBuilder();
+    private void endArg() {
+        if (inArg) {
+            result.add(arg.toString());
+            arg.setLength(0);
+            inArg = false;
         }
+    }
 
-        if ('\'' == read) return next(this::inSingleQuotes);
-        if ('\"' == read) return next(this::inDoubleQuotes);
-        if ('\\' == read) return next(this::escape);
-
-        return read;
+    private void append(final char c) {
+        inArg = true;
+        arg.append(c);
     }
 
-    private boolean isSeparator(char read) {
-        switch (read){
+    private int bare(final char c) {
+        switch (c) {
+            // White space closes the arg we were reading, if any
             case ' ':
             case '\t':
-                return true;
-            default:
-                return false;
-        }
-    }
+                endArg();
+                return BARE;
 
-    private char inSingleQuotes() {
-        final char read = read();
-        if ('\'' == read) return next(this::continueBare);
-        return read;
-    }
+            case '|':
+                endCommand();
+                return BARE;
 
-    private char inDoubleQuotes() {
-        final char read = read();
-        if ('\"' == read) return next(this::continueBare);
-        if ('\\' == read) return next(this::escapeInDoubleQuotes);
-        return read;
-    }
+            // Quotes and escapes start an arg, even if it stays empty
+            case '\'':
+                inArg = true;
+                return SINGLE_QUOTED;
+
+            case '\"':
+                inArg = true;
+                return DOUBLE_QUOTED;
 
-    private char escape() {
-        return use(read(), this::continueBare);
+            case '\\':
+                inArg = true;
+                return ESCAPED;
+
+            default:
+                append(c);
+                return BARE;
+        }
     }
 
-    private char escapeInDoubleQuotes() {
-        final char read = read();
-        switch (read) {
+    /**
+     * Inside double quotes a backslash only escapes " $ \ and `
+     * Before any other character the backslash is kept as well.
+     */
+    private void escapeInDoubleQuotes(final char c) {
+        switch (c) {
             case '\"':
             case '$':
             case '\\':
             case '`':
-                return use(read, this::inDoubleQuotes);
+                append(c);
+                break;
             default:
+                append('\\');
+                append(c);
         }
-
-        return next(flush()
-                .state(this::backslash)
-                .state(() -> read)
-                .state(this::inDoubleQuotes)
-                .states());
-    }
-
-    private char next(final State state) {
-        this.state = state;
-        return state.read();
-    }
-
-    private char use(char current, final State next) {
-        this.state = next;
-        return current;
-    }
-
-    private char read() {
-        try {
-            return (char) input.read();
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
-        }
-    }
-
-    public Seq flush() {
-        return new Seq();
-    }
-
-    public class Seq {
-        private final List<State> states = new LinkedList<>();
-
-        public Seq state(State next) {
-            states.add(next);
-            return this;
-        }
-
-        public State states() {
-            final Iterator<State> iterator = states.iterator();
-            return () -> {
-                final State next = iterator.next();
-                if (iterator.hasNext()) return next.read();
-                return next(next);
-            };
-        }
-    }
-
-    public interface State {
-        char read();
-    }
-
-    private char backslash() {
-        return '\\';
     }
 }
@@ -17,10 +17,79 @@
 package org.tomitribe.sheldon.ssh;
 
 import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.api.Option;
+import org.tomitribe.sheldon.stats.Stats;
+
+import java.util.List;
 
 public class BuildIn {
+
+    private final Stats stats;
+    private final SessionRegistry sessions;
+    private final String adminRole;
+
+    /**
+     * @param adminRole role of the users who may kill any session, not just their own
+     */
+    public BuildIn(final Stats stats, final SessionRegistry sessions, final String adminRole) {
+        this.stats = stats;
+        this.sessions = sessions;
+        this.adminRole = adminRole;
+    }
+
     @Command
     public void exit() throws StopException {
         throw new StopException();
     }
+
+    /**
+     * Latencies, rates and errors of the commands run so far
+     */
+    @Command
+    public String stats(@Option({"phases", "p"}) final boolean phases,
+                        @Option("reset") final boolean reset) {
+        final String report = stats.report(phases);
+        if (reset) stats.reset();
+        return report;
+    }
+
+    /**
+     * Who is connected, your own session marked with a *
+     */
+    @Command
+    public String who() {
+        return sessions.who();
+    }
+
+    /**
+     * Open sessions with their traffic and the WorkManager threads they hold
+     */
+    @Command
+    public String sessions() {
+        return sessions.report();
+    }
+
+    /**
+     * Cancels the commands of a session and disconnects it.  Only your
+     * own sessions, unless you have the admin role.
+     */
+    @Command("kill-session")
+    public String killSession(final long id) {
+        final SessionContext session = sessions.get(id);
+        if (session == null) return "No session " + id;
+
+        if (!mayKill(SessionContext.current(), session)) {
+            return "Not allowed to kill session " + id + " of " + session.getUsername();
+        }
+
+        return sessions.killSession(id) ? "Killed session " + id : "No session " + id;
+    }
+
+    private boolean mayKill(final SessionContext caller, final SessionContext session) {
+        if (caller == null) return false;
+        if (caller.getUsername().equals(session.getUsername())) return true;
+
+        final List<String> roles = caller.getIdentity().getGroups();
+        return roles != null && roles.contains(adminRole);
+    }
 }
@@ -17,40 +17,36 @@
 package org.tomitribe.sheldon.ssh;
 
 import jline.console.completer.Completer;
-import org.tomitribe.crest.Main;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static jline.internal.Preconditions.checkNotNull;
 
 /**
- * JLine completer that inspects the crest commands available along with their sub-commands and arguments and provides a
- * list of candidates
+ * JLine completer that looks up the candidates in the current {@link CompletionIndex}.
  *
+ * The index is maintained as beans are activated and deactivated, so
+ * a TAB press does not scan every registered command.
  */
 public class CommandCompleter implements Completer {
 
-    private final Main main;
+    private final Supplier<CompletionIndex> index;
 
-    public CommandCompleter(Main main) {
-        this.main = main;
+    public CommandCompleter(Supplier<CompletionIndex> index) {
+        this.index = index;
     }
 
     @Override
     public int complete(String buffer, int cursor, List<CharSequence> candidates) {
-        try {
-            checkNotNull(candidates);
+        checkNotNull(candidates);
 
-            if (buffer == null) {
-                buffer = "";
-            }
-
-            candidates.addAll(main.complete(buffer, cursor));
-
-        } catch (final Throwable t) {
-            // no-op
+        if (buffer == null) {
+            buffer = "";
         }
 
+        candidates.addAll(index.get().complete(buffer, cursor));
+
         return buffer.lastIndexOf(" ", cursor) + 1;
     }
 
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.tomitribe.crest.Main;
+import org.tomitribe.crest.cmds.Cmd;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The commands available in the shell, grouped by owner: the built-ins
+ * and each activated bean.
+ *
+ * Readers get an immutable {@link Snapshot} with its own crest Main and
+ * completion index, and never lock.  Registering or unregistering an
+ * owner builds a complete new snapshot from the current one and swaps
+ * it in with a compare-and-set, retrying if another activation got
+ * there first.  A command line runs against the snapshot it started
+ * with, and a removed bean's commands are no longer referenced once
+ * the commands that started before its removal are done.
+ *
+ * Owners still on their way are counted so sessions can tell users
+ * the commands they see are not all there yet.
+ */
+public class CommandRegistry {
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<Snapshot>(new Snapshot());
+    private final AtomicInteger loading = new AtomicInteger();
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * An owner will register its commands, or give up, soon
+     */
+    public void loading() {
+        loading.incrementAndGet();
+    }
+
+    /**
+     * @return the number of owners still loading
+     */
+    public int loaded() {
+        return loading.decrementAndGet();
+    }
+
+    public int getLoading() {
+        return loading.get();
+    }
+
+    /**
+     * Registers the commands of an owner, replacing any it registered before
+     */
+    public void register(final Object owner, final Collection<Cmd> commands) {
+        final List<Cmd> copy = Collections.unmodifiableList(new ArrayList<Cmd>(commands));
+
+        Snapshot snapshot;
+        do {
+            snapshot = current.get();
+        } while (!current.compareAndSet(snapshot, snapshot.with(owner, copy)));
+    }
+
+    /**
+     * @return the commands the owner had registered, or an empty list
+     */
+    public List<Cmd> unregister(final Object owner) {
+        Snapshot snapshot;
+        do {
+            snapshot = current.get();
+            if (!snapshot.owners.containsKey(owner)) return Collections.emptyList();
+        } while (!current.compareAndSet(snapshot, snapshot.without(owner)));
+
+        return snapshot.owners.get(owner);
+    }
+
+    public static class Snapshot {
+        private final Map<Object, List<Cmd>> owners;
+        private final Main main;
+        private final CompletionIndex completionIndex;
+
+        private Snapshot() {
+            this(Collections.<Object, List<Cmd>>emptyMap(), CompletionIndex.EMPTY);
+        }
+
+        private Snapshot(final Map<Object, List<Cmd>> owners, final CompletionIndex completionIndex) {
+            this.owners = owners;
+            this.completionIndex = completionIndex;
+
+            // never modified once the snapshot is published
+            this.main = new Main();
+            for (List<Cmd> commands : owners.values()) {
+                for (Cmd cmd : commands) {
+                    main.add(cmd);
+                }
+            }
+        }
+
+        public Main getMain() {
+            return main;
+        }
+
+        public CompletionIndex getCompletionIndex() {
+            return completionIndex;
+        }
+
+        public Collection<Object> getOwners() {
+            return Collections.unmodifiableCollection(owners.keySet());
+        }
+
+        private Snapshot with(final Object owner, final List<Cmd> commands) {
+            final Map<Object, List<Cmd>> map = new LinkedHashMap<Object, List<Cmd>>(owners);
+            final List<Cmd> previous = map.put(owner, commands);
+
+            CompletionIndex index = completionIndex;
+            if (previous != null) index = index.without(previous);
+
+            return new Snapshot(Collections.unmodifiableMap(map), index.with(commands));
+        }
+
+        private Snapshot without(final Object owner) {
+            final Map<Object, List<Cmd>> map = new LinkedHashMap<Object, List<Cmd>>(owners);
+            final List<Cmd> removed = map.remove(owner);
+
+            CompletionIndex index = completionIndex.without(removed);
+
+            // a name the removed owner had taken over belongs to the previous owner again
+            final List<Cmd> shadowed = new ArrayList<Cmd>();
+            for (List<Cmd> commands : map.values()) {
+                for (Cmd cmd : commands) {
+                    if (index.get(cmd.getName()) == null) shadowed.add(cmd);
+                }
+            }
+
+            return new Snapshot(Collections.unmodifiableMap(map), index.with(shadowed));
+        }
+    }
+}
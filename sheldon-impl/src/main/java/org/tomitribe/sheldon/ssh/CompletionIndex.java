@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.tomitribe.crest.cmds.Cmd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable index of the command names, shared by all sessions.
+ *
+ * Names are kept in a sorted array, so the candidates for a prefix are
+ * one binary search followed by a scan of the matching names only.
+ * Once the command name is typed, completion is delegated to that one
+ * command, which knows its sub-commands and options.
+ *
+ * Activating or deactivating a bean builds a new index from the previous
+ * one with {@link #with(Collection)} and {@link #without(Collection)}.
+ */
+public class CompletionIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(CompletionIndex.class.getName());
+
+    public static final CompletionIndex EMPTY = new CompletionIndex(new String[0], Collections.<String, Cmd>emptyMap());
+
+    private final String[] names;
+    private final List<String> candidates;
+    private final Map<String, Cmd> commands;
+
+    private CompletionIndex(final String[] names, final Map<String, Cmd> commands) {
+        this.names = names;
+        this.commands = commands;
+
+        // candidates are built once here rather than on every TAB
+        final String[] candidates = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            candidates[i] = names[i] + " ";
+        }
+        this.candidates = Collections.unmodifiableList(Arrays.asList(candidates));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public Cmd get(final String name) {
+        return commands.get(name);
+    }
+
+    /**
+     * @return a new index with the given commands added, replacing
+     * any existing command of the same name
+     */
+    public CompletionIndex with(final Collection<Cmd> added) {
+        if (added.isEmpty()) return this;
+
+        final Map<String, Cmd> map = new HashMap<String, Cmd>(commands);
+        final List<String> fresh = new ArrayList<String>(added.size());
+        for (Cmd cmd : added) {
+            if (map.put(cmd.getName(), cmd) == null) {
+                fresh.add(cmd.getName());
+            }
+        }
+
+        final String[] sortedFresh = fresh.toArray(new String[fresh.size()]);
+        Arrays.sort(sortedFresh);
+
+        // merge the two sorted arrays
+        final String[] merged = new String[names.length + sortedFresh.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < names.length && j < sortedFresh.length) {
+            merged[k++] = names[i].compareTo(sortedFresh[j]) <= 0 ? names[i++] : sortedFresh[j++];
+        }
+        while (i < names.length) merged[k++] = names[i++];
+        while (j < sortedFresh.length) merged[k++] = sortedFresh[j++];
+
+        return new CompletionIndex(merged, map);
+    }
+
+    /**
+     * @return a new index without the given commands.  A name now
+     * registered by another command is left alone.
+     */
+    public CompletionIndex without(final Collection<Cmd> removed) {
+        final Map<String, Cmd> map = new HashMap<String, Cmd>(commands);
+        boolean changed = false;
+        for (Cmd cmd : removed) {
+            if (map.get(cmd.getName()) == cmd) {
+                map.remove(cmd.getName());
+                changed = true;
+            }
+        }
+
+        if (!changed) return this;
+
+        final String[] remaining = new String[map.size()];
+        int k = 0;
+        for (String name : names) {
+            if (map.containsKey(name)) remaining[k++] = name;
+        }
+
+        return new CompletionIndex(remaining, map);
+    }
+
+    /**
+     * @return the completion candidates, command names being
+     * followed by a space as crest does
+     */
+    public List<String> complete(final String buffer, final int cursor) {
+        final int end = Math.max(0, Math.min(cursor, buffer.length()));
+
+        // skip leading blanks
+        int start = 0;
+        while (start < end && buffer.charAt(start) == ' ') start++;
+
+        final int space = buffer.indexOf(' ', start);
+        if (space < 0 || space >= end) {
+            return names(buffer.substring(start, space < 0 ? end : Math.min(space, end)));
+        }
+
+        final Cmd cmd = commands.get(buffer.substring(start, space));
+        if (cmd == null) return Collections.emptyList();
+
+        try {
+            return new ArrayList<String>(cmd.complete(buffer, cursor));
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.FINE, "Completion failed for command " + cmd.getName(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<String> names(final String prefix) {
+        int from = Arrays.binarySearch(names, prefix);
+        if (from < 0) from = -from - 1;
+
+        // names starting with the prefix are contiguous, find the end
+        int low = from;
+        int high = names.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (names[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return candidates.subList(from, low);
+    }
+}
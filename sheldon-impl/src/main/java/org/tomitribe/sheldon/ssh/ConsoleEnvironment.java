@@ -27,10 +27,16 @@ import java.util.Properties;
 class ConsoleEnvironment implements Environment {
     private final Map<Class<?>, Object> services;
     private final PrintStream out;
+    private final PrintStream err;
     private final InputStream in;
 
     public ConsoleEnvironment(PrintStream out, InputStream in) {
+        this(out, out, in);
+    }
+
+    public ConsoleEnvironment(PrintStream out, PrintStream err, InputStream in) {
         this.out = out;
+        this.err = err;
         this.in = in;
         this.services = Collections.emptyMap();
     }
@@ -42,7 +48,7 @@ class ConsoleEnvironment implements Environment {
 
     @Override
     public PrintStream getError() {
-        return out;
+        return err;
     }
 
     @Override
@@ -19,54 +19,80 @@ package org.tomitribe.sheldon.ssh;
 import jline.console.ConsoleReader;
 import org.tomitribe.crest.Main;
 import org.tomitribe.crest.cmds.CommandFailedException;
-import org.tomitribe.sheldon.cdi.TerminalSessionContext;
-import org.tomitribe.sheldon.util.Utils;
 import org.tomitribe.crest.environments.Environment;
+import org.tomitribe.sheldon.audit.AuditLog;
+import org.tomitribe.sheldon.stats.CommandStats;
+import org.tomitribe.sheldon.stats.CommandStats.Phase;
+import org.tomitribe.sheldon.stats.Stats;
+import org.tomitribe.sheldon.util.Pipe;
 
-import java.io.FilterOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 public class ConsoleSession implements TtyCodes {
 
-    private final Main main;
+    private static final int PIPE_SIZE = 64 * 1024;
+    private static final int PIPE_LIMIT = 16 * 1024 * 1024;
+    private static final long KEYBOARD_POLL_MILLIS = 20;
+
+    private final CommandRegistry registry;
     private final String prompt;
+    private final Stats stats;
+    private final SessionRegistry sessions;
+    private final AuditLog audit;
 
-    public ConsoleSession(Main main, String prompt) {
+    /**
+     * @param audit null when command lines are not audited
+     */
+    public ConsoleSession(CommandRegistry registry, String prompt, Stats stats, SessionRegistry sessions, AuditLog audit) {
         super();
-        this.main = main;
+        this.registry = registry;
         this.prompt = prompt;
+        this.stats = stats;
+        this.sessions = sessions;
+        this.audit = audit;
     }
 
-    public void doSession(final InputStream in, OutputStream out) throws IOException {
-        FilterOutputStream fo = new FilterOutputStream(out) {
-            @Override
-            public void write(final int i) throws IOException {
-                super.write(i);
+    public void doSession(final InputStream in, OutputStream out, final SessionContext context) throws IOException {
+        sessions.add(context);
 
-                // workaround for MacOSX!! reset line after CR..
-                if (!Utils.isWin() && i == ConsoleReader.CR.toCharArray()[0]) {
-                    super.write(ConsoleReader.RESET_LINE);
-                }
-            }
-        };
+        final TerminalOutputStream fo = new TerminalOutputStream(out);
 
         ConsoleReader reader = new ConsoleReader(in, fo);
-        reader.addCompleter(new CommandCompleter(main));
+        reader.addCompleter(new CommandCompleter(new Supplier<CompletionIndex>() {
+            @Override
+            public CompletionIndex get() {
+                return registry.snapshot().getCompletionIndex();
+            }
+        }));
 
         reader.setPrompt(String.format("\u001B[33m%s\u001B[0m ", prompt));
         PrintWriter writer = new PrintWriter(reader.getOutput());
         writer.println("");
         writer.println("type \'help\' for a list of commands");
+        if (registry.getLoading() > 0) {
+            writer.println(loadingNotice());
+        }
 
         String line;
         try {
             while ((line = reader.readLine().trim()) != null) {
                 if (line.length() > 0) {
-                    handleUserInput(line.trim(), in, fo);
+                    handleUserInput(line.trim(), in, fo, context);
                 }
             }
         } catch (StopException stop) {
@@ -77,17 +103,412 @@ public class ConsoleSession implements TtyCodes {
             e.printStackTrace(new PrintStream(out));
             throw new StopException(e);
         } finally {
-            TerminalSessionContext.destroy();
+            sessions.remove(context);
+            context.close();
+        }
+    }
+
+    /**
+     * Line editing happens on the session thread, only the
+     * command itself is handed to a WorkManager thread
+     */
+    private void handleUserInput(String commandline, final InputStream in, OutputStream out, SessionContext context) {
+        final PrintStream ps = new PrintStream(out);
+        execute(commandline, in, ps, ps, context, true);
+    }
+
+    /**
+     * Executes one command line and returns its exit status
+     *
+     * The commands of a pipeline all run at once, each on its own
+     * WorkManager thread, connected by bounded in-memory pipes.  As
+     * in a shell the status is the one of the last command.
+     *
+     * @return 0 on success, 1 if the command failed and 2 if
+     * the command was not found or its arguments were invalid
+     */
+    public int execute(final String commandline, final InputStream in, final PrintStream out, final PrintStream err, final SessionContext context) {
+        sessions.add(context);
+        try {
+            return execute(commandline, in, out, err, context, false);
+        } finally {
+            sessions.remove(context);
+        }
+    }
+
+    /**
+     * On a terminal the session thread keeps reading the keyboard while
+     * the line runs.  Keystrokes are passed on to the first command and
+     * Ctrl-C cancels them all, interrupting the works running them.
+     *
+     * @return as above, or 130 when interrupted by Ctrl-C
+     */
+    private int execute(final String commandline, final InputStream in, final PrintStream out, final PrintStream err,
+                        final SessionContext context, final boolean terminal) {
+        if (audit == null) return dispatch(commandline, in, out, err, context, terminal);
+
+        final long start = System.nanoTime();
+        int status = -1;
+        try {
+            status = dispatch(commandline, in, out, err, context, terminal);
+            return status;
+        } finally {
+            audit.record(context.getUsername(), context.getId(), context.getRemoteAddress(), commandline,
+                    System.nanoTime() - start, status);
+        }
+    }
+
+    private int dispatch(final String commandline, final InputStream in, final PrintStream out, final PrintStream err,
+                         final SessionContext context, final boolean terminal) {
+        final long start = System.nanoTime();
+        final Arguments[] arguments = ArgumentsParser.parse(commandline);
+        final long parsed = System.nanoTime();
+        if (arguments.length == 0) return 0;
+
+        context.executed();
+
+        if (registry.getLoading() > 0) {
+            err.println(loadingNotice());
+        }
+
+        // the whole line runs against the commands registered when it started
+        final CommandRegistry.Snapshot snapshot = registry.snapshot();
+        final Main main = snapshot.getMain();
+        final int last = arguments.length - 1;
+
+        final CommandStats[] commandStats = new CommandStats[arguments.length];
+        for (int i = 0; i <= last; i++) {
+            commandStats[i] = stats(snapshot, arguments[i].get());
+        }
+        if (commandStats[0] != null) commandStats[0].record(Phase.PARSE, parsed - start);
+
+        final Pipe[] pipes = new Pipe[last];
+        for (int i = 0; i < last; i++) {
+            // stages may queue for a thread held by the one writing to them, see Pipe
+            pipes[i] = new Pipe(PIPE_SIZE, PIPE_LIMIT);
+        }
+
+        final Pipe keyboard = terminal ? new Pipe(PIPE_SIZE) : null;
+
+        // cut off from the terminal when the line is over, see OutputGate
+        final OutputGate outGate = new OutputGate(out);
+        final OutputGate errGate = (err == out) ? outGate : new OutputGate(err);
+        final PrintStream stageErr = new PrintStream(errGate);
+
+        final List<Future<Object>> stages = new ArrayList<Future<Object>>(arguments.length);
+        try {
+            for (int i = 0; i <= last; i++) {
+                final InputStream stageIn = (i > 0) ? pipes[i - 1].getInputStream() : (terminal ? keyboard.getInputStream() : in);
+                final PrintStream stageOut = (i == last) ? new PrintStream(outGate) : new PipeStream(pipes[i]);
+                final Pipe upstream = (i > 0) ? pipes[i - 1] : null;
+
+                stages.add(context.submit(new Stage(main, arguments[i].get(), commandStats[i], upstream, stageIn, stageOut, stageErr, i > 0 || terminal, i < last)));
+
+                // rejected by the WorkManager, it never gets to close its ends
+                release(stages, pipes);
+            }
+
+            final boolean interrupted = terminal && watch(in, keyboard.getOutputStream(), stages, pipes);
+            if (interrupted) {
+                cancel(stages);
+
+                // a command ignoring the interrupt may still be writing
+                outGate.shut();
+                errGate.shut();
+                out.println("^C");
+            }
+
+            if (last > 0) awaitAll(stages, pipes);
+
+            int status = 0;
+            for (int i = 0; i <= last; i++) {
+                status = await(stages.get(i), err);
+            }
+            return interrupted ? 130 : status;
+        } catch (StopException stop) {
+            cancel(stages);
+            throw stop;
+        } finally {
+            outGate.shut();
+            errGate.shut();
+
+            if (keyboard != null) {
+                close(keyboard.getOutputStream());
+                close(keyboard.getInputStream());
+            }
+            for (Pipe pipe : pipes) {
+                close(pipe.getOutputStream());
+                close(pipe.getInputStream());
+            }
+            out.flush();
+            err.flush();
         }
     }
 
-    private void handleUserInput(String commandline, InputStream in, OutputStream out) {
-        final String[] args = ArgumentsParser.parse(commandline)[0].get();
-        PrintStream ps = new PrintStream(out);
+    /**
+     * Reads the terminal until all stages are done
+     *
+     * @return true if the user hit Ctrl-C
+     */
+    private static boolean watch(final InputStream terminal, final OutputStream keyboard, final List<Future<Object>> stages,
+                                 final Pipe[] pipes) {
+        final byte[] buffer = new byte[1024];
+        boolean forward = true;
+
+        for (Future<Object> stage : stages) {
+            while (!stage.isDone()) {
+                try {
+                    final int available = terminal.available();
+                    if (available <= 0) {
+                        release(stages, pipes);
+                        poll(stage);
+                        continue;
+                    }
+
+                    final int read = terminal.read(buffer, 0, Math.min(available, buffer.length));
+
+                    // the client went away, same as Ctrl-C
+                    if (read < 0) return true;
+
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == ETX) return true;
+                    }
+
+                    if (forward) {
+                        keyboard.write(buffer, 0, read);
+                        keyboard.flush();
+                    }
+                } catch (IOException e) {
+                    if (Thread.currentThread().isInterrupted()) throw new StopException(e);
+
+                    // the first command closed its input or the terminal is gone, only Ctrl-C matters now
+                    forward = false;
+                    poll(stage);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits for every stage, in whatever order they finish
+     */
+    private static void awaitAll(final List<Future<Object>> stages, final Pipe[] pipes) {
+        while (true) {
+            final Future<Object> pending = release(stages, pipes);
+            if (pending == null) return;
+            poll(pending);
+        }
+    }
+
+    /**
+     * Closes the pipes around the stages that are done.  A stage closes
+     * its own ends when it runs, but one rejected or cancelled before it
+     * got a thread never does, and would leave the stage writing to it
+     * blocked on a full pipe, or the one reading from it waiting for EOF.
+     *
+     * A stage whose reader is done has no one left to write to and is
+     * cancelled, whether it is running or still waiting for a thread.
+     *
+     * @return the first stage still running, or null if all are done
+     */
+    private static Future<Object> release(final List<Future<Object>> stages, final Pipe[] pipes) {
+        Future<Object> pending = null;
+        for (int i = 0; i < stages.size(); i++) {
+            final Future<Object> stage = stages.get(i);
+            if (!stage.isDone()) {
+                if (pending == null) pending = stage;
+                continue;
+            }
+
+            if (i > 0) {
+                close(pipes[i - 1].getInputStream());
+                stages.get(i - 1).cancel(true);
+            }
+            if (i < pipes.length) close(pipes[i].getOutputStream());
+        }
+        return pending;
+    }
+
+    private static void poll(final Future<Object> stage) {
+        try {
+            stage.get(KEYBOARD_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            throw new StopException(e);
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // done or not, await() will tell
+        }
+    }
+
+    private static void cancel(final List<Future<Object>> stages) {
+        for (Future<Object> stage : stages) {
+            stage.cancel(true);
+        }
+    }
+
+    /**
+     * @return null for unknown commands, they are not worth a histogram
+     */
+    private CommandStats stats(final CommandRegistry.Snapshot snapshot, final String[] args) {
+        if (args.length == 0 || snapshot.getCompletionIndex().get(args[0]) == null) return null;
+        return stats.get(args[0]);
+    }
+
+    private String loadingNotice() {
+        return String.format("commands loading, %d command beans to go", registry.getLoading());
+    }
+
+    private int await(final Future<Object> stage, final PrintStream err) {
+        try {
+            stage.get();
+            return 0;
+        } catch (InterruptedException e) {
+            throw new StopException(e);
+        } catch (CancellationException e) {
+            return 1;
+        } catch (ExecutionException e) {
+            return handleFailure(e.getCause(), err);
+        }
+    }
+
+    private static void close(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // pipes don't fail on close
+        }
+    }
+
+    /**
+     * One command of a pipeline.  It closes its ends of the pipes
+     * when done so the next command sees EOF and the previous one
+     * a broken pipe, whatever the others are still doing.
+     *
+     * Its dispatch time runs from the moment it got a thread until
+     * its output is flushed.  Failures count as errors, not commands
+     * cancelled with Ctrl-C, nor those stopped by a broken pipe.
+     */
+    private static class Stage implements Callable<Object> {
+        private final Main main;
+        private final String[] args;
+        private final CommandStats stats;
+        private final Pipe upstream;
+        private final InputStream in;
+        private final PrintStream out;
+        private final PrintStream err;
+        private final boolean closeIn;
+        private final boolean closeOut;
+
+        /**
+         * @param upstream the pipe read from, null for the first command
+         */
+        public Stage(final Main main, final String[] args, final CommandStats stats, final Pipe upstream, final InputStream in,
+                     final PrintStream out, final PrintStream err, final boolean closeIn, final boolean closeOut) {
+            this.main = main;
+            this.args = args;
+            this.stats = stats;
+            this.upstream = upstream;
+            this.in = in;
+            this.out = out;
+            this.err = err;
+            this.closeIn = closeIn;
+            this.closeOut = closeOut;
+        }
+
+        @Override
+        public Object call() throws Exception {
+            final long start = System.nanoTime();
+            if (upstream != null) upstream.readerStarted();
+            if (stats != null) CommandStats.attach(stats);
+            try {
+                final Environment env = new ConsoleEnvironment(out, err, in);
+                main.main(env, args);
+                return null;
+            } catch (Throwable t) {
+                // the next command is done reading, so are we
+                if (out instanceof PipeStream && ((PipeStream) out).isBroken()) return null;
+
+                if (stats != null && !Thread.currentThread().isInterrupted()) stats.error();
+                throw t;
+            } finally {
+                final long flush = System.nanoTime();
+                if (closeOut) {
+                    out.close();
+                } else {
+                    out.flush();
+                }
+                if (closeIn) close(in);
+
+                if (stats != null) {
+                    CommandStats.detach();
+
+                    final long end = System.nanoTime();
+                    stats.record(Phase.FLUSH, end - flush);
+                    stats.record(Phase.DISPATCH, end - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Output of a command writing to the next one.  A PrintStream would
+     * swallow the "Broken pipe" once the next command is done, and a
+     * command printing in a loop would never stop, so the failure is
+     * thrown through instead.
+     */
+    private static class PipeStream extends PrintStream {
+        private final Pipe pipe;
+        private volatile boolean failed;
+
+        public PipeStream(final Pipe pipe) {
+            super(pipe.getOutputStream());
+            this.pipe = pipe;
+        }
+
+        /**
+         * @return true if a write failed because the next command closed its input
+         */
+        public boolean isBroken() {
+            return failed && pipe.isReaderClosed();
+        }
+
+        @Override
+        public void write(final int b) {
+            try {
+                out.write(b);
+            } catch (IOException e) {
+                throw broken(e);
+            }
+        }
+
+        @Override
+        public void write(final byte[] buf, final int off, final int len) {
+            try {
+                out.write(buf, off, len);
+            } catch (IOException e) {
+                throw broken(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw broken(e);
+            }
+        }
+
+        private UncheckedIOException broken(final IOException e) {
+            failed = true;
+            setError();
+            return new UncheckedIOException(e);
+        }
+    }
 
+    private int handleFailure(final Throwable failure, final PrintStream ps) {
         try {
-            final Environment env = new ConsoleEnvironment(ps, in);
-            main.main(env, args);
+            throw failure;
         } catch (CommandFailedException e) {
             if (e.getCause() instanceof StopException) {
                 throw (StopException) e.getCause();
@@ -95,12 +516,14 @@ public class ConsoleSession implements TtyCodes {
 
             ps.println("Command Bean threw an Exception");
             e.printStackTrace(ps);
+            return 1;
         } catch (IllegalArgumentException iae) {
-            // no-op
+            return 2;
         } catch (StopException stop) {
             throw stop;
         } catch (Throwable throwable) {
             throwable.printStackTrace(ps);
+            return 1;
         }
     }
 
@@ -0,0 +1,460 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.api.Default;
+import org.tomitribe.crest.api.Option;
+import org.tomitribe.crest.environments.Environment;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Line oriented filters for use on the right hand side of a pipe:
+ *
+ *   threads | grep BLOCKED | wc
+ *
+ * Input is read as it arrives and output is written in chunks, so
+ * nothing is held in memory beyond what each filter needs.  When the
+ * output goes away, for instance because of a head further down the
+ * pipeline, filters stop reading and return.
+ */
+public class Filters {
+
+    private final long sortBufferSize;
+
+    public Filters() {
+        this(4 * 1024 * 1024);
+    }
+
+    /**
+     * @param sortBufferSize approximate amount of memory, in bytes, sort holds
+     * before spilling sorted runs to temporary files
+     */
+    public Filters(final long sortBufferSize) {
+        this.sortBufferSize = sortBufferSize;
+    }
+
+    @Command
+    public void grep(@Option({"invert-match", "v"}) final boolean invert,
+                     @Option({"ignore-case", "i"}) final boolean ignoreCase,
+                     final String regex) throws IOException {
+
+        final Pattern pattern = Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+        final Lines lines = new Lines();
+
+        String line;
+        while ((line = lines.read()) != null) {
+            if (pattern.matcher(line).find() != invert) {
+                lines.write(line);
+            }
+        }
+
+        lines.flush();
+    }
+
+    /**
+     * Returns as soon as enough lines were read, which closes
+     * the pipe and stops the command writing to it
+     */
+    @Command
+    public void head(@Option({"lines", "n"}) @Default("10") final int count) throws IOException {
+        final Lines lines = new Lines();
+
+        String line;
+        for (int i = 0; i < count && (line = lines.read()) != null; i++) {
+            lines.write(line);
+        }
+
+        lines.flush();
+    }
+
+    @Command
+    public void tail(@Option({"lines", "n"}) @Default("10") final int count) throws IOException {
+        if (count <= 0) return;
+
+        final Lines lines = new Lines();
+
+        // grows with the input, a large count costs nothing up front
+        final ArrayDeque<String> last = new ArrayDeque<String>(Math.min(count, 16));
+
+        String line;
+        while ((line = lines.read()) != null) {
+            if (last.size() == count) last.removeFirst();
+            last.addLast(line);
+        }
+
+        for (final String l : last) {
+            lines.write(l);
+        }
+
+        lines.flush();
+    }
+
+    /**
+     * Counts lines, words and bytes.  Works on the raw bytes, there
+     * is no need to decode anything to find line feeds and blanks.
+     */
+    @Command
+    public void wc() throws IOException {
+        final Environment env = Environment.ENVIRONMENT_THREAD_LOCAL.get();
+        final InputStream in = env.getInput();
+
+        final byte[] buffer = new byte[8192];
+        long lines = 0;
+        long words = 0;
+        long bytes = 0;
+        boolean inWord = false;
+
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            bytes += n;
+            for (int i = 0; i < n; i++) {
+                final byte b = buffer[i];
+                if (b == '\n') lines++;
+
+                final boolean blank = b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+                if (!blank && !inWord) words++;
+                inWord = !blank;
+            }
+        }
+
+        final PrintStream out = env.getOutput();
+        out.printf("%7d %7d %7d%n", lines, words, bytes);
+    }
+
+    /**
+     * Lines are sorted in memory up to sortBufferSize.  Past that
+     * sorted runs are spilled to temporary files and merged at the end.
+     */
+    @Command
+    public void sort(@Option({"reverse", "r"}) final boolean reverse,
+                     @Option({"ignore-case", "f"}) final boolean ignoreCase) throws IOException {
+
+        Comparator<String> comparator = ignoreCase ? String.CASE_INSENSITIVE_ORDER : NATURAL;
+        if (reverse) comparator = Collections.reverseOrder(comparator);
+
+        final Lines lines = new Lines();
+        final List<String> run = new ArrayList<String>();
+        final List<File> spills = new ArrayList<File>();
+
+        try {
+            long size = 0;
+
+            String line;
+            while ((line = lines.read()) != null) {
+                run.add(line);
+                size += 40 + 2L * line.length();
+
+                if (size >= sortBufferSize) {
+                    spills.add(spill(run, comparator));
+                    run.clear();
+                    size = 0;
+                }
+            }
+
+            Collections.sort(run, comparator);
+
+            if (spills.isEmpty()) {
+                for (String sorted : run) {
+                    if (!lines.write(sorted)) break;
+                }
+            } else {
+                merge(run, spills, comparator, lines);
+            }
+
+            lines.flush();
+        } finally {
+            for (File spill : spills) {
+                if (!spill.delete()) spill.deleteOnExit();
+            }
+        }
+    }
+
+    @Command
+    public void uniq(@Option({"count", "c"}) final boolean count) throws IOException {
+        final Lines lines = new Lines();
+
+        String previous = lines.read();
+        long occurrences = 1;
+
+        String line;
+        while (previous != null) {
+            line = lines.read();
+
+            if (line != null && line.equals(previous)) {
+                occurrences++;
+                continue;
+            }
+
+            lines.write(count ? String.format("%7d %s", occurrences, previous) : previous);
+            previous = line;
+            occurrences = 1;
+        }
+
+        lines.flush();
+    }
+
+    /**
+     * Prints the selected fields of each line, fields being
+     * 1-based and given as a list like 1,3-5,7-
+     *
+     * Lines without the delimiter are printed unchanged.
+     */
+    @Command
+    public void cut(@Option({"delimiter", "d"}) @Default("\t") final String delimiter,
+                    @Option({"fields", "f"}) final String fields) throws IOException {
+
+        if (delimiter == null || delimiter.isEmpty()) throw new IllegalArgumentException("Delimiter must not be empty");
+        if (fields == null) throw new IllegalArgumentException("Fields must be specified, e.g. --fields=1,3-4");
+
+        final int[][] ranges = parseFields(fields);
+        final Lines lines = new Lines();
+        final StringBuilder sb = new StringBuilder();
+
+        String line;
+        while ((line = lines.read()) != null) {
+            if (!line.contains(delimiter)) {
+                lines.write(line);
+                continue;
+            }
+
+            sb.setLength(0);
+
+            int field = 1;
+            int start = 0;
+            boolean selected = false;
+            while (start <= line.length()) {
+                int end = line.indexOf(delimiter, start);
+                if (end < 0) end = line.length();
+
+                if (isSelected(ranges, field)) {
+                    if (selected) sb.append(delimiter);
+                    sb.append(line, start, end);
+                    selected = true;
+                }
+
+                field++;
+                start = end + delimiter.length();
+            }
+
+            lines.write(sb.toString());
+        }
+
+        lines.flush();
+    }
+
+    static int[][] parseFields(final String fields) {
+        final String[] parts = fields.split(",");
+        final int[][] ranges = new int[parts.length][];
+
+        for (int i = 0; i < parts.length; i++) {
+            final String part = parts[i].trim();
+            final int dash = part.indexOf('-');
+
+            try {
+                if (dash < 0) {
+                    final int field = Integer.parseInt(part);
+                    ranges[i] = new int[]{field, field};
+                } else {
+                    final int from = dash == 0 ? 1 : Integer.parseInt(part.substring(0, dash));
+                    final int to = dash == part.length() - 1 ? Integer.MAX_VALUE : Integer.parseInt(part.substring(dash + 1));
+                    ranges[i] = new int[]{from, to};
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid field list: " + fields);
+            }
+
+            if (ranges[i][0] < 1 || ranges[i][0] > ranges[i][1]) {
+                throw new IllegalArgumentException("Invalid field list: " + fields);
+            }
+        }
+
+        return ranges;
+    }
+
+    private static boolean isSelected(final int[][] ranges, final int field) {
+        for (int[] range : ranges) {
+            if (field >= range[0] && field <= range[1]) return true;
+        }
+        return false;
+    }
+
+    private static File spill(final List<String> run, final Comparator<String> comparator) throws IOException {
+        Collections.sort(run, comparator);
+
+        final File file = File.createTempFile("sheldon-sort", ".txt");
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            for (String line : run) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            if (!file.delete()) file.deleteOnExit();
+            throw e;
+        }
+
+        return file;
+    }
+
+    /**
+     * k-way merge of the spilled runs and of the last run, still in memory
+     */
+    private static void merge(final List<String> run, final List<File> spills, final Comparator<String> comparator, final Lines lines) throws IOException {
+        final PriorityQueue<Source> queue = new PriorityQueue<Source>(spills.size() + 1, new Comparator<Source>() {
+            @Override
+            public int compare(final Source a, final Source b) {
+                return comparator.compare(a.line, b.line);
+            }
+        });
+
+        final List<BufferedReader> readers = new ArrayList<BufferedReader>();
+        try {
+            for (File spill : spills) {
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(spill), StandardCharsets.UTF_8));
+                readers.add(reader);
+                offer(queue, new Source(reader));
+            }
+
+            offer(queue, new Source(run));
+
+            Source source;
+            while ((source = queue.poll()) != null) {
+                if (!lines.write(source.line)) return;
+                offer(queue, source);
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static void offer(final PriorityQueue<Source> queue, final Source source) throws IOException {
+        if (source.next()) queue.add(source);
+    }
+
+    private static final Comparator<String> NATURAL = new Comparator<String>() {
+        @Override
+        public int compare(final String a, final String b) {
+            return a.compareTo(b);
+        }
+    };
+
+    private static class Source {
+        private final BufferedReader reader;
+        private final List<String> run;
+        private int index;
+        private String line;
+
+        public Source(final BufferedReader reader) {
+            this.reader = reader;
+            this.run = null;
+        }
+
+        public Source(final List<String> run) {
+            this.reader = null;
+            this.run = run;
+        }
+
+        public boolean next() throws IOException {
+            if (reader != null) {
+                line = reader.readLine();
+            } else {
+                line = index < run.size() ? run.get(index++) : null;
+            }
+            return line != null;
+        }
+    }
+
+    /**
+     * Input and output of a filter.
+     *
+     * Output is collected and handed to the PrintStream in chunks,
+     * when enough is pending or when the next read would block.  A
+     * PrintStream swallows IOExceptions, so once a chunk is written
+     * its error state tells if anyone is still reading.  Checking
+     * it flushes, which is why it is not done for every line.
+     */
+    private static class Lines {
+        private static final int CHUNK = 8192;
+        private static final String EOL = System.lineSeparator();
+
+        private final BufferedReader in;
+        private final PrintStream out;
+        private final StringBuilder pending = new StringBuilder();
+        private boolean closed;
+
+        public Lines() {
+            final Environment env = Environment.ENVIRONMENT_THREAD_LOCAL.get();
+            this.in = new BufferedReader(new InputStreamReader(env.getInput()));
+            this.out = env.getOutput();
+        }
+
+        /**
+         * @return the next line or null at the end of the
+         * input or once nothing reads the output anymore
+         */
+        public String read() throws IOException {
+            if (pending.length() > 0 && !in.ready()) flush();
+            if (closed) return null;
+            return in.readLine();
+        }
+
+        /**
+         * @return false once nothing reads the output anymore
+         */
+        public boolean write(final String line) {
+            if (closed) return false;
+
+            pending.append(line).append(EOL);
+            if (pending.length() >= CHUNK) flush();
+
+            return !closed;
+        }
+
+        public void flush() {
+            if (closed) return;
+
+            out.print(pending);
+            pending.setLength(0);
+            closed = out.checkError();
+        }
+    }
+}
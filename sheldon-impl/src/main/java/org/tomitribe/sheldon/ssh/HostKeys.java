@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.apache.sshd.common.keyprovider.KeyPairProvider;
+import org.apache.sshd.common.util.security.SecurityUtils;
+import org.apache.sshd.common.util.security.bouncycastle.BouncyCastleGeneratorHostKeyProvider;
+import org.apache.sshd.server.keyprovider.AbstractGeneratorHostKeyProvider;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+
+import java.io.File;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The key the server proves its identity with, read from a file or
+ * generated into it the first time.  Kept somewhere that survives
+ * restarts, clients see the same host key on every boot.
+ *
+ * Generating a key, RSA in particular, can take a while on a fresh
+ * container.  With {@link Generation#BACKGROUND} the port is bound at
+ * once and the key is loaded or generated on another thread; clients
+ * connecting meanwhile wait for it.
+ */
+public class HostKeys {
+
+    private static final Logger LOGGER = Logger.getLogger(HostKeys.class.getName());
+    private static final String KEY_NAME = "ssh-key";
+
+    public enum Generation {
+        /**
+         * Before the port is bound, during the adapter start
+         */
+        EAGER,
+
+        /**
+         * After the port is bound, on a thread of its own
+         */
+        BACKGROUND
+    }
+
+    private final File file;
+    private final String algorithm;
+    private final Integer keySize;
+    private final Generation generation;
+    private final AbstractGeneratorHostKeyProvider provider;
+
+    public HostKeys(final File file, final String algorithm, final Integer keySize, final Generation generation) {
+        this.file = file;
+        this.algorithm = algorithm;
+        this.keySize = keySize;
+        this.generation = generation;
+
+        // EdDSA keys can't be written as PEM by this sshd, they are serialized
+        if (SecurityUtils.isBouncyCastleRegistered() && !"EdDSA".equals(algorithm)) {
+            provider = new BouncyCastleGeneratorHostKeyProvider(file.toPath());
+        } else {
+            provider = new SimpleGeneratorHostKeyProvider(file);
+        }
+
+        provider.setAlgorithm(algorithm);
+        if (keySize != null && keySize > 0) {
+            provider.setKeySize(keySize);
+        }
+    }
+
+    /**
+     * @param path the key file, ssh-key.pem or ssh-key.ser in user.dir if not set
+     * @param algorithm RSA, EC or EdDSA, RSA if not set
+     * @param keySize bits, the algorithm's default if not set
+     * @param generation eager or background, eager if not set
+     */
+    public static HostKeys create(final String path, final String algorithm, final Integer keySize, final String generation) {
+        final String a = algorithm(algorithm);
+        final Generation g = generation(generation);
+
+        if ("EdDSA".equals(a) && !SecurityUtils.isEDDSACurveSupported()) {
+            throw new IllegalArgumentException("EdDSA host keys need net.i2p.crypto:eddsa on the classpath");
+        }
+
+        return new HostKeys(file(path, a, SecurityUtils.isBouncyCastleRegistered()), a, keySize, g);
+    }
+
+    static File file(final String path, final String algorithm, final boolean bouncyCastle) {
+        if (path != null && path.trim().length() > 0) {
+            return new File(path.trim()).getAbsoluteFile();
+        }
+
+        final String basePath = new File(System.getProperty("user.dir")).getAbsolutePath();
+        final boolean pem = bouncyCastle && !"EdDSA".equals(algorithm);
+        return new File(basePath, KEY_NAME + (pem ? ".pem" : ".ser"));
+    }
+
+    static Generation generation(final String generation) {
+        if (generation == null || generation.trim().isEmpty()) return Generation.EAGER;
+
+        final String g = generation.trim().toUpperCase(Locale.ENGLISH);
+        for (final Generation value : Generation.values()) {
+            if (value.name().equals(g)) return value;
+        }
+
+        throw new IllegalArgumentException("Unsupported host key generation " + generation + ", expected eager or background");
+    }
+
+    static String algorithm(final String algorithm) {
+        if (algorithm == null || algorithm.trim().isEmpty()) return "RSA";
+
+        final String a = algorithm.trim().toUpperCase(Locale.ENGLISH);
+        if ("RSA".equals(a)) return "RSA";
+        if ("EC".equals(a) || "ECDSA".equals(a)) return "EC";
+        if ("EDDSA".equals(a) || "ED25519".equals(a)) return "EdDSA";
+
+        throw new IllegalArgumentException("Unsupported host key algorithm " + algorithm + ", expected RSA, EC or EdDSA");
+    }
+
+    public KeyPairProvider getProvider() {
+        return provider;
+    }
+
+    public Generation getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Reads the key, or generates and writes it if the file doesn't
+     * exist yet, and says how long it took
+     */
+    public void load() {
+        final boolean exists = file.isFile();
+        final long start = System.nanoTime();
+
+        final List<KeyPair> keys = provider.loadKeys();
+
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (keys == null || keys.isEmpty()) {
+            LOGGER.severe("No " + algorithm + " host key could be " + (exists ? "loaded from " : "generated in ") + file);
+        } else {
+            LOGGER.info((exists ? "Loaded " : "Generated ") + algorithm + (keySize != null && keySize > 0 ? " " + keySize : "")
+                    + " host key " + file + " in " + millis + "ms");
+        }
+    }
+
+    /**
+     * Loads the key on a thread of its own, key exchanges wait until it's done
+     */
+    public void loadInBackground() {
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    load();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Could not load the host key " + file, e);
+                }
+            }
+        }, "sheldon-host-key");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
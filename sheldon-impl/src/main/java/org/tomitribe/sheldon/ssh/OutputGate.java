@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stands between the commands of a line and the session's terminal
+ * stream, which isn't thread-safe.  Once the line is over, cancelled
+ * or not, the gate is shut: a command still running despite Ctrl-C
+ * gets an IOException instead of writing over the next prompt.
+ *
+ * Shutting waits for a write in progress, so nothing from the command
+ * reaches the terminal after {@link #shut()} returns.  The terminal
+ * stream itself is never closed.
+ */
+class OutputGate extends FilterOutputStream {
+
+    private boolean open = true;
+
+    OutputGate(final OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public synchronized void write(final int b) throws IOException {
+        check();
+        out.write(b);
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+        check();
+        out.write(b, off, len);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (open) out.flush();
+    }
+
+    /**
+     * Commands don't get to close the terminal
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    public synchronized void shut() {
+        open = false;
+    }
+
+    private void check() throws IOException {
+        if (!open) throw new IOException("Command cancelled, its output is cut off");
+    }
+}
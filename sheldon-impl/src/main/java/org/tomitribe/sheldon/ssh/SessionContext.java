@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+import org.tomitribe.sheldon.authenticator.Identity;
+import org.tomitribe.sheldon.cdi.TerminalSessionContext;
+import org.tomitribe.sheldon.cdi.TerminalSessionContext.TerminalState;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of one SSH session that has to follow its commands
+ * onto whichever WorkManager thread executes them: the user's
+ * security context and the @TerminalSessionScoped beans.
+ *
+ * It also keeps what {@link SessionRegistry} reports about the
+ * session, down to the works it has queued or running, so a
+ * session holding on to WorkManager threads can be found and
+ * killed.
+ */
+public class SessionContext {
+
+    private static final AtomicLong IDS = new AtomicLong();
+    private static final ThreadLocal<SessionContext> CURRENT = new ThreadLocal<SessionContext>();
+
+    private final long id = IDS.incrementAndGet();
+    private final SecurityHandler securityHandler;
+    private final Identity identity;
+    private final String remoteAddress;
+    private final Closeable connection;
+    private final TerminalState terminalState = new TerminalState();
+
+    private final long connected = System.currentTimeMillis();
+    private volatile long active = connected;
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final Set<Work<?>> works = Collections.newSetFromMap(new ConcurrentHashMap<Work<?>, Boolean>());
+
+    public SessionContext(final SecurityHandler securityHandler, final Identity identity) {
+        this(securityHandler, identity, null, null);
+    }
+
+    /**
+     * @param identity established at login, see {@link SecurityHandler#authenticate}
+     * @param connection closed to kill the session, may be null
+     */
+    public SessionContext(final SecurityHandler securityHandler, final Identity identity,
+                          final String remoteAddress, final Closeable connection) {
+        this.securityHandler = securityHandler;
+        this.identity = identity;
+        this.remoteAddress = remoteAddress;
+        this.connection = connection;
+    }
+
+    /**
+     * @return the session the calling WorkManager thread is working for, or null
+     */
+    public static SessionContext current() {
+        return CURRENT.get();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return identity.getUsername();
+    }
+
+    public Identity getIdentity() {
+        return identity;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public long getConnected() {
+        return connected;
+    }
+
+    public long getIdleMillis() {
+        return Math.max(0, System.currentTimeMillis() - active);
+    }
+
+    public long getCommands() {
+        return commands.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * @return the WorkManager threads running works of this session
+     */
+    public List<Thread> getThreads() {
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (Work<?> work : works) {
+            final Thread thread = work.thread;
+            if (thread != null) threads.add(thread);
+        }
+        return threads;
+    }
+
+    /**
+     * @return works submitted to the WorkManager that have no thread yet
+     */
+    public int getQueued() {
+        int queued = 0;
+        for (Work<?> work : works) {
+            if (work.thread != null) continue;
+
+            final Future<?> future = work.future;
+            if (future != null && future.isDone()) {
+                // failed or cancelled before it ever ran
+                works.remove(work);
+            } else {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    public void executed() {
+        commands.incrementAndGet();
+        active = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the stream, counting what is read from the client
+     */
+    public InputStream count(final InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if (b >= 0) counted(1);
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                final int n = super.read(b, off, len);
+                if (n > 0) counted(n);
+                return n;
+            }
+
+            private void counted(final int n) {
+                bytesRead.addAndGet(n);
+                active = System.currentTimeMillis();
+            }
+        };
+    }
+
+    /**
+     * @return the stream, counting what is written to the client
+     */
+    public OutputStream count(final OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(final int b) throws IOException {
+                out.write(b);
+                bytesWritten.incrementAndGet();
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                out.write(b, off, len);
+                bytesWritten.addAndGet(len);
+            }
+        };
+    }
+
+    public <T> Future<T> submit(final Callable<T> command) {
+        final Work<T> work = new Work<T>(command);
+        works.add(work);
+        try {
+            work.future = securityHandler.submit(work, identity);
+        } catch (RuntimeException e) {
+            works.remove(work);
+            throw e;
+        }
+        return work.future;
+    }
+
+    /**
+     * Cancels the works of the session, interrupting the threads
+     * running them, and closes the connection
+     */
+    public void kill() {
+        for (Work<?> work : works) {
+            final Future<?> future = work.future;
+            if (future != null) future.cancel(true);
+        }
+
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (IOException e) {
+            // gone already
+        }
+    }
+
+    /**
+     * Destroys the session scoped beans.  This is done in a work as
+     * well so @PreDestroy methods see the same context commands did.
+     */
+    public void close() {
+        if (terminalState.isEmpty()) return;
+
+        final Future<Object> future = submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                terminalState.destroy();
+                return null;
+            }
+        });
+
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    private class Work<T> implements Callable<T> {
+        private final Callable<T> command;
+        private volatile Future<T> future;
+        private volatile Thread thread;
+
+        public Work(final Callable<T> command) {
+            this.command = command;
+        }
+
+        @Override
+        public T call() throws Exception {
+            thread = Thread.currentThread();
+            CURRENT.set(SessionContext.this);
+            TerminalSessionContext.attach(terminalState);
+            try {
+                return command.call();
+            } finally {
+                TerminalSessionContext.detach();
+                CURRENT.remove();
+                works.remove(this);
+            }
+        }
+    }
+}
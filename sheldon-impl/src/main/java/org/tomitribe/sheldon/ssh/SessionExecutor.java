@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Runs the SSH session loops.
+ *
+ * The execution mode is selected with the "sessionExecution" config property:
+ *
+ *  - virtual: one virtual thread per session, requires JDK 21+
+ *  - pool: a bounded pool of platform threads
+ *  - auto: virtual when the JVM supports it, pool otherwise
+ *
+ * Whatever the mode, no more than maxSessions sessions run at once.
+ * Sessions above that limit are rejected rather than queued, as a
+ * queued interactive session would just look like a hung connection.
+ */
+public class SessionExecutor {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionExecutor.class.getName());
+
+    public enum Mode {
+        AUTO, VIRTUAL, POOL
+    }
+
+    private final Mode mode;
+    private final int maxSessions;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public SessionExecutor(final Mode mode, final int maxSessions) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("maxSessions must be greater than zero: " + maxSessions);
+        }
+
+        this.maxSessions = maxSessions;
+        this.permits = new Semaphore(maxSessions);
+
+        final ExecutorService virtual = (mode == Mode.POOL) ? null : newVirtualThreadExecutor();
+
+        if (virtual != null) {
+            this.mode = Mode.VIRTUAL;
+            this.executor = virtual;
+        } else {
+            if (mode == Mode.VIRTUAL) {
+                LOGGER.warning("Virtual threads are not supported by this JVM, using a pool of " + maxSessions + " threads");
+            }
+            this.mode = Mode.POOL;
+            this.executor = newPool(maxSessions);
+        }
+
+        LOGGER.info(String.format("Session execution mode %s, at most %s sessions", this.mode, maxSessions));
+    }
+
+    public static SessionExecutor create(final String mode, final Integer maxSessions) {
+        final Mode m = (mode == null || mode.trim().isEmpty()) ? Mode.AUTO : Mode.valueOf(mode.trim().toUpperCase(Locale.ENGLISH));
+        return new SessionExecutor(m, maxSessions == null ? 256 : maxSessions);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public int getActiveSessions() {
+        return maxSessions - permits.availablePermits();
+    }
+
+    /**
+     * @throws RejectedExecutionException if maxSessions are already running
+     */
+    public Future<?> submit(final Runnable session) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many sessions, the limit of " + maxSessions + " has been reached");
+        }
+
+        final Permit permit = new Permit();
+        final FutureTask<Object> task = new FutureTask<Object>(new Runnable() {
+            @Override
+            public void run() {
+                permit.started = true;
+                try {
+                    session.run();
+                } finally {
+                    permit.release();
+                }
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                // cancelled while queued, it will never run to give the permit back
+                if (!permit.started) permit.release();
+            }
+        };
+
+        try {
+            executor.execute(task);
+            return task;
+        } catch (final RejectedExecutionException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sessions are only admitted when a permit is free, so the queue
+     * only ever holds a task for the short moment between a finished
+     * session releasing its permit and its thread going back to the pool.
+     */
+    private static ExecutorService newPool(final int size) {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new SessionThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Looked up reflectively as the connector is still built for Java 8
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (final Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * The permit of one session, given back exactly once however the
+     * session ends
+     */
+    private class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean started;
+
+        private void release() {
+            if (released.compareAndSet(false, true)) permits.release();
+        }
+    }
+
+    private static class SessionThreadFactory implements ThreadFactory {
+        private final AtomicInteger ids = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "sheldon-session-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The SSH sessions currently open, interactive or not.
+ *
+ * When the WorkManager runs out of threads this tells which
+ * sessions hold them, and killing a session gives them back.
+ */
+public class SessionRegistry implements SessionRegistryMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionRegistry.class.getName());
+
+    private static final Comparator<SessionContext> BY_ID = new Comparator<SessionContext>() {
+        @Override
+        public int compare(final SessionContext a, final SessionContext b) {
+            return Long.compare(a.getId(), b.getId());
+        }
+    };
+
+    private final ConcurrentMap<Long, SessionContext> sessions = new ConcurrentHashMap<Long, SessionContext>();
+
+    public void add(final SessionContext context) {
+        sessions.put(context.getId(), context);
+    }
+
+    public void remove(final SessionContext context) {
+        sessions.remove(context.getId(), context);
+    }
+
+    public SessionContext get(final long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * @return the open sessions, oldest first
+     */
+    public List<SessionContext> list() {
+        final List<SessionContext> list = new ArrayList<SessionContext>(sessions.values());
+        Collections.sort(list, BY_ID);
+        return list;
+    }
+
+    @Override
+    public Map<Long, SessionInfo> getSessions() {
+        final Map<Long, SessionInfo> infos = new TreeMap<Long, SessionInfo>();
+        for (SessionContext context : sessions.values()) {
+            infos.put(context.getId(), new SessionInfo(context));
+        }
+        return infos;
+    }
+
+    @Override
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public int getThreadsHeld() {
+        int held = 0;
+        for (SessionContext context : sessions.values()) {
+            held += context.getThreads().size();
+        }
+        return held;
+    }
+
+    @Override
+    public int getQueuedWorks() {
+        int queued = 0;
+        for (SessionContext context : sessions.values()) {
+            queued += context.getQueued();
+        }
+        return queued;
+    }
+
+    @Override
+    public String getReport() {
+        return report();
+    }
+
+    @Override
+    public boolean killSession(final long id) {
+        final SessionContext context = sessions.get(id);
+        if (context == null) return false;
+
+        final SessionContext killer = SessionContext.current();
+        LOGGER.info(String.format("Killing session %d of %s from %s, asked by %s", id, context.getUsername(),
+                context.getRemoteAddress(), killer != null ? killer.getUsername() : "JMX"));
+
+        context.kill();
+        return true;
+    }
+
+    /**
+     * One line per session, the one of the caller marked with a *
+     */
+    public String report() {
+        final SessionContext self = SessionContext.current();
+        final SimpleDateFormat date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+        final Formatter report = new Formatter();
+        report.format("  %4s %-12s %-22s %-19s %8s %8s %10s %10s %6s %s%n", "id", "user", "remote", "connected", "idle",
+                "commands", "read", "written", "queued", "threads");
+
+        for (SessionContext context : list()) {
+            report.format("%s %4d %-12s %-22s %-19s %8s %8d %10d %10d %6d %s%n", context == self ? "*" : " ",
+                    context.getId(), context.getUsername(), context.getRemoteAddress(),
+                    date.format(new Date(context.getConnected())), duration(context.getIdleMillis()),
+                    context.getCommands(), context.getBytesRead(), context.getBytesWritten(), context.getQueued(),
+                    names(context.getThreads()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Like the unix who, one line per session
+     */
+    public String who() {
+        final SessionContext self = SessionContext.current();
+        final SimpleDateFormat date = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+
+        final Formatter who = new Formatter();
+        for (SessionContext context : list()) {
+            who.format("%s %-12s %-22s %-16s %8s%n", context == self ? "*" : " ", context.getUsername(),
+                    context.getRemoteAddress(), date.format(new Date(context.getConnected())),
+                    duration(context.getIdleMillis()));
+        }
+        return who.toString();
+    }
+
+    private static String duration(final long millis) {
+        final long seconds = TimeUnit.MILLISECONDS.toSeconds(millis);
+        if (seconds < 3600) return String.format("%d:%02d", seconds / 60, seconds % 60);
+        return String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+
+    private static String names(final List<Thread> threads) {
+        if (threads.isEmpty()) return "-";
+
+        final StringBuilder names = new StringBuilder();
+        for (Thread thread : threads) {
+            if (names.length() > 0) names.append(',');
+            names.append(thread.getName());
+        }
+        return names.toString();
+    }
+
+    public static class SessionInfo {
+        private final long id;
+        private final String user;
+        private final String remoteAddress;
+        private final Date connected;
+        private final long idleMillis;
+        private final long commands;
+        private final long bytesRead;
+        private final long bytesWritten;
+        private final int queued;
+        private final String[] threads;
+
+        SessionInfo(final SessionContext context) {
+            this.id = context.getId();
+            this.user = context.getUsername();
+            this.remoteAddress = context.getRemoteAddress();
+            this.connected = new Date(context.getConnected());
+            this.idleMillis = context.getIdleMillis();
+            this.commands = context.getCommands();
+            this.bytesRead = context.getBytesRead();
+            this.bytesWritten = context.getBytesWritten();
+            this.queued = context.getQueued();
+
+            final List<Thread> held = context.getThreads();
+            this.threads = new String[held.size()];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = held.get(i).getName();
+            }
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getUser() {
+            return user;
+        }
+
+        public String getRemoteAddress() {
+            return remoteAddress;
+        }
+
+        public Date getConnected() {
+            return connected;
+        }
+
+        public long getIdleMillis() {
+            return idleMillis;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public String[] getThreads() {
+            return threads;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import java.util.Map;
+
+/**
+ * JMX view of the open SSH sessions, registered by the resource
+ * adapter as org.tomitribe.sheldon:type=Sessions,port=&lt;sshPort&gt;
+ */
+public interface SessionRegistryMXBean {
+
+    /**
+     * @return the open sessions by id
+     */
+    Map<Long, SessionRegistry.SessionInfo> getSessions();
+
+    int getSessionCount();
+
+    /**
+     * @return WorkManager threads running commands, all sessions together
+     */
+    int getThreadsHeld();
+
+    /**
+     * @return works waiting for a WorkManager thread, all sessions together
+     */
+    int getQueuedWorks();
+
+    /**
+     * @return the table the sessions command prints
+     */
+    String getReport();
+
+    /**
+     * Cancels the commands of the session, freeing the threads
+     * running them, and disconnects the client
+     *
+     * @return false if there is no such session
+     */
+    boolean killSession(long id);
+}
@@ -16,44 +16,65 @@
  */
 package org.tomitribe.sheldon.ssh;
 
-import java.io.File;
+import java.io.Closeable;
 import java.io.IOException;
 
 import org.apache.sshd.common.session.Session;
-import org.apache.sshd.common.util.security.SecurityUtils;
-import org.apache.sshd.common.util.security.bouncycastle.BouncyCastleGeneratorHostKeyProvider;
 import org.apache.sshd.server.SshServer;
-import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
 import org.tomitribe.sheldon.adapter.SecurityHandler;
+import org.tomitribe.sheldon.authenticator.AuthorizedKeys;
+import org.tomitribe.sheldon.authenticator.Identity;
 import org.tomitribe.sheldon.authenticator.PasswordAuthenticatorImpl;
+import org.tomitribe.sheldon.authenticator.PendingAuthentications;
+import org.tomitribe.sheldon.authenticator.PublickeyAuthenticatorImpl;
 import org.tomitribe.sheldon.commands.factories.CrestComandsFactory;
+import org.tomitribe.sheldon.commands.factories.CrestExecCommandFactory;
 
 public class SshdServer {
 
-    public static class Credential {
-        private final String value;
+    /**
+     * Who the user authenticated as with a password, set once at login
+     */
+    public static final Session.AttributeKey<Identity> IDENTITY = new Session.AttributeKey<Identity>();
 
-        public Credential(String value) {
-            this.value = value;
-        }
+    /**
+     * Whom the last public key offered belongs to.  sshd asks about a key
+     * before any signature is checked, so this is only who the session
+     * is once it is authenticated, see {@link #identity(Session)}.
+     */
+    public static final Session.AttributeKey<Identity> KEY_IDENTITY = new Session.AttributeKey<Identity>();
 
-        public String getValue() {
-            return value;
-        }
+    /**
+     * Who an authenticated session logged in as.  The last key sshd
+     * asked about before the login succeeded is the one whose signature
+     * was verified.
+     */
+    public static Identity identity(final Session session) {
+        final Identity identity = session.getAttribute(IDENTITY);
+        return identity != null ? identity : session.getAttribute(KEY_IDENTITY);
     }
 
-    public static final Session.AttributeKey<Credential> CREDENTIAL = new Session.AttributeKey<Credential>();
-    private static final String KEY_NAME = "ssh-key";
-    
     private SshServer sshServer;
     private final ConsoleSession session;
     private final int port;
     private final SecurityHandler securityHandler;
+    private final SessionExecutor sessionExecutor;
+    private final PendingAuthentications authentications;
+    private final AuthorizedKeys authorizedKeys;
+    private final HostKeys hostKeys;
 
-    public SshdServer(ConsoleSession session, int port, SecurityHandler securityHandler) {
+    /**
+     * @param authorizedKeys keys users may log in with instead of a password, may be null
+     */
+    public SshdServer(ConsoleSession session, int port, SecurityHandler securityHandler, SessionExecutor sessionExecutor,
+                      PendingAuthentications authentications, AuthorizedKeys authorizedKeys, HostKeys hostKeys) {
         this.session = session;
         this.port = port;
         this.securityHandler = securityHandler;
+        this.sessionExecutor = sessionExecutor;
+        this.authentications = authentications;
+        this.authorizedKeys = authorizedKeys;
+        this.hostKeys = hostKeys;
     }
 
     public void start() {
@@ -61,25 +82,45 @@ public class SshdServer {
         sshServer.setPort(port);
         sshServer.setHost("0.0.0.0");
 
-        final String basePath = new File(System.getProperty("user.dir")).getAbsolutePath();
-        if (SecurityUtils.isBouncyCastleRegistered()) {
-            sshServer.setKeyPairProvider(new BouncyCastleGeneratorHostKeyProvider(new File(basePath, KEY_NAME + ".pem")
-                    .toPath()));
-        } else {
-            sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(new File(basePath, KEY_NAME + ".ser")));
+        sshServer.setKeyPairProvider(hostKeys.getProvider());
+        if (hostKeys.getGeneration() == HostKeys.Generation.EAGER) {
+            hostKeys.load();
         }
 
-        sshServer.setShellFactory(new CrestComandsFactory(session, securityHandler));
-        sshServer.setPasswordAuthenticator(new PasswordAuthenticatorImpl(securityHandler));
+        sshServer.setShellFactory(new CrestComandsFactory(session, securityHandler, sessionExecutor));
+        sshServer.setCommandFactory(new CrestExecCommandFactory(session, securityHandler, sessionExecutor));
+        sshServer.setPasswordAuthenticator(new PasswordAuthenticatorImpl(authentications));
+        if (authorizedKeys != null) {
+            sshServer.setPublickeyAuthenticator(new PublickeyAuthenticatorImpl(authorizedKeys));
+        }
 
         try {
             sshServer.start();
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        if (hostKeys.getGeneration() == HostKeys.Generation.BACKGROUND) {
+            hostKeys.loadInBackground();
+        }
+    }
+
+    /**
+     * @return closes the session at once, its channels and commands with it
+     */
+    public static Closeable closer(final Session session) {
+        return new Closeable() {
+            @Override
+            public void close() {
+                session.close(true);
+            }
+        };
     }
 
     public void stop() {
+        // never started
+        if (sshServer == null) return;
+
         try {
             sshServer.stop();
         } catch (IOException e) {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import jline.console.ConsoleReader;
+import org.tomitribe.sheldon.util.Utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered stream for the terminal side of an SSH channel.
+ *
+ * Unless running on Windows each line separator is followed by a
+ * reset line, the workaround for MacOSX terminals.  Arrays are scanned
+ * and copied in bulk, and bytes only reach the channel when the buffer
+ * is full or on flush, so output goes out in large packets rather than
+ * a channel write per byte.
+ */
+public class TerminalOutputStream extends FilterOutputStream {
+
+    private static final byte NEWLINE = (byte) ConsoleReader.CR.charAt(0);
+    private static final byte RESET_LINE = (byte) ConsoleReader.RESET_LINE;
+
+    private final byte[] buffer;
+    private final boolean translate;
+    private int count;
+    private boolean dirty;
+
+    public TerminalOutputStream(final OutputStream out) {
+        this(out, !Utils.isWin(), 32 * 1024);
+    }
+
+    public TerminalOutputStream(final OutputStream out, final boolean translate, final int size) {
+        super(out);
+        if (size < 2) throw new IllegalArgumentException("Buffer size must be at least 2: " + size);
+        this.buffer = new byte[size];
+        this.translate = translate;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        put((byte) b);
+        if (translate && (byte) b == NEWLINE) {
+            put(RESET_LINE);
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if ((off | len | (b.length - (len + off)) | (off + len)) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (!translate) {
+            copy(b, off, len);
+            return;
+        }
+
+        final int end = off + len;
+        int start = off;
+        for (int i = off; i < end; i++) {
+            if (b[i] != NEWLINE) continue;
+
+            copy(b, start, i + 1 - start);
+            put(RESET_LINE);
+            start = i + 1;
+        }
+
+        copy(b, start, end - start);
+    }
+
+    /**
+     * Only flushes the channel when something was written since
+     * the last flush.  Line editing flushes far more often than
+     * there is anything to send.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (dirty) {
+            dirty = false;
+            out.flush();
+        }
+    }
+
+    private void put(final byte b) throws IOException {
+        if (count == buffer.length) flushBuffer();
+        buffer[count++] = b;
+    }
+
+    private void copy(final byte[] b, int off, int len) throws IOException {
+        if (len >= buffer.length) {
+            // Too big to be worth copying, send it as is
+            flushBuffer();
+            out.write(b, off, len);
+            dirty = true;
+            return;
+        }
+
+        while (len > 0) {
+            if (count == buffer.length) flushBuffer();
+
+            final int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+            dirty = true;
+        }
+    }
+}
@@ -23,6 +23,9 @@ public interface TtyCodes {
 
     char ESC = (char) 27;
 
+    /* Ctrl-C */
+    char ETX = (char) 3;
+
     String TTY_RESET = ESC + "[0m";
 
     String TTY_BRIGHT = ESC + "[1m";
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.stats;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and failures of one command, by phase.  Recorders are
+ * created on first use, built-in commands and filters never go
+ * through the delivery phases.
+ *
+ * The stats of the command a thread is running are attached to it,
+ * so code far below crest, like the delivery to a MessageEndpoint,
+ * can record into them without knowing the command's name.
+ */
+public class CommandStats {
+
+    public enum Phase {
+        /**
+         * Splitting the whole command line, recorded for its first command
+         */
+        PARSE("parse"),
+
+        /**
+         * From the command being handed a thread until its output is flushed
+         */
+        DISPATCH("dispatch"),
+
+        BEFORE_DELIVERY("beforeDelivery"),
+        INVOKE("invoke"),
+        AFTER_DELIVERY("afterDelivery"),
+        FLUSH("flush");
+
+        private final String label;
+
+        Phase(final String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final ThreadLocal<CommandStats> CURRENT = new ThreadLocal<CommandStats>();
+
+    private final String name;
+    private final AtomicReferenceArray<LatencyRecorder> recorders = new AtomicReferenceArray<LatencyRecorder>(PHASES.length);
+    private final LongAdder errors = new LongAdder();
+
+    public CommandStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the stats of the command the calling thread runs, or null
+     */
+    public static CommandStats current() {
+        return CURRENT.get();
+    }
+
+    public static void attach(final CommandStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(final Phase phase, final long nanos) {
+        recorder(phase).record(nanos);
+    }
+
+    public void error() {
+        errors.increment();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return an empty snapshot if nothing was recorded for that phase
+     */
+    public LatencyRecorder.Snapshot snapshot(final Phase phase) {
+        final LatencyRecorder recorder = recorders.get(phase.ordinal());
+        return recorder == null ? LatencyRecorder.Snapshot.EMPTY : recorder.snapshot();
+    }
+
+    public boolean isRecorded(final Phase phase) {
+        return recorders.get(phase.ordinal()) != null;
+    }
+
+    public void reset() {
+        for (Phase phase : PHASES) {
+            final LatencyRecorder recorder = recorders.get(phase.ordinal());
+            if (recorder != null) recorder.reset();
+        }
+        errors.reset();
+    }
+
+    private LatencyRecorder recorder(final Phase phase) {
+        final LatencyRecorder recorder = recorders.get(phase.ordinal());
+        if (recorder != null) return recorder;
+
+        recorders.compareAndSet(phase.ordinal(), null, new LatencyRecorder());
+        return recorders.get(phase.ordinal());
+    }
+}
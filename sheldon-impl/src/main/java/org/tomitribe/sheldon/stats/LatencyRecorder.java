@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Lock-free latency histogram in the manner of HdrHistogram.
+ *
+ * Values below 32ns are counted exactly.  Above that each power of two
+ * is split into 16 linear buckets, so any recorded value is known to
+ * within 1/16th, about 3% from the middle of its bucket.  Values of
+ * 2^42ns and more, over an hour, all land in the last bucket; the
+ * maximum is kept exactly.
+ *
+ * Recording is a handful of atomic increments and never allocates.
+ * Snapshots and resets run concurrently with recording, so a snapshot
+ * may see a recording half done.  That is fine for statistics.
+ */
+public class LatencyRecorder {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int EXACT = SUB_COUNT * 2;
+    private static final int MAX_EXPONENT = 41;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+        @Override
+        public long applyAsLong(final long left, final long right) {
+            return Math.max(left, right);
+        }
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(MAX, 0);
+
+    public void record(final long nanos) {
+        final long value = nanos < 0 ? 0 : nanos;
+        counts.incrementAndGet(index(Math.min(value, MAX_VALUE)));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.reset();
+    }
+
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, total.sum(), max.get());
+    }
+
+    static int index(final long value) {
+        if (value < EXACT) return (int) value;
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int top = (int) (value >>> (exponent - SUB_BITS));
+        return EXACT + (exponent - SUB_BITS - 1) * SUB_COUNT + (top - SUB_COUNT);
+    }
+
+    /**
+     * @return the middle of the bucket, the exact value below 32
+     */
+    static long value(final int index) {
+        if (index < EXACT) return index;
+
+        final int shift = (index - EXACT) / SUB_COUNT + 1;
+        final long top = SUB_COUNT + (index - EXACT) % SUB_COUNT;
+        return (top << shift) + (1L << (shift - 1));
+    }
+
+    public static class Snapshot {
+
+        public static final Snapshot EMPTY = new Snapshot(new long[0], 0, 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long max;
+
+        private Snapshot(final long[] counts, final long count, final long total, final long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getMean() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the value in nanoseconds under which that percentage of the recordings fall
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (count == 0) return 0;
+
+            final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+
+                // the last bucket holds the maximum, known exactly
+                if (seen >= count) return max;
+                if (seen >= rank) return Math.min(value(i), max);
+            }
+            return max;
+        }
+    }
+}
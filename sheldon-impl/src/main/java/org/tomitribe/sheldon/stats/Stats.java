@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.stats;
+
+import org.tomitribe.sheldon.stats.CommandStats.Phase;
+
+import java.util.Formatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of all commands, keyed by command name.
+ *
+ * Callers only ask for names of registered commands so typos
+ * and unknown commands don't grow the map.  Rates are executions
+ * per second since start or the last reset.
+ */
+public class Stats implements StatsMXBean {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, CommandStats> commands = new ConcurrentHashMap<String, CommandStats>();
+    private volatile long since = System.nanoTime();
+
+    public CommandStats get(final String name) {
+        final CommandStats stats = commands.get(name);
+        if (stats != null) return stats;
+
+        final CommandStats created = new CommandStats(name);
+        final CommandStats existing = commands.putIfAbsent(name, created);
+        return existing != null ? existing : created;
+    }
+
+    @Override
+    public void reset() {
+        since = System.nanoTime();
+        for (CommandStats stats : commands.values()) {
+            stats.reset();
+        }
+    }
+
+    @Override
+    public Map<String, CommandSummary> getCommands() {
+        final double seconds = seconds();
+        final Map<String, CommandSummary> summaries = new TreeMap<String, CommandSummary>();
+        for (CommandStats stats : commands.values()) {
+            summaries.put(stats.getName(), new CommandSummary(stats, seconds));
+        }
+        return summaries;
+    }
+
+    @Override
+    public String getReport() {
+        return report(true);
+    }
+
+    /**
+     * One line per command with its dispatch latencies,
+     * optionally followed by one line per phase
+     */
+    public String report(final boolean phases) {
+        final Formatter report = new Formatter();
+        report.format("%-24s %8s %8s %10s %10s %10s %10s%n", "command", "count", "errors", "rate/s", "p50 ms", "p99 ms", "max ms");
+
+        for (CommandSummary command : getCommands().values()) {
+            report.format("%-24s %8d %8d %10.3f %10.3f %10.3f %10.3f%n", command.getName(), command.getCount(), command.getErrors(),
+                    command.getRate(), command.getP50Millis(), command.getP99Millis(), command.getMaxMillis());
+
+            if (!phases) continue;
+
+            for (Map.Entry<String, LatencySummary> entry : command.getPhases().entrySet()) {
+                final LatencySummary phase = entry.getValue();
+                report.format("  %-22s %8d %8s %10s %10.3f %10.3f %10.3f%n", entry.getKey(), phase.getCount(), "", "",
+                        phase.getP50Millis(), phase.getP99Millis(), phase.getMaxMillis());
+            }
+        }
+        return report.toString();
+    }
+
+    private double seconds() {
+        return Math.max(1, System.nanoTime() - since) / NANOS_PER_SECOND;
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    public static class LatencySummary {
+        private final long count;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        private final double meanMillis;
+
+        LatencySummary(final LatencyRecorder.Snapshot snapshot) {
+            this.count = snapshot.getCount();
+            this.p50Millis = millis(snapshot.getValueAtPercentile(50));
+            this.p99Millis = millis(snapshot.getValueAtPercentile(99));
+            this.maxMillis = millis(snapshot.getMax());
+            this.meanMillis = millis(snapshot.getMean());
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+    }
+
+    /**
+     * Counts and latencies of a command as a whole, the dispatch
+     * phase, with the latencies of every phase it went through
+     */
+    public static class CommandSummary extends LatencySummary {
+        private final String name;
+        private final long errors;
+        private final double rate;
+        private final Map<String, LatencySummary> phases = new LinkedHashMap<String, LatencySummary>();
+
+        CommandSummary(final CommandStats stats, final double seconds) {
+            super(stats.snapshot(Phase.DISPATCH));
+            this.name = stats.getName();
+            this.errors = stats.getErrors();
+            this.rate = getCount() / seconds;
+
+            for (Phase phase : Phase.values()) {
+                if (stats.isRecorded(phase)) {
+                    phases.put(phase.getLabel(), new LatencySummary(stats.snapshot(phase)));
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public Map<String, LatencySummary> getPhases() {
+            return phases;
+        }
+    }
+}
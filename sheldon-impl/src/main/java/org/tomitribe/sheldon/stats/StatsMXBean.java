@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.stats;
+
+import java.util.Map;
+
+/**
+ * JMX view of the command statistics, registered by the resource
+ * adapter as org.tomitribe.sheldon:type=Stats,port=&lt;sshPort&gt;
+ */
+public interface StatsMXBean {
+
+    /**
+     * @return the commands run since start or the last reset, by name
+     */
+    Map<String, Stats.CommandSummary> getCommands();
+
+    /**
+     * @return the table the stats command prints, phases included
+     */
+    String getReport();
+
+    void reset();
+}
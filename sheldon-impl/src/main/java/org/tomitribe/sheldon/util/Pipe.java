@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory pipe between two threads.
+ *
+ * Bytes are copied in bulk through a ring buffer.  A writer blocks
+ * while the buffer is full, so a fast command cannot run ahead of
+ * a slow one by more than the buffer size.
+ *
+ * A pipe created with a limit does not block until its reader has
+ * started: the buffer grows up to the limit instead, and a write
+ * beyond it fails.  The writer may be holding the very thread the
+ * reader is queued for, waiting would then never end.
+ *
+ * Closing the output gives the reader EOF once the buffer is drained.
+ * Closing the input discards what is buffered and makes any further
+ * write fail with "Broken pipe", the way a shell pipe would.
+ */
+public class Pipe {
+
+    private final int limit;
+    private byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private int head;
+    private int count;
+    private boolean writerClosed;
+    private boolean readerClosed;
+    private boolean readerStarted;
+
+    private final InputStream input = new PipeInputStream();
+    private final OutputStream output = new PipeOutputStream();
+
+    public Pipe(final int size) {
+        this(size, size);
+        this.readerStarted = true;
+    }
+
+    /**
+     * @param size  bytes buffered once the reader has started
+     * @param limit bytes buffered at most before it has
+     */
+    public Pipe(final int size, final int limit) {
+        if (size < 1) throw new IllegalArgumentException("Pipe size must be greater than zero: " + size);
+        if (limit < size) throw new IllegalArgumentException("Pipe limit must not be less than its size: " + limit);
+        this.buffer = new byte[size];
+        this.limit = limit;
+    }
+
+    /**
+     * Called by the reader when it gets a thread, writers block on a full buffer from now on
+     */
+    public void readerStarted() {
+        lock.lock();
+        try {
+            readerStarted = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isReaderClosed() {
+        lock.lock();
+        try {
+            return readerClosed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public InputStream getInputStream() {
+        return input;
+    }
+
+    public OutputStream getOutputStream() {
+        return output;
+    }
+
+    private int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) return 0;
+
+        lock.lock();
+        try {
+            while (count == 0) {
+                if (readerClosed) throw new IOException("Pipe closed");
+                if (writerClosed) return -1;
+                await(notEmpty);
+            }
+
+            if (readerClosed) throw new IOException("Pipe closed");
+
+            final int n = Math.min(len, count);
+            final int first = Math.min(n, buffer.length - head);
+            System.arraycopy(buffer, head, b, off, first);
+            System.arraycopy(buffer, 0, b, off + first, n - first);
+
+            head = (head + n) % buffer.length;
+            count -= n;
+
+            notFull.signal();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(final byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final int n;
+
+            lock.lock();
+            try {
+                while (count == buffer.length && !readerClosed && !writerClosed) {
+                    if (readerStarted) {
+                        await(notFull);
+                    } else if (buffer.length < limit) {
+                        grow();
+                    } else {
+                        throw new IOException("Pipe full, the next command has not started");
+                    }
+                }
+
+                if (readerClosed) throw new IOException("Broken pipe");
+                if (writerClosed) throw new IOException("Pipe closed");
+
+                n = Math.min(len, buffer.length - count);
+                final int tail = (head + count) % buffer.length;
+                final int first = Math.min(n, buffer.length - tail);
+                System.arraycopy(b, off, buffer, tail, first);
+                System.arraycopy(b, off + first, buffer, 0, n - first);
+
+                count += n;
+
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void grow() {
+        final byte[] grown = new byte[(int) Math.min(limit, 2L * buffer.length)];
+        final int first = Math.min(count, buffer.length - head);
+        System.arraycopy(buffer, head, grown, 0, first);
+        System.arraycopy(buffer, 0, grown, first, count - first);
+
+        buffer = grown;
+        head = 0;
+    }
+
+    private int available() {
+        lock.lock();
+        try {
+            return readerClosed ? 0 : count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeWriter() {
+        lock.lock();
+        try {
+            writerClosed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeReader() {
+        lock.lock();
+        try {
+            readerClosed = true;
+            count = 0;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void await(final Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private class PipeInputStream extends InputStream {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public int read() throws IOException {
+            final int n = Pipe.this.read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+            return Pipe.this.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return Pipe.this.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeReader();
+        }
+    }
+
+    private class PipeOutputStream extends OutputStream {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(final int b) throws IOException {
+            single[0] = (byte) b;
+            Pipe.this.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+            Pipe.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closeWriter();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tomitribe.sheldon.ssh.CommandRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ActivationsTest {
+
+    private final ExecutorWorkManager workManager = new ExecutorWorkManager();
+    private final CommandRegistry registry = new CommandRegistry();
+
+    @After
+    public void shutdown() throws InterruptedException {
+        workManager.shutdown();
+    }
+
+    @Test
+    public void boundedParallelism() throws Exception {
+        final Activations activations = new Activations(workManager, registry, 3);
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            final String owner = "bean" + i;
+            activations.submit(new Activations.Activation(owner, owner) {
+                @Override
+                protected void activate() throws Exception {
+                    final int now = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(now, Math::max);
+                    Thread.sleep(5);
+                    registry.register(owner, Collections.emptyList());
+                    running.decrementAndGet();
+                    finished.countDown();
+                }
+            });
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        awaitLoaded();
+
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(workManager.scheduled.get() <= 20);
+        assertEquals(20, registry.snapshot().getOwners().size());
+    }
+
+    @Test
+    public void failuresReachTheBarrier() throws Exception {
+        final Activations activations = new Activations(workManager, registry, 2);
+
+        activations.submit(new Activations.Activation("broken", "broken") {
+            @Override
+            protected void activate() throws Exception {
+                throw new IllegalStateException("can't create endpoint");
+            }
+        });
+        activations.submit(new Activations.Activation("working", "working") {
+            @Override
+            protected void activate() throws Exception {
+                registry.register("working", Collections.emptyList());
+            }
+        });
+
+        awaitLoaded();
+        assertEquals(Collections.<Object>singletonList("working"), new ArrayList<Object>(registry.snapshot().getOwners()));
+    }
+
+    @Test
+    public void cancelQueued() throws Exception {
+        final Activations activations = new Activations(workManager, registry, 1);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger ran = new AtomicInteger();
+
+        activations.submit(new Activations.Activation("first", "first") {
+            @Override
+            protected void activate() throws Exception {
+                started.countDown();
+                release.await();
+            }
+        });
+        activations.submit(new Activations.Activation("second", "second") {
+            @Override
+            protected void activate() throws Exception {
+                ran.incrementAndGet();
+            }
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(2, registry.getLoading());
+
+        assertTrue(activations.cancel("second"));
+        assertFalse(activations.cancel("first"));
+        assertEquals(1, registry.getLoading());
+
+        release.countDown();
+        awaitLoaded();
+        assertEquals(0, ran.get());
+    }
+
+    @Test
+    public void cancelRunning() throws Exception {
+        final Activations activations = new Activations(workManager, registry, 1);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger closed = new AtomicInteger();
+
+        activations.submit(new Activations.Activation("slow", "slow") {
+            @Override
+            protected void activate() throws Exception {
+                started.countDown();
+                release.await();
+
+                synchronized (this) {
+                    if (!isDeactivated()) {
+                        registry.register("slow", Collections.emptyList());
+                        return;
+                    }
+                }
+                closed.incrementAndGet();
+            }
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // undeployed while running, it can't be dropped
+        assertFalse(activations.cancel("slow"));
+
+        release.countDown();
+        awaitLoaded();
+        assertEquals(1, closed.get());
+        assertTrue(registry.snapshot().getOwners().isEmpty());
+
+        // done, nothing left to cancel
+        assertFalse(activations.cancel("slow"));
+    }
+
+    private void awaitLoaded() throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 10000;
+        while (registry.getLoading() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, registry.getLoading());
+    }
+}
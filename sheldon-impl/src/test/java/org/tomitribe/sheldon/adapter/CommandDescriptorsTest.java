@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.junit.Test;
+import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.api.Option;
+import org.tomitribe.crest.cmds.Cmd;
+import org.tomitribe.crest.cmds.processors.Commands;
+import org.tomitribe.crest.cmds.targets.SimpleBean;
+import org.tomitribe.crest.cmds.targets.Target;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class CommandDescriptorsTest {
+
+    private static final String BEAN = Bean.class.getName();
+
+    @Test
+    public void parse() throws Exception {
+        final CommandDescriptors descriptors = descriptors(
+                "# Generated by org.tomitribe.sheldon.api.processor.CommandProcessor\n" +
+                "\n" +
+                BEAN + " hello sum\n" +
+                "org.superbiz.Other  bye \n");
+
+        assertArrayEquals(new String[]{"hello", "sum"}, descriptors.names(Bean.class));
+        assertNull(descriptors.names(String.class));
+    }
+
+    @Test
+    public void firstDescriptorWins() throws Exception {
+        final Map<String, String[]> commands = new HashMap<String, String[]>();
+        CommandDescriptors.parse(new StringReader(BEAN + " hello\n"), commands);
+        CommandDescriptors.parse(new StringReader(BEAN + " hello sum\n"), commands);
+
+        assertArrayEquals(new String[]{"hello"}, commands.get(BEAN));
+    }
+
+    @Test
+    public void sameCommandsAsScanning() throws Exception {
+        final Target target = new SimpleBean(new Bean());
+
+        final Map<String, Cmd> scanned = Commands.get(Bean.class, target, null);
+        final Map<String, Cmd> described = CommandDescriptors.get(Bean.class, target);
+
+        assertEquals(new TreeSet<String>(scanned.keySet()), new TreeSet<String>(described.keySet()));
+
+        for (final Cmd cmd : described.values()) {
+            assertEquals(scanned.get(cmd.getName()).getUsage(), cmd.getUsage());
+        }
+    }
+
+    @Test
+    public void outOfDateDescriptor() throws Exception {
+        final Map<String, String[]> commands = new HashMap<String, String[]>();
+        commands.put(BEAN, new String[]{"hello", "goodbye"});
+
+        final Cmd goodbye = new CommandDescriptors(commands).commands(Bean.class, new SimpleBean(new Bean())).get("goodbye");
+        assertEquals("goodbye", goodbye.getName());
+
+        try {
+            goodbye.getUsage();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // no such command on the class
+        }
+    }
+
+    private static CommandDescriptors descriptors(final String content) throws IOException {
+        final Map<String, String[]> commands = new HashMap<String, String[]>();
+        CommandDescriptors.parse(new StringReader(content), commands);
+        return new CommandDescriptors(commands);
+    }
+
+    public static class Bean {
+
+        @Command
+        public String hello(@Option("name") final String name) {
+            return "hello " + name;
+        }
+
+        @Command
+        public String hello() {
+            return "hello";
+        }
+
+        @Command
+        public long sum(final int... values) {
+            long sum = 0;
+            for (final int value : values) sum += value;
+            return sum;
+        }
+
+        public String notACommand() {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.tomitribe.crest.cmds.Cmd;
+import org.tomitribe.crest.cmds.processors.Commands;
+import org.tomitribe.crest.cmds.targets.SimpleBean;
+import org.tomitribe.crest.cmds.targets.Target;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Not a unit test, run the main method by hand, on a JDK.
+ *
+ * Generates 100 command beans of 10 commands and 50 other public
+ * methods each, compiles them with the CommandProcessor and builds
+ * their commands the way activation does:
+ *
+ *  - scanning: Commands.get, reading the annotations of every method
+ *  - descriptor: CommandDescriptors.get, reading the descriptor and
+ *    registering the listed names
+ *  - first use: the scan a bean then pays when one of its commands
+ *    is first used, for all the beans
+ *
+ * Each round loads the beans in a new class loader, reflection data
+ * is cached per class so only the first activation is a fair number.
+ *
+ *   java -cp ... org.tomitribe.sheldon.adapter.CommandStartupBenchmark
+ */
+public class CommandStartupBenchmark {
+
+    private static final int BEANS = 100;
+    private static final int COMMANDS = 10;
+    private static final int METHODS = 50;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        final File dir = Files.createTempDirectory("sheldon-startup").toFile();
+        final File classes = compile(dir);
+
+        final Target target = new SimpleBean(null);
+        final long[] scanning = new long[ROUNDS];
+        final long[] descriptor = new long[ROUNDS];
+        final long[] firstUse = new long[ROUNDS];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            final List<Class<?>> scanned = load(classes);
+            long start = System.nanoTime();
+            int commands = 0;
+            for (final Class<?> bean : scanned) {
+                commands += Commands.get(bean, target, null).size();
+            }
+            scanning[round] = System.nanoTime() - start;
+
+            final List<Class<?>> described = load(classes);
+            final List<Cmd> first = new ArrayList<Cmd>(BEANS);
+            start = System.nanoTime();
+            for (final Class<?> bean : described) {
+                final Map<String, Cmd> map = CommandDescriptors.get(bean, target);
+                commands -= map.size();
+                first.add(map.values().iterator().next());
+            }
+            descriptor[round] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (final Cmd cmd : first) {
+                cmd.getUsage();
+            }
+            firstUse[round] = System.nanoTime() - start;
+
+            if (commands != 0) throw new IllegalStateException("Not the same commands");
+        }
+
+        System.out.printf("%d beans, %d commands and %d other methods each (ms per activation of all beans)%n",
+                BEANS, COMMANDS, METHODS);
+        System.out.printf("%-12s %10s %10s %10s%n", "", "first", "median", "min");
+        report("scanning", scanning);
+        report("descriptor", descriptor);
+        report("first use", firstUse);
+    }
+
+    private static void report(final String name, final long[] nanos) {
+        final long first = nanos[0];
+        final long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-12s %10.2f %10.2f %10.2f%n", name, first / 1e6, sorted[sorted.length / 2] / 1e6, sorted[0] / 1e6);
+    }
+
+    private static List<Class<?>> load(final File classes) throws Exception {
+        final URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()},
+                CommandStartupBenchmark.class.getClassLoader());
+
+        final List<Class<?>> beans = new ArrayList<Class<?>>(BEANS);
+        for (int i = 0; i < BEANS; i++) {
+            beans.add(loader.loadClass("bench.Bean" + i));
+        }
+        return beans;
+    }
+
+    private static File compile(final File dir) throws IOException {
+        final File sources = new File(dir, "src/bench");
+        final File classes = new File(dir, "classes");
+        if (!sources.mkdirs() || !classes.mkdirs()) throw new IOException("Cannot create " + dir);
+
+        final List<String> javac = new ArrayList<String>(Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classes.getAbsolutePath(),
+                "-nowarn"));
+
+        for (int i = 0; i < BEANS; i++) {
+            final File source = new File(sources, "Bean" + i + ".java");
+            final PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(source), StandardCharsets.UTF_8));
+            try {
+                out.println("package bench;");
+                out.println("import org.tomitribe.crest.api.*;");
+                out.println("public class Bean" + i + " {");
+                for (int c = 0; c < COMMANDS; c++) {
+                    out.println("  @Command(\"bean" + i + "-" + c + "\")");
+                    out.println("  public String command" + c + "(@Option(\"name\") @Default(\"x\") String name, @Option(\"count\") int count, String... args) { return name; }");
+                }
+                for (int m = 0; m < METHODS; m++) {
+                    out.println("  public String method" + m + "(String s, long l) { return s; }");
+                }
+                out.println("}");
+            } finally {
+                out.close();
+            }
+            javac.add(source.getAbsolutePath());
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) throw new IllegalStateException("Run on a JDK, the beans are compiled on the fly");
+
+        if (compiler.run(null, null, null, javac.toArray(new String[javac.size()])) != 0) {
+            throw new IllegalStateException("Compilation failed");
+        }
+
+        if (!new File(classes, "META-INF/sheldon/commands").exists()) {
+            throw new IllegalStateException("No descriptor, is sheldon-api on the class path?");
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import javax.resource.spi.UnavailableException;
+import javax.resource.spi.endpoint.MessageEndpoint;
+import javax.resource.spi.endpoint.MessageEndpointFactory;
+import javax.transaction.xa.XAResource;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MessageEndpointFactory creating endpoints with the given Callable,
+ * as the container would for every createEndpoint
+ */
+public class EndpointFactory implements MessageEndpointFactory {
+
+    private final Class<?> endpointClass;
+    private final Callable<? extends MessageEndpoint> endpoints;
+    final AtomicInteger created = new AtomicInteger();
+
+    public EndpointFactory(final Class<?> endpointClass, final Callable<? extends MessageEndpoint> endpoints) {
+        this.endpointClass = endpointClass;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public MessageEndpoint createEndpoint(final XAResource xaResource) throws UnavailableException {
+        try {
+            final MessageEndpoint endpoint = endpoints.call();
+            created.incrementAndGet();
+            return endpoint;
+        } catch (Exception e) {
+            throw new UnavailableException(e.getMessage());
+        }
+    }
+
+    @Override
+    public MessageEndpoint createEndpoint(final XAResource xaResource, final long timeout) throws UnavailableException {
+        return createEndpoint(xaResource);
+    }
+
+    @Override
+    public boolean isDeliveryTransacted(final Method method) {
+        return false;
+    }
+
+    @Override
+    public String getActivationName() {
+        return endpointClass.getName();
+    }
+
+    @Override
+    public Class<?> getEndpointClass() {
+        return endpointClass;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.resource.spi.UnavailableException;
+import javax.resource.spi.endpoint.MessageEndpoint;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EndpointPoolTest {
+
+    private final EndpointFactory factory = new EndpointFactory(Endpoint.class, new Callable<Endpoint>() {
+        @Override
+        public Endpoint call() {
+            return new Endpoint();
+        }
+    });
+
+    @Test
+    public void createsOnDemand() throws Exception {
+        final EndpointPool pool = new EndpointPool(factory, "test", 3, 100);
+        assertEquals(0, factory.created.get());
+
+        final MessageEndpoint first = pool.lease();
+        pool.release(first);
+
+        // the idle one is reused
+        assertSame(first, pool.lease());
+        assertEquals(1, factory.created.get());
+
+        pool.lease();
+        assertEquals(2, factory.created.get());
+        assertEquals(2, pool.getActive());
+    }
+
+    @Test
+    public void mxbean() throws Exception {
+        final EndpointPool pool = new EndpointPool(factory, "test", 2, 50);
+        pool.release(pool.lease());
+        pool.lease();
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("org.tomitribe.sheldon:type=EndpointPool,bean=org.example.Bean,port=0");
+        server.registerMBean(pool, name);
+        try {
+            assertEquals(2, server.getAttribute(name, "Size"));
+            assertEquals(1, server.getAttribute(name, "Active"));
+            assertEquals(2L, server.getAttribute(name, "Leases"));
+            assertEquals(0L, server.getAttribute(name, "Timeouts"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void timesOutWhenExhausted() throws Exception {
+        final EndpointPool pool = new EndpointPool(factory, "test", 1, 50);
+        pool.lease();
+
+        try {
+            pool.lease();
+            fail("Expected UnavailableException");
+        } catch (UnavailableException e) {
+            assertEquals(1, pool.getTimeouts());
+        }
+
+        assertTrue(pool.getMaxWaitMillis() < 50);
+    }
+
+    @Test
+    public void closeReleasesEndpoints() throws Exception {
+        final EndpointPool pool = new EndpointPool(factory, "test", 2, 50);
+
+        final Endpoint idle = (Endpoint) pool.lease();
+        final Endpoint leased = (Endpoint) pool.lease();
+        pool.release(idle);
+
+        pool.close();
+        assertTrue(idle.released);
+        assertEquals(false, leased.released);
+
+        // returned after the undeployment
+        pool.release(leased);
+        assertTrue(leased.released);
+
+        try {
+            pool.lease();
+            fail("Expected UnavailableException");
+        } catch (UnavailableException e) {
+            // closed
+        }
+    }
+
+    public static class Endpoint implements MessageEndpoint {
+        private boolean released;
+
+        @Override
+        public void beforeDelivery(final Method method) {
+        }
+
+        @Override
+        public void afterDelivery() {
+        }
+
+        @Override
+        public void release() {
+            released = true;
+        }
+    }
+}
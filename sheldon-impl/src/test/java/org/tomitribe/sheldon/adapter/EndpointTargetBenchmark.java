@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.cmds.targets.Target;
+
+import javax.resource.ResourceException;
+import javax.resource.spi.endpoint.MessageEndpoint;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Not a unit test, run the main method by hand.
+ *
+ * Measures the delivery path of a no-op command and of a command
+ * taking and returning a String:
+ *
+ *  - reflection: Method.invoke with access checks, as done before
+ *  - target: EndpointTarget, leasing the endpoint from its pool and
+ *    calling Method.invoke without access checks
+ *  - handle: a MethodHandle bound to the endpoint, spread over the
+ *    Object[] of arguments and cached per Method.  Kept to show it
+ *    does not pay off, the handle is not a constant so the JIT can't
+ *    inline through it, and the cache lookup costs as much as the
+ *    access checks it saves.
+ *
+ *   java -cp ... org.tomitribe.sheldon.adapter.EndpointTargetBenchmark
+ */
+public class EndpointTargetBenchmark {
+
+    private static final int ITERATIONS = 5000000;
+
+    public static void main(String[] args) throws Exception {
+        final NoopEndpoint endpoint = new NoopEndpoint();
+        final EndpointFactory factory = new EndpointFactory(NoopEndpoint.class, new Callable<NoopEndpoint>() {
+            @Override
+            public NoopEndpoint call() {
+                return endpoint;
+            }
+        });
+        final EndpointTarget target = new EndpointTarget(new EndpointPool(factory, "Noop", 1, 1000));
+        final HandleTarget handles = new HandleTarget(endpoint);
+
+        final Object[] noArgs = new Object[0];
+        final Object[] echoArgs = {"hello"};
+
+        System.out.printf("%-8s %12s %12s %12s%n", "command", "reflection", "target", "handle");
+
+        for (int round = 0; round < 3; round++) {
+            // separate Method instances, the target makes its own accessible
+            final Method noop = NoopEndpoint.class.getMethod("noop");
+            final Method echo = NoopEndpoint.class.getMethod("echo", String.class);
+
+            report("noop", reflective(endpoint, NoopEndpoint.class.getMethod("noop"), noArgs),
+                    target(target, noop, noArgs), target(handles, noop, noArgs));
+            report("echo", reflective(endpoint, NoopEndpoint.class.getMethod("echo", String.class), echoArgs),
+                    target(target, echo, echoArgs), target(handles, echo, echoArgs));
+        }
+
+        System.out.println("(ns/op)");
+    }
+
+    private static void report(final String name, final double reflection, final double target, final double handle) {
+        System.out.printf("%-8s %12.1f %12.1f %12.1f%n", name, reflection, target, handle);
+    }
+
+    /**
+     * The delivery path before EndpointTarget skipped the access checks
+     */
+    private static double reflective(final MessageEndpoint endpoint, final Method method, final Object[] args) throws Exception {
+        Object sink = null;
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            endpoint.beforeDelivery(method);
+            try {
+                sink = method.invoke(endpoint, args);
+            } finally {
+                endpoint.afterDelivery();
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        consume(sink);
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static double target(final Target target, final Method method, final Object[] args) throws Exception {
+        Object sink = null;
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = target.invoke(method, args);
+        }
+        final long elapsed = System.nanoTime() - start;
+        consume(sink);
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static void consume(final Object o) {
+        if (o != null && o.hashCode() == 42) System.out.print("");
+    }
+
+    private static class HandleTarget implements Target {
+        private static final MethodType INVOKER = MethodType.methodType(Object.class, Object[].class);
+
+        private final MessageEndpoint endpoint;
+        private final Map<Method, MethodHandle> handles = new ConcurrentHashMap<Method, MethodHandle>();
+
+        public HandleTarget(final MessageEndpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public Object invoke(final Method method, final Object... args)
+                throws InvocationTargetException, IllegalAccessException {
+            MethodHandle handle = handles.get(method);
+            if (handle == null) {
+                handle = MethodHandles.publicLookup().unreflect(method)
+                        .bindTo(endpoint)
+                        .asSpreader(Object[].class, method.getParameterTypes().length)
+                        .asType(INVOKER);
+                handles.put(method, handle);
+            }
+
+            try {
+                endpoint.beforeDelivery(method);
+                try {
+                    return handle.invokeExact(args);
+                } catch (Throwable t) {
+                    throw new InvocationTargetException(t);
+                } finally {
+                    endpoint.afterDelivery();
+                }
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            } catch (ResourceException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    public static class NoopEndpoint implements MessageEndpoint {
+        private int deliveries;
+
+        @Command
+        public void noop() {
+        }
+
+        @Command
+        public String echo(final String s) {
+            return s;
+        }
+
+        @Override
+        public void beforeDelivery(final Method method) {
+            deliveries++;
+        }
+
+        @Override
+        public void afterDelivery() {
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+}
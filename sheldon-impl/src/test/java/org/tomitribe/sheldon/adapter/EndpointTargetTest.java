@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.junit.Test;
+import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.api.StreamingOutput;
+import org.tomitribe.sheldon.stats.CommandStats;
+import org.tomitribe.sheldon.stats.CommandStats.Phase;
+
+import javax.resource.spi.endpoint.MessageEndpoint;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EndpointTargetTest {
+
+    @Test
+    public void invokesAndBrackets() throws Exception {
+        final Endpoint endpoint = new Endpoint();
+        final EndpointTarget target = target(endpoint);
+
+        assertEquals("3", target.invoke(Endpoint.class.getMethod("add", int.class, Integer.class), 1, 2));
+        assertNull(target.invoke(Endpoint.class.getMethod("noop")));
+        assertEquals(2, endpoint.before);
+        assertEquals(2, endpoint.after);
+    }
+
+    @Test
+    public void wrapsExceptions() throws Exception {
+        final Endpoint endpoint = new Endpoint();
+        final EndpointTarget target = target(endpoint);
+
+        try {
+            target.invoke(Endpoint.class.getMethod("fail"));
+            fail("Expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertSame(Endpoint.FAILURE, e.getCause());
+        }
+
+        assertEquals(1, endpoint.after);
+    }
+
+    @Test
+    public void recordsDeliveryPhases() throws Exception {
+        final EndpointTarget target = target(new Endpoint());
+        final Method noop = Endpoint.class.getMethod("noop");
+
+        // outside of a command nothing is recorded
+        target.invoke(noop);
+
+        final CommandStats stats = new CommandStats("noop");
+        CommandStats.attach(stats);
+        try {
+            target.invoke(noop);
+        } finally {
+            CommandStats.detach();
+        }
+
+        assertEquals(1, stats.snapshot(Phase.BEFORE_DELIVERY).getCount());
+        assertEquals(1, stats.snapshot(Phase.INVOKE).getCount());
+        assertEquals(1, stats.snapshot(Phase.AFTER_DELIVERY).getCount());
+        assertEquals(false, stats.isRecorded(Phase.DISPATCH));
+    }
+
+    @Test
+    public void streamedWithinTheDelivery() throws Exception {
+        final Endpoint endpoint = new Endpoint();
+        final EndpointTarget target = target(endpoint);
+
+        final Object output = target.invoke(Endpoint.class.getMethod("lines", int.class), 3);
+        assertTrue(output instanceof StreamingOutput);
+
+        // not written yet, the endpoint is still leased
+        assertEquals(0, endpoint.after);
+        assertEquals(1, target.getPool().getActive());
+
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        ((StreamingOutput) output).write(written);
+
+        assertEquals(String.format("0 delivering%n1 delivering%n2 delivering%n"), written.toString());
+        assertEquals(1, endpoint.after);
+        assertEquals(0, target.getPool().getActive());
+    }
+
+    @Test
+    public void cancelledOutputEndsTheDelivery() throws Exception {
+        final Endpoint endpoint = new Endpoint();
+        final EndpointTarget target = target(endpoint);
+
+        final StreamingOutput output = (StreamingOutput) target.invoke(Endpoint.class.getMethod("lines", int.class), 3);
+
+        final OutputStream gone = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        output.write(gone);
+
+        assertEquals(1, endpoint.after);
+        assertEquals(0, target.getPool().getActive());
+    }
+
+    @Test
+    public void methodNotOnTheEndpoint() throws Exception {
+        final Endpoint endpoint = new Endpoint();
+        final EndpointTarget target = target(endpoint);
+
+        try {
+            target.invoke(Other.class.getMethod("other"));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // not a method of the endpoint
+        }
+    }
+
+    @Test
+    public void concurrentCommandsUseSeparateEndpoints() throws Exception {
+        final EndpointFactory factory = new EndpointFactory(Endpoint.class, new Callable<Endpoint>() {
+            @Override
+            public Endpoint call() {
+                return new Endpoint();
+            }
+        });
+        final EndpointTarget target = new EndpointTarget(new EndpointPool(factory, "Endpoint", 2, 1000));
+        final Method await = Endpoint.class.getMethod("await", CountDownLatch.class);
+
+        // both commands block until the two are running at once
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    target.invoke(await, latch);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        other.start();
+
+        assertEquals(true, target.invoke(await, latch));
+        other.join();
+
+        assertEquals(2, factory.created.get());
+        assertEquals(2, target.getPool().getLeases());
+        assertEquals(0, target.getPool().getActive());
+    }
+
+    private static EndpointTarget target(final Endpoint endpoint) {
+        final EndpointFactory factory = new EndpointFactory(Endpoint.class, new Callable<Endpoint>() {
+            @Override
+            public Endpoint call() {
+                return endpoint;
+            }
+        });
+        return new EndpointTarget(new EndpointPool(factory, "Endpoint", 1, 1000));
+    }
+
+    public static class Other {
+        public void other() {
+        }
+    }
+
+    public static class Endpoint implements MessageEndpoint {
+        static final IllegalStateException FAILURE = new IllegalStateException("failed");
+
+        private int before;
+        private int after;
+
+        @Command
+        public String add(final int a, final Integer b) {
+            return Integer.toString(a + b);
+        }
+
+        @Command
+        public void noop() {
+        }
+
+        @Command
+        public boolean await(final CountDownLatch latch) throws InterruptedException {
+            latch.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+
+        @Command
+        public Iterator<String> lines(final int count) {
+            return new Iterator<String>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                @Override
+                public String next() {
+                    // lazily, yet still between beforeDelivery and afterDelivery
+                    return next++ + (before > after ? " delivering" : " outside");
+                }
+            };
+        }
+
+        @Command
+        public void fail() {
+            throw FAILURE;
+        }
+
+        @Override
+        public void beforeDelivery(final Method method) {
+            before++;
+        }
+
+        @Override
+        public void afterDelivery() {
+            after++;
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import javax.resource.spi.work.ExecutionContext;
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
+import javax.resource.spi.work.WorkListener;
+import javax.resource.spi.work.WorkManager;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WorkManager running works on a thread pool, without any of the
+ * contexts a server would set up
+ */
+public class ExecutorWorkManager implements WorkManager {
+
+    public final AtomicInteger scheduled = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @Override
+    public void doWork(final Work work) throws WorkException {
+        work.run();
+    }
+
+    @Override
+    public void doWork(final Work work, final long startTimeout, final ExecutionContext context, final WorkListener listener) throws WorkException {
+        work.run();
+    }
+
+    @Override
+    public long startWork(final Work work) throws WorkException {
+        scheduleWork(work);
+        return 0;
+    }
+
+    @Override
+    public long startWork(final Work work, final long startTimeout, final ExecutionContext context, final WorkListener listener) throws WorkException {
+        scheduleWork(work);
+        return 0;
+    }
+
+    @Override
+    public void scheduleWork(final Work work) throws WorkException {
+        try {
+            executor.execute(work);
+            scheduled.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            throw new WorkException(e);
+        }
+    }
+
+    @Override
+    public void scheduleWork(final Work work, final long startTimeout, final ExecutionContext context, final WorkListener listener) throws WorkException {
+        scheduleWork(work);
+    }
+
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.adapter;
+
+import org.junit.Test;
+import org.tomitribe.crest.api.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingResultsTest {
+
+    @Test
+    public void otherResultsAreUnchanged() throws Exception {
+        final Object string = "hello";
+        assertSame(string, StreamingResults.of(string));
+
+        final Object list = Arrays.asList("a", "b");
+        assertSame(list, StreamingResults.of(list));
+
+        assertSame(null, StreamingResults.of(null));
+    }
+
+    @Test
+    public void iterator() throws Exception {
+        final FlushCounter counter = new FlushCounter();
+        write(StreamingResults.of(Arrays.asList("one", 2, null).iterator()), counter);
+
+        assertEquals(String.format("one%n2%nnull%n"), counter.toString());
+        assertEquals(3, counter.flushes);
+    }
+
+    @Test
+    public void streamIsClosed() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Stream<String> stream = Stream.of("a", "b").onClose(new Runnable() {
+            @Override
+            public void run() {
+                closed.set(true);
+            }
+        });
+
+        final FlushCounter counter = new FlushCounter();
+        write(StreamingResults.of(stream), counter);
+
+        assertEquals(String.format("a%nb%n"), counter.toString());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void stopsWhenTheOutputIsGone() throws Exception {
+        final AtomicInteger produced = new AtomicInteger();
+        final Iterator<Integer> endless = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return produced.incrementAndGet();
+            }
+        };
+
+        final OutputStream closed = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                if (produced.get() > 3) throw new IOException("Broken pipe");
+            }
+        };
+
+        write(StreamingResults.of(endless), closed);
+        assertEquals(4, produced.get());
+    }
+
+    @Test
+    public void publisher() throws Exception {
+        final Class<?> type;
+        try {
+            type = Class.forName("java.util.concurrent.SubmissionPublisher");
+        } catch (ClassNotFoundException e) {
+            return; // no Flow before Java 9
+        }
+
+        final Object publisher = type.getConstructor().newInstance();
+        final Method submit = type.getMethod("submit", Object.class);
+        final Method subscribers = type.getMethod("getNumberOfSubscribers");
+
+        final Object output = StreamingResults.of(publisher);
+        assertTrue(output instanceof StreamingOutput);
+
+        final FlushCounter counter = new FlushCounter();
+        final Thread writer = writer(output, counter);
+        writer.start();
+
+        while ((Integer) subscribers.invoke(publisher) == 0) {
+            Thread.sleep(1);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            submit.invoke(publisher, "item" + i);
+        }
+        type.getMethod("close").invoke(publisher);
+
+        writer.join(10000);
+
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append(String.format("item%d%n", i));
+        }
+        assertEquals(expected.toString(), counter.toString());
+        assertEquals(100, counter.flushes);
+    }
+
+    @Test
+    public void futureValueIsWrittenWhenDone() throws Exception {
+        final CompletableFuture<Stream<String>> future = new CompletableFuture<Stream<String>>();
+
+        final FlushCounter counter = new FlushCounter();
+        final Thread writer = writer(StreamingResults.of(future), counter);
+        writer.start();
+
+        Thread.sleep(50);
+        assertEquals("", counter.toString());
+
+        future.complete(Stream.of("done", "twice"));
+        writer.join(10000);
+
+        assertEquals(String.format("done%ntwice%n"), counter.toString());
+    }
+
+    @Test
+    public void completionStage() throws Exception {
+        final CompletableFuture<String> future = new CompletableFuture<String>();
+
+        // a stage that is not a Future
+        final Object stage = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CompletionStage.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                        return method.invoke(future, args);
+                    }
+                });
+
+        final Object output = StreamingResults.of(stage);
+        future.complete("hello");
+
+        final FlushCounter counter = new FlushCounter();
+        write(output, counter);
+        assertEquals(String.format("hello%n"), counter.toString());
+    }
+
+    @Test
+    public void failedFuture() throws Exception {
+        final CompletableFuture<String> future = new CompletableFuture<String>();
+        future.completeExceptionally(new IllegalStateException("no database"));
+
+        try {
+            write(StreamingResults.of(future), new FlushCounter());
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("no database", e.getMessage());
+        }
+    }
+
+    @Test
+    public void interruptCancelsTheFuture() throws Exception {
+        final CompletableFuture<String> future = new CompletableFuture<String>();
+
+        final Thread writer = writer(StreamingResults.of(future), new FlushCounter());
+        writer.start();
+
+        Thread.sleep(50);
+        writer.interrupt();
+        writer.join(10000);
+
+        assertTrue(future.isCancelled());
+    }
+
+    private static Thread writer(final Object output, final OutputStream os) {
+        return new Thread() {
+            @Override
+            public void run() {
+                try {
+                    write(output, os);
+                } catch (IOException e) {
+                    // interrupted
+                }
+            }
+        };
+    }
+
+    private static void write(final Object output, final OutputStream os) throws IOException {
+        ((StreamingOutput) output).write(new PrintStream(os));
+    }
+
+    private static class FlushCounter extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.audit;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Not a unit test, run the main method by hand.
+ *
+ * Measures what auditing adds to each command line on the session
+ * thread, with the log disabled and with each fsync policy, from one
+ * and from several sessions at once.
+ *
+ * Sessions record in bursts that fit the buffer and then wait, untimed,
+ * for the writer to catch up, as people typing would let it.  Only the
+ * time spent recording counts.  A last run records flat out to show
+ * the writer's throughput and the drops once it is overrun.
+ */
+public class AuditLogBenchmark {
+
+    private static final String LINE = "threads | grep sheldon | sort";
+    private static final int BUFFER = 8192;
+
+    public static void main(String[] args) throws Exception {
+        final int commands = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        final File dir = Files.createTempDirectory("sheldon-audit").toFile();
+
+        for (int round = 0; round < 3; round++) {
+            for (int threads : new int[]{1, 4}) {
+                run("disabled", null, threads, commands, BUFFER / threads / 2);
+                for (String fsync : new String[]{"never", "1000", "batch"}) {
+                    final File file = new File(dir, "audit-" + fsync + ".log");
+                    final AuditLog log = new AuditLog(file, fsync, 64 * 1024 * 1024, 1, BUFFER);
+                    run(fsync, log, threads, commands, BUFFER / threads / 2);
+                    report(log);
+                    file.delete();
+                }
+            }
+        }
+
+        final File file = new File(dir, "audit-overrun.log");
+        final AuditLog log = new AuditLog(file, "batch", 64 * 1024 * 1024, 1, BUFFER);
+        final long start = System.nanoTime();
+        run("overrun", log, 1, commands * 10, Integer.MAX_VALUE);
+        log.close();
+        System.out.printf("writer: %.0f entries/s%n", log.getWritten() / ((System.nanoTime() - start) / 1e9));
+        report(log);
+        file.delete();
+        dir.delete();
+    }
+
+    private static void report(final AuditLog log) {
+        log.close();
+        System.out.printf("%34s written %d, dropped %d, %d batches, %d syncs%n", "", log.getWritten(),
+                log.getDropped(), log.getBatches(), log.getSyncs());
+    }
+
+    private static void run(final String name, final AuditLog log, final int threads, final int commands, final int burst) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicLong recording = new AtomicLong();
+
+        final Thread[] sessions = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int session = t;
+            sessions[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        long nanos = 0;
+                        for (int done = 0; done < commands; ) {
+                            final int n = Math.min(burst, commands - done);
+
+                            final long begin = System.nanoTime();
+                            for (int i = 0; i < n; i++) {
+                                // what ConsoleSession adds around a command line
+                                final long started = System.nanoTime();
+                                if (log != null) {
+                                    log.record("alice", session, "/10.0.0.1:5123", LINE, System.nanoTime() - started, 0);
+                                }
+                            }
+                            nanos += System.nanoTime() - begin;
+                            done += n;
+
+                            while (log != null && log.getWritten() + log.getDropped() < (long) done * threads - BUFFER / 2) {
+                                Thread.sleep(1);
+                            }
+                        }
+                        recording.addAndGet(nanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            sessions[t].start();
+        }
+
+        start.countDown();
+        for (Thread session : sessions) {
+            session.join();
+        }
+
+        System.out.printf("%-8s %d threads %10.1f ns/command%n", name, threads, recording.get() / (double) (commands * threads));
+    }
+}
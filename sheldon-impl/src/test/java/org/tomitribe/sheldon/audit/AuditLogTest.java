@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.audit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AuditLogTest {
+
+    private File folder;
+
+    @Before
+    public void createFolder() throws IOException {
+        folder = Files.createTempDirectory("sheldon-audit").toFile();
+    }
+
+    @After
+    public void deleteFolder() {
+        delete(folder);
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Test
+    public void writesOneLinePerCommandLine() throws Exception {
+        final File file = new File(folder, "logs/audit.log");
+        final AuditLog log = new AuditLog(file, "batch", 1024 * 1024, 3, 16);
+
+        log.record("alice", 3, "/10.0.0.1:5123", "threads | grep \"main\"", TimeUnit.MICROSECONDS.toNanos(12345), 0);
+        log.record("bob", 4, "/10.0.0.2:22", "exit\nrm -rf /", 1000, -1);
+        log.close();
+
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0), lines.get(0).matches("\\d{4}-\\d\\d-\\d\\dT[0-9:.]+Z user=alice session=3 remote=/10.0.0.1:5123 status=0 "
+                + "millis=12\\.345 line=\"threads \\| grep \\\\\"main\\\\\"\""));
+        assertTrue(lines.get(1), lines.get(1).endsWith(" status=exit millis=0.001 line=\"exit\\nrm -rf /\""));
+
+        assertEquals(2, log.getWritten());
+        assertEquals(0, log.getDropped());
+        assertTrue(log.getSyncs() >= 1);
+    }
+
+    @Test
+    public void appendsToExistingFile() throws Exception {
+        final File file = new File(folder, "audit.log");
+        Files.write(file.toPath(), "before\n".getBytes(StandardCharsets.UTF_8));
+
+        final AuditLog log = new AuditLog(file, "never", 1024 * 1024, 3, 16);
+        log.record("alice", 1, "/10.0.0.1:1", "help", 0, 0);
+        log.close();
+
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("before", lines.get(0));
+        assertEquals(0, log.getSyncs());
+    }
+
+    @Test
+    public void rotatesBySize() throws Exception {
+        final File file = new File(folder, "audit.log");
+        final AuditLog log = new AuditLog(file, "batch", 300, 2, 16);
+
+        for (int i = 0; i < 20; i++) {
+            log.record("alice", 1, "/10.0.0.1:1", "command " + i, 0, 0);
+            // one entry per batch, so one rotation per file full
+            while (log.getWritten() < i + 1) {
+                Thread.sleep(1);
+            }
+        }
+        log.close();
+
+        final File first = new File(folder, "audit.log.1");
+        final File second = new File(folder, "audit.log.2");
+        assertTrue(first.exists());
+        assertTrue(second.exists());
+        assertFalse(new File(folder, "audit.log.3").exists());
+
+        assertTrue(file.length() <= 300);
+        assertTrue(first.length() <= 300);
+
+        final List<String> current = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertTrue(current.get(current.size() - 1).endsWith("line=\"command 19\""));
+    }
+
+    @Test
+    public void dropsOnceClosed() throws Exception {
+        final AuditLog log = new AuditLog(new File(folder, "audit.log"), "1000", 1024, 1, 16);
+        log.close();
+
+        log.record("alice", 1, "/10.0.0.1:1", "help", 0, 0);
+        assertEquals(0, log.getWritten());
+        assertEquals(1, log.getDropped());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidFsync() throws Exception {
+        new AuditLog(new File(folder, "audit.log"), "sometimes", 1024, 1, 16);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class AuthenticationCacheTest {
+
+    private static final Identity ALICE = new Identity("alice", Collections.singletonList("admin"));
+
+    @Test
+    public void hitAndMiss() {
+        final AuthenticationCache cache = new AuthenticationCache(10, 60000, 60000);
+
+        assertNull(cache.get("alice", "secret"));
+        cache.put("alice", "secret", ALICE);
+
+        assertEquals(ALICE, cache.get("alice", "secret").getIdentity());
+        assertNull(cache.get("alice", "guess"));
+        assertNull(cache.get("bob", "secret"));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void failuresAreRemembered() {
+        final AuthenticationCache cache = new AuthenticationCache(10, 60000, 60000);
+        cache.put("alice", "guess", null);
+
+        final AuthenticationCache.Decision decision = cache.get("alice", "guess");
+        assertNotNull(decision);
+        assertNull(decision.getIdentity());
+    }
+
+    @Test
+    public void failuresExpireSeparately() throws Exception {
+        final AuthenticationCache cache = new AuthenticationCache(10, 60000, 20);
+        cache.put("alice", "secret", ALICE);
+        cache.put("alice", "guess", null);
+
+        Thread.sleep(100);
+
+        assertNull(cache.get("alice", "guess"));
+        assertNotNull(cache.get("alice", "secret"));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void noFailureTtl() {
+        final AuthenticationCache cache = new AuthenticationCache(10, 60000, 0);
+        cache.put("alice", "guess", null);
+
+        assertNull(cache.get("alice", "guess"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        final AuthenticationCache cache = new AuthenticationCache(2, 60000, 60000);
+        cache.put("alice", "secret", ALICE);
+        cache.put("bob", "secret", new Identity("bob", Collections.<String>emptyList()));
+
+        // alice is used, so bob goes
+        cache.get("alice", "secret");
+        cache.put("carol", "secret", new Identity("carol", Collections.<String>emptyList()));
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get("alice", "secret"));
+        assertNull(cache.get("bob", "secret"));
+        assertNotNull(cache.get("carol", "secret"));
+    }
+
+    @Test
+    public void clear() {
+        final AuthenticationCache cache = new AuthenticationCache(10, 60000, 60000);
+        cache.put("alice", "secret", ALICE);
+        cache.clear();
+
+        assertNull(cache.get("alice", "secret"));
+    }
+}
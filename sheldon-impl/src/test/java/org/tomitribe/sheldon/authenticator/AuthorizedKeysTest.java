@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AuthorizedKeysTest {
+
+    private static final String ED25519 = "ssh-ed25519 AAAAC3NzaC1lZDI1NTE5AAAAII7GY9wJTeeHtXkUCXLAzBXjfuOK/Ne1JJQ65T443QQB";
+    private static final String ED25519_FINGERPRINT = "SHA256:y06daKukAhzkEaccZJPMcpevm6sjWkNa0sxSJjXFIL8";
+
+    private static final String ECDSA = "ecdsa-sha2-nistp256 AAAAE2VjZHNhLXNoYTItbmlzdHAyNTYAAAAIbmlzdHAyNTYAAABBBI1A9hGu"
+            + "/IKyalEo4Rma/d2HppteOp15Iv4RR+D44cE+RP6Zlk7daSBbVCNDpISB9cBJ4m9aY5VaQ572iezgO8k=";
+    private static final String ECDSA_FINGERPRINT = "SHA256:pZi4wlQPREj25HzJec5pB/hZM/jNtDNUte6R8T4hbGc";
+
+    private File dir;
+    private AuthorizedKeys keys;
+
+    @Before
+    public void mkdir() throws IOException {
+        dir = Files.createTempDirectory("authorized-keys").toFile();
+    }
+
+    @After
+    public void delete() {
+        if (keys != null) keys.close();
+        delete(dir);
+    }
+
+    @Test
+    public void fingerprint() {
+        assertEquals(ED25519_FINGERPRINT, AuthorizedKeys.Entry.parse(ED25519 + " ci@build").fingerprint());
+        assertEquals(ECDSA_FINGERPRINT, AuthorizedKeys.Entry.parse(ECDSA).fingerprint());
+    }
+
+    @Test
+    public void options() {
+        final AuthorizedKeys.Entry entry = AuthorizedKeys.Entry.parse(
+                "no-pty,principal=\"deploy\",roles=\"admin, ops\",from=\"10.0.0.1 10.0.0.2\" " + ED25519 + " ci@build");
+
+        assertEquals("ssh-ed25519", entry.getType());
+        assertEquals("deploy", entry.getOptions().get("principal"));
+        assertEquals("admin, ops", entry.getOptions().get("roles"));
+        assertEquals("10.0.0.1 10.0.0.2", entry.getOptions().get("from"));
+        assertEquals("", entry.getOptions().get("no-pty"));
+    }
+
+    @Test
+    public void file() throws Exception {
+        final File file = write("authorized_keys",
+                "# deployment",
+                "principal=\"deploy\",roles=\"admin, ops\" " + ED25519 + " ci@build",
+                "",
+                ECDSA + " no principal, skipped",
+                "principal=\"broken\" ssh-rsa !!!");
+
+        keys = new AuthorizedKeys(file.toPath());
+        keys.start();
+
+        assertEquals(1, keys.getKeyCount());
+        final Identity identity = keys.get(ED25519_FINGERPRINT);
+        assertEquals("deploy", identity.getUsername());
+        assertEquals(Arrays.asList("admin", "ops"), identity.getGroups());
+        assertNull(keys.get(ECDSA_FINGERPRINT));
+    }
+
+    @Test
+    public void directory() throws Exception {
+        write("deploy", ED25519);
+        write("ops", "roles=\"ops\" " + ECDSA);
+        write(".ignored", "principal=\"root\" " + ED25519);
+
+        keys = new AuthorizedKeys(dir.toPath());
+        keys.start();
+
+        assertEquals(2, keys.getKeyCount());
+        assertEquals("deploy", keys.get(ED25519_FINGERPRINT).getUsername());
+        assertEquals(Collections.emptyList(), keys.get(ED25519_FINGERPRINT).getGroups());
+        assertEquals("ops", keys.get(ECDSA_FINGERPRINT).getUsername());
+        assertEquals(Collections.singletonList("ops"), keys.get(ECDSA_FINGERPRINT).getGroups());
+    }
+
+    @Test
+    public void ambiguousKey() throws Exception {
+        write("deploy", ED25519, ECDSA);
+        write("ops", ED25519);
+
+        keys = new AuthorizedKeys(dir.toPath());
+        keys.start();
+
+        // either file may be read first, the key is dropped both ways
+        assertNull(keys.get(ED25519_FINGERPRINT));
+        assertEquals("deploy", keys.get(ECDSA_FINGERPRINT).getUsername());
+        assertEquals(1, keys.getKeyCount());
+    }
+
+    @Test
+    public void sameIdentityTwice() throws Exception {
+        write("authorized_keys", "principal=\"deploy\" " + ED25519, "principal=\"deploy\" " + ED25519);
+
+        keys = new AuthorizedKeys(new File(dir, "authorized_keys").toPath());
+        keys.start();
+
+        assertEquals("deploy", keys.get(ED25519_FINGERPRINT).getUsername());
+    }
+
+    @Test
+    public void reloadedOnChange() throws Exception {
+        final File file = write("authorized_keys", "principal=\"deploy\" " + ED25519);
+
+        keys = new AuthorizedKeys(file.toPath());
+        keys.start();
+        assertNull(keys.get(ECDSA_FINGERPRINT));
+
+        write("authorized_keys", "principal=\"deploy\" " + ED25519, "principal=\"ops\" " + ECDSA);
+
+        // the watch service may poll, give it time
+        final long timeout = System.currentTimeMillis() + 30000;
+        while (keys.get(ECDSA_FINGERPRINT) == null && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+
+        assertEquals("ops", keys.get(ECDSA_FINGERPRINT).getUsername());
+        assertEquals(2, keys.getKeyCount());
+    }
+
+    @Test
+    public void failedReloadKeepsTheKeys() throws Exception {
+        final File file = write("authorized_keys", "principal=\"deploy\" " + ED25519);
+
+        keys = new AuthorizedKeys(file.toPath());
+        keys.start();
+
+        file.delete();
+        keys.reload();
+
+        // the watcher may have tried too
+        assertTrue(keys.getFailedReloads() >= 1);
+        assertEquals("deploy", keys.get(ED25519_FINGERPRINT).getUsername());
+    }
+
+    private File write(final String name, final String... lines) throws IOException {
+        final File file = new File(dir, name);
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static void delete(final File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) delete(child);
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A misbehaving client floods the server with logins while a user
+ * logs in from elsewhere.  Past the burst the flood must not reach the
+ * realm, and the user still gets in.
+ *
+ * The logins go straight to {@link PendingAuthentications}, the way
+ * the password authenticator hands them over, with no sshd or network
+ * in between.  What is checked is what keeps the server responsive:
+ * the flood takes no realm checks, so none of the WorkManager threads
+ * or pending slots the user's login needs.  Latency isn't asserted, it
+ * depends on the machine.
+ */
+public class LoginFloodTest {
+
+    private static final int FLOODERS = 4;
+    private static final int ATTEMPTS = 25000;
+
+    private final ExecutorService workManager = Executors.newFixedThreadPool(2);
+    private final ExecutorService flood = Executors.newFixedThreadPool(FLOODERS);
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private final SecurityHandler realm = new SecurityHandler() {
+        @Override
+        public CompletableFuture<Identity> authenticate(final String username, final String password) {
+            checks.incrementAndGet();
+            return CompletableFuture.supplyAsync(new Supplier<Identity>() {
+                @Override
+                public Identity get() {
+                    try {
+                        // a slow identity store
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "secret".equals(password) ? new Identity(username, Collections.<String>emptyList()) : null;
+                }
+            }, workManager);
+        }
+
+        @Override
+        public <T> Future<T> submit(final Callable<T> callable, final Identity identity) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(4096, 10, 1);
+    private final PendingAuthentications authentications = new PendingAuthentications(realm, null, limiter, 30000, 32);
+
+    @After
+    public void shutdown() {
+        flood.shutdownNow();
+        workManager.shutdownNow();
+        authentications.close();
+    }
+
+    @Test
+    public void flood() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> flooders = new ArrayList<Future<Integer>>();
+
+        for (int i = 0; i < FLOODERS; i++) {
+            final String username = "monitor" + i;
+            flooders.add(flood.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    start.await();
+                    int refused = 0;
+                    for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                        final CompletableFuture<Identity> login = authentications.authenticate("10.0.0.66", username, "wrong");
+                        if (login.isDone() && login.get() == null) refused++;
+                    }
+                    return refused;
+                }
+            }));
+        }
+
+        start.countDown();
+
+        // meanwhile a user logs in
+        final CompletableFuture<Identity> alice = authentications.authenticate("10.0.0.7", "alice", "secret");
+        assertEquals("alice", alice.get(30, TimeUnit.SECONDS).getUsername());
+
+        int refused = 0;
+        for (Future<Integer> flooder : flooders) {
+            refused += flooder.get(60, TimeUnit.SECONDS);
+        }
+
+        final int attempts = FLOODERS * ATTEMPTS;
+        final int admitted = attempts - refused;
+
+        // the burst, and what refilled while the flood ran
+        assertTrue(String.valueOf(admitted), admitted <= 11);
+        assertEquals(admitted + 1, checks.get());
+        assertEquals(refused, limiter.getRejectedByAddress());
+        assertEquals(0, limiter.getRejectedByUsername());
+    }
+}
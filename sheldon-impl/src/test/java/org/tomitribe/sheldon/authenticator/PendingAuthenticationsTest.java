@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PendingAuthenticationsTest {
+
+    private final Realm realm = new Realm();
+    private PendingAuthentications authentications;
+
+    @After
+    public void close() {
+        if (authentications != null) authentications.close();
+    }
+
+    @Test
+    public void answerIsPassedOn() throws Exception {
+        authentications = new PendingAuthentications(realm, null, null, 10000, 4);
+
+        final CompletableFuture<Identity> login = authentications.authenticate("alice", "secret");
+        assertFalse(login.isDone());
+        assertEquals(1, authentications.getPending());
+
+        realm.answer(0, new Identity("alice", Collections.<String>emptyList()));
+
+        assertEquals("alice", login.get(1, TimeUnit.SECONDS).getUsername());
+        assertEquals(0, authentications.getPending());
+    }
+
+    @Test
+    public void failedCheckIsRefused() throws Exception {
+        authentications = new PendingAuthentications(realm, null, null, 10000, 4);
+
+        final CompletableFuture<Identity> login = authentications.authenticate("alice", "secret");
+        realm.checks.get(0).completeExceptionally(new IllegalStateException("realm down"));
+
+        assertNull(login.get(1, TimeUnit.SECONDS));
+        assertEquals(0, authentications.getPending());
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        authentications = new PendingAuthentications(realm, null, null, 50, 4);
+
+        final CompletableFuture<Identity> login = authentications.authenticate("alice", "secret");
+
+        assertNull(login.get(5, TimeUnit.SECONDS));
+        assertEquals(1, authentications.getTimedOut());
+
+        // still pending until the realm answers, and too late then
+        assertEquals(1, authentications.getPending());
+        realm.answer(0, new Identity("alice", Collections.<String>emptyList()));
+        assertEquals(0, authentications.getPending());
+        assertNull(login.get());
+    }
+
+    @Test
+    public void maxPending() throws Exception {
+        authentications = new PendingAuthentications(realm, null, null, 10000, 2);
+
+        authentications.authenticate("alice", "secret");
+        authentications.authenticate("bob", "secret");
+
+        final CompletableFuture<Identity> refused = authentications.authenticate("carol", "secret");
+        assertTrue(refused.isDone());
+        assertNull(refused.get());
+        assertEquals(1, authentications.getRejected());
+        assertEquals(2, realm.checks.size());
+
+        realm.answer(0, null);
+
+        final CompletableFuture<Identity> admitted = authentications.authenticate("carol", "secret");
+        assertFalse(admitted.isDone());
+        assertEquals(3, realm.checks.size());
+    }
+
+    @Test
+    public void answeredAlready() throws Exception {
+        authentications = new PendingAuthentications(realm, null, null, 10000, 4);
+        realm.cached = new Identity("alice", Collections.<String>emptyList());
+
+        final CompletableFuture<Identity> login = authentications.authenticate("alice", "secret");
+        assertTrue(login.isDone());
+        assertEquals("alice", login.get().getUsername());
+        assertEquals(0, authentications.getPending());
+    }
+
+    @Test
+    public void cacheAnswersWhileSaturated() throws Exception {
+        final AuthenticationCache cache = new AuthenticationCache(16, 60000, 60000);
+        authentications = new PendingAuthentications(realm, cache, null, 10000, 1);
+
+        final CompletableFuture<Identity> first = authentications.authenticate("alice", "secret");
+        realm.answer(0, new Identity("alice", Collections.<String>emptyList()));
+        assertEquals("alice", first.get(1, TimeUnit.SECONDS).getUsername());
+
+        // a slow realm takes the only slot
+        authentications.authenticate("bob", "secret");
+        assertEquals(1, authentications.getPending());
+
+        final CompletableFuture<Identity> cached = authentications.authenticate("alice", "secret");
+        assertTrue(cached.isDone());
+        assertEquals("alice", cached.get().getUsername());
+
+        assertEquals(2, realm.checks.size());
+        assertEquals(0, authentications.getRejected());
+        assertEquals(1, authentications.getPending());
+    }
+
+    @Test
+    public void lateAnswerIsCached() throws Exception {
+        final AuthenticationCache cache = new AuthenticationCache(16, 60000, 60000);
+        authentications = new PendingAuthentications(realm, cache, null, 50, 4);
+
+        assertNull(authentications.authenticate("alice", "secret").get(5, TimeUnit.SECONDS));
+        realm.answer(0, new Identity("alice", Collections.<String>emptyList()));
+
+        assertEquals("alice", authentications.authenticate("alice", "secret").get().getUsername());
+        assertEquals(1, realm.checks.size());
+    }
+
+    @Test
+    public void failedCheckIsNotCached() throws Exception {
+        final AuthenticationCache cache = new AuthenticationCache(16, 60000, 60000);
+        authentications = new PendingAuthentications(realm, cache, null, 10000, 4);
+
+        final CompletableFuture<Identity> login = authentications.authenticate("alice", "secret");
+        realm.checks.get(0).completeExceptionally(new IllegalStateException("Work rejected"));
+        assertNull(login.get(1, TimeUnit.SECONDS));
+
+        authentications.authenticate("alice", "secret");
+        assertEquals(2, realm.checks.size());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void repeatedSuccessfulLogins() throws Exception {
+        final LoginRateLimiter limiter = new LoginRateLimiter(64, 2, 1);
+        authentications = new PendingAuthentications(realm, null, limiter, 10000, 4);
+        realm.cached = new Identity("deploy", Collections.<String>emptyList());
+
+        // far more than the burst, each one refunded
+        for (int i = 0; i < 100; i++) {
+            assertEquals("deploy", authentications.authenticate("10.0.0.1", "deploy", "secret").get().getUsername());
+        }
+
+        assertEquals(0, limiter.getRejectedByAddress());
+        assertEquals(0, limiter.getRejectedByUsername());
+    }
+
+    @Test
+    public void failedLoginsAreLimited() throws Exception {
+        final LoginRateLimiter limiter = new LoginRateLimiter(64, 2, 1);
+        authentications = new PendingAuthentications(realm, null, limiter, 10000, 4);
+
+        for (int i = 0; i < 2; i++) {
+            final CompletableFuture<Identity> login = authentications.authenticate("10.0.0.1", "deploy", "guess");
+            realm.answer(i, null);
+            assertNull(login.get(1, TimeUnit.SECONDS));
+        }
+
+        // out of attempts, the realm isn't asked
+        final CompletableFuture<Identity> refused = authentications.authenticate("10.0.0.1", "deploy", "secret");
+        assertTrue(refused.isDone());
+        assertNull(refused.get());
+        assertEquals(2, realm.checks.size());
+        assertEquals(1, limiter.getRejectedByAddress());
+    }
+
+    @Test
+    public void successAfterAnswerIsRefunded() throws Exception {
+        final LoginRateLimiter limiter = new LoginRateLimiter(64, 1, 1);
+        authentications = new PendingAuthentications(realm, null, limiter, 10000, 4);
+
+        final CompletableFuture<Identity> login = authentications.authenticate("10.0.0.1", "deploy", "secret");
+        realm.answer(0, new Identity("deploy", Collections.<String>emptyList()));
+        assertEquals("deploy", login.get(1, TimeUnit.SECONDS).getUsername());
+
+        // the single token is back
+        authentications.authenticate("10.0.0.1", "deploy", "secret");
+        assertEquals(2, realm.checks.size());
+        assertEquals(0, limiter.getRejectedByAddress());
+    }
+
+    /**
+     * Answers only when told to, unless it has the answer cached
+     */
+    private static class Realm implements SecurityHandler {
+        private final List<CompletableFuture<Identity>> checks = new CopyOnWriteArrayList<CompletableFuture<Identity>>();
+        private volatile Identity cached;
+
+        public void answer(final int check, final Identity identity) {
+            checks.get(check).complete(identity);
+        }
+
+        @Override
+        public CompletableFuture<Identity> authenticate(final String username, final String password) {
+            if (cached != null) return CompletableFuture.completedFuture(cached);
+
+            final CompletableFuture<Identity> check = new CompletableFuture<Identity>();
+            checks.add(check);
+            return check;
+        }
+
+        @Override
+        public <T> Future<T> submit(final Callable<T> callable, final Identity identity) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
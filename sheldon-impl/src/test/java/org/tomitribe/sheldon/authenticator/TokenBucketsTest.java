@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketsTest {
+
+    @Test
+    public void burst() {
+        final TokenBuckets buckets = new TokenBuckets(16, 3, 1);
+
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertFalse(buckets.tryAcquire("10.0.0.1"));
+        assertFalse(buckets.tryAcquire("10.0.0.1"));
+
+        assertEquals(2, buckets.getRejected());
+    }
+
+    @Test
+    public void refill() throws Exception {
+        // a token every 10ms
+        final TokenBuckets buckets = new TokenBuckets(16, 1, 6000);
+
+        assertTrue(buckets.tryAcquire("alice"));
+        assertFalse(buckets.tryAcquire("alice"));
+
+        Thread.sleep(50);
+
+        assertTrue(buckets.tryAcquire("alice"));
+        assertFalse(buckets.tryAcquire("alice"));
+    }
+
+    @Test
+    public void refund() {
+        final TokenBuckets buckets = new TokenBuckets(16, 2, 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buckets.tryAcquire("alice"));
+            buckets.refund("alice");
+        }
+
+        // refunds don't add to the burst
+        assertTrue(buckets.tryAcquire("alice"));
+        assertTrue(buckets.tryAcquire("alice"));
+        assertFalse(buckets.tryAcquire("alice"));
+    }
+
+    @Test
+    public void keysHaveTheirOwnBuckets() {
+        final TokenBuckets buckets = new TokenBuckets(1024, 1, 1);
+
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (buckets.tryAcquire("10.0.0." + i)) admitted++;
+        }
+
+        // a couple may land in the same stripe
+        assertTrue(String.valueOf(admitted), admitted > 90);
+    }
+
+    @Test
+    public void stripes() {
+        assertEquals(4096, new TokenBuckets(4096, 1, 1).getStripes());
+        assertEquals(4096, new TokenBuckets(3000, 1, 1).getStripes());
+    }
+
+    @Test
+    public void limiter() {
+        final LoginRateLimiter limiter = new LoginRateLimiter(64, 2, 1);
+
+        assertTrue(limiter.tryAcquire("10.0.0.1", "alice"));
+        assertTrue(limiter.tryAcquire("10.0.0.1", "bob"));
+
+        // the address is out of logins
+        assertFalse(limiter.tryAcquire("10.0.0.1", "carol"));
+
+        // alice has one left, from another address
+        assertTrue(limiter.tryAcquire("10.0.0.2", "alice"));
+        assertFalse(limiter.tryAcquire("10.0.0.3", "alice"));
+
+        assertEquals(1, limiter.getRejectedByAddress());
+        assertEquals(1, limiter.getRejectedByUsername());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.authenticator;
+
+import org.junit.Test;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+import javax.security.auth.message.callback.CallerPrincipalCallback;
+import javax.security.auth.message.callback.GroupPrincipalCallback;
+import javax.security.auth.message.callback.PasswordValidationCallback;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WorkSecurityContextTest {
+
+    @Test
+    public void loginCapturesTheIdentity() {
+        final Realm realm = new Realm();
+        final WorkSecurityContext login = new WorkSecurityContext("alice", "secret");
+        login.setupSecurityContext(realm, new Subject(), new Subject());
+
+        assertTrue(login.isAuthenticated());
+        assertEquals(1, realm.validations);
+        assertEquals("alice", login.getIdentity().getUsername());
+        assertEquals(Arrays.asList("admin", "ops"), login.getIdentity().getGroups());
+    }
+
+    @Test
+    public void wrongPassword() {
+        final WorkSecurityContext login = new WorkSecurityContext("alice", "guess");
+        login.setupSecurityContext(new Realm(), new Subject(), new Subject());
+
+        assertFalse(login.isAuthenticated());
+        assertNull(login.getIdentity());
+    }
+
+    @Test
+    public void worksDontGoBackToTheRealm() {
+        final Realm realm = new Realm();
+        final WorkSecurityContext login = new WorkSecurityContext("alice", "secret");
+        login.setupSecurityContext(realm, new Subject(), new Subject());
+        final Identity identity = login.getIdentity();
+
+        for (int i = 0; i < 3; i++) {
+            final WorkSecurityContext work = new WorkSecurityContext(identity);
+            final Subject subject = new Subject();
+            work.setupSecurityContext(realm, subject, new Subject());
+
+            assertTrue(work.isAuthenticated());
+            assertEquals(identity, work.getIdentity());
+        }
+
+        assertEquals(1, realm.validations);
+        assertEquals(Arrays.asList("alice", "alice", "alice"), realm.callers);
+        assertEquals(Arrays.asList("admin", "ops"), realm.groups);
+    }
+
+    @Test
+    public void containerWithoutCallerPrincipalCallback() {
+        final WorkSecurityContext work = new WorkSecurityContext(new Identity("alice", new ArrayList<String>()));
+        work.setupSecurityContext(new CallbackHandler() {
+            @Override
+            public void handle(final Callback[] callbacks) throws UnsupportedCallbackException {
+                throw new UnsupportedCallbackException(callbacks[0]);
+            }
+        }, new Subject(), new Subject());
+
+        assertFalse(work.isAuthenticated());
+    }
+
+    /**
+     * Knows alice, who is in the admin and ops groups
+     */
+    private static class Realm implements CallbackHandler {
+        private int validations;
+        private final List<String> callers = new ArrayList<String>();
+        private List<String> groups;
+
+        @Override
+        public void handle(final Callback[] callbacks) throws UnsupportedCallbackException {
+            for (Callback callback : callbacks) {
+                if (callback instanceof PasswordValidationCallback) {
+                    final PasswordValidationCallback pvc = (PasswordValidationCallback) callback;
+                    validations++;
+
+                    final boolean valid = "alice".equals(pvc.getUsername()) && "secret".equals(new String(pvc.getPassword()));
+                    pvc.setResult(valid);
+                    if (valid) {
+                        pvc.getSubject().getPrincipals().add(new Named("alice"));
+                        pvc.getSubject().getPrincipals().add(new Named("ops"));
+                        pvc.getSubject().getPrincipals().add(new Named("admin"));
+                    }
+                } else if (callback instanceof CallerPrincipalCallback) {
+                    callers.add(((CallerPrincipalCallback) callback).getName());
+                } else if (callback instanceof GroupPrincipalCallback) {
+                    groups = Arrays.asList(((GroupPrincipalCallback) callback).getGroups());
+                } else {
+                    throw new UnsupportedCallbackException(callback);
+                }
+            }
+        }
+    }
+
+    private static class Named implements Principal {
+        private final String name;
+
+        Named(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
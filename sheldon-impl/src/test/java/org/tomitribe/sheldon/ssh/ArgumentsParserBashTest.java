@@ -21,7 +21,7 @@ import org.junit.Test;
 import static org.tomitribe.sheldon.ssh.ArgumentAssertions.assertArguments;
 
 /**
- * There seems to be something wrong with characters above the US A-Z
+ * Expected results were produced by running bash, see BashGenerator
  */
 public class ArgumentsParserBashTest {
 
@@ -159,134 +159,134 @@ public class ArgumentsParserBashTest {
         assertArguments("one}two   three", "one}two", "three");
         assertArguments("one~two   three", "one~two", "three");
         assertArguments("one\u007ftwo   three", "one\u007ftwo", "three");
-//        assertArguments("one\u0080two   three", "one\u0080two", "three");
-//        assertArguments("one\u0081two   three", "one\u0081two", "three");
-//        assertArguments("one\u0082two   three", "one\u0082two", "three");
-//        assertArguments("one\u0083two   three", "one\u0083two", "three");
-//        assertArguments("one\u0084two   three", "one\u0084two", "three");
-//        assertArguments("one\u0085two   three", "one\u0085two", "three");
-//        assertArguments("one\u0086two   three", "one\u0086two", "three");
-//        assertArguments("one\u0087two   three", "one\u0087two", "three");
-//        assertArguments("one\u0088two   three", "one\u0088two", "three");
-//        assertArguments("one\u0089two   three", "one\u0089two", "three");
-//        assertArguments("one\u008atwo   three", "one\u008atwo", "three");
-//        assertArguments("one\u008btwo   three", "one\u008btwo", "three");
-//        assertArguments("one\u008ctwo   three", "one\u008ctwo", "three");
-//        assertArguments("one\u008dtwo   three", "one\u008dtwo", "three");
-//        assertArguments("one\u008etwo   three", "one\u008etwo", "three");
-//        assertArguments("one\u008ftwo   three", "one\u008ftwo", "three");
-//        assertArguments("one\u0090two   three", "one\u0090two", "three");
-//        assertArguments("one\u0091two   three", "one\u0091two", "three");
-//        assertArguments("one\u0092two   three", "one\u0092two", "three");
-//        assertArguments("one\u0093two   three", "one\u0093two", "three");
-//        assertArguments("one\u0094two   three", "one\u0094two", "three");
-//        assertArguments("one\u0095two   three", "one\u0095two", "three");
-//        assertArguments("one\u0096two   three", "one\u0096two", "three");
-//        assertArguments("one\u0097two   three", "one\u0097two", "three");
-//        assertArguments("one\u0098two   three", "one\u0098two", "three");
-//        assertArguments("one\u0099two   three", "one\u0099two", "three");
-//        assertArguments("one\u009atwo   three", "one\u009atwo", "three");
-//        assertArguments("one\u009btwo   three", "one\u009btwo", "three");
-//        assertArguments("one\u009ctwo   three", "one\u009ctwo", "three");
-//        assertArguments("one\u009dtwo   three", "one\u009dtwo", "three");
-//        assertArguments("one\u009etwo   three", "one\u009etwo", "three");
-//        assertArguments("one\u009ftwo   three", "one\u009ftwo", "three");
-//        assertArguments("one\u00a0two   three", "one\u00a0two", "three");
-//        assertArguments("one\u00a1two   three", "one\u00a1two", "three");
-//        assertArguments("one\u00a2two   three", "one\u00a2two", "three");
-//        assertArguments("one\u00a3two   three", "one\u00a3two", "three");
-//        assertArguments("one\u00a4two   three", "one\u00a4two", "three");
-//        assertArguments("one\u00a5two   three", "one\u00a5two", "three");
-//        assertArguments("one\u00a6two   three", "one\u00a6two", "three");
-//        assertArguments("one\u00a7two   three", "one\u00a7two", "three");
-//        assertArguments("one\u00a8two   three", "one\u00a8two", "three");
-//        assertArguments("one\u00a9two   three", "one\u00a9two", "three");
-//        assertArguments("one\u00aatwo   three", "one\u00aatwo", "three");
-//        assertArguments("one\u00abtwo   three", "one\u00abtwo", "three");
-//        assertArguments("one\u00actwo   three", "one\u00actwo", "three");
-//        assertArguments("one\u00adtwo   three", "one\u00adtwo", "three");
-//        assertArguments("one\u00aetwo   three", "one\u00aetwo", "three");
-//        assertArguments("one\u00aftwo   three", "one\u00aftwo", "three");
-//        assertArguments("one\u00b0two   three", "one\u00b0two", "three");
-//        assertArguments("one\u00b1two   three", "one\u00b1two", "three");
-//        assertArguments("one\u00b2two   three", "one\u00b2two", "three");
-//        assertArguments("one\u00b3two   three", "one\u00b3two", "three");
-//        assertArguments("one\u00b4two   three", "one\u00b4two", "three");
-//        assertArguments("one\u00b5two   three", "one\u00b5two", "three");
-//        assertArguments("one\u00b6two   three", "one\u00b6two", "three");
-//        assertArguments("one\u00b7two   three", "one\u00b7two", "three");
-//        assertArguments("one\u00b8two   three", "one\u00b8two", "three");
-//        assertArguments("one\u00b9two   three", "one\u00b9two", "three");
-//        assertArguments("one\u00batwo   three", "one\u00batwo", "three");
-//        assertArguments("one\u00bbtwo   three", "one\u00bbtwo", "three");
-//        assertArguments("one\u00bctwo   three", "one\u00bctwo", "three");
-//        assertArguments("one\u00bdtwo   three", "one\u00bdtwo", "three");
-//        assertArguments("one\u00betwo   three", "one\u00betwo", "three");
-//        assertArguments("one\u00bftwo   three", "one\u00bftwo", "three");
-//        assertArguments("one\u00c0two   three", "one\u00c0two", "three");
-//        assertArguments("one\u00c1two   three", "one\u00c1two", "three");
-//        assertArguments("one\u00c2two   three", "one\u00c2two", "three");
-//        assertArguments("one\u00c3two   three", "one\u00c3two", "three");
-//        assertArguments("one\u00c4two   three", "one\u00c4two", "three");
-//        assertArguments("one\u00c5two   three", "one\u00c5two", "three");
-//        assertArguments("one\u00c6two   three", "one\u00c6two", "three");
-//        assertArguments("one\u00c7two   three", "one\u00c7two", "three");
-//        assertArguments("one\u00c8two   three", "one\u00c8two", "three");
-//        assertArguments("one\u00c9two   three", "one\u00c9two", "three");
-//        assertArguments("one\u00catwo   three", "one\u00catwo", "three");
-//        assertArguments("one\u00cbtwo   three", "one\u00cbtwo", "three");
-//        assertArguments("one\u00cctwo   three", "one\u00cctwo", "three");
-//        assertArguments("one\u00cdtwo   three", "one\u00cdtwo", "three");
-//        assertArguments("one\u00cetwo   three", "one\u00cetwo", "three");
-//        assertArguments("one\u00cftwo   three", "one\u00cftwo", "three");
-//        assertArguments("one\u00d0two   three", "one\u00d0two", "three");
-//        assertArguments("one\u00d1two   three", "one\u00d1two", "three");
-//        assertArguments("one\u00d2two   three", "one\u00d2two", "three");
-//        assertArguments("one\u00d3two   three", "one\u00d3two", "three");
-//        assertArguments("one\u00d4two   three", "one\u00d4two", "three");
-//        assertArguments("one\u00d5two   three", "one\u00d5two", "three");
-//        assertArguments("one\u00d6two   three", "one\u00d6two", "three");
-//        assertArguments("one\u00d7two   three", "one\u00d7two", "three");
-//        assertArguments("one\u00d8two   three", "one\u00d8two", "three");
-//        assertArguments("one\u00d9two   three", "one\u00d9two", "three");
-//        assertArguments("one\u00datwo   three", "one\u00datwo", "three");
-//        assertArguments("one\u00dbtwo   three", "one\u00dbtwo", "three");
-//        assertArguments("one\u00dctwo   three", "one\u00dctwo", "three");
-//        assertArguments("one\u00ddtwo   three", "one\u00ddtwo", "three");
-//        assertArguments("one\u00detwo   three", "one\u00detwo", "three");
-//        assertArguments("one\u00dftwo   three", "one\u00dftwo", "three");
-//        assertArguments("one\u00e0two   three", "one\u00e0two", "three");
-//        assertArguments("one\u00e1two   three", "one\u00e1two", "three");
-//        assertArguments("one\u00e2two   three", "one\u00e2two", "three");
-//        assertArguments("one\u00e3two   three", "one\u00e3two", "three");
-//        assertArguments("one\u00e4two   three", "one\u00e4two", "three");
-//        assertArguments("one\u00e5two   three", "one\u00e5two", "three");
-//        assertArguments("one\u00e6two   three", "one\u00e6two", "three");
-//        assertArguments("one\u00e7two   three", "one\u00e7two", "three");
-//        assertArguments("one\u00e8two   three", "one\u00e8two", "three");
-//        assertArguments("one\u00e9two   three", "one\u00e9two", "three");
-//        assertArguments("one\u00eatwo   three", "one\u00eatwo", "three");
-//        assertArguments("one\u00ebtwo   three", "one\u00ebtwo", "three");
-//        assertArguments("one\u00ectwo   three", "one\u00ectwo", "three");
-//        assertArguments("one\u00edtwo   three", "one\u00edtwo", "three");
-//        assertArguments("one\u00eetwo   three", "one\u00eetwo", "three");
-//        assertArguments("one\u00eftwo   three", "one\u00eftwo", "three");
-//        assertArguments("one\u00f0two   three", "one\u00f0two", "three");
-//        assertArguments("one\u00f1two   three", "one\u00f1two", "three");
-//        assertArguments("one\u00f2two   three", "one\u00f2two", "three");
-//        assertArguments("one\u00f3two   three", "one\u00f3two", "three");
-//        assertArguments("one\u00f4two   three", "one\u00f4two", "three");
-//        assertArguments("one\u00f5two   three", "one\u00f5two", "three");
-//        assertArguments("one\u00f6two   three", "one\u00f6two", "three");
-//        assertArguments("one\u00f7two   three", "one\u00f7two", "three");
-//        assertArguments("one\u00f8two   three", "one\u00f8two", "three");
-//        assertArguments("one\u00f9two   three", "one\u00f9two", "three");
-//        assertArguments("one\u00fatwo   three", "one\u00fatwo", "three");
-//        assertArguments("one\u00fbtwo   three", "one\u00fbtwo", "three");
-//        assertArguments("one\u00fctwo   three", "one\u00fctwo", "three");
-//        assertArguments("one\u00fdtwo   three", "one\u00fdtwo", "three");
-//        assertArguments("one\u00fetwo   three", "one\u00fetwo", "three");
-//        assertArguments("one\u00fftwo   three", "one\u00fftwo", "three");
+        assertArguments("one\u0080two   three", "one\u0080two", "three");
+        assertArguments("one\u0081two   three", "one\u0081two", "three");
+        assertArguments("one\u0082two   three", "one\u0082two", "three");
+        assertArguments("one\u0083two   three", "one\u0083two", "three");
+        assertArguments("one\u0084two   three", "one\u0084two", "three");
+        assertArguments("one\u0085two   three", "one\u0085two", "three");
+        assertArguments("one\u0086two   three", "one\u0086two", "three");
+        assertArguments("one\u0087two   three", "one\u0087two", "three");
+        assertArguments("one\u0088two   three", "one\u0088two", "three");
+        assertArguments("one\u0089two   three", "one\u0089two", "three");
+        assertArguments("one\u008atwo   three", "one\u008atwo", "three");
+        assertArguments("one\u008btwo   three", "one\u008btwo", "three");
+        assertArguments("one\u008ctwo   three", "one\u008ctwo", "three");
+        assertArguments("one\u008dtwo   three", "one\u008dtwo", "three");
+        assertArguments("one\u008etwo   three", "one\u008etwo", "three");
+        assertArguments("one\u008ftwo   three", "one\u008ftwo", "three");
+        assertArguments("one\u0090two   three", "one\u0090two", "three");
+        assertArguments("one\u0091two   three", "one\u0091two", "three");
+        assertArguments("one\u0092two   three", "one\u0092two", "three");
+        assertArguments("one\u0093two   three", "one\u0093two", "three");
+        assertArguments("one\u0094two   three", "one\u0094two", "three");
+        assertArguments("one\u0095two   three", "one\u0095two", "three");
+        assertArguments("one\u0096two   three", "one\u0096two", "three");
+        assertArguments("one\u0097two   three", "one\u0097two", "three");
+        assertArguments("one\u0098two   three", "one\u0098two", "three");
+        assertArguments("one\u0099two   three", "one\u0099two", "three");
+        assertArguments("one\u009atwo   three", "one\u009atwo", "three");
+        assertArguments("one\u009btwo   three", "one\u009btwo", "three");
+        assertArguments("one\u009ctwo   three", "one\u009ctwo", "three");
+        assertArguments("one\u009dtwo   three", "one\u009dtwo", "three");
+        assertArguments("one\u009etwo   three", "one\u009etwo", "three");
+        assertArguments("one\u009ftwo   three", "one\u009ftwo", "three");
+        assertArguments("one\u00a0two   three", "one\u00a0two", "three");
+        assertArguments("one\u00a1two   three", "one\u00a1two", "three");
+        assertArguments("one\u00a2two   three", "one\u00a2two", "three");
+        assertArguments("one\u00a3two   three", "one\u00a3two", "three");
+        assertArguments("one\u00a4two   three", "one\u00a4two", "three");
+        assertArguments("one\u00a5two   three", "one\u00a5two", "three");
+        assertArguments("one\u00a6two   three", "one\u00a6two", "three");
+        assertArguments("one\u00a7two   three", "one\u00a7two", "three");
+        assertArguments("one\u00a8two   three", "one\u00a8two", "three");
+        assertArguments("one\u00a9two   three", "one\u00a9two", "three");
+        assertArguments("one\u00aatwo   three", "one\u00aatwo", "three");
+        assertArguments("one\u00abtwo   three", "one\u00abtwo", "three");
+        assertArguments("one\u00actwo   three", "one\u00actwo", "three");
+        assertArguments("one\u00adtwo   three", "one\u00adtwo", "three");
+        assertArguments("one\u00aetwo   three", "one\u00aetwo", "three");
+        assertArguments("one\u00aftwo   three", "one\u00aftwo", "three");
+        assertArguments("one\u00b0two   three", "one\u00b0two", "three");
+        assertArguments("one\u00b1two   three", "one\u00b1two", "three");
+        assertArguments("one\u00b2two   three", "one\u00b2two", "three");
+        assertArguments("one\u00b3two   three", "one\u00b3two", "three");
+        assertArguments("one\u00b4two   three", "one\u00b4two", "three");
+        assertArguments("one\u00b5two   three", "one\u00b5two", "three");
+        assertArguments("one\u00b6two   three", "one\u00b6two", "three");
+        assertArguments("one\u00b7two   three", "one\u00b7two", "three");
+        assertArguments("one\u00b8two   three", "one\u00b8two", "three");
+        assertArguments("one\u00b9two   three", "one\u00b9two", "three");
+        assertArguments("one\u00batwo   three", "one\u00batwo", "three");
+        assertArguments("one\u00bbtwo   three", "one\u00bbtwo", "three");
+        assertArguments("one\u00bctwo   three", "one\u00bctwo", "three");
+        assertArguments("one\u00bdtwo   three", "one\u00bdtwo", "three");
+        assertArguments("one\u00betwo   three", "one\u00betwo", "three");
+        assertArguments("one\u00bftwo   three", "one\u00bftwo", "three");
+        assertArguments("one\u00c0two   three", "one\u00c0two", "three");
+        assertArguments("one\u00c1two   three", "one\u00c1two", "three");
+        assertArguments("one\u00c2two   three", "one\u00c2two", "three");
+        assertArguments("one\u00c3two   three", "one\u00c3two", "three");
+        assertArguments("one\u00c4two   three", "one\u00c4two", "three");
+        assertArguments("one\u00c5two   three", "one\u00c5two", "three");
+        assertArguments("one\u00c6two   three", "one\u00c6two", "three");
+        assertArguments("one\u00c7two   three", "one\u00c7two", "three");
+        assertArguments("one\u00c8two   three", "one\u00c8two", "three");
+        assertArguments("one\u00c9two   three", "one\u00c9two", "three");
+        assertArguments("one\u00catwo   three", "one\u00catwo", "three");
+        assertArguments("one\u00cbtwo   three", "one\u00cbtwo", "three");
+        assertArguments("one\u00cctwo   three", "one\u00cctwo", "three");
+        assertArguments("one\u00cdtwo   three", "one\u00cdtwo", "three");
+        assertArguments("one\u00cetwo   three", "one\u00cetwo", "three");
+        assertArguments("one\u00cftwo   three", "one\u00cftwo", "three");
+        assertArguments("one\u00d0two   three", "one\u00d0two", "three");
+        assertArguments("one\u00d1two   three", "one\u00d1two", "three");
+        assertArguments("one\u00d2two   three", "one\u00d2two", "three");
+        assertArguments("one\u00d3two   three", "one\u00d3two", "three");
+        assertArguments("one\u00d4two   three", "one\u00d4two", "three");
+        assertArguments("one\u00d5two   three", "one\u00d5two", "three");
+        assertArguments("one\u00d6two   three", "one\u00d6two", "three");
+        assertArguments("one\u00d7two   three", "one\u00d7two", "three");
+        assertArguments("one\u00d8two   three", "one\u00d8two", "three");
+        assertArguments("one\u00d9two   three", "one\u00d9two", "three");
+        assertArguments("one\u00datwo   three", "one\u00datwo", "three");
+        assertArguments("one\u00dbtwo   three", "one\u00dbtwo", "three");
+        assertArguments("one\u00dctwo   three", "one\u00dctwo", "three");
+        assertArguments("one\u00ddtwo   three", "one\u00ddtwo", "three");
+        assertArguments("one\u00detwo   three", "one\u00detwo", "three");
+        assertArguments("one\u00dftwo   three", "one\u00dftwo", "three");
+        assertArguments("one\u00e0two   three", "one\u00e0two", "three");
+        assertArguments("one\u00e1two   three", "one\u00e1two", "three");
+        assertArguments("one\u00e2two   three", "one\u00e2two", "three");
+        assertArguments("one\u00e3two   three", "one\u00e3two", "three");
+        assertArguments("one\u00e4two   three", "one\u00e4two", "three");
+        assertArguments("one\u00e5two   three", "one\u00e5two", "three");
+        assertArguments("one\u00e6two   three", "one\u00e6two", "three");
+        assertArguments("one\u00e7two   three", "one\u00e7two", "three");
+        assertArguments("one\u00e8two   three", "one\u00e8two", "three");
+        assertArguments("one\u00e9two   three", "one\u00e9two", "three");
+        assertArguments("one\u00eatwo   three", "one\u00eatwo", "three");
+        assertArguments("one\u00ebtwo   three", "one\u00ebtwo", "three");
+        assertArguments("one\u00ectwo   three", "one\u00ectwo", "three");
+        assertArguments("one\u00edtwo   three", "one\u00edtwo", "three");
+        assertArguments("one\u00eetwo   three", "one\u00eetwo", "three");
+        assertArguments("one\u00eftwo   three", "one\u00eftwo", "three");
+        assertArguments("one\u00f0two   three", "one\u00f0two", "three");
+        assertArguments("one\u00f1two   three", "one\u00f1two", "three");
+        assertArguments("one\u00f2two   three", "one\u00f2two", "three");
+        assertArguments("one\u00f3two   three", "one\u00f3two", "three");
+        assertArguments("one\u00f4two   three", "one\u00f4two", "three");
+        assertArguments("one\u00f5two   three", "one\u00f5two", "three");
+        assertArguments("one\u00f6two   three", "one\u00f6two", "three");
+        assertArguments("one\u00f7two   three", "one\u00f7two", "three");
+        assertArguments("one\u00f8two   three", "one\u00f8two", "three");
+        assertArguments("one\u00f9two   three", "one\u00f9two", "three");
+        assertArguments("one\u00fatwo   three", "one\u00fatwo", "three");
+        assertArguments("one\u00fbtwo   three", "one\u00fbtwo", "three");
+        assertArguments("one\u00fctwo   three", "one\u00fctwo", "three");
+        assertArguments("one\u00fdtwo   three", "one\u00fdtwo", "three");
+        assertArguments("one\u00fetwo   three", "one\u00fetwo", "three");
+        assertArguments("one\u00fftwo   three", "one\u00fftwo", "three");
 //        assertArguments("one\\\u0000two   three", "onetwo", "three");
 //        assertArguments("one\\\u0001two   three", "one\u0001two", "three");
 //        assertArguments("one\\\u0002two   three", "one\u0002two", "three");
@@ -415,134 +415,134 @@ public class ArgumentsParserBashTest {
         assertArguments("one\\}two   three", "one}two", "three");
         assertArguments("one\\~two   three", "one~two", "three");
         assertArguments("one\\\u007ftwo   three", "one\u007ftwo", "three");
-//        assertArguments("one\\\u0080two   three", "one\u0080two", "three");
-//        assertArguments("one\\\u0081two   three", "one\u0081two", "three");
-//        assertArguments("one\\\u0082two   three", "one\u0082two", "three");
-//        assertArguments("one\\\u0083two   three", "one\u0083two", "three");
-//        assertArguments("one\\\u0084two   three", "one\u0084two", "three");
-//        assertArguments("one\\\u0085two   three", "one\u0085two", "three");
-//        assertArguments("one\\\u0086two   three", "one\u0086two", "three");
-//        assertArguments("one\\\u0087two   three", "one\u0087two", "three");
-//        assertArguments("one\\\u0088two   three", "one\u0088two", "three");
-//        assertArguments("one\\\u0089two   three", "one\u0089two", "three");
-//        assertArguments("one\\\u008atwo   three", "one\u008atwo", "three");
-//        assertArguments("one\\\u008btwo   three", "one\u008btwo", "three");
-//        assertArguments("one\\\u008ctwo   three", "one\u008ctwo", "three");
-//        assertArguments("one\\\u008dtwo   three", "one\u008dtwo", "three");
-//        assertArguments("one\\\u008etwo   three", "one\u008etwo", "three");
-//        assertArguments("one\\\u008ftwo   three", "one\u008ftwo", "three");
-//        assertArguments("one\\\u0090two   three", "one\u0090two", "three");
-//        assertArguments("one\\\u0091two   three", "one\u0091two", "three");
-//        assertArguments("one\\\u0092two   three", "one\u0092two", "three");
-//        assertArguments("one\\\u0093two   three", "one\u0093two", "three");
-//        assertArguments("one\\\u0094two   three", "one\u0094two", "three");
-//        assertArguments("one\\\u0095two   three", "one\u0095two", "three");
-//        assertArguments("one\\\u0096two   three", "one\u0096two", "three");
-//        assertArguments("one\\\u0097two   three", "one\u0097two", "three");
-//        assertArguments("one\\\u0098two   three", "one\u0098two", "three");
-//        assertArguments("one\\\u0099two   three", "one\u0099two", "three");
-//        assertArguments("one\\\u009atwo   three", "one\u009atwo", "three");
-//        assertArguments("one\\\u009btwo   three", "one\u009btwo", "three");
-//        assertArguments("one\\\u009ctwo   three", "one\u009ctwo", "three");
-//        assertArguments("one\\\u009dtwo   three", "one\u009dtwo", "three");
-//        assertArguments("one\\\u009etwo   three", "one\u009etwo", "three");
-//        assertArguments("one\\\u009ftwo   three", "one\u009ftwo", "three");
-//        assertArguments("one\\\u00a0two   three", "one\u00a0two", "three");
-//        assertArguments("one\\\u00a1two   three", "one\u00a1two", "three");
-//        assertArguments("one\\\u00a2two   three", "one\u00a2two", "three");
-//        assertArguments("one\\\u00a3two   three", "one\u00a3two", "three");
-//        assertArguments("one\\\u00a4two   three", "one\u00a4two", "three");
-//        assertArguments("one\\\u00a5two   three", "one\u00a5two", "three");
-//        assertArguments("one\\\u00a6two   three", "one\u00a6two", "three");
-//        assertArguments("one\\\u00a7two   three", "one\u00a7two", "three");
-//        assertArguments("one\\\u00a8two   three", "one\u00a8two", "three");
-//        assertArguments("one\\\u00a9two   three", "one\u00a9two", "three");
-//        assertArguments("one\\\u00aatwo   three", "one\u00aatwo", "three");
-//        assertArguments("one\\\u00abtwo   three", "one\u00abtwo", "three");
-//        assertArguments("one\\\u00actwo   three", "one\u00actwo", "three");
-//        assertArguments("one\\\u00adtwo   three", "one\u00adtwo", "three");
-//        assertArguments("one\\\u00aetwo   three", "one\u00aetwo", "three");
-//        assertArguments("one\\\u00aftwo   three", "one\u00aftwo", "three");
-//        assertArguments("one\\\u00b0two   three", "one\u00b0two", "three");
-//        assertArguments("one\\\u00b1two   three", "one\u00b1two", "three");
-//        assertArguments("one\\\u00b2two   three", "one\u00b2two", "three");
-//        assertArguments("one\\\u00b3two   three", "one\u00b3two", "three");
-//        assertArguments("one\\\u00b4two   three", "one\u00b4two", "three");
-//        assertArguments("one\\\u00b5two   three", "one\u00b5two", "three");
-//        assertArguments("one\\\u00b6two   three", "one\u00b6two", "three");
-//        assertArguments("one\\\u00b7two   three", "one\u00b7two", "three");
-//        assertArguments("one\\\u00b8two   three", "one\u00b8two", "three");
-//        assertArguments("one\\\u00b9two   three", "one\u00b9two", "three");
-//        assertArguments("one\\\u00batwo   three", "one\u00batwo", "three");
-//        assertArguments("one\\\u00bbtwo   three", "one\u00bbtwo", "three");
-//        assertArguments("one\\\u00bctwo   three", "one\u00bctwo", "three");
-//        assertArguments("one\\\u00bdtwo   three", "one\u00bdtwo", "three");
-//        assertArguments("one\\\u00betwo   three", "one\u00betwo", "three");
-//        assertArguments("one\\\u00bftwo   three", "one\u00bftwo", "three");
-//        assertArguments("one\\\u00c0two   three", "one\u00c0two", "three");
-//        assertArguments("one\\\u00c1two   three", "one\u00c1two", "three");
-//        assertArguments("one\\\u00c2two   three", "one\u00c2two", "three");
-//        assertArguments("one\\\u00c3two   three", "one\u00c3two", "three");
-//        assertArguments("one\\\u00c4two   three", "one\u00c4two", "three");
-//        assertArguments("one\\\u00c5two   three", "one\u00c5two", "three");
-//        assertArguments("one\\\u00c6two   three", "one\u00c6two", "three");
-//        assertArguments("one\\\u00c7two   three", "one\u00c7two", "three");
-//        assertArguments("one\\\u00c8two   three", "one\u00c8two", "three");
-//        assertArguments("one\\\u00c9two   three", "one\u00c9two", "three");
-//        assertArguments("one\\\u00catwo   three", "one\u00catwo", "three");
-//        assertArguments("one\\\u00cbtwo   three", "one\u00cbtwo", "three");
-//        assertArguments("one\\\u00cctwo   three", "one\u00cctwo", "three");
-//        assertArguments("one\\\u00cdtwo   three", "one\u00cdtwo", "three");
-//        assertArguments("one\\\u00cetwo   three", "one\u00cetwo", "three");
-//        assertArguments("one\\\u00cftwo   three", "one\u00cftwo", "three");
-//        assertArguments("one\\\u00d0two   three", "one\u00d0two", "three");
-//        assertArguments("one\\\u00d1two   three", "one\u00d1two", "three");
-//        assertArguments("one\\\u00d2two   three", "one\u00d2two", "three");
-//        assertArguments("one\\\u00d3two   three", "one\u00d3two", "three");
-//        assertArguments("one\\\u00d4two   three", "one\u00d4two", "three");
-//        assertArguments("one\\\u00d5two   three", "one\u00d5two", "three");
-//        assertArguments("one\\\u00d6two   three", "one\u00d6two", "three");
-//        assertArguments("one\\\u00d7two   three", "one\u00d7two", "three");
-//        assertArguments("one\\\u00d8two   three", "one\u00d8two", "three");
-//        assertArguments("one\\\u00d9two   three", "one\u00d9two", "three");
-//        assertArguments("one\\\u00datwo   three", "one\u00datwo", "three");
-//        assertArguments("one\\\u00dbtwo   three", "one\u00dbtwo", "three");
-//        assertArguments("one\\\u00dctwo   three", "one\u00dctwo", "three");
-//        assertArguments("one\\\u00ddtwo   three", "one\u00ddtwo", "three");
-//        assertArguments("one\\\u00detwo   three", "one\u00detwo", "three");
-//        assertArguments("one\\\u00dftwo   three", "one\u00dftwo", "three");
-//        assertArguments("one\\\u00e0two   three", "one\u00e0two", "three");
-//        assertArguments("one\\\u00e1two   three", "one\u00e1two", "three");
-//        assertArguments("one\\\u00e2two   three", "one\u00e2two", "three");
-//        assertArguments("one\\\u00e3two   three", "one\u00e3two", "three");
-//        assertArguments("one\\\u00e4two   three", "one\u00e4two", "three");
-//        assertArguments("one\\\u00e5two   three", "one\u00e5two", "three");
-//        assertArguments("one\\\u00e6two   three", "one\u00e6two", "three");
-//        assertArguments("one\\\u00e7two   three", "one\u00e7two", "three");
-//        assertArguments("one\\\u00e8two   three", "one\u00e8two", "three");
-//        assertArguments("one\\\u00e9two   three", "one\u00e9two", "three");
-//        assertArguments("one\\\u00eatwo   three", "one\u00eatwo", "three");
-//        assertArguments("one\\\u00ebtwo   three", "one\u00ebtwo", "three");
-//        assertArguments("one\\\u00ectwo   three", "one\u00ectwo", "three");
-//        assertArguments("one\\\u00edtwo   three", "one\u00edtwo", "three");
-//        assertArguments("one\\\u00eetwo   three", "one\u00eetwo", "three");
-//        assertArguments("one\\\u00eftwo   three", "one\u00eftwo", "three");
-//        assertArguments("one\\\u00f0two   three", "one\u00f0two", "three");
-//        assertArguments("one\\\u00f1two   three", "one\u00f1two", "three");
-//        assertArguments("one\\\u00f2two   three", "one\u00f2two", "three");
-//        assertArguments("one\\\u00f3two   three", "one\u00f3two", "three");
-//        assertArguments("one\\\u00f4two   three", "one\u00f4two", "three");
-//        assertArguments("one\\\u00f5two   three", "one\u00f5two", "three");
-//        assertArguments("one\\\u00f6two   three", "one\u00f6two", "three");
-//        assertArguments("one\\\u00f7two   three", "one\u00f7two", "three");
-//        assertArguments("one\\\u00f8two   three", "one\u00f8two", "three");
-//        assertArguments("one\\\u00f9two   three", "one\u00f9two", "three");
-//        assertArguments("one\\\u00fatwo   three", "one\u00fatwo", "three");
-//        assertArguments("one\\\u00fbtwo   three", "one\u00fbtwo", "three");
-//        assertArguments("one\\\u00fctwo   three", "one\u00fctwo", "three");
-//        assertArguments("one\\\u00fdtwo   three", "one\u00fdtwo", "three");
-//        assertArguments("one\\\u00fetwo   three", "one\u00fetwo", "three");
-//        assertArguments("one\\\u00fftwo   three", "one\u00fftwo", "three");
+        assertArguments("one\\\u0080two   three", "one\u0080two", "three");
+        assertArguments("one\\\u0081two   three", "one\u0081two", "three");
+        assertArguments("one\\\u0082two   three", "one\u0082two", "three");
+        assertArguments("one\\\u0083two   three", "one\u0083two", "three");
+        assertArguments("one\\\u0084two   three", "one\u0084two", "three");
+        assertArguments("one\\\u0085two   three", "one\u0085two", "three");
+        assertArguments("one\\\u0086two   three", "one\u0086two", "three");
+        assertArguments("one\\\u0087two   three", "one\u0087two", "three");
+        assertArguments("one\\\u0088two   three", "one\u0088two", "three");
+        assertArguments("one\\\u0089two   three", "one\u0089two", "three");
+        assertArguments("one\\\u008atwo   three", "one\u008atwo", "three");
+        assertArguments("one\\\u008btwo   three", "one\u008btwo", "three");
+        assertArguments("one\\\u008ctwo   three", "one\u008ctwo", "three");
+        assertArguments("one\\\u008dtwo   three", "one\u008dtwo", "three");
+        assertArguments("one\\\u008etwo   three", "one\u008etwo", "three");
+        assertArguments("one\\\u008ftwo   three", "one\u008ftwo", "three");
+        assertArguments("one\\\u0090two   three", "one\u0090two", "three");
+        assertArguments("one\\\u0091two   three", "one\u0091two", "three");
+        assertArguments("one\\\u0092two   three", "one\u0092two", "three");
+        assertArguments("one\\\u0093two   three", "one\u0093two", "three");
+        assertArguments("one\\\u0094two   three", "one\u0094two", "three");
+        assertArguments("one\\\u0095two   three", "one\u0095two", "three");
+        assertArguments("one\\\u0096two   three", "one\u0096two", "three");
+        assertArguments("one\\\u0097two   three", "one\u0097two", "three");
+        assertArguments("one\\\u0098two   three", "one\u0098two", "three");
+        assertArguments("one\\\u0099two   three", "one\u0099two", "three");
+        assertArguments("one\\\u009atwo   three", "one\u009atwo", "three");
+        assertArguments("one\\\u009btwo   three", "one\u009btwo", "three");
+        assertArguments("one\\\u009ctwo   three", "one\u009ctwo", "three");
+        assertArguments("one\\\u009dtwo   three", "one\u009dtwo", "three");
+        assertArguments("one\\\u009etwo   three", "one\u009etwo", "three");
+        assertArguments("one\\\u009ftwo   three", "one\u009ftwo", "three");
+        assertArguments("one\\\u00a0two   three", "one\u00a0two", "three");
+        assertArguments("one\\\u00a1two   three", "one\u00a1two", "three");
+        assertArguments("one\\\u00a2two   three", "one\u00a2two", "three");
+        assertArguments("one\\\u00a3two   three", "one\u00a3two", "three");
+        assertArguments("one\\\u00a4two   three", "one\u00a4two", "three");
+        assertArguments("one\\\u00a5two   three", "one\u00a5two", "three");
+        assertArguments("one\\\u00a6two   three", "one\u00a6two", "three");
+        assertArguments("one\\\u00a7two   three", "one\u00a7two", "three");
+        assertArguments("one\\\u00a8two   three", "one\u00a8two", "three");
+        assertArguments("one\\\u00a9two   three", "one\u00a9two", "three");
+        assertArguments("one\\\u00aatwo   three", "one\u00aatwo", "three");
+        assertArguments("one\\\u00abtwo   three", "one\u00abtwo", "three");
+        assertArguments("one\\\u00actwo   three", "one\u00actwo", "three");
+        assertArguments("one\\\u00adtwo   three", "one\u00adtwo", "three");
+        assertArguments("one\\\u00aetwo   three", "one\u00aetwo", "three");
+        assertArguments("one\\\u00aftwo   three", "one\u00aftwo", "three");
+        assertArguments("one\\\u00b0two   three", "one\u00b0two", "three");
+        assertArguments("one\\\u00b1two   three", "one\u00b1two", "three");
+        assertArguments("one\\\u00b2two   three", "one\u00b2two", "three");
+        assertArguments("one\\\u00b3two   three", "one\u00b3two", "three");
+        assertArguments("one\\\u00b4two   three", "one\u00b4two", "three");
+        assertArguments("one\\\u00b5two   three", "one\u00b5two", "three");
+        assertArguments("one\\\u00b6two   three", "one\u00b6two", "three");
+        assertArguments("one\\\u00b7two   three", "one\u00b7two", "three");
+        assertArguments("one\\\u00b8two   three", "one\u00b8two", "three");
+        assertArguments("one\\\u00b9two   three", "one\u00b9two", "three");
+        assertArguments("one\\\u00batwo   three", "one\u00batwo", "three");
+        assertArguments("one\\\u00bbtwo   three", "one\u00bbtwo", "three");
+        assertArguments("one\\\u00bctwo   three", "one\u00bctwo", "three");
+        assertArguments("one\\\u00bdtwo   three", "one\u00bdtwo", "three");
+        assertArguments("one\\\u00betwo   three", "one\u00betwo", "three");
+        assertArguments("one\\\u00bftwo   three", "one\u00bftwo", "three");
+        assertArguments("one\\\u00c0two   three", "one\u00c0two", "three");
+        assertArguments("one\\\u00c1two   three", "one\u00c1two", "three");
+        assertArguments("one\\\u00c2two   three", "one\u00c2two", "three");
+        assertArguments("one\\\u00c3two   three", "one\u00c3two", "three");
+        assertArguments("one\\\u00c4two   three", "one\u00c4two", "three");
+        assertArguments("one\\\u00c5two   three", "one\u00c5two", "three");
+        assertArguments("one\\\u00c6two   three", "one\u00c6two", "three");
+        assertArguments("one\\\u00c7two   three", "one\u00c7two", "three");
+        assertArguments("one\\\u00c8two   three", "one\u00c8two", "three");
+        assertArguments("one\\\u00c9two   three", "one\u00c9two", "three");
+        assertArguments("one\\\u00catwo   three", "one\u00catwo", "three");
+        assertArguments("one\\\u00cbtwo   three", "one\u00cbtwo", "three");
+        assertArguments("one\\\u00cctwo   three", "one\u00cctwo", "three");
+        assertArguments("one\\\u00cdtwo   three", "one\u00cdtwo", "three");
+        assertArguments("one\\\u00cetwo   three", "one\u00cetwo", "three");
+        assertArguments("one\\\u00cftwo   three", "one\u00cftwo", "three");
+        assertArguments("one\\\u00d0two   three", "one\u00d0two", "three");
+        assertArguments("one\\\u00d1two   three", "one\u00d1two", "three");
+        assertArguments("one\\\u00d2two   three", "one\u00d2two", "three");
+        assertArguments("one\\\u00d3two   three", "one\u00d3two", "three");
+        assertArguments("one\\\u00d4two   three", "one\u00d4two", "three");
+        assertArguments("one\\\u00d5two   three", "one\u00d5two", "three");
+        assertArguments("one\\\u00d6two   three", "one\u00d6two", "three");
+        assertArguments("one\\\u00d7two   three", "one\u00d7two", "three");
+        assertArguments("one\\\u00d8two   three", "one\u00d8two", "three");
+        assertArguments("one\\\u00d9two   three", "one\u00d9two", "three");
+        assertArguments("one\\\u00datwo   three", "one\u00datwo", "three");
+        assertArguments("one\\\u00dbtwo   three", "one\u00dbtwo", "three");
+        assertArguments("one\\\u00dctwo   three", "one\u00dctwo", "three");
+        assertArguments("one\\\u00ddtwo   three", "one\u00ddtwo", "three");
+        assertArguments("one\\\u00detwo   three", "one\u00detwo", "three");
+        assertArguments("one\\\u00dftwo   three", "one\u00dftwo", "three");
+        assertArguments("one\\\u00e0two   three", "one\u00e0two", "three");
+        assertArguments("one\\\u00e1two   three", "one\u00e1two", "three");
+        assertArguments("one\\\u00e2two   three", "one\u00e2two", "three");
+        assertArguments("one\\\u00e3two   three", "one\u00e3two", "three");
+        assertArguments("one\\\u00e4two   three", "one\u00e4two", "three");
+        assertArguments("one\\\u00e5two   three", "one\u00e5two", "three");
+        assertArguments("one\\\u00e6two   three", "one\u00e6two", "three");
+        assertArguments("one\\\u00e7two   three", "one\u00e7two", "three");
+        assertArguments("one\\\u00e8two   three", "one\u00e8two", "three");
+        assertArguments("one\\\u00e9two   three", "one\u00e9two", "three");
+        assertArguments("one\\\u00eatwo   three", "one\u00eatwo", "three");
+        assertArguments("one\\\u00ebtwo   three", "one\u00ebtwo", "three");
+        assertArguments("one\\\u00ectwo   three", "one\u00ectwo", "three");
+        assertArguments("one\\\u00edtwo   three", "one\u00edtwo", "three");
+        assertArguments("one\\\u00eetwo   three", "one\u00eetwo", "three");
+        assertArguments("one\\\u00eftwo   three", "one\u00eftwo", "three");
+        assertArguments("one\\\u00f0two   three", "one\u00f0two", "three");
+        assertArguments("one\\\u00f1two   three", "one\u00f1two", "three");
+        assertArguments("one\\\u00f2two   three", "one\u00f2two", "three");
+        assertArguments("one\\\u00f3two   three", "one\u00f3two", "three");
+        assertArguments("one\\\u00f4two   three", "one\u00f4two", "three");
+        assertArguments("one\\\u00f5two   three", "one\u00f5two", "three");
+        assertArguments("one\\\u00f6two   three", "one\u00f6two", "three");
+        assertArguments("one\\\u00f7two   three", "one\u00f7two", "three");
+        assertArguments("one\\\u00f8two   three", "one\u00f8two", "three");
+        assertArguments("one\\\u00f9two   three", "one\u00f9two", "three");
+        assertArguments("one\\\u00fatwo   three", "one\u00fatwo", "three");
+        assertArguments("one\\\u00fbtwo   three", "one\u00fbtwo", "three");
+        assertArguments("one\\\u00fctwo   three", "one\u00fctwo", "three");
+        assertArguments("one\\\u00fdtwo   three", "one\u00fdtwo", "three");
+        assertArguments("one\\\u00fetwo   three", "one\u00fetwo", "three");
+        assertArguments("one\\\u00fftwo   three", "one\u00fftwo", "three");
 //        assertArguments("'one\u0000two'   three", "onetwo", "three");
         assertArguments("'one\u0001two'   three", "one\u0001two", "three");
         assertArguments("'one\u0002two'   three", "one\u0002two", "three");
@@ -671,134 +671,134 @@ public class ArgumentsParserBashTest {
         assertArguments("'one}two'   three", "one}two", "three");
         assertArguments("'one~two'   three", "one~two", "three");
         assertArguments("'one\u007ftwo'   three", "one\u007ftwo", "three");
-//        assertArguments("'one\u0080two'   three", "one\u0080two", "three");
-//        assertArguments("'one\u0081two'   three", "one\u0081two", "three");
-//        assertArguments("'one\u0082two'   three", "one\u0082two", "three");
-//        assertArguments("'one\u0083two'   three", "one\u0083two", "three");
-//        assertArguments("'one\u0084two'   three", "one\u0084two", "three");
-//        assertArguments("'one\u0085two'   three", "one\u0085two", "three");
-//        assertArguments("'one\u0086two'   three", "one\u0086two", "three");
-//        assertArguments("'one\u0087two'   three", "one\u0087two", "three");
-//        assertArguments("'one\u0088two'   three", "one\u0088two", "three");
-//        assertArguments("'one\u0089two'   three", "one\u0089two", "three");
-//        assertArguments("'one\u008atwo'   three", "one\u008atwo", "three");
-//        assertArguments("'one\u008btwo'   three", "one\u008btwo", "three");
-//        assertArguments("'one\u008ctwo'   three", "one\u008ctwo", "three");
-//        assertArguments("'one\u008dtwo'   three", "one\u008dtwo", "three");
-//        assertArguments("'one\u008etwo'   three", "one\u008etwo", "three");
-//        assertArguments("'one\u008ftwo'   three", "one\u008ftwo", "three");
-//        assertArguments("'one\u0090two'   three", "one\u0090two", "three");
-//        assertArguments("'one\u0091two'   three", "one\u0091two", "three");
-//        assertArguments("'one\u0092two'   three", "one\u0092two", "three");
-//        assertArguments("'one\u0093two'   three", "one\u0093two", "three");
-//        assertArguments("'one\u0094two'   three", "one\u0094two", "three");
-//        assertArguments("'one\u0095two'   three", "one\u0095two", "three");
-//        assertArguments("'one\u0096two'   three", "one\u0096two", "three");
-//        assertArguments("'one\u0097two'   three", "one\u0097two", "three");
-//        assertArguments("'one\u0098two'   three", "one\u0098two", "three");
-//        assertArguments("'one\u0099two'   three", "one\u0099two", "three");
-//        assertArguments("'one\u009atwo'   three", "one\u009atwo", "three");
-//        assertArguments("'one\u009btwo'   three", "one\u009btwo", "three");
-//        assertArguments("'one\u009ctwo'   three", "one\u009ctwo", "three");
-//        assertArguments("'one\u009dtwo'   three", "one\u009dtwo", "three");
-//        assertArguments("'one\u009etwo'   three", "one\u009etwo", "three");
-//        assertArguments("'one\u009ftwo'   three", "one\u009ftwo", "three");
-//        assertArguments("'one\u00a0two'   three", "one\u00a0two", "three");
-//        assertArguments("'one\u00a1two'   three", "one\u00a1two", "three");
-//        assertArguments("'one\u00a2two'   three", "one\u00a2two", "three");
-//        assertArguments("'one\u00a3two'   three", "one\u00a3two", "three");
-//        assertArguments("'one\u00a4two'   three", "one\u00a4two", "three");
-//        assertArguments("'one\u00a5two'   three", "one\u00a5two", "three");
-//        assertArguments("'one\u00a6two'   three", "one\u00a6two", "three");
-//        assertArguments("'one\u00a7two'   three", "one\u00a7two", "three");
-//        assertArguments("'one\u00a8two'   three", "one\u00a8two", "three");
-//        assertArguments("'one\u00a9two'   three", "one\u00a9two", "three");
-//        assertArguments("'one\u00aatwo'   three", "one\u00aatwo", "three");
-//        assertArguments("'one\u00abtwo'   three", "one\u00abtwo", "three");
-//        assertArguments("'one\u00actwo'   three", "one\u00actwo", "three");
-//        assertArguments("'one\u00adtwo'   three", "one\u00adtwo", "three");
-//        assertArguments("'one\u00aetwo'   three", "one\u00aetwo", "three");
-//        assertArguments("'one\u00aftwo'   three", "one\u00aftwo", "three");
-//        assertArguments("'one\u00b0two'   three", "one\u00b0two", "three");
-//        assertArguments("'one\u00b1two'   three", "one\u00b1two", "three");
-//        assertArguments("'one\u00b2two'   three", "one\u00b2two", "three");
-//        assertArguments("'one\u00b3two'   three", "one\u00b3two", "three");
-//        assertArguments("'one\u00b4two'   three", "one\u00b4two", "three");
-//        assertArguments("'one\u00b5two'   three", "one\u00b5two", "three");
-//        assertArguments("'one\u00b6two'   three", "one\u00b6two", "three");
-//        assertArguments("'one\u00b7two'   three", "one\u00b7two", "three");
-//        assertArguments("'one\u00b8two'   three", "one\u00b8two", "three");
-//        assertArguments("'one\u00b9two'   three", "one\u00b9two", "three");
-//        assertArguments("'one\u00batwo'   three", "one\u00batwo", "three");
-//        assertArguments("'one\u00bbtwo'   three", "one\u00bbtwo", "three");
-//        assertArguments("'one\u00bctwo'   three", "one\u00bctwo", "three");
-//        assertArguments("'one\u00bdtwo'   three", "one\u00bdtwo", "three");
-//        assertArguments("'one\u00betwo'   three", "one\u00betwo", "three");
-//        assertArguments("'one\u00bftwo'   three", "one\u00bftwo", "three");
-//        assertArguments("'one\u00c0two'   three", "one\u00c0two", "three");
-//        assertArguments("'one\u00c1two'   three", "one\u00c1two", "three");
-//        assertArguments("'one\u00c2two'   three", "one\u00c2two", "three");
-//        assertArguments("'one\u00c3two'   three", "one\u00c3two", "three");
-//        assertArguments("'one\u00c4two'   three", "one\u00c4two", "three");
-//        assertArguments("'one\u00c5two'   three", "one\u00c5two", "three");
-//        assertArguments("'one\u00c6two'   three", "one\u00c6two", "three");
-//        assertArguments("'one\u00c7two'   three", "one\u00c7two", "three");
-//        assertArguments("'one\u00c8two'   three", "one\u00c8two", "three");
-//        assertArguments("'one\u00c9two'   three", "one\u00c9two", "three");
-//        assertArguments("'one\u00catwo'   three", "one\u00catwo", "three");
-//        assertArguments("'one\u00cbtwo'   three", "one\u00cbtwo", "three");
-//        assertArguments("'one\u00cctwo'   three", "one\u00cctwo", "three");
-//        assertArguments("'one\u00cdtwo'   three", "one\u00cdtwo", "three");
-//        assertArguments("'one\u00cetwo'   three", "one\u00cetwo", "three");
-//        assertArguments("'one\u00cftwo'   three", "one\u00cftwo", "three");
-//        assertArguments("'one\u00d0two'   three", "one\u00d0two", "three");
-//        assertArguments("'one\u00d1two'   three", "one\u00d1two", "three");
-//        assertArguments("'one\u00d2two'   three", "one\u00d2two", "three");
-//        assertArguments("'one\u00d3two'   three", "one\u00d3two", "three");
-//        assertArguments("'one\u00d4two'   three", "one\u00d4two", "three");
-//        assertArguments("'one\u00d5two'   three", "one\u00d5two", "three");
-//        assertArguments("'one\u00d6two'   three", "one\u00d6two", "three");
-//        assertArguments("'one\u00d7two'   three", "one\u00d7two", "three");
-//        assertArguments("'one\u00d8two'   three", "one\u00d8two", "three");
-//        assertArguments("'one\u00d9two'   three", "one\u00d9two", "three");
-//        assertArguments("'one\u00datwo'   three", "one\u00datwo", "three");
-//        assertArguments("'one\u00dbtwo'   three", "one\u00dbtwo", "three");
-//        assertArguments("'one\u00dctwo'   three", "one\u00dctwo", "three");
-//        assertArguments("'one\u00ddtwo'   three", "one\u00ddtwo", "three");
-//        assertArguments("'one\u00detwo'   three", "one\u00detwo", "three");
-//        assertArguments("'one\u00dftwo'   three", "one\u00dftwo", "three");
-//        assertArguments("'one\u00e0two'   three", "one\u00e0two", "three");
-//        assertArguments("'one\u00e1two'   three", "one\u00e1two", "three");
-//        assertArguments("'one\u00e2two'   three", "one\u00e2two", "three");
-//        assertArguments("'one\u00e3two'   three", "one\u00e3two", "three");
-//        assertArguments("'one\u00e4two'   three", "one\u00e4two", "three");
-//        assertArguments("'one\u00e5two'   three", "one\u00e5two", "three");
-//        assertArguments("'one\u00e6two'   three", "one\u00e6two", "three");
-//        assertArguments("'one\u00e7two'   three", "one\u00e7two", "three");
-//        assertArguments("'one\u00e8two'   three", "one\u00e8two", "three");
-//        assertArguments("'one\u00e9two'   three", "one\u00e9two", "three");
-//        assertArguments("'one\u00eatwo'   three", "one\u00eatwo", "three");
-//        assertArguments("'one\u00ebtwo'   three", "one\u00ebtwo", "three");
-//        assertArguments("'one\u00ectwo'   three", "one\u00ectwo", "three");
-//        assertArguments("'one\u00edtwo'   three", "one\u00edtwo", "three");
-//        assertArguments("'one\u00eetwo'   three", "one\u00eetwo", "three");
-//        assertArguments("'one\u00eftwo'   three", "one\u00eftwo", "three");
-//        assertArguments("'one\u00f0two'   three", "one\u00f0two", "three");
-//        assertArguments("'one\u00f1two'   three", "one\u00f1two", "three");
-//        assertArguments("'one\u00f2two'   three", "one\u00f2two", "three");
-//        assertArguments("'one\u00f3two'   three", "one\u00f3two", "three");
-//        assertArguments("'one\u00f4two'   three", "one\u00f4two", "three");
-//        assertArguments("'one\u00f5two'   three", "one\u00f5two", "three");
-//        assertArguments("'one\u00f6two'   three", "one\u00f6two", "three");
-//        assertArguments("'one\u00f7two'   three", "one\u00f7two", "three");
-//        assertArguments("'one\u00f8two'   three", "one\u00f8two", "three");
-//        assertArguments("'one\u00f9two'   three", "one\u00f9two", "three");
-//        assertArguments("'one\u00fatwo'   three", "one\u00fatwo", "three");
-//        assertArguments("'one\u00fbtwo'   three", "one\u00fbtwo", "three");
-//        assertArguments("'one\u00fctwo'   three", "one\u00fctwo", "three");
-//        assertArguments("'one\u00fdtwo'   three", "one\u00fdtwo", "three");
-//        assertArguments("'one\u00fetwo'   three", "one\u00fetwo", "three");
-//        assertArguments("'one\u00fftwo'   three", "one\u00fftwo", "three");
+        assertArguments("'one\u0080two'   three", "one\u0080two", "three");
+        assertArguments("'one\u0081two'   three", "one\u0081two", "three");
+        assertArguments("'one\u0082two'   three", "one\u0082two", "three");
+        assertArguments("'one\u0083two'   three", "one\u0083two", "three");
+        assertArguments("'one\u0084two'   three", "one\u0084two", "three");
+        assertArguments("'one\u0085two'   three", "one\u0085two", "three");
+        assertArguments("'one\u0086two'   three", "one\u0086two", "three");
+        assertArguments("'one\u0087two'   three", "one\u0087two", "three");
+        assertArguments("'one\u0088two'   three", "one\u0088two", "three");
+        assertArguments("'one\u0089two'   three", "one\u0089two", "three");
+        assertArguments("'one\u008atwo'   three", "one\u008atwo", "three");
+        assertArguments("'one\u008btwo'   three", "one\u008btwo", "three");
+        assertArguments("'one\u008ctwo'   three", "one\u008ctwo", "three");
+        assertArguments("'one\u008dtwo'   three", "one\u008dtwo", "three");
+        assertArguments("'one\u008etwo'   three", "one\u008etwo", "three");
+        assertArguments("'one\u008ftwo'   three", "one\u008ftwo", "three");
+        assertArguments("'one\u0090two'   three", "one\u0090two", "three");
+        assertArguments("'one\u0091two'   three", "one\u0091two", "three");
+        assertArguments("'one\u0092two'   three", "one\u0092two", "three");
+        assertArguments("'one\u0093two'   three", "one\u0093two", "three");
+        assertArguments("'one\u0094two'   three", "one\u0094two", "three");
+        assertArguments("'one\u0095two'   three", "one\u0095two", "three");
+        assertArguments("'one\u0096two'   three", "one\u0096two", "three");
+        assertArguments("'one\u0097two'   three", "one\u0097two", "three");
+        assertArguments("'one\u0098two'   three", "one\u0098two", "three");
+        assertArguments("'one\u0099two'   three", "one\u0099two", "three");
+        assertArguments("'one\u009atwo'   three", "one\u009atwo", "three");
+        assertArguments("'one\u009btwo'   three", "one\u009btwo", "three");
+        assertArguments("'one\u009ctwo'   three", "one\u009ctwo", "three");
+        assertArguments("'one\u009dtwo'   three", "one\u009dtwo", "three");
+        assertArguments("'one\u009etwo'   three", "one\u009etwo", "three");
+        assertArguments("'one\u009ftwo'   three", "one\u009ftwo", "three");
+        assertArguments("'one\u00a0two'   three", "one\u00a0two", "three");
+        assertArguments("'one\u00a1two'   three", "one\u00a1two", "three");
+        assertArguments("'one\u00a2two'   three", "one\u00a2two", "three");
+        assertArguments("'one\u00a3two'   three", "one\u00a3two", "three");
+        assertArguments("'one\u00a4two'   three", "one\u00a4two", "three");
+        assertArguments("'one\u00a5two'   three", "one\u00a5two", "three");
+        assertArguments("'one\u00a6two'   three", "one\u00a6two", "three");
+        assertArguments("'one\u00a7two'   three", "one\u00a7two", "three");
+        assertArguments("'one\u00a8two'   three", "one\u00a8two", "three");
+        assertArguments("'one\u00a9two'   three", "one\u00a9two", "three");
+        assertArguments("'one\u00aatwo'   three", "one\u00aatwo", "three");
+        assertArguments("'one\u00abtwo'   three", "one\u00abtwo", "three");
+        assertArguments("'one\u00actwo'   three", "one\u00actwo", "three");
+        assertArguments("'one\u00adtwo'   three", "one\u00adtwo", "three");
+        assertArguments("'one\u00aetwo'   three", "one\u00aetwo", "three");
+        assertArguments("'one\u00aftwo'   three", "one\u00aftwo", "three");
+        assertArguments("'one\u00b0two'   three", "one\u00b0two", "three");
+        assertArguments("'one\u00b1two'   three", "one\u00b1two", "three");
+        assertArguments("'one\u00b2two'   three", "one\u00b2two", "three");
+        assertArguments("'one\u00b3two'   three", "one\u00b3two", "three");
+        assertArguments("'one\u00b4two'   three", "one\u00b4two", "three");
+        assertArguments("'one\u00b5two'   three", "one\u00b5two", "three");
+        assertArguments("'one\u00b6two'   three", "one\u00b6two", "three");
+        assertArguments("'one\u00b7two'   three", "one\u00b7two", "three");
+        assertArguments("'one\u00b8two'   three", "one\u00b8two", "three");
+        assertArguments("'one\u00b9two'   three", "one\u00b9two", "three");
+        assertArguments("'one\u00batwo'   three", "one\u00batwo", "three");
+        assertArguments("'one\u00bbtwo'   three", "one\u00bbtwo", "three");
+        assertArguments("'one\u00bctwo'   three", "one\u00bctwo", "three");
+        assertArguments("'one\u00bdtwo'   three", "one\u00bdtwo", "three");
+        assertArguments("'one\u00betwo'   three", "one\u00betwo", "three");
+        assertArguments("'one\u00bftwo'   three", "one\u00bftwo", "three");
+        assertArguments("'one\u00c0two'   three", "one\u00c0two", "three");
+        assertArguments("'one\u00c1two'   three", "one\u00c1two", "three");
+        assertArguments("'one\u00c2two'   three", "one\u00c2two", "three");
+        assertArguments("'one\u00c3two'   three", "one\u00c3two", "three");
+        assertArguments("'one\u00c4two'   three", "one\u00c4two", "three");
+        assertArguments("'one\u00c5two'   three", "one\u00c5two", "three");
+        assertArguments("'one\u00c6two'   three", "one\u00c6two", "three");
+        assertArguments("'one\u00c7two'   three", "one\u00c7two", "three");
+        assertArguments("'one\u00c8two'   three", "one\u00c8two", "three");
+        assertArguments("'one\u00c9two'   three", "one\u00c9two", "three");
+        assertArguments("'one\u00catwo'   three", "one\u00catwo", "three");
+        assertArguments("'one\u00cbtwo'   three", "one\u00cbtwo", "three");
+        assertArguments("'one\u00cctwo'   three", "one\u00cctwo", "three");
+        assertArguments("'one\u00cdtwo'   three", "one\u00cdtwo", "three");
+        assertArguments("'one\u00cetwo'   three", "one\u00cetwo", "three");
+        assertArguments("'one\u00cftwo'   three", "one\u00cftwo", "three");
+        assertArguments("'one\u00d0two'   three", "one\u00d0two", "three");
+        assertArguments("'one\u00d1two'   three", "one\u00d1two", "three");
+        assertArguments("'one\u00d2two'   three", "one\u00d2two", "three");
+        assertArguments("'one\u00d3two'   three", "one\u00d3two", "three");
+        assertArguments("'one\u00d4two'   three", "one\u00d4two", "three");
+        assertArguments("'one\u00d5two'   three", "one\u00d5two", "three");
+        assertArguments("'one\u00d6two'   three", "one\u00d6two", "three");
+        assertArguments("'one\u00d7two'   three", "one\u00d7two", "three");
+        assertArguments("'one\u00d8two'   three", "one\u00d8two", "three");
+        assertArguments("'one\u00d9two'   three", "one\u00d9two", "three");
+        assertArguments("'one\u00datwo'   three", "one\u00datwo", "three");
+        assertArguments("'one\u00dbtwo'   three", "one\u00dbtwo", "three");
+        assertArguments("'one\u00dctwo'   three", "one\u00dctwo", "three");
+        assertArguments("'one\u00ddtwo'   three", "one\u00ddtwo", "three");
+        assertArguments("'one\u00detwo'   three", "one\u00detwo", "three");
+        assertArguments("'one\u00dftwo'   three", "one\u00dftwo", "three");
+        assertArguments("'one\u00e0two'   three", "one\u00e0two", "three");
+        assertArguments("'one\u00e1two'   three", "one\u00e1two", "three");
+        assertArguments("'one\u00e2two'   three", "one\u00e2two", "three");
+        assertArguments("'one\u00e3two'   three", "one\u00e3two", "three");
+        assertArguments("'one\u00e4two'   three", "one\u00e4two", "three");
+        assertArguments("'one\u00e5two'   three", "one\u00e5two", "three");
+        assertArguments("'one\u00e6two'   three", "one\u00e6two", "three");
+        assertArguments("'one\u00e7two'   three", "one\u00e7two", "three");
+        assertArguments("'one\u00e8two'   three", "one\u00e8two", "three");
+        assertArguments("'one\u00e9two'   three", "one\u00e9two", "three");
+        assertArguments("'one\u00eatwo'   three", "one\u00eatwo", "three");
+        assertArguments("'one\u00ebtwo'   three", "one\u00ebtwo", "three");
+        assertArguments("'one\u00ectwo'   three", "one\u00ectwo", "three");
+        assertArguments("'one\u00edtwo'   three", "one\u00edtwo", "three");
+        assertArguments("'one\u00eetwo'   three", "one\u00eetwo", "three");
+        assertArguments("'one\u00eftwo'   three", "one\u00eftwo", "three");
+        assertArguments("'one\u00f0two'   three", "one\u00f0two", "three");
+        assertArguments("'one\u00f1two'   three", "one\u00f1two", "three");
+        assertArguments("'one\u00f2two'   three", "one\u00f2two", "three");
+        assertArguments("'one\u00f3two'   three", "one\u00f3two", "three");
+        assertArguments("'one\u00f4two'   three", "one\u00f4two", "three");
+        assertArguments("'one\u00f5two'   three", "one\u00f5two", "three");
+        assertArguments("'one\u00f6two'   three", "one\u00f6two", "three");
+        assertArguments("'one\u00f7two'   three", "one\u00f7two", "three");
+        assertArguments("'one\u00f8two'   three", "one\u00f8two", "three");
+        assertArguments("'one\u00f9two'   three", "one\u00f9two", "three");
+        assertArguments("'one\u00fatwo'   three", "one\u00fatwo", "three");
+        assertArguments("'one\u00fbtwo'   three", "one\u00fbtwo", "three");
+        assertArguments("'one\u00fctwo'   three", "one\u00fctwo", "three");
+        assertArguments("'one\u00fdtwo'   three", "one\u00fdtwo", "three");
+        assertArguments("'one\u00fetwo'   three", "one\u00fetwo", "three");
+        assertArguments("'one\u00fftwo'   three", "one\u00fftwo", "three");
 //        assertArguments("'one\\\u0000two'   three", "one\\two", "three");
         assertArguments("'one\\\u0001two'   three", "one\\\u0001two", "three");
         assertArguments("'one\\\u0002two'   three", "one\\\u0002two", "three");
@@ -927,134 +927,134 @@ public class ArgumentsParserBashTest {
         assertArguments("'one\\}two'   three", "one\\}two", "three");
         assertArguments("'one\\~two'   three", "one\\~two", "three");
         assertArguments("'one\\\u007ftwo'   three", "one\\\u007ftwo", "three");
-//        assertArguments("'one\\\u0080two'   three", "one\\\u0080two", "three");
-//        assertArguments("'one\\\u0081two'   three", "one\\\u0081two", "three");
-//        assertArguments("'one\\\u0082two'   three", "one\\\u0082two", "three");
-//        assertArguments("'one\\\u0083two'   three", "one\\\u0083two", "three");
-//        assertArguments("'one\\\u0084two'   three", "one\\\u0084two", "three");
-//        assertArguments("'one\\\u0085two'   three", "one\\\u0085two", "three");
-//        assertArguments("'one\\\u0086two'   three", "one\\\u0086two", "three");
-//        assertArguments("'one\\\u0087two'   three", "one\\\u0087two", "three");
-//        assertArguments("'one\\\u0088two'   three", "one\\\u0088two", "three");
-//        assertArguments("'one\\\u0089two'   three", "one\\\u0089two", "three");
-//        assertArguments("'one\\\u008atwo'   three", "one\\\u008atwo", "three");
-//        assertArguments("'one\\\u008btwo'   three", "one\\\u008btwo", "three");
-//        assertArguments("'one\\\u008ctwo'   three", "one\\\u008ctwo", "three");
-//        assertArguments("'one\\\u008dtwo'   three", "one\\\u008dtwo", "three");
-//        assertArguments("'one\\\u008etwo'   three", "one\\\u008etwo", "three");
-//        assertArguments("'one\\\u008ftwo'   three", "one\\\u008ftwo", "three");
-//        assertArguments("'one\\\u0090two'   three", "one\\\u0090two", "three");
-//        assertArguments("'one\\\u0091two'   three", "one\\\u0091two", "three");
-//        assertArguments("'one\\\u0092two'   three", "one\\\u0092two", "three");
-//        assertArguments("'one\\\u0093two'   three", "one\\\u0093two", "three");
-//        assertArguments("'one\\\u0094two'   three", "one\\\u0094two", "three");
-//        assertArguments("'one\\\u0095two'   three", "one\\\u0095two", "three");
-//        assertArguments("'one\\\u0096two'   three", "one\\\u0096two", "three");
-//        assertArguments("'one\\\u0097two'   three", "one\\\u0097two", "three");
-//        assertArguments("'one\\\u0098two'   three", "one\\\u0098two", "three");
-//        assertArguments("'one\\\u0099two'   three", "one\\\u0099two", "three");
-//        assertArguments("'one\\\u009atwo'   three", "one\\\u009atwo", "three");
-//        assertArguments("'one\\\u009btwo'   three", "one\\\u009btwo", "three");
-//        assertArguments("'one\\\u009ctwo'   three", "one\\\u009ctwo", "three");
-//        assertArguments("'one\\\u009dtwo'   three", "one\\\u009dtwo", "three");
-//        assertArguments("'one\\\u009etwo'   three", "one\\\u009etwo", "three");
-//        assertArguments("'one\\\u009ftwo'   three", "one\\\u009ftwo", "three");
-//        assertArguments("'one\\\u00a0two'   three", "one\\\u00a0two", "three");
-//        assertArguments("'one\\\u00a1two'   three", "one\\\u00a1two", "three");
-//        assertArguments("'one\\\u00a2two'   three", "one\\\u00a2two", "three");
-//        assertArguments("'one\\\u00a3two'   three", "one\\\u00a3two", "three");
-//        assertArguments("'one\\\u00a4two'   three", "one\\\u00a4two", "three");
-//        assertArguments("'one\\\u00a5two'   three", "one\\\u00a5two", "three");
-//        assertArguments("'one\\\u00a6two'   three", "one\\\u00a6two", "three");
-//        assertArguments("'one\\\u00a7two'   three", "one\\\u00a7two", "three");
-//        assertArguments("'one\\\u00a8two'   three", "one\\\u00a8two", "three");
-//        assertArguments("'one\\\u00a9two'   three", "one\\\u00a9two", "three");
-//        assertArguments("'one\\\u00aatwo'   three", "one\\\u00aatwo", "three");
-//        assertArguments("'one\\\u00abtwo'   three", "one\\\u00abtwo", "three");
-//        assertArguments("'one\\\u00actwo'   three", "one\\\u00actwo", "three");
-//        assertArguments("'one\\\u00adtwo'   three", "one\\\u00adtwo", "three");
-//        assertArguments("'one\\\u00aetwo'   three", "one\\\u00aetwo", "three");
-//        assertArguments("'one\\\u00aftwo'   three", "one\\\u00aftwo", "three");
-//        assertArguments("'one\\\u00b0two'   three", "one\\\u00b0two", "three");
-//        assertArguments("'one\\\u00b1two'   three", "one\\\u00b1two", "three");
-//        assertArguments("'one\\\u00b2two'   three", "one\\\u00b2two", "three");
-//        assertArguments("'one\\\u00b3two'   three", "one\\\u00b3two", "three");
-//        assertArguments("'one\\\u00b4two'   three", "one\\\u00b4two", "three");
-//        assertArguments("'one\\\u00b5two'   three", "one\\\u00b5two", "three");
-//        assertArguments("'one\\\u00b6two'   three", "one\\\u00b6two", "three");
-//        assertArguments("'one\\\u00b7two'   three", "one\\\u00b7two", "three");
-//        assertArguments("'one\\\u00b8two'   three", "one\\\u00b8two", "three");
-//        assertArguments("'one\\\u00b9two'   three", "one\\\u00b9two", "three");
-//        assertArguments("'one\\\u00batwo'   three", "one\\\u00batwo", "three");
-//        assertArguments("'one\\\u00bbtwo'   three", "one\\\u00bbtwo", "three");
-//        assertArguments("'one\\\u00bctwo'   three", "one\\\u00bctwo", "three");
-//        assertArguments("'one\\\u00bdtwo'   three", "one\\\u00bdtwo", "three");
-//        assertArguments("'one\\\u00betwo'   three", "one\\\u00betwo", "three");
-//        assertArguments("'one\\\u00bftwo'   three", "one\\\u00bftwo", "three");
-//        assertArguments("'one\\\u00c0two'   three", "one\\\u00c0two", "three");
-//        assertArguments("'one\\\u00c1two'   three", "one\\\u00c1two", "three");
-//        assertArguments("'one\\\u00c2two'   three", "one\\\u00c2two", "three");
-//        assertArguments("'one\\\u00c3two'   three", "one\\\u00c3two", "three");
-//        assertArguments("'one\\\u00c4two'   three", "one\\\u00c4two", "three");
-//        assertArguments("'one\\\u00c5two'   three", "one\\\u00c5two", "three");
-//        assertArguments("'one\\\u00c6two'   three", "one\\\u00c6two", "three");
-//        assertArguments("'one\\\u00c7two'   three", "one\\\u00c7two", "three");
-//        assertArguments("'one\\\u00c8two'   three", "one\\\u00c8two", "three");
-//        assertArguments("'one\\\u00c9two'   three", "one\\\u00c9two", "three");
-//        assertArguments("'one\\\u00catwo'   three", "one\\\u00catwo", "three");
-//        assertArguments("'one\\\u00cbtwo'   three", "one\\\u00cbtwo", "three");
-//        assertArguments("'one\\\u00cctwo'   three", "one\\\u00cctwo", "three");
-//        assertArguments("'one\\\u00cdtwo'   three", "one\\\u00cdtwo", "three");
-//        assertArguments("'one\\\u00cetwo'   three", "one\\\u00cetwo", "three");
-//        assertArguments("'one\\\u00cftwo'   three", "one\\\u00cftwo", "three");
-//        assertArguments("'one\\\u00d0two'   three", "one\\\u00d0two", "three");
-//        assertArguments("'one\\\u00d1two'   three", "one\\\u00d1two", "three");
-//        assertArguments("'one\\\u00d2two'   three", "one\\\u00d2two", "three");
-//        assertArguments("'one\\\u00d3two'   three", "one\\\u00d3two", "three");
-//        assertArguments("'one\\\u00d4two'   three", "one\\\u00d4two", "three");
-//        assertArguments("'one\\\u00d5two'   three", "one\\\u00d5two", "three");
-//        assertArguments("'one\\\u00d6two'   three", "one\\\u00d6two", "three");
-//        assertArguments("'one\\\u00d7two'   three", "one\\\u00d7two", "three");
-//        assertArguments("'one\\\u00d8two'   three", "one\\\u00d8two", "three");
-//        assertArguments("'one\\\u00d9two'   three", "one\\\u00d9two", "three");
-//        assertArguments("'one\\\u00datwo'   three", "one\\\u00datwo", "three");
-//        assertArguments("'one\\\u00dbtwo'   three", "one\\\u00dbtwo", "three");
-//        assertArguments("'one\\\u00dctwo'   three", "one\\\u00dctwo", "three");
-//        assertArguments("'one\\\u00ddtwo'   three", "one\\\u00ddtwo", "three");
-//        assertArguments("'one\\\u00detwo'   three", "one\\\u00detwo", "three");
-//        assertArguments("'one\\\u00dftwo'   three", "one\\\u00dftwo", "three");
-//        assertArguments("'one\\\u00e0two'   three", "one\\\u00e0two", "three");
-//        assertArguments("'one\\\u00e1two'   three", "one\\\u00e1two", "three");
-//        assertArguments("'one\\\u00e2two'   three", "one\\\u00e2two", "three");
-//        assertArguments("'one\\\u00e3two'   three", "one\\\u00e3two", "three");
-//        assertArguments("'one\\\u00e4two'   three", "one\\\u00e4two", "three");
-//        assertArguments("'one\\\u00e5two'   three", "one\\\u00e5two", "three");
-//        assertArguments("'one\\\u00e6two'   three", "one\\\u00e6two", "three");
-//        assertArguments("'one\\\u00e7two'   three", "one\\\u00e7two", "three");
-//        assertArguments("'one\\\u00e8two'   three", "one\\\u00e8two", "three");
-//        assertArguments("'one\\\u00e9two'   three", "one\\\u00e9two", "three");
-//        assertArguments("'one\\\u00eatwo'   three", "one\\\u00eatwo", "three");
-//        assertArguments("'one\\\u00ebtwo'   three", "one\\\u00ebtwo", "three");
-//        assertArguments("'one\\\u00ectwo'   three", "one\\\u00ectwo", "three");
-//        assertArguments("'one\\\u00edtwo'   three", "one\\\u00edtwo", "three");
-//        assertArguments("'one\\\u00eetwo'   three", "one\\\u00eetwo", "three");
-//        assertArguments("'one\\\u00eftwo'   three", "one\\\u00eftwo", "three");
-//        assertArguments("'one\\\u00f0two'   three", "one\\\u00f0two", "three");
-//        assertArguments("'one\\\u00f1two'   three", "one\\\u00f1two", "three");
-//        assertArguments("'one\\\u00f2two'   three", "one\\\u00f2two", "three");
-//        assertArguments("'one\\\u00f3two'   three", "one\\\u00f3two", "three");
-//        assertArguments("'one\\\u00f4two'   three", "one\\\u00f4two", "three");
-//        assertArguments("'one\\\u00f5two'   three", "one\\\u00f5two", "three");
-//        assertArguments("'one\\\u00f6two'   three", "one\\\u00f6two", "three");
-//        assertArguments("'one\\\u00f7two'   three", "one\\\u00f7two", "three");
-//        assertArguments("'one\\\u00f8two'   three", "one\\\u00f8two", "three");
-//        assertArguments("'one\\\u00f9two'   three", "one\\\u00f9two", "three");
-//        assertArguments("'one\\\u00fatwo'   three", "one\\\u00fatwo", "three");
-//        assertArguments("'one\\\u00fbtwo'   three", "one\\\u00fbtwo", "three");
-//        assertArguments("'one\\\u00fctwo'   three", "one\\\u00fctwo", "three");
-//        assertArguments("'one\\\u00fdtwo'   three", "one\\\u00fdtwo", "three");
-//        assertArguments("'one\\\u00fetwo'   three", "one\\\u00fetwo", "three");
-//        assertArguments("'one\\\u00fftwo'   three", "one\\\u00fftwo", "three");
+        assertArguments("'one\\\u0080two'   three", "one\\\u0080two", "three");
+        assertArguments("'one\\\u0081two'   three", "one\\\u0081two", "three");
+        assertArguments("'one\\\u0082two'   three", "one\\\u0082two", "three");
+        assertArguments("'one\\\u0083two'   three", "one\\\u0083two", "three");
+        assertArguments("'one\\\u0084two'   three", "one\\\u0084two", "three");
+        assertArguments("'one\\\u0085two'   three", "one\\\u0085two", "three");
+        assertArguments("'one\\\u0086two'   three", "one\\\u0086two", "three");
+        assertArguments("'one\\\u0087two'   three", "one\\\u0087two", "three");
+        assertArguments("'one\\\u0088two'   three", "one\\\u0088two", "three");
+        assertArguments("'one\\\u0089two'   three", "one\\\u0089two", "three");
+        assertArguments("'one\\\u008atwo'   three", "one\\\u008atwo", "three");
+        assertArguments("'one\\\u008btwo'   three", "one\\\u008btwo", "three");
+        assertArguments("'one\\\u008ctwo'   three", "one\\\u008ctwo", "three");
+        assertArguments("'one\\\u008dtwo'   three", "one\\\u008dtwo", "three");
+        assertArguments("'one\\\u008etwo'   three", "one\\\u008etwo", "three");
+        assertArguments("'one\\\u008ftwo'   three", "one\\\u008ftwo", "three");
+        assertArguments("'one\\\u0090two'   three", "one\\\u0090two", "three");
+        assertArguments("'one\\\u0091two'   three", "one\\\u0091two", "three");
+        assertArguments("'one\\\u0092two'   three", "one\\\u0092two", "three");
+        assertArguments("'one\\\u0093two'   three", "one\\\u0093two", "three");
+        assertArguments("'one\\\u0094two'   three", "one\\\u0094two", "three");
+        assertArguments("'one\\\u0095two'   three", "one\\\u0095two", "three");
+        assertArguments("'one\\\u0096two'   three", "one\\\u0096two", "three");
+        assertArguments("'one\\\u0097two'   three", "one\\\u0097two", "three");
+        assertArguments("'one\\\u0098two'   three", "one\\\u0098two", "three");
+        assertArguments("'one\\\u0099two'   three", "one\\\u0099two", "three");
+        assertArguments("'one\\\u009atwo'   three", "one\\\u009atwo", "three");
+        assertArguments("'one\\\u009btwo'   three", "one\\\u009btwo", "three");
+        assertArguments("'one\\\u009ctwo'   three", "one\\\u009ctwo", "three");
+        assertArguments("'one\\\u009dtwo'   three", "one\\\u009dtwo", "three");
+        assertArguments("'one\\\u009etwo'   three", "one\\\u009etwo", "three");
+        assertArguments("'one\\\u009ftwo'   three", "one\\\u009ftwo", "three");
+        assertArguments("'one\\\u00a0two'   three", "one\\\u00a0two", "three");
+        assertArguments("'one\\\u00a1two'   three", "one\\\u00a1two", "three");
+        assertArguments("'one\\\u00a2two'   three", "one\\\u00a2two", "three");
+        assertArguments("'one\\\u00a3two'   three", "one\\\u00a3two", "three");
+        assertArguments("'one\\\u00a4two'   three", "one\\\u00a4two", "three");
+        assertArguments("'one\\\u00a5two'   three", "one\\\u00a5two", "three");
+        assertArguments("'one\\\u00a6two'   three", "one\\\u00a6two", "three");
+        assertArguments("'one\\\u00a7two'   three", "one\\\u00a7two", "three");
+        assertArguments("'one\\\u00a8two'   three", "one\\\u00a8two", "three");
+        assertArguments("'one\\\u00a9two'   three", "one\\\u00a9two", "three");
+        assertArguments("'one\\\u00aatwo'   three", "one\\\u00aatwo", "three");
+        assertArguments("'one\\\u00abtwo'   three", "one\\\u00abtwo", "three");
+        assertArguments("'one\\\u00actwo'   three", "one\\\u00actwo", "three");
+        assertArguments("'one\\\u00adtwo'   three", "one\\\u00adtwo", "three");
+        assertArguments("'one\\\u00aetwo'   three", "one\\\u00aetwo", "three");
+        assertArguments("'one\\\u00aftwo'   three", "one\\\u00aftwo", "three");
+        assertArguments("'one\\\u00b0two'   three", "one\\\u00b0two", "three");
+        assertArguments("'one\\\u00b1two'   three", "one\\\u00b1two", "three");
+        assertArguments("'one\\\u00b2two'   three", "one\\\u00b2two", "three");
+        assertArguments("'one\\\u00b3two'   three", "one\\\u00b3two", "three");
+        assertArguments("'one\\\u00b4two'   three", "one\\\u00b4two", "three");
+        assertArguments("'one\\\u00b5two'   three", "one\\\u00b5two", "three");
+        assertArguments("'one\\\u00b6two'   three", "one\\\u00b6two", "three");
+        assertArguments("'one\\\u00b7two'   three", "one\\\u00b7two", "three");
+        assertArguments("'one\\\u00b8two'   three", "one\\\u00b8two", "three");
+        assertArguments("'one\\\u00b9two'   three", "one\\\u00b9two", "three");
+        assertArguments("'one\\\u00batwo'   three", "one\\\u00batwo", "three");
+        assertArguments("'one\\\u00bbtwo'   three", "one\\\u00bbtwo", "three");
+        assertArguments("'one\\\u00bctwo'   three", "one\\\u00bctwo", "three");
+        assertArguments("'one\\\u00bdtwo'   three", "one\\\u00bdtwo", "three");
+        assertArguments("'one\\\u00betwo'   three", "one\\\u00betwo", "three");
+        assertArguments("'one\\\u00bftwo'   three", "one\\\u00bftwo", "three");
+        assertArguments("'one\\\u00c0two'   three", "one\\\u00c0two", "three");
+        assertArguments("'one\\\u00c1two'   three", "one\\\u00c1two", "three");
+        assertArguments("'one\\\u00c2two'   three", "one\\\u00c2two", "three");
+        assertArguments("'one\\\u00c3two'   three", "one\\\u00c3two", "three");
+        assertArguments("'one\\\u00c4two'   three", "one\\\u00c4two", "three");
+        assertArguments("'one\\\u00c5two'   three", "one\\\u00c5two", "three");
+        assertArguments("'one\\\u00c6two'   three", "one\\\u00c6two", "three");
+        assertArguments("'one\\\u00c7two'   three", "one\\\u00c7two", "three");
+        assertArguments("'one\\\u00c8two'   three", "one\\\u00c8two", "three");
+        assertArguments("'one\\\u00c9two'   three", "one\\\u00c9two", "three");
+        assertArguments("'one\\\u00catwo'   three", "one\\\u00catwo", "three");
+        assertArguments("'one\\\u00cbtwo'   three", "one\\\u00cbtwo", "three");
+        assertArguments("'one\\\u00cctwo'   three", "one\\\u00cctwo", "three");
+        assertArguments("'one\\\u00cdtwo'   three", "one\\\u00cdtwo", "three");
+        assertArguments("'one\\\u00cetwo'   three", "one\\\u00cetwo", "three");
+        assertArguments("'one\\\u00cftwo'   three", "one\\\u00cftwo", "three");
+        assertArguments("'one\\\u00d0two'   three", "one\\\u00d0two", "three");
+        assertArguments("'one\\\u00d1two'   three", "one\\\u00d1two", "three");
+        assertArguments("'one\\\u00d2two'   three", "one\\\u00d2two", "three");
+        assertArguments("'one\\\u00d3two'   three", "one\\\u00d3two", "three");
+        assertArguments("'one\\\u00d4two'   three", "one\\\u00d4two", "three");
+        assertArguments("'one\\\u00d5two'   three", "one\\\u00d5two", "three");
+        assertArguments("'one\\\u00d6two'   three", "one\\\u00d6two", "three");
+        assertArguments("'one\\\u00d7two'   three", "one\\\u00d7two", "three");
+        assertArguments("'one\\\u00d8two'   three", "one\\\u00d8two", "three");
+        assertArguments("'one\\\u00d9two'   three", "one\\\u00d9two", "three");
+        assertArguments("'one\\\u00datwo'   three", "one\\\u00datwo", "three");
+        assertArguments("'one\\\u00dbtwo'   three", "one\\\u00dbtwo", "three");
+        assertArguments("'one\\\u00dctwo'   three", "one\\\u00dctwo", "three");
+        assertArguments("'one\\\u00ddtwo'   three", "one\\\u00ddtwo", "three");
+        assertArguments("'one\\\u00detwo'   three", "one\\\u00detwo", "three");
+        assertArguments("'one\\\u00dftwo'   three", "one\\\u00dftwo", "three");
+        assertArguments("'one\\\u00e0two'   three", "one\\\u00e0two", "three");
+        assertArguments("'one\\\u00e1two'   three", "one\\\u00e1two", "three");
+        assertArguments("'one\\\u00e2two'   three", "one\\\u00e2two", "three");
+        assertArguments("'one\\\u00e3two'   three", "one\\\u00e3two", "three");
+        assertArguments("'one\\\u00e4two'   three", "one\\\u00e4two", "three");
+        assertArguments("'one\\\u00e5two'   three", "one\\\u00e5two", "three");
+        assertArguments("'one\\\u00e6two'   three", "one\\\u00e6two", "three");
+        assertArguments("'one\\\u00e7two'   three", "one\\\u00e7two", "three");
+        assertArguments("'one\\\u00e8two'   three", "one\\\u00e8two", "three");
+        assertArguments("'one\\\u00e9two'   three", "one\\\u00e9two", "three");
+        assertArguments("'one\\\u00eatwo'   three", "one\\\u00eatwo", "three");
+        assertArguments("'one\\\u00ebtwo'   three", "one\\\u00ebtwo", "three");
+        assertArguments("'one\\\u00ectwo'   three", "one\\\u00ectwo", "three");
+        assertArguments("'one\\\u00edtwo'   three", "one\\\u00edtwo", "three");
+        assertArguments("'one\\\u00eetwo'   three", "one\\\u00eetwo", "three");
+        assertArguments("'one\\\u00eftwo'   three", "one\\\u00eftwo", "three");
+        assertArguments("'one\\\u00f0two'   three", "one\\\u00f0two", "three");
+        assertArguments("'one\\\u00f1two'   three", "one\\\u00f1two", "three");
+        assertArguments("'one\\\u00f2two'   three", "one\\\u00f2two", "three");
+        assertArguments("'one\\\u00f3two'   three", "one\\\u00f3two", "three");
+        assertArguments("'one\\\u00f4two'   three", "one\\\u00f4two", "three");
+        assertArguments("'one\\\u00f5two'   three", "one\\\u00f5two", "three");
+        assertArguments("'one\\\u00f6two'   three", "one\\\u00f6two", "three");
+        assertArguments("'one\\\u00f7two'   three", "one\\\u00f7two", "three");
+        assertArguments("'one\\\u00f8two'   three", "one\\\u00f8two", "three");
+        assertArguments("'one\\\u00f9two'   three", "one\\\u00f9two", "three");
+        assertArguments("'one\\\u00fatwo'   three", "one\\\u00fatwo", "three");
+        assertArguments("'one\\\u00fbtwo'   three", "one\\\u00fbtwo", "three");
+        assertArguments("'one\\\u00fctwo'   three", "one\\\u00fctwo", "three");
+        assertArguments("'one\\\u00fdtwo'   three", "one\\\u00fdtwo", "three");
+        assertArguments("'one\\\u00fetwo'   three", "one\\\u00fetwo", "three");
+        assertArguments("'one\\\u00fftwo'   three", "one\\\u00fftwo", "three");
 //        assertArguments("\"one\u0000two\"   three", "onetwo", "three");
         assertArguments("\"one\u0001two\"   three", "one\u0001two", "three");
         assertArguments("\"one\u0002two\"   three", "one\u0002two", "three");
@@ -1183,134 +1183,134 @@ public class ArgumentsParserBashTest {
         assertArguments("\"one}two\"   three", "one}two", "three");
         assertArguments("\"one~two\"   three", "one~two", "three");
         assertArguments("\"one\u007ftwo\"   three", "one\u007ftwo", "three");
-//        assertArguments("\"one\u0080two\"   three", "one\u0080two", "three");
-//        assertArguments("\"one\u0081two\"   three", "one\u0081two", "three");
-//        assertArguments("\"one\u0082two\"   three", "one\u0082two", "three");
-//        assertArguments("\"one\u0083two\"   three", "one\u0083two", "three");
-//        assertArguments("\"one\u0084two\"   three", "one\u0084two", "three");
-//        assertArguments("\"one\u0085two\"   three", "one\u0085two", "three");
-//        assertArguments("\"one\u0086two\"   three", "one\u0086two", "three");
-//        assertArguments("\"one\u0087two\"   three", "one\u0087two", "three");
-//        assertArguments("\"one\u0088two\"   three", "one\u0088two", "three");
-//        assertArguments("\"one\u0089two\"   three", "one\u0089two", "three");
-//        assertArguments("\"one\u008atwo\"   three", "one\u008atwo", "three");
-//        assertArguments("\"one\u008btwo\"   three", "one\u008btwo", "three");
-//        assertArguments("\"one\u008ctwo\"   three", "one\u008ctwo", "three");
-//        assertArguments("\"one\u008dtwo\"   three", "one\u008dtwo", "three");
-//        assertArguments("\"one\u008etwo\"   three", "one\u008etwo", "three");
-//        assertArguments("\"one\u008ftwo\"   three", "one\u008ftwo", "three");
-//        assertArguments("\"one\u0090two\"   three", "one\u0090two", "three");
-//        assertArguments("\"one\u0091two\"   three", "one\u0091two", "three");
-//        assertArguments("\"one\u0092two\"   three", "one\u0092two", "three");
-//        assertArguments("\"one\u0093two\"   three", "one\u0093two", "three");
-//        assertArguments("\"one\u0094two\"   three", "one\u0094two", "three");
-//        assertArguments("\"one\u0095two\"   three", "one\u0095two", "three");
-//        assertArguments("\"one\u0096two\"   three", "one\u0096two", "three");
-//        assertArguments("\"one\u0097two\"   three", "one\u0097two", "three");
-//        assertArguments("\"one\u0098two\"   three", "one\u0098two", "three");
-//        assertArguments("\"one\u0099two\"   three", "one\u0099two", "three");
-//        assertArguments("\"one\u009atwo\"   three", "one\u009atwo", "three");
-//        assertArguments("\"one\u009btwo\"   three", "one\u009btwo", "three");
-//        assertArguments("\"one\u009ctwo\"   three", "one\u009ctwo", "three");
-//        assertArguments("\"one\u009dtwo\"   three", "one\u009dtwo", "three");
-//        assertArguments("\"one\u009etwo\"   three", "one\u009etwo", "three");
-//        assertArguments("\"one\u009ftwo\"   three", "one\u009ftwo", "three");
-//        assertArguments("\"one\u00a0two\"   three", "one\u00a0two", "three");
-//        assertArguments("\"one\u00a1two\"   three", "one\u00a1two", "three");
-//        assertArguments("\"one\u00a2two\"   three", "one\u00a2two", "three");
-//        assertArguments("\"one\u00a3two\"   three", "one\u00a3two", "three");
-//        assertArguments("\"one\u00a4two\"   three", "one\u00a4two", "three");
-//        assertArguments("\"one\u00a5two\"   three", "one\u00a5two", "three");
-//        assertArguments("\"one\u00a6two\"   three", "one\u00a6two", "three");
-//        assertArguments("\"one\u00a7two\"   three", "one\u00a7two", "three");
-//        assertArguments("\"one\u00a8two\"   three", "one\u00a8two", "three");
-//        assertArguments("\"one\u00a9two\"   three", "one\u00a9two", "three");
-//        assertArguments("\"one\u00aatwo\"   three", "one\u00aatwo", "three");
-//        assertArguments("\"one\u00abtwo\"   three", "one\u00abtwo", "three");
-//        assertArguments("\"one\u00actwo\"   three", "one\u00actwo", "three");
-//        assertArguments("\"one\u00adtwo\"   three", "one\u00adtwo", "three");
-//        assertArguments("\"one\u00aetwo\"   three", "one\u00aetwo", "three");
-//        assertArguments("\"one\u00aftwo\"   three", "one\u00aftwo", "three");
-//        assertArguments("\"one\u00b0two\"   three", "one\u00b0two", "three");
-//        assertArguments("\"one\u00b1two\"   three", "one\u00b1two", "three");
-//        assertArguments("\"one\u00b2two\"   three", "one\u00b2two", "three");
-//        assertArguments("\"one\u00b3two\"   three", "one\u00b3two", "three");
-//        assertArguments("\"one\u00b4two\"   three", "one\u00b4two", "three");
-//        assertArguments("\"one\u00b5two\"   three", "one\u00b5two", "three");
-//        assertArguments("\"one\u00b6two\"   three", "one\u00b6two", "three");
-//        assertArguments("\"one\u00b7two\"   three", "one\u00b7two", "three");
-//        assertArguments("\"one\u00b8two\"   three", "one\u00b8two", "three");
-//        assertArguments("\"one\u00b9two\"   three", "one\u00b9two", "three");
-//        assertArguments("\"one\u00batwo\"   three", "one\u00batwo", "three");
-//        assertArguments("\"one\u00bbtwo\"   three", "one\u00bbtwo", "three");
-//        assertArguments("\"one\u00bctwo\"   three", "one\u00bctwo", "three");
-//        assertArguments("\"one\u00bdtwo\"   three", "one\u00bdtwo", "three");
-//        assertArguments("\"one\u00betwo\"   three", "one\u00betwo", "three");
-//        assertArguments("\"one\u00bftwo\"   three", "one\u00bftwo", "three");
-//        assertArguments("\"one\u00c0two\"   three", "one\u00c0two", "three");
-//        assertArguments("\"one\u00c1two\"   three", "one\u00c1two", "three");
-//        assertArguments("\"one\u00c2two\"   three", "one\u00c2two", "three");
-//        assertArguments("\"one\u00c3two\"   three", "one\u00c3two", "three");
-//        assertArguments("\"one\u00c4two\"   three", "one\u00c4two", "three");
-//        assertArguments("\"one\u00c5two\"   three", "one\u00c5two", "three");
-//        assertArguments("\"one\u00c6two\"   three", "one\u00c6two", "three");
-//        assertArguments("\"one\u00c7two\"   three", "one\u00c7two", "three");
-//        assertArguments("\"one\u00c8two\"   three", "one\u00c8two", "three");
-//        assertArguments("\"one\u00c9two\"   three", "one\u00c9two", "three");
-//        assertArguments("\"one\u00catwo\"   three", "one\u00catwo", "three");
-//        assertArguments("\"one\u00cbtwo\"   three", "one\u00cbtwo", "three");
-//        assertArguments("\"one\u00cctwo\"   three", "one\u00cctwo", "three");
-//        assertArguments("\"one\u00cdtwo\"   three", "one\u00cdtwo", "three");
-//        assertArguments("\"one\u00cetwo\"   three", "one\u00cetwo", "three");
-//        assertArguments("\"one\u00cftwo\"   three", "one\u00cftwo", "three");
-//        assertArguments("\"one\u00d0two\"   three", "one\u00d0two", "three");
-//        assertArguments("\"one\u00d1two\"   three", "one\u00d1two", "three");
-//        assertArguments("\"one\u00d2two\"   three", "one\u00d2two", "three");
-//        assertArguments("\"one\u00d3two\"   three", "one\u00d3two", "three");
-//        assertArguments("\"one\u00d4two\"   three", "one\u00d4two", "three");
-//        assertArguments("\"one\u00d5two\"   three", "one\u00d5two", "three");
-//        assertArguments("\"one\u00d6two\"   three", "one\u00d6two", "three");
-//        assertArguments("\"one\u00d7two\"   three", "one\u00d7two", "three");
-//        assertArguments("\"one\u00d8two\"   three", "one\u00d8two", "three");
-//        assertArguments("\"one\u00d9two\"   three", "one\u00d9two", "three");
-//        assertArguments("\"one\u00datwo\"   three", "one\u00datwo", "three");
-//        assertArguments("\"one\u00dbtwo\"   three", "one\u00dbtwo", "three");
-//        assertArguments("\"one\u00dctwo\"   three", "one\u00dctwo", "three");
-//        assertArguments("\"one\u00ddtwo\"   three", "one\u00ddtwo", "three");
-//        assertArguments("\"one\u00detwo\"   three", "one\u00detwo", "three");
-//        assertArguments("\"one\u00dftwo\"   three", "one\u00dftwo", "three");
-//        assertArguments("\"one\u00e0two\"   three", "one\u00e0two", "three");
-//        assertArguments("\"one\u00e1two\"   three", "one\u00e1two", "three");
-//        assertArguments("\"one\u00e2two\"   three", "one\u00e2two", "three");
-//        assertArguments("\"one\u00e3two\"   three", "one\u00e3two", "three");
-//        assertArguments("\"one\u00e4two\"   three", "one\u00e4two", "three");
-//        assertArguments("\"one\u00e5two\"   three", "one\u00e5two", "three");
-//        assertArguments("\"one\u00e6two\"   three", "one\u00e6two", "three");
-//        assertArguments("\"one\u00e7two\"   three", "one\u00e7two", "three");
-//        assertArguments("\"one\u00e8two\"   three", "one\u00e8two", "three");
-//        assertArguments("\"one\u00e9two\"   three", "one\u00e9two", "three");
-//        assertArguments("\"one\u00eatwo\"   three", "one\u00eatwo", "three");
-//        assertArguments("\"one\u00ebtwo\"   three", "one\u00ebtwo", "three");
-//        assertArguments("\"one\u00ectwo\"   three", "one\u00ectwo", "three");
-//        assertArguments("\"one\u00edtwo\"   three", "one\u00edtwo", "three");
-//        assertArguments("\"one\u00eetwo\"   three", "one\u00eetwo", "three");
-//        assertArguments("\"one\u00eftwo\"   three", "one\u00eftwo", "three");
-//        assertArguments("\"one\u00f0two\"   three", "one\u00f0two", "three");
-//        assertArguments("\"one\u00f1two\"   three", "one\u00f1two", "three");
-//        assertArguments("\"one\u00f2two\"   three", "one\u00f2two", "three");
-//        assertArguments("\"one\u00f3two\"   three", "one\u00f3two", "three");
-//        assertArguments("\"one\u00f4two\"   three", "one\u00f4two", "three");
-//        assertArguments("\"one\u00f5two\"   three", "one\u00f5two", "three");
-//        assertArguments("\"one\u00f6two\"   three", "one\u00f6two", "three");
-//        assertArguments("\"one\u00f7two\"   three", "one\u00f7two", "three");
-//        assertArguments("\"one\u00f8two\"   three", "one\u00f8two", "three");
-//        assertArguments("\"one\u00f9two\"   three", "one\u00f9two", "three");
-//        assertArguments("\"one\u00fatwo\"   three", "one\u00fatwo", "three");
-//        assertArguments("\"one\u00fbtwo\"   three", "one\u00fbtwo", "three");
-//        assertArguments("\"one\u00fctwo\"   three", "one\u00fctwo", "three");
-//        assertArguments("\"one\u00fdtwo\"   three", "one\u00fdtwo", "three");
-//        assertArguments("\"one\u00fetwo\"   three", "one\u00fetwo", "three");
-//        assertArguments("\"one\u00fftwo\"   three", "one\u00fftwo", "three");
+        assertArguments("\"one\u0080two\"   three", "one\u0080two", "three");
+        assertArguments("\"one\u0081two\"   three", "one\u0081two", "three");
+        assertArguments("\"one\u0082two\"   three", "one\u0082two", "three");
+        assertArguments("\"one\u0083two\"   three", "one\u0083two", "three");
+        assertArguments("\"one\u0084two\"   three", "one\u0084two", "three");
+        assertArguments("\"one\u0085two\"   three", "one\u0085two", "three");
+        assertArguments("\"one\u0086two\"   three", "one\u0086two", "three");
+        assertArguments("\"one\u0087two\"   three", "one\u0087two", "three");
+        assertArguments("\"one\u0088two\"   three", "one\u0088two", "three");
+        assertArguments("\"one\u0089two\"   three", "one\u0089two", "three");
+        assertArguments("\"one\u008atwo\"   three", "one\u008atwo", "three");
+        assertArguments("\"one\u008btwo\"   three", "one\u008btwo", "three");
+        assertArguments("\"one\u008ctwo\"   three", "one\u008ctwo", "three");
+        assertArguments("\"one\u008dtwo\"   three", "one\u008dtwo", "three");
+        assertArguments("\"one\u008etwo\"   three", "one\u008etwo", "three");
+        assertArguments("\"one\u008ftwo\"   three", "one\u008ftwo", "three");
+        assertArguments("\"one\u0090two\"   three", "one\u0090two", "three");
+        assertArguments("\"one\u0091two\"   three", "one\u0091two", "three");
+        assertArguments("\"one\u0092two\"   three", "one\u0092two", "three");
+        assertArguments("\"one\u0093two\"   three", "one\u0093two", "three");
+        assertArguments("\"one\u0094two\"   three", "one\u0094two", "three");
+        assertArguments("\"one\u0095two\"   three", "one\u0095two", "three");
+        assertArguments("\"one\u0096two\"   three", "one\u0096two", "three");
+        assertArguments("\"one\u0097two\"   three", "one\u0097two", "three");
+        assertArguments("\"one\u0098two\"   three", "one\u0098two", "three");
+        assertArguments("\"one\u0099two\"   three", "one\u0099two", "three");
+        assertArguments("\"one\u009atwo\"   three", "one\u009atwo", "three");
+        assertArguments("\"one\u009btwo\"   three", "one\u009btwo", "three");
+        assertArguments("\"one\u009ctwo\"   three", "one\u009ctwo", "three");
+        assertArguments("\"one\u009dtwo\"   three", "one\u009dtwo", "three");
+        assertArguments("\"one\u009etwo\"   three", "one\u009etwo", "three");
+        assertArguments("\"one\u009ftwo\"   three", "one\u009ftwo", "three");
+        assertArguments("\"one\u00a0two\"   three", "one\u00a0two", "three");
+        assertArguments("\"one\u00a1two\"   three", "one\u00a1two", "three");
+        assertArguments("\"one\u00a2two\"   three", "one\u00a2two", "three");
+        assertArguments("\"one\u00a3two\"   three", "one\u00a3two", "three");
+        assertArguments("\"one\u00a4two\"   three", "one\u00a4two", "three");
+        assertArguments("\"one\u00a5two\"   three", "one\u00a5two", "three");
+        assertArguments("\"one\u00a6two\"   three", "one\u00a6two", "three");
+        assertArguments("\"one\u00a7two\"   three", "one\u00a7two", "three");
+        assertArguments("\"one\u00a8two\"   three", "one\u00a8two", "three");
+        assertArguments("\"one\u00a9two\"   three", "one\u00a9two", "three");
+        assertArguments("\"one\u00aatwo\"   three", "one\u00aatwo", "three");
+        assertArguments("\"one\u00abtwo\"   three", "one\u00abtwo", "three");
+        assertArguments("\"one\u00actwo\"   three", "one\u00actwo", "three");
+        assertArguments("\"one\u00adtwo\"   three", "one\u00adtwo", "three");
+        assertArguments("\"one\u00aetwo\"   three", "one\u00aetwo", "three");
+        assertArguments("\"one\u00aftwo\"   three", "one\u00aftwo", "three");
+        assertArguments("\"one\u00b0two\"   three", "one\u00b0two", "three");
+        assertArguments("\"one\u00b1two\"   three", "one\u00b1two", "three");
+        assertArguments("\"one\u00b2two\"   three", "one\u00b2two", "three");
+        assertArguments("\"one\u00b3two\"   three", "one\u00b3two", "three");
+        assertArguments("\"one\u00b4two\"   three", "one\u00b4two", "three");
+        assertArguments("\"one\u00b5two\"   three", "one\u00b5two", "three");
+        assertArguments("\"one\u00b6two\"   three", "one\u00b6two", "three");
+        assertArguments("\"one\u00b7two\"   three", "one\u00b7two", "three");
+        assertArguments("\"one\u00b8two\"   three", "one\u00b8two", "three");
+        assertArguments("\"one\u00b9two\"   three", "one\u00b9two", "three");
+        assertArguments("\"one\u00batwo\"   three", "one\u00batwo", "three");
+        assertArguments("\"one\u00bbtwo\"   three", "one\u00bbtwo", "three");
+        assertArguments("\"one\u00bctwo\"   three", "one\u00bctwo", "three");
+        assertArguments("\"one\u00bdtwo\"   three", "one\u00bdtwo", "three");
+        assertArguments("\"one\u00betwo\"   three", "one\u00betwo", "three");
+        assertArguments("\"one\u00bftwo\"   three", "one\u00bftwo", "three");
+        assertArguments("\"one\u00c0two\"   three", "one\u00c0two", "three");
+        assertArguments("\"one\u00c1two\"   three", "one\u00c1two", "three");
+        assertArguments("\"one\u00c2two\"   three", "one\u00c2two", "three");
+        assertArguments("\"one\u00c3two\"   three", "one\u00c3two", "three");
+        assertArguments("\"one\u00c4two\"   three", "one\u00c4two", "three");
+        assertArguments("\"one\u00c5two\"   three", "one\u00c5two", "three");
+        assertArguments("\"one\u00c6two\"   three", "one\u00c6two", "three");
+        assertArguments("\"one\u00c7two\"   three", "one\u00c7two", "three");
+        assertArguments("\"one\u00c8two\"   three", "one\u00c8two", "three");
+        assertArguments("\"one\u00c9two\"   three", "one\u00c9two", "three");
+        assertArguments("\"one\u00catwo\"   three", "one\u00catwo", "three");
+        assertArguments("\"one\u00cbtwo\"   three", "one\u00cbtwo", "three");
+        assertArguments("\"one\u00cctwo\"   three", "one\u00cctwo", "three");
+        assertArguments("\"one\u00cdtwo\"   three", "one\u00cdtwo", "three");
+        assertArguments("\"one\u00cetwo\"   three", "one\u00cetwo", "three");
+        assertArguments("\"one\u00cftwo\"   three", "one\u00cftwo", "three");
+        assertArguments("\"one\u00d0two\"   three", "one\u00d0two", "three");
+        assertArguments("\"one\u00d1two\"   three", "one\u00d1two", "three");
+        assertArguments("\"one\u00d2two\"   three", "one\u00d2two", "three");
+        assertArguments("\"one\u00d3two\"   three", "one\u00d3two", "three");
+        assertArguments("\"one\u00d4two\"   three", "one\u00d4two", "three");
+        assertArguments("\"one\u00d5two\"   three", "one\u00d5two", "three");
+        assertArguments("\"one\u00d6two\"   three", "one\u00d6two", "three");
+        assertArguments("\"one\u00d7two\"   three", "one\u00d7two", "three");
+        assertArguments("\"one\u00d8two\"   three", "one\u00d8two", "three");
+        assertArguments("\"one\u00d9two\"   three", "one\u00d9two", "three");
+        assertArguments("\"one\u00datwo\"   three", "one\u00datwo", "three");
+        assertArguments("\"one\u00dbtwo\"   three", "one\u00dbtwo", "three");
+        assertArguments("\"one\u00dctwo\"   three", "one\u00dctwo", "three");
+        assertArguments("\"one\u00ddtwo\"   three", "one\u00ddtwo", "three");
+        assertArguments("\"one\u00detwo\"   three", "one\u00detwo", "three");
+        assertArguments("\"one\u00dftwo\"   three", "one\u00dftwo", "three");
+        assertArguments("\"one\u00e0two\"   three", "one\u00e0two", "three");
+        assertArguments("\"one\u00e1two\"   three", "one\u00e1two", "three");
+        assertArguments("\"one\u00e2two\"   three", "one\u00e2two", "three");
+        assertArguments("\"one\u00e3two\"   three", "one\u00e3two", "three");
+        assertArguments("\"one\u00e4two\"   three", "one\u00e4two", "three");
+        assertArguments("\"one\u00e5two\"   three", "one\u00e5two", "three");
+        assertArguments("\"one\u00e6two\"   three", "one\u00e6two", "three");
+        assertArguments("\"one\u00e7two\"   three", "one\u00e7two", "three");
+        assertArguments("\"one\u00e8two\"   three", "one\u00e8two", "three");
+        assertArguments("\"one\u00e9two\"   three", "one\u00e9two", "three");
+        assertArguments("\"one\u00eatwo\"   three", "one\u00eatwo", "three");
+        assertArguments("\"one\u00ebtwo\"   three", "one\u00ebtwo", "three");
+        assertArguments("\"one\u00ectwo\"   three", "one\u00ectwo", "three");
+        assertArguments("\"one\u00edtwo\"   three", "one\u00edtwo", "three");
+        assertArguments("\"one\u00eetwo\"   three", "one\u00eetwo", "three");
+        assertArguments("\"one\u00eftwo\"   three", "one\u00eftwo", "three");
+        assertArguments("\"one\u00f0two\"   three", "one\u00f0two", "three");
+        assertArguments("\"one\u00f1two\"   three", "one\u00f1two", "three");
+        assertArguments("\"one\u00f2two\"   three", "one\u00f2two", "three");
+        assertArguments("\"one\u00f3two\"   three", "one\u00f3two", "three");
+        assertArguments("\"one\u00f4two\"   three", "one\u00f4two", "three");
+        assertArguments("\"one\u00f5two\"   three", "one\u00f5two", "three");
+        assertArguments("\"one\u00f6two\"   three", "one\u00f6two", "three");
+        assertArguments("\"one\u00f7two\"   three", "one\u00f7two", "three");
+        assertArguments("\"one\u00f8two\"   three", "one\u00f8two", "three");
+        assertArguments("\"one\u00f9two\"   three", "one\u00f9two", "three");
+        assertArguments("\"one\u00fatwo\"   three", "one\u00fatwo", "three");
+        assertArguments("\"one\u00fbtwo\"   three", "one\u00fbtwo", "three");
+        assertArguments("\"one\u00fctwo\"   three", "one\u00fctwo", "three");
+        assertArguments("\"one\u00fdtwo\"   three", "one\u00fdtwo", "three");
+        assertArguments("\"one\u00fetwo\"   three", "one\u00fetwo", "three");
+        assertArguments("\"one\u00fftwo\"   three", "one\u00fftwo", "three");
         assertArguments("\"one two\"   three", "one two", "three");
         assertArguments("\"one\\\u0001two\"   three", "one\\\u0001two", "three");
         assertArguments("\"one\\\u0002two\"   three", "one\\\u0002two", "three");
@@ -1439,134 +1439,134 @@ public class ArgumentsParserBashTest {
         assertArguments("\"one\\}two\"   three", "one\\}two", "three");
         assertArguments("\"one\\~two\"   three", "one\\~two", "three");
         assertArguments("\"one\\\u007ftwo\"   three", "one\\\u007ftwo", "three");
-//        assertArguments("\"one\\\u0080two\"   three", "one\\\u0080two", "three");
-//        assertArguments("\"one\\\u0081two\"   three", "one\\\u0081two", "three");
-//        assertArguments("\"one\\\u0082two\"   three", "one\\\u0082two", "three");
-//        assertArguments("\"one\\\u0083two\"   three", "one\\\u0083two", "three");
-//        assertArguments("\"one\\\u0084two\"   three", "one\\\u0084two", "three");
-//        assertArguments("\"one\\\u0085two\"   three", "one\\\u0085two", "three");
-//        assertArguments("\"one\\\u0086two\"   three", "one\\\u0086two", "three");
-//        assertArguments("\"one\\\u0087two\"   three", "one\\\u0087two", "three");
-//        assertArguments("\"one\\\u0088two\"   three", "one\\\u0088two", "three");
-//        assertArguments("\"one\\\u0089two\"   three", "one\\\u0089two", "three");
-//        assertArguments("\"one\\\u008atwo\"   three", "one\\\u008atwo", "three");
-//        assertArguments("\"one\\\u008btwo\"   three", "one\\\u008btwo", "three");
-//        assertArguments("\"one\\\u008ctwo\"   three", "one\\\u008ctwo", "three");
-//        assertArguments("\"one\\\u008dtwo\"   three", "one\\\u008dtwo", "three");
-//        assertArguments("\"one\\\u008etwo\"   three", "one\\\u008etwo", "three");
-//        assertArguments("\"one\\\u008ftwo\"   three", "one\\\u008ftwo", "three");
-//        assertArguments("\"one\\\u0090two\"   three", "one\\\u0090two", "three");
-//        assertArguments("\"one\\\u0091two\"   three", "one\\\u0091two", "three");
-//        assertArguments("\"one\\\u0092two\"   three", "one\\\u0092two", "three");
-//        assertArguments("\"one\\\u0093two\"   three", "one\\\u0093two", "three");
-//        assertArguments("\"one\\\u0094two\"   three", "one\\\u0094two", "three");
-//        assertArguments("\"one\\\u0095two\"   three", "one\\\u0095two", "three");
-//        assertArguments("\"one\\\u0096two\"   three", "one\\\u0096two", "three");
-//        assertArguments("\"one\\\u0097two\"   three", "one\\\u0097two", "three");
-//        assertArguments("\"one\\\u0098two\"   three", "one\\\u0098two", "three");
-//        assertArguments("\"one\\\u0099two\"   three", "one\\\u0099two", "three");
-//        assertArguments("\"one\\\u009atwo\"   three", "one\\\u009atwo", "three");
-//        assertArguments("\"one\\\u009btwo\"   three", "one\\\u009btwo", "three");
-//        assertArguments("\"one\\\u009ctwo\"   three", "one\\\u009ctwo", "three");
-//        assertArguments("\"one\\\u009dtwo\"   three", "one\\\u009dtwo", "three");
-//        assertArguments("\"one\\\u009etwo\"   three", "one\\\u009etwo", "three");
-//        assertArguments("\"one\\\u009ftwo\"   three", "one\\\u009ftwo", "three");
-//        assertArguments("\"one\\\u00a0two\"   three", "one\\\u00a0two", "three");
-//        assertArguments("\"one\\\u00a1two\"   three", "one\\\u00a1two", "three");
-//        assertArguments("\"one\\\u00a2two\"   three", "one\\\u00a2two", "three");
-//        assertArguments("\"one\\\u00a3two\"   three", "one\\\u00a3two", "three");
-//        assertArguments("\"one\\\u00a4two\"   three", "one\\\u00a4two", "three");
-//        assertArguments("\"one\\\u00a5two\"   three", "one\\\u00a5two", "three");
-//        assertArguments("\"one\\\u00a6two\"   three", "one\\\u00a6two", "three");
-//        assertArguments("\"one\\\u00a7two\"   three", "one\\\u00a7two", "three");
-//        assertArguments("\"one\\\u00a8two\"   three", "one\\\u00a8two", "three");
-//        assertArguments("\"one\\\u00a9two\"   three", "one\\\u00a9two", "three");
-//        assertArguments("\"one\\\u00aatwo\"   three", "one\\\u00aatwo", "three");
-//        assertArguments("\"one\\\u00abtwo\"   three", "one\\\u00abtwo", "three");
-//        assertArguments("\"one\\\u00actwo\"   three", "one\\\u00actwo", "three");
-//        assertArguments("\"one\\\u00adtwo\"   three", "one\\\u00adtwo", "three");
-//        assertArguments("\"one\\\u00aetwo\"   three", "one\\\u00aetwo", "three");
-//        assertArguments("\"one\\\u00aftwo\"   three", "one\\\u00aftwo", "three");
-//        assertArguments("\"one\\\u00b0two\"   three", "one\\\u00b0two", "three");
-//        assertArguments("\"one\\\u00b1two\"   three", "one\\\u00b1two", "three");
-//        assertArguments("\"one\\\u00b2two\"   three", "one\\\u00b2two", "three");
-//        assertArguments("\"one\\\u00b3two\"   three", "one\\\u00b3two", "three");
-//        assertArguments("\"one\\\u00b4two\"   three", "one\\\u00b4two", "three");
-//        assertArguments("\"one\\\u00b5two\"   three", "one\\\u00b5two", "three");
-//        assertArguments("\"one\\\u00b6two\"   three", "one\\\u00b6two", "three");
-//        assertArguments("\"one\\\u00b7two\"   three", "one\\\u00b7two", "three");
-//        assertArguments("\"one\\\u00b8two\"   three", "one\\\u00b8two", "three");
-//        assertArguments("\"one\\\u00b9two\"   three", "one\\\u00b9two", "three");
-//        assertArguments("\"one\\\u00batwo\"   three", "one\\\u00batwo", "three");
-//        assertArguments("\"one\\\u00bbtwo\"   three", "one\\\u00bbtwo", "three");
-//        assertArguments("\"one\\\u00bctwo\"   three", "one\\\u00bctwo", "three");
-//        assertArguments("\"one\\\u00bdtwo\"   three", "one\\\u00bdtwo", "three");
-//        assertArguments("\"one\\\u00betwo\"   three", "one\\\u00betwo", "three");
-//        assertArguments("\"one\\\u00bftwo\"   three", "one\\\u00bftwo", "three");
-//        assertArguments("\"one\\\u00c0two\"   three", "one\\\u00c0two", "three");
-//        assertArguments("\"one\\\u00c1two\"   three", "one\\\u00c1two", "three");
-//        assertArguments("\"one\\\u00c2two\"   three", "one\\\u00c2two", "three");
-//        assertArguments("\"one\\\u00c3two\"   three", "one\\\u00c3two", "three");
-//        assertArguments("\"one\\\u00c4two\"   three", "one\\\u00c4two", "three");
-//        assertArguments("\"one\\\u00c5two\"   three", "one\\\u00c5two", "three");
-//        assertArguments("\"one\\\u00c6two\"   three", "one\\\u00c6two", "three");
-//        assertArguments("\"one\\\u00c7two\"   three", "one\\\u00c7two", "three");
-//        assertArguments("\"one\\\u00c8two\"   three", "one\\\u00c8two", "three");
-//        assertArguments("\"one\\\u00c9two\"   three", "one\\\u00c9two", "three");
-//        assertArguments("\"one\\\u00catwo\"   three", "one\\\u00catwo", "three");
-//        assertArguments("\"one\\\u00cbtwo\"   three", "one\\\u00cbtwo", "three");
-//        assertArguments("\"one\\\u00cctwo\"   three", "one\\\u00cctwo", "three");
-//        assertArguments("\"one\\\u00cdtwo\"   three", "one\\\u00cdtwo", "three");
-//        assertArguments("\"one\\\u00cetwo\"   three", "one\\\u00cetwo", "three");
-//        assertArguments("\"one\\\u00cftwo\"   three", "one\\\u00cftwo", "three");
-//        assertArguments("\"one\\\u00d0two\"   three", "one\\\u00d0two", "three");
-//        assertArguments("\"one\\\u00d1two\"   three", "one\\\u00d1two", "three");
-//        assertArguments("\"one\\\u00d2two\"   three", "one\\\u00d2two", "three");
-//        assertArguments("\"one\\\u00d3two\"   three", "one\\\u00d3two", "three");
-//        assertArguments("\"one\\\u00d4two\"   three", "one\\\u00d4two", "three");
-//        assertArguments("\"one\\\u00d5two\"   three", "one\\\u00d5two", "three");
-//        assertArguments("\"one\\\u00d6two\"   three", "one\\\u00d6two", "three");
-//        assertArguments("\"one\\\u00d7two\"   three", "one\\\u00d7two", "three");
-//        assertArguments("\"one\\\u00d8two\"   three", "one\\\u00d8two", "three");
-//        assertArguments("\"one\\\u00d9two\"   three", "one\\\u00d9two", "three");
-//        assertArguments("\"one\\\u00datwo\"   three", "one\\\u00datwo", "three");
-//        assertArguments("\"one\\\u00dbtwo\"   three", "one\\\u00dbtwo", "three");
-//        assertArguments("\"one\\\u00dctwo\"   three", "one\\\u00dctwo", "three");
-//        assertArguments("\"one\\\u00ddtwo\"   three", "one\\\u00ddtwo", "three");
-//        assertArguments("\"one\\\u00detwo\"   three", "one\\\u00detwo", "three");
-//        assertArguments("\"one\\\u00dftwo\"   three", "one\\\u00dftwo", "three");
-//        assertArguments("\"one\\\u00e0two\"   three", "one\\\u00e0two", "three");
-//        assertArguments("\"one\\\u00e1two\"   three", "one\\\u00e1two", "three");
-//        assertArguments("\"one\\\u00e2two\"   three", "one\\\u00e2two", "three");
-//        assertArguments("\"one\\\u00e3two\"   three", "one\\\u00e3two", "three");
-//        assertArguments("\"one\\\u00e4two\"   three", "one\\\u00e4two", "three");
-//        assertArguments("\"one\\\u00e5two\"   three", "one\\\u00e5two", "three");
-//        assertArguments("\"one\\\u00e6two\"   three", "one\\\u00e6two", "three");
-//        assertArguments("\"one\\\u00e7two\"   three", "one\\\u00e7two", "three");
-//        assertArguments("\"one\\\u00e8two\"   three", "one\\\u00e8two", "three");
-//        assertArguments("\"one\\\u00e9two\"   three", "one\\\u00e9two", "three");
-//        assertArguments("\"one\\\u00eatwo\"   three", "one\\\u00eatwo", "three");
-//        assertArguments("\"one\\\u00ebtwo\"   three", "one\\\u00ebtwo", "three");
-//        assertArguments("\"one\\\u00ectwo\"   three", "one\\\u00ectwo", "three");
-//        assertArguments("\"one\\\u00edtwo\"   three", "one\\\u00edtwo", "three");
-//        assertArguments("\"one\\\u00eetwo\"   three", "one\\\u00eetwo", "three");
-//        assertArguments("\"one\\\u00eftwo\"   three", "one\\\u00eftwo", "three");
-//        assertArguments("\"one\\\u00f0two\"   three", "one\\\u00f0two", "three");
-//        assertArguments("\"one\\\u00f1two\"   three", "one\\\u00f1two", "three");
-//        assertArguments("\"one\\\u00f2two\"   three", "one\\\u00f2two", "three");
-//        assertArguments("\"one\\\u00f3two\"   three", "one\\\u00f3two", "three");
-//        assertArguments("\"one\\\u00f4two\"   three", "one\\\u00f4two", "three");
-//        assertArguments("\"one\\\u00f5two\"   three", "one\\\u00f5two", "three");
-//        assertArguments("\"one\\\u00f6two\"   three", "one\\\u00f6two", "three");
-//        assertArguments("\"one\\\u00f7two\"   three", "one\\\u00f7two", "three");
-//        assertArguments("\"one\\\u00f8two\"   three", "one\\\u00f8two", "three");
-//        assertArguments("\"one\\\u00f9two\"   three", "one\\\u00f9two", "three");
-//        assertArguments("\"one\\\u00fatwo\"   three", "one\\\u00fatwo", "three");
-//        assertArguments("\"one\\\u00fbtwo\"   three", "one\\\u00fbtwo", "three");
-//        assertArguments("\"one\\\u00fctwo\"   three", "one\\\u00fctwo", "three");
-//        assertArguments("\"one\\\u00fdtwo\"   three", "one\\\u00fdtwo", "three");
-//        assertArguments("\"one\\\u00fetwo\"   three", "one\\\u00fetwo", "three");
-//        assertArguments("\"one\\\u00fftwo\"   three", "one\\\u00fftwo", "three");
+        assertArguments("\"one\\\u0080two\"   three", "one\\\u0080two", "three");
+        assertArguments("\"one\\\u0081two\"   three", "one\\\u0081two", "three");
+        assertArguments("\"one\\\u0082two\"   three", "one\\\u0082two", "three");
+        assertArguments("\"one\\\u0083two\"   three", "one\\\u0083two", "three");
+        assertArguments("\"one\\\u0084two\"   three", "one\\\u0084two", "three");
+        assertArguments("\"one\\\u0085two\"   three", "one\\\u0085two", "three");
+        assertArguments("\"one\\\u0086two\"   three", "one\\\u0086two", "three");
+        assertArguments("\"one\\\u0087two\"   three", "one\\\u0087two", "three");
+        assertArguments("\"one\\\u0088two\"   three", "one\\\u0088two", "three");
+        assertArguments("\"one\\\u0089two\"   three", "one\\\u0089two", "three");
+        assertArguments("\"one\\\u008atwo\"   three", "one\\\u008atwo", "three");
+        assertArguments("\"one\\\u008btwo\"   three", "one\\\u008btwo", "three");
+        assertArguments("\"one\\\u008ctwo\"   three", "one\\\u008ctwo", "three");
+        assertArguments("\"one\\\u008dtwo\"   three", "one\\\u008dtwo", "three");
+        assertArguments("\"one\\\u008etwo\"   three", "one\\\u008etwo", "three");
+        assertArguments("\"one\\\u008ftwo\"   three", "one\\\u008ftwo", "three");
+        assertArguments("\"one\\\u0090two\"   three", "one\\\u0090two", "three");
+        assertArguments("\"one\\\u0091two\"   three", "one\\\u0091two", "three");
+        assertArguments("\"one\\\u0092two\"   three", "one\\\u0092two", "three");
+        assertArguments("\"one\\\u0093two\"   three", "one\\\u0093two", "three");
+        assertArguments("\"one\\\u0094two\"   three", "one\\\u0094two", "three");
+        assertArguments("\"one\\\u0095two\"   three", "one\\\u0095two", "three");
+        assertArguments("\"one\\\u0096two\"   three", "one\\\u0096two", "three");
+        assertArguments("\"one\\\u0097two\"   three", "one\\\u0097two", "three");
+        assertArguments("\"one\\\u0098two\"   three", "one\\\u0098two", "three");
+        assertArguments("\"one\\\u0099two\"   three", "one\\\u0099two", "three");
+        assertArguments("\"one\\\u009atwo\"   three", "one\\\u009atwo", "three");
+        assertArguments("\"one\\\u009btwo\"   three", "one\\\u009btwo", "three");
+        assertArguments("\"one\\\u009ctwo\"   three", "one\\\u009ctwo", "three");
+        assertArguments("\"one\\\u009dtwo\"   three", "one\\\u009dtwo", "three");
+        assertArguments("\"one\\\u009etwo\"   three", "one\\\u009etwo", "three");
+        assertArguments("\"one\\\u009ftwo\"   three", "one\\\u009ftwo", "three");
+        assertArguments("\"one\\\u00a0two\"   three", "one\\\u00a0two", "three");
+        assertArguments("\"one\\\u00a1two\"   three", "one\\\u00a1two", "three");
+        assertArguments("\"one\\\u00a2two\"   three", "one\\\u00a2two", "three");
+        assertArguments("\"one\\\u00a3two\"   three", "one\\\u00a3two", "three");
+        assertArguments("\"one\\\u00a4two\"   three", "one\\\u00a4two", "three");
+        assertArguments("\"one\\\u00a5two\"   three", "one\\\u00a5two", "three");
+        assertArguments("\"one\\\u00a6two\"   three", "one\\\u00a6two", "three");
+        assertArguments("\"one\\\u00a7two\"   three", "one\\\u00a7two", "three");
+        assertArguments("\"one\\\u00a8two\"   three", "one\\\u00a8two", "three");
+        assertArguments("\"one\\\u00a9two\"   three", "one\\\u00a9two", "three");
+        assertArguments("\"one\\\u00aatwo\"   three", "one\\\u00aatwo", "three");
+        assertArguments("\"one\\\u00abtwo\"   three", "one\\\u00abtwo", "three");
+        assertArguments("\"one\\\u00actwo\"   three", "one\\\u00actwo", "three");
+        assertArguments("\"one\\\u00adtwo\"   three", "one\\\u00adtwo", "three");
+        assertArguments("\"one\\\u00aetwo\"   three", "one\\\u00aetwo", "three");
+        assertArguments("\"one\\\u00aftwo\"   three", "one\\\u00aftwo", "three");
+        assertArguments("\"one\\\u00b0two\"   three", "one\\\u00b0two", "three");
+        assertArguments("\"one\\\u00b1two\"   three", "one\\\u00b1two", "three");
+        assertArguments("\"one\\\u00b2two\"   three", "one\\\u00b2two", "three");
+        assertArguments("\"one\\\u00b3two\"   three", "one\\\u00b3two", "three");
+        assertArguments("\"one\\\u00b4two\"   three", "one\\\u00b4two", "three");
+        assertArguments("\"one\\\u00b5two\"   three", "one\\\u00b5two", "three");
+        assertArguments("\"one\\\u00b6two\"   three", "one\\\u00b6two", "three");
+        assertArguments("\"one\\\u00b7two\"   three", "one\\\u00b7two", "three");
+        assertArguments("\"one\\\u00b8two\"   three", "one\\\u00b8two", "three");
+        assertArguments("\"one\\\u00b9two\"   three", "one\\\u00b9two", "three");
+        assertArguments("\"one\\\u00batwo\"   three", "one\\\u00batwo", "three");
+        assertArguments("\"one\\\u00bbtwo\"   three", "one\\\u00bbtwo", "three");
+        assertArguments("\"one\\\u00bctwo\"   three", "one\\\u00bctwo", "three");
+        assertArguments("\"one\\\u00bdtwo\"   three", "one\\\u00bdtwo", "three");
+        assertArguments("\"one\\\u00betwo\"   three", "one\\\u00betwo", "three");
+        assertArguments("\"one\\\u00bftwo\"   three", "one\\\u00bftwo", "three");
+        assertArguments("\"one\\\u00c0two\"   three", "one\\\u00c0two", "three");
+        assertArguments("\"one\\\u00c1two\"   three", "one\\\u00c1two", "three");
+        assertArguments("\"one\\\u00c2two\"   three", "one\\\u00c2two", "three");
+        assertArguments("\"one\\\u00c3two\"   three", "one\\\u00c3two", "three");
+        assertArguments("\"one\\\u00c4two\"   three", "one\\\u00c4two", "three");
+        assertArguments("\"one\\\u00c5two\"   three", "one\\\u00c5two", "three");
+        assertArguments("\"one\\\u00c6two\"   three", "one\\\u00c6two", "three");
+        assertArguments("\"one\\\u00c7two\"   three", "one\\\u00c7two", "three");
+        assertArguments("\"one\\\u00c8two\"   three", "one\\\u00c8two", "three");
+        assertArguments("\"one\\\u00c9two\"   three", "one\\\u00c9two", "three");
+        assertArguments("\"one\\\u00catwo\"   three", "one\\\u00catwo", "three");
+        assertArguments("\"one\\\u00cbtwo\"   three", "one\\\u00cbtwo", "three");
+        assertArguments("\"one\\\u00cctwo\"   three", "one\\\u00cctwo", "three");
+        assertArguments("\"one\\\u00cdtwo\"   three", "one\\\u00cdtwo", "three");
+        assertArguments("\"one\\\u00cetwo\"   three", "one\\\u00cetwo", "three");
+        assertArguments("\"one\\\u00cftwo\"   three", "one\\\u00cftwo", "three");
+        assertArguments("\"one\\\u00d0two\"   three", "one\\\u00d0two", "three");
+        assertArguments("\"one\\\u00d1two\"   three", "one\\\u00d1two", "three");
+        assertArguments("\"one\\\u00d2two\"   three", "one\\\u00d2two", "three");
+        assertArguments("\"one\\\u00d3two\"   three", "one\\\u00d3two", "three");
+        assertArguments("\"one\\\u00d4two\"   three", "one\\\u00d4two", "three");
+        assertArguments("\"one\\\u00d5two\"   three", "one\\\u00d5two", "three");
+        assertArguments("\"one\\\u00d6two\"   three", "one\\\u00d6two", "three");
+        assertArguments("\"one\\\u00d7two\"   three", "one\\\u00d7two", "three");
+        assertArguments("\"one\\\u00d8two\"   three", "one\\\u00d8two", "three");
+        assertArguments("\"one\\\u00d9two\"   three", "one\\\u00d9two", "three");
+        assertArguments("\"one\\\u00datwo\"   three", "one\\\u00datwo", "three");
+        assertArguments("\"one\\\u00dbtwo\"   three", "one\\\u00dbtwo", "three");
+        assertArguments("\"one\\\u00dctwo\"   three", "one\\\u00dctwo", "three");
+        assertArguments("\"one\\\u00ddtwo\"   three", "one\\\u00ddtwo", "three");
+        assertArguments("\"one\\\u00detwo\"   three", "one\\\u00detwo", "three");
+        assertArguments("\"one\\\u00dftwo\"   three", "one\\\u00dftwo", "three");
+        assertArguments("\"one\\\u00e0two\"   three", "one\\\u00e0two", "three");
+        assertArguments("\"one\\\u00e1two\"   three", "one\\\u00e1two", "three");
+        assertArguments("\"one\\\u00e2two\"   three", "one\\\u00e2two", "three");
+        assertArguments("\"one\\\u00e3two\"   three", "one\\\u00e3two", "three");
+        assertArguments("\"one\\\u00e4two\"   three", "one\\\u00e4two", "three");
+        assertArguments("\"one\\\u00e5two\"   three", "one\\\u00e5two", "three");
+        assertArguments("\"one\\\u00e6two\"   three", "one\\\u00e6two", "three");
+        assertArguments("\"one\\\u00e7two\"   three", "one\\\u00e7two", "three");
+        assertArguments("\"one\\\u00e8two\"   three", "one\\\u00e8two", "three");
+        assertArguments("\"one\\\u00e9two\"   three", "one\\\u00e9two", "three");
+        assertArguments("\"one\\\u00eatwo\"   three", "one\\\u00eatwo", "three");
+        assertArguments("\"one\\\u00ebtwo\"   three", "one\\\u00ebtwo", "three");
+        assertArguments("\"one\\\u00ectwo\"   three", "one\\\u00ectwo", "three");
+        assertArguments("\"one\\\u00edtwo\"   three", "one\\\u00edtwo", "three");
+        assertArguments("\"one\\\u00eetwo\"   three", "one\\\u00eetwo", "three");
+        assertArguments("\"one\\\u00eftwo\"   three", "one\\\u00eftwo", "three");
+        assertArguments("\"one\\\u00f0two\"   three", "one\\\u00f0two", "three");
+        assertArguments("\"one\\\u00f1two\"   three", "one\\\u00f1two", "three");
+        assertArguments("\"one\\\u00f2two\"   three", "one\\\u00f2two", "three");
+        assertArguments("\"one\\\u00f3two\"   three", "one\\\u00f3two", "three");
+        assertArguments("\"one\\\u00f4two\"   three", "one\\\u00f4two", "three");
+        assertArguments("\"one\\\u00f5two\"   three", "one\\\u00f5two", "three");
+        assertArguments("\"one\\\u00f6two\"   three", "one\\\u00f6two", "three");
+        assertArguments("\"one\\\u00f7two\"   three", "one\\\u00f7two", "three");
+        assertArguments("\"one\\\u00f8two\"   three", "one\\\u00f8two", "three");
+        assertArguments("\"one\\\u00f9two\"   three", "one\\\u00f9two", "three");
+        assertArguments("\"one\\\u00fatwo\"   three", "one\\\u00fatwo", "three");
+        assertArguments("\"one\\\u00fbtwo\"   three", "one\\\u00fbtwo", "three");
+        assertArguments("\"one\\\u00fctwo\"   three", "one\\\u00fctwo", "three");
+        assertArguments("\"one\\\u00fdtwo\"   three", "one\\\u00fdtwo", "three");
+        assertArguments("\"one\\\u00fetwo\"   three", "one\\\u00fetwo", "three");
+        assertArguments("\"one\\\u00fftwo\"   three", "one\\\u00fftwo", "three");
     }
 
     private void assertInvalidArguments(String notParsable) {
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Not a unit test, run the main method by hand.
+ *
+ * Compares the recursive, InputStream based parser with ArgumentsParser,
+ * reporting the average latency and bytes allocated per parse.
+ * Allocation is read from the HotSpot ThreadMXBean.
+ *
+ * Typical command lines are followed by generated lines from 10 chars
+ * to 1 MB made of words separated by long white space runs.  The
+ * recursive parser needs a stack frame per separator and is reported
+ * as overflowing once the runs get too long for the thread stack.
+ *
+ * JMH isn't part of the build, so this is a plain main rather than a
+ * JMH benchmark.  The typical lines are measured three rounds in a row,
+ * the later rounds running compiled code, and every result goes to a
+ * volatile field so the parses can't be eliminated.
+ */
+public class ArgumentsParserBenchmark {
+
+    private static volatile Object blackhole;
+
+    private static final String[] LINES = {
+            "threads",
+            "freeMemory --unit=KILOBYTES",
+            "set -k user.name -v \"sheldon cooper\" | grep 'name' | wc",
+            "list --pattern=\"java\\.(vm|vendor)\\..*\" \\\\escaped\\ space 'single quoted' \"d\\$q\"",
+    };
+
+    public static void main(String[] args) throws Exception {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+
+        for (int round = 0; round < 3; round++) {
+            for (String line : LINES) {
+                compare(line, iterations);
+            }
+            System.out.println();
+        }
+
+        for (int size : new int[]{10, 100, 1024, 10 * 1024, 100 * 1024, 1024 * 1024}) {
+            final String line = generate(size);
+            compare(line, Math.max(5, iterations * 40 / size));
+        }
+    }
+
+    private static void compare(final String line, final int iterations) {
+        run("stream", line, iterations, new Parser() {
+            @Override
+            public Object parse(final String line) {
+                return StreamArgumentsParser.parse(line);
+            }
+        });
+        run("charseq", line, iterations, new Parser() {
+            @Override
+            public Object parse(final String line) {
+                return ArgumentsParser.parse(line);
+            }
+        });
+    }
+
+    /**
+     * Words separated by white space runs that grow with the line
+     */
+    private static String generate(final int size) {
+        final StringBuilder sb = new StringBuilder(size);
+        final int run = Math.max(1, size / 8);
+        while (sb.length() < size) {
+            sb.append("word");
+            for (int i = 0; i < run && sb.length() < size; i++) {
+                sb.append(i % 2 == 0 ? ' ' : '\t');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void run(final String name, final String line, final int iterations, final Parser parser) {
+        final String shortened = line.length() > 40 ? line.substring(0, 40) + "... (" + line.length() + " chars)" : line;
+        final String description = shortened.replaceAll("\\s+", " ");
+
+        final long allocated = allocatedBytes();
+        final long start = System.nanoTime();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                blackhole = parser.parse(line);
+            }
+        } catch (StackOverflowError e) {
+            System.out.printf("%-8s %24s  %s%n", name, "StackOverflowError", description);
+            return;
+        }
+        final long nanos = System.nanoTime() - start;
+        final long bytes = allocatedBytes() - allocated;
+
+        System.out.printf("%-8s %9s ns/op %8s B/op  %s%n", name, nanos / iterations, bytes / iterations, description);
+    }
+
+    private static long allocatedBytes() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public interface Parser {
+        Object parse(String line);
+    }
+}
@@ -59,6 +59,40 @@ public class ArgumentsParserTest {
             assertEquals(asList("test", "--option=value", "-quoted=ckdwc\\cekwcbw"), asList(args[0].get()));
             assertEquals(asList("grep", "==foo"), asList(args[1].get()));
         }
+        {
+            final Arguments[] args = parse("a| b |c");
+            assertEquals(3, args.length);
+            assertEquals(singletonList("a"), asList(args[0].get()));
+            assertEquals(singletonList("b"), asList(args[1].get()));
+            assertEquals(singletonList("c"), asList(args[2].get()));
+        }
+    }
+
+    /**
+     * Generated scripts paste lines with huge runs of white space.
+     * Those must not grow the stack.
+     */
+    @Test
+    public void longWhitespaceRuns() {
+        final StringBuilder line = new StringBuilder("one");
+        for (int i = 0; i < 500000; i++) {
+            line.append(i % 2 == 0 ? ' ' : '\t');
+        }
+        line.append("'two'");
+        for (int i = 0; i < 500000; i++) {
+            line.append(' ');
+        }
+        line.append("|three");
+
+        final Arguments[] args = parse(line);
+        assertEquals(2, args.length);
+        assertEquals(asList("one", "two"), asList(args[0].get()));
+        assertEquals(singletonList("three"), asList(args[1].get()));
+    }
+
+    @Test
+    public void nonAscii() {
+        assertArguments("echo h\u00e9llo '\u65e5\u672c' \"\u00fcber\"", "echo", "h\u00e9llo", "\u65e5\u672c", "\u00fcber");
     }
 
 
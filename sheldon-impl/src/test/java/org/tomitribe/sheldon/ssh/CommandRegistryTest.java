@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.Test;
+import org.tomitribe.crest.cmds.Cmd;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CommandRegistryTest {
+
+    @Test
+    public void registerAndUnregister() {
+        final CommandRegistry registry = new CommandRegistry();
+        final Object bean = new Object();
+        final List<Cmd> commands = Arrays.asList(cmd("one"), cmd("two"));
+
+        registry.register(bean, commands);
+        final CommandRegistry.Snapshot registered = registry.snapshot();
+        assertEquals(2, registered.getCompletionIndex().size());
+
+        assertEquals(commands, registry.unregister(bean));
+        assertEquals(0, registry.snapshot().getCompletionIndex().size());
+        assertEquals(0, registry.snapshot().getOwners().size());
+
+        // a snapshot never changes once published
+        assertEquals(2, registered.getCompletionIndex().size());
+        assertNotSame(registered.getMain(), registry.snapshot().getMain());
+    }
+
+    @Test
+    public void unregisterUnknownOwner() {
+        final CommandRegistry registry = new CommandRegistry();
+        final CommandRegistry.Snapshot snapshot = registry.snapshot();
+
+        assertEquals(Collections.emptyList(), registry.unregister(new Object()));
+        assertSame(snapshot, registry.snapshot());
+    }
+
+    @Test
+    public void shadowedCommandIsRestored() {
+        final CommandRegistry registry = new CommandRegistry();
+        final Object first = new Object();
+        final Object second = new Object();
+        final Cmd original = cmd("status");
+        final Cmd replacement = cmd("status");
+
+        registry.register(first, Collections.singletonList(original));
+        registry.register(second, Collections.singletonList(replacement));
+        assertSame(replacement, registry.snapshot().getCompletionIndex().get("status"));
+
+        registry.unregister(second);
+        assertSame(original, registry.snapshot().getCompletionIndex().get("status"));
+
+        registry.unregister(first);
+        assertNull(registry.snapshot().getCompletionIndex().get("status"));
+    }
+
+    @Test
+    public void concurrentRegistrationsAreNotLost() throws Exception {
+        final CommandRegistry registry = new CommandRegistry();
+        final int threads = 8;
+        final int owners = 50;
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < owners; i++) {
+                        registry.register("owner-" + id + "-" + i, Collections.singletonList(cmd("cmd-" + id + "-" + i)));
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * owners, registry.snapshot().getOwners().size());
+        assertEquals(threads * owners, registry.snapshot().getCompletionIndex().size());
+    }
+
+    private static Cmd cmd(final String name) {
+        return (Cmd) Proxy.newProxyInstance(Cmd.class.getClassLoader(), new Class<?>[]{Cmd.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if ("getName".equals(method.getName())) return name;
+                if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
+                if ("equals".equals(method.getName())) return proxy == args[0];
+                if ("toString".equals(method.getName())) return name;
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.tomitribe.crest.Main;
+import org.tomitribe.crest.cmds.Cmd;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Not a unit test, run the main method by hand.
+ *
+ * Registers N commands, 10000 by default, and reports the time per
+ * TAB press for Main.complete, as done before, and for CompletionIndex.
+ * Also reports the cost of adding a bean's worth of commands to an
+ * index that already holds N.
+ *
+ *   java -cp ... org.tomitribe.sheldon.ssh.CompletionIndexBenchmark 10000
+ */
+public class CompletionIndexBenchmark {
+
+    private static final String[] PREFIXES = {"", "c", "cm", "cmd1", "cmd12", "cmd999", "zzz"};
+
+    public static void main(String[] args) throws Exception {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+
+        final List<Cmd> commands = new ArrayList<Cmd>(count);
+        final Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            commands.add(cmd("cmd" + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36)));
+        }
+
+        final Main main = new Main();
+        for (Cmd cmd : commands) {
+            main.add(cmd);
+        }
+
+        final CompletionIndex index = CompletionIndex.EMPTY.with(commands);
+
+        System.out.printf("%-8s %14s %14s%n", "prefix", "Main ns/op", "index ns/op");
+        for (String prefix : PREFIXES) {
+            final long legacy = time(new Completion() {
+                @Override
+                public Collection<String> complete(final String buffer) {
+                    return main.complete(buffer, buffer.length());
+                }
+            }, prefix);
+
+            final long indexed = time(new Completion() {
+                @Override
+                public Collection<String> complete(final String buffer) {
+                    return index.complete(buffer, buffer.length());
+                }
+            }, prefix);
+
+            System.out.printf("%-8s %14s %14s%n", "'" + prefix + "'", legacy, indexed);
+        }
+
+        final List<Cmd> bean = new ArrayList<Cmd>();
+        for (int i = 0; i < 20; i++) {
+            bean.add(cmd("bean" + i));
+        }
+
+        final int iterations = 1000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            index.with(bean).without(bean);
+        }
+        System.out.printf("activate and deactivate 20 commands: %s ns%n", (System.nanoTime() - start) / iterations);
+    }
+
+    private static long time(final Completion completion, final String prefix) {
+        int sink = 0;
+
+        // warm up
+        for (int i = 0; i < 2000; i++) {
+            sink += size(completion.complete(prefix));
+        }
+
+        final int iterations = 2000;
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += size(completion.complete(prefix));
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        if (sink == 42) System.out.print("");
+        return elapsed / iterations;
+    }
+
+    private static int size(final Collection<String> candidates) {
+        return candidates == null ? 0 : candidates.size();
+    }
+
+    private interface Completion {
+        Collection<String> complete(String buffer);
+    }
+
+    /**
+     * Commands only need a name to be completed
+     */
+    private static Cmd cmd(final String name) {
+        return (Cmd) Proxy.newProxyInstance(Cmd.class.getClassLoader(), new Class<?>[]{Cmd.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if ("getName".equals(method.getName())) return name;
+                if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
+                if ("equals".equals(method.getName())) return proxy == args[0];
+                if ("toString".equals(method.getName())) return name;
+                if (Collection.class.isAssignableFrom(method.getReturnType())) return Collections.emptyList();
+                return null;
+            }
+        });
+    }
+}
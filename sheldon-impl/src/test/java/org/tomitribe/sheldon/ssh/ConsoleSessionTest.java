@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.environments.Environment;
+import org.tomitribe.sheldon.adapter.CommandDescriptors;
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+import org.tomitribe.sheldon.adapter.WorkFuture;
+import org.tomitribe.sheldon.authenticator.Identity;
+import org.tomitribe.sheldon.stats.Stats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConsoleSessionTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService later = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService single = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        threads.shutdownNow();
+        later.shutdownNow();
+        single.shutdownNow();
+    }
+
+    /**
+     * The WorkManager takes grep but not head, which fails at once.
+     * grep fills the pipe to head and must get a broken pipe rather
+     * than wait for a reader that will never come.
+     */
+    @Test
+    public void rejectedStage() throws Exception {
+        final int status = execute("grep sheldon | head -n 1", new RejectingWorkManager(1, 0));
+
+        assertEquals(1, status);
+    }
+
+    /**
+     * Same, with the rejection reported some time after the submit
+     */
+    @Test
+    public void rejectedLater() throws Exception {
+        final int status = execute("grep sheldon | head -n 1", new RejectingWorkManager(1, 200));
+
+        assertEquals(1, status);
+    }
+
+    /**
+     * grep is rejected, head reading from it must see the end of its input
+     */
+    @Test
+    public void rejectedFirstStage() throws Exception {
+        final int status = execute("grep sheldon | head -n 1", new RejectingWorkManager(0, 200) {
+            @Override
+            protected boolean accept(final int work) {
+                return work > 0;
+            }
+        });
+
+        assertEquals(0, status);
+    }
+
+    /**
+     * With a single thread, wc waits for grep to be done, and grep must
+     * not wait for wc to read what does not fit in the pipe
+     */
+    @Test
+    public void singleThread() throws Exception {
+        final int status = execute("grep sheldon | wc", new SingleThreadWorkManager());
+
+        assertEquals(0, status);
+    }
+
+    /**
+     * yes never ends on its own, it must be stopped once head is done
+     */
+    @Test
+    public void brokenPipeStopsTheWriter() throws Exception {
+        final int status = execute("yes | head -n 1", new RejectingWorkManager(Integer.MAX_VALUE, 0));
+
+        assertEquals(0, status);
+    }
+
+    private int execute(final String commandline, final SecurityHandler securityHandler) throws Exception {
+        final CommandRegistry registry = new CommandRegistry();
+        final Filters filters = new Filters(1024 * 1024);
+        registry.register(filters, CommandDescriptors.get(filters).values());
+        final Yes yes = new Yes();
+        registry.register(yes, CommandDescriptors.get(yes).values());
+
+        final ConsoleSession session = new ConsoleSession(registry, "prompt>", new Stats(), new SessionRegistry(), null);
+        final SessionContext context = new SessionContext(securityHandler, new Identity("alice", Collections.<String>emptyList()));
+
+        // more than a pipe holds
+        final StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            lines.append("sheldon ").append(i).append('\n');
+        }
+        final ByteArrayInputStream in = new ByteArrayInputStream(lines.toString().getBytes());
+        final PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        final PrintStream err = new PrintStream(new ByteArrayOutputStream());
+
+        // on a thread of its own, a hang fails the test rather than the build
+        final Future<Integer> status = threads.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return session.execute(commandline, in, out, err, context);
+            }
+        });
+        return status.get(30, TimeUnit.SECONDS);
+    }
+
+    public static class Yes {
+
+        /**
+         * Prints until someone stops it, ignoring errors as many commands do
+         */
+        @Command
+        public void yes() {
+            final PrintStream out = Environment.ENVIRONMENT_THREAD_LOCAL.get().getOutput();
+            while (true) {
+                out.println("y");
+            }
+        }
+    }
+
+    /**
+     * Runs one work at a time, as a WorkManager with a single thread does
+     */
+    private class SingleThreadWorkManager implements SecurityHandler {
+        @Override
+        public <T> Future<T> submit(final Callable<T> callable, final Identity identity) {
+            return single.submit(callable);
+        }
+
+        @Override
+        public CompletableFuture<Identity> authenticate(final String username, final String password) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Takes the first works and rejects the others, as a full WorkManager does
+     */
+    private class RejectingWorkManager implements SecurityHandler {
+        private final AtomicInteger works = new AtomicInteger();
+        private final int accepted;
+        private final long delay;
+
+        RejectingWorkManager(final int accepted, final long delay) {
+            this.accepted = accepted;
+            this.delay = delay;
+        }
+
+        protected boolean accept(final int work) {
+            return work < accepted;
+        }
+
+        @Override
+        public <T> Future<T> submit(final Callable<T> callable, final Identity identity) {
+            if (accept(works.getAndIncrement())) {
+                return threads.submit(callable);
+            }
+
+            final WorkFuture<T> future = new WorkFuture<T>(callable);
+            final Runnable reject = new Runnable() {
+                @Override
+                public void run() {
+                    future.fail(new IllegalStateException("Work rejected"));
+                }
+            };
+
+            if (delay > 0) {
+                later.schedule(reject, delay, TimeUnit.MILLISECONDS);
+            } else {
+                reject.run();
+            }
+            return future;
+        }
+
+        @Override
+        public CompletableFuture<Identity> authenticate(final String username, final String password) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tomitribe.crest.environments.Environment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FiltersTest {
+
+    private final Filters filters = new Filters();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @After
+    public void tearDown() {
+        Environment.ENVIRONMENT_THREAD_LOCAL.remove();
+    }
+
+    @Test
+    public void grep() throws IOException {
+        input("one", "two", "three", "Two");
+
+        filters.grep(false, false, "^t");
+        assertOutput("two", "three");
+    }
+
+    @Test
+    public void grepInvertIgnoreCase() throws IOException {
+        input("one", "two", "three", "Two");
+
+        filters.grep(true, true, "tw");
+        assertOutput("one", "three");
+    }
+
+    @Test
+    public void head() throws IOException {
+        final CountingInput in = new CountingInput(lines(100000));
+        input(in);
+
+        filters.head(3);
+        assertOutput("line0", "line1", "line2");
+        assertTrue("read the whole input", in.read < 100000);
+    }
+
+    @Test
+    public void tail() throws IOException {
+        input("a", "b", "c", "d", "e");
+
+        filters.tail(2);
+        assertOutput("d", "e");
+    }
+
+    @Test
+    public void tailShortInput() throws IOException {
+        input("a", "b");
+
+        filters.tail(10);
+        assertOutput("a", "b");
+    }
+
+    @Test
+    public void tailHugeCount() throws IOException {
+        input("a", "b", "c");
+
+        // nothing is allocated for lines that never come
+        filters.tail(Integer.MAX_VALUE);
+        assertOutput("a", "b", "c");
+    }
+
+    @Test
+    public void wc() throws IOException {
+        input("one two", "  three  ", "");
+
+        filters.wc();
+        assertEquals(String.format("%7d %7d %7d%n", 3, 3, 19), output.toString());
+    }
+
+    @Test
+    public void sort() throws IOException {
+        input("b", "C", "a", "c");
+
+        filters.sort(false, false);
+        assertOutput("C", "a", "b", "c");
+    }
+
+    @Test
+    public void sortReverseIgnoreCase() throws IOException {
+        input("b", "C", "a");
+
+        filters.sort(true, true);
+        assertOutput("C", "b", "a");
+    }
+
+    @Test
+    public void sortSpillsToDisk() throws IOException {
+        final Random random = new Random(7);
+        final List<String> lines = new ArrayList<String>();
+        for (int i = 0; i < 5000; i++) {
+            lines.add(Long.toString(random.nextLong(), 36));
+        }
+        input(lines.toArray(new String[lines.size()]));
+
+        // small enough for dozens of runs
+        new Filters(4096).sort(false, false);
+
+        Collections.sort(lines);
+        assertOutput(lines.toArray(new String[lines.size()]));
+    }
+
+    @Test
+    public void uniq() throws IOException {
+        input("a", "a", "b", "a", "c", "c", "c");
+
+        filters.uniq(false);
+        assertOutput("a", "b", "a", "c");
+    }
+
+    @Test
+    public void uniqCount() throws IOException {
+        input("a", "a", "b");
+
+        filters.uniq(true);
+        assertOutput(String.format("%7d a", 2), String.format("%7d b", 1));
+    }
+
+    @Test
+    public void cut() throws IOException {
+        input("a:b:c:d", "no delimiter", "x::z");
+
+        filters.cut(":", "1,3-");
+        assertOutput("a:c:d", "no delimiter", "x:z");
+    }
+
+    @Test
+    public void parseFields() {
+        assertArrayEquals(new int[][]{{1, 1}, {3, 5}, {1, 2}, {7, Integer.MAX_VALUE}}, Filters.parseFields("1,3-5,-2,7-"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidFields() {
+        Filters.parseFields("0");
+    }
+
+    private void input(final String... lines) {
+        final StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+        input(new ByteArrayInputStream(sb.toString().getBytes()));
+    }
+
+    private void input(final InputStream in) {
+        Environment.ENVIRONMENT_THREAD_LOCAL.set(new ConsoleEnvironment(new PrintStream(output), in));
+    }
+
+    private void assertOutput(final String... lines) {
+        final StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append(System.lineSeparator());
+        }
+        assertEquals(sb.toString(), output.toString());
+    }
+
+    private static byte[] lines(final int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("line").append(i).append('\n');
+        }
+        return sb.toString().getBytes();
+    }
+
+    private static class CountingInput extends ByteArrayInputStream {
+        private int read;
+
+        public CountingInput(final byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            final int n = super.read(b, off, len);
+            if (n > 0) read += n;
+            return n;
+        }
+    }
+}
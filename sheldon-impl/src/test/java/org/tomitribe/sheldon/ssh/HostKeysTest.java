@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class HostKeysTest {
+
+    @Test
+    public void algorithm() {
+        assertEquals("RSA", HostKeys.algorithm(null));
+        assertEquals("RSA", HostKeys.algorithm(" "));
+        assertEquals("RSA", HostKeys.algorithm("rsa"));
+        assertEquals("EC", HostKeys.algorithm("EC"));
+        assertEquals("EC", HostKeys.algorithm("ecdsa"));
+        assertEquals("EdDSA", HostKeys.algorithm("EdDSA"));
+        assertEquals("EdDSA", HostKeys.algorithm(" ed25519 "));
+
+        try {
+            HostKeys.algorithm("DSA");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void generation() {
+        assertEquals(HostKeys.Generation.EAGER, HostKeys.generation(null));
+        assertEquals(HostKeys.Generation.EAGER, HostKeys.generation(""));
+        assertEquals(HostKeys.Generation.EAGER, HostKeys.generation("eager"));
+        assertEquals(HostKeys.Generation.BACKGROUND, HostKeys.generation(" Background "));
+
+        try {
+            HostKeys.generation("lazy");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void defaultFile() {
+        final File dir = new File(System.getProperty("user.dir")).getAbsoluteFile();
+
+        assertEquals(new File(dir, "ssh-key.pem"), HostKeys.file(null, "RSA", true));
+        assertEquals(new File(dir, "ssh-key.pem"), HostKeys.file("", "EC", true));
+
+        // no PEM without BouncyCastle, nor for EdDSA
+        assertEquals(new File(dir, "ssh-key.ser"), HostKeys.file(null, "RSA", false));
+        assertEquals(new File(dir, "ssh-key.ser"), HostKeys.file(null, "EdDSA", true));
+    }
+
+    @Test
+    public void configuredFile() {
+        assertEquals(new File("keys/host.pem").getAbsoluteFile(), HostKeys.file(" keys/host.pem ", "EdDSA", false));
+    }
+}
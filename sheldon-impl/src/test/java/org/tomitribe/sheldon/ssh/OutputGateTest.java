@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OutputGateTest {
+
+    @Test
+    public void passesWritesUntilShut() throws Exception {
+        final ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+        final OutputGate gate = new OutputGate(terminal);
+
+        gate.write('a');
+        gate.write("bcd".getBytes(), 1, 2);
+        gate.shut();
+
+        try {
+            gate.write('x');
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // cut off
+        }
+
+        assertEquals("acd", terminal.toString());
+    }
+
+    @Test
+    public void printStreamSeesAnError() {
+        final ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+        final OutputGate gate = new OutputGate(terminal);
+        final PrintStream out = new PrintStream(gate);
+
+        out.print("before");
+        gate.shut();
+        out.print("after");
+
+        assertTrue(out.checkError());
+        assertEquals("before", terminal.toString());
+    }
+
+    @Test
+    public void closeLeavesTheTerminalOpen() throws Exception {
+        final ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+        final OutputGate gate = new OutputGate(terminal);
+
+        gate.close();
+        gate.write('a');
+
+        assertEquals("a", terminal.toString());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SessionExecutorTest {
+
+    private final SessionExecutor executor = new SessionExecutor(SessionExecutor.Mode.POOL, 1);
+
+    @After
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void rejectsAboveTheLimit() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<?> session = executor.submit(await(release));
+        assertEquals(1, executor.getActiveSessions());
+
+        try {
+            executor.submit(await(release));
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // the limit is one
+        }
+
+        release.countDown();
+        session.get(5, TimeUnit.SECONDS);
+        awaitActive(0);
+    }
+
+    @Test
+    public void cancelledSessionGivesItsPermitBackOnce() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final Future<?> session = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+                } catch (InterruptedException e) {
+                    // destroyed
+                }
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        session.cancel(true);
+        awaitActive(0);
+
+        // one permit back, not two
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(await(release));
+        try {
+            executor.submit(await(release));
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // still a limit of one
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void awaitActive(final int active) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 5000;
+        while (executor.getActiveSessions() != active && System.currentTimeMillis() < timeout) {
+            Thread.sleep(1);
+        }
+        assertEquals(active, executor.getActiveSessions());
+    }
+
+    private static Runnable await(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
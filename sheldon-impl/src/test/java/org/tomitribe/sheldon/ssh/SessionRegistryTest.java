@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tomitribe.sheldon.adapter.SecurityHandler;
+import org.tomitribe.sheldon.authenticator.Identity;
+import org.tomitribe.sheldon.stats.Stats;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SessionRegistryTest {
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(1);
+
+    private final SecurityHandler securityHandler = new SecurityHandler() {
+        @Override
+        public <T> Future<T> submit(final Callable<T> callable, final Identity identity) {
+            return threads.submit(callable);
+        }
+
+        @Override
+        public CompletableFuture<Identity> authenticate(final String username, final String password) {
+            return CompletableFuture.completedFuture(identity(username));
+        }
+    };
+
+    private static Identity identity(final String username) {
+        return new Identity(username, Collections.<String>emptyList());
+    }
+
+    @After
+    public void shutdown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void countsTraffic() throws Exception {
+        final SessionContext context = new SessionContext(securityHandler, identity("alice"));
+
+        final InputStream in = context.count(new ByteArrayInputStream("hello".getBytes()));
+        assertEquals('h', in.read());
+        assertEquals(4, in.read(new byte[16]));
+        assertEquals(-1, in.read());
+
+        final OutputStream out = context.count(new ByteArrayOutputStream());
+        out.write('x');
+        out.write(new byte[10], 2, 3);
+
+        assertEquals(5, context.getBytesRead());
+        assertEquals(4, context.getBytesWritten());
+    }
+
+    @Test
+    public void threadsHeldAndQueued() throws Exception {
+        final SessionRegistry sessions = new SessionRegistry();
+        final SessionContext context = new SessionContext(securityHandler, identity("alice"), "/10.0.0.1:1234", null);
+        sessions.add(context);
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<Object> first = context.submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                assertEquals(context, SessionContext.current());
+                running.countDown();
+                release.await();
+                return null;
+            }
+        });
+        final Future<Object> second = context.submit(new Callable<Object>() {
+            @Override
+            public Object call() {
+                return null;
+            }
+        });
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sessions.getThreadsHeld());
+        assertEquals(1, sessions.getQueuedWorks());
+
+        final String report = sessions.report();
+        assertTrue(report, report.contains("alice"));
+        assertTrue(report, report.contains("/10.0.0.1:1234"));
+        assertTrue(report, report.contains("pool-"));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0, sessions.getThreadsHeld());
+        assertEquals(0, sessions.getQueuedWorks());
+
+        sessions.remove(context);
+        assertEquals(0, sessions.getSessionCount());
+    }
+
+    @Test
+    public void killFreesTheThreads() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final SessionRegistry sessions = new SessionRegistry();
+        final SessionContext context = new SessionContext(securityHandler, identity("bob"), "/10.0.0.2:4321", new Closeable() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        sessions.add(context);
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final Future<Object> stuck = context.submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                running.countDown();
+                Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+                return null;
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertFalse(sessions.killSession(context.getId() + 1000));
+        assertTrue(sessions.killSession(context.getId()));
+        assertTrue(closed.get());
+
+        try {
+            stuck.get(5, TimeUnit.SECONDS);
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            // killed
+        }
+
+        // the thread is free again
+        assertEquals("free", threads.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return "free";
+            }
+        }).get(5, TimeUnit.SECONDS));
+        assertEquals(0, sessions.getThreadsHeld());
+    }
+
+    @Test
+    public void killOnlyYourOwnSessions() throws Exception {
+        final SessionRegistry sessions = new SessionRegistry();
+        final BuildIn buildIn = new BuildIn(new Stats(), sessions, "admin");
+
+        final AtomicBoolean killed = new AtomicBoolean();
+        final SessionContext alice = new SessionContext(securityHandler, identity("alice"), "/10.0.0.1:22", null);
+        final SessionContext bob = new SessionContext(securityHandler, identity("bob"), "/10.0.0.2:22", new Closeable() {
+            @Override
+            public void close() {
+                killed.set(true);
+            }
+        });
+        final SessionContext root = new SessionContext(securityHandler,
+                new Identity("root", Collections.singletonList("admin")), "/10.0.0.3:22", null);
+        final SessionContext aliceElsewhere = new SessionContext(securityHandler, identity("alice"), "/10.0.0.4:22", null);
+        sessions.add(alice);
+        sessions.add(bob);
+        sessions.add(root);
+        sessions.add(aliceElsewhere);
+
+        assertEquals("Not allowed to kill session " + bob.getId() + " of bob", killSession(buildIn, alice, bob.getId()));
+        assertFalse(killed.get());
+
+        assertEquals("Killed session " + bob.getId(), killSession(buildIn, root, bob.getId()));
+        assertTrue(killed.get());
+
+        assertEquals("Killed session " + aliceElsewhere.getId(), killSession(buildIn, alice, aliceElsewhere.getId()));
+    }
+
+    private static String killSession(final BuildIn buildIn, final SessionContext caller, final long id) throws Exception {
+        return caller.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return buildIn.killSession(id);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void mxbean() throws Exception {
+        final SessionRegistry sessions = new SessionRegistry();
+        final SessionContext context = new SessionContext(securityHandler, identity("carol"), "/10.0.0.3:22", null);
+        sessions.add(context);
+        context.executed();
+
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = new ObjectName("org.tomitribe.sheldon:type=Sessions,port=2222");
+        server.registerMBean(sessions, name);
+
+        assertEquals(1, server.getAttribute(name, "SessionCount"));
+
+        final TabularData table = (TabularData) server.getAttribute(name, "Sessions");
+        final CompositeData info = (CompositeData) table.get(new Object[]{context.getId()}).get("value");
+        assertEquals("carol", info.get("user"));
+        assertEquals("/10.0.0.3:22", info.get("remoteAddress"));
+        assertEquals(1L, info.get("commands"));
+
+        assertEquals(true, server.invoke(name, "killSession", new Object[]{context.getId()}, new String[]{long.class.getName()}));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Not a unit test, run the main method by hand.
+ *
+ * Opens N idle sessions, each parked the way a session waiting
+ * at the prompt is, and reports the live thread count and heap
+ * used per session for the legacy thread-per-session approach
+ * and for each SessionExecutor mode.
+ *
+ * Thread stacks are native memory and do not show in the heap
+ * numbers, every extra platform thread also reserves -Xss of stack.
+ *
+ *   java -cp ... org.tomitribe.sheldon.ssh.SessionThreadsBenchmark 200
+ */
+public class SessionThreadsBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Exception {
+        final int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        System.out.printf("%-10s %10s %14s %18s%n", "mode", "sessions", "threads added", "heap bytes/session");
+
+        legacy(sessions);
+        executor(SessionExecutor.Mode.POOL, sessions);
+        executor(SessionExecutor.Mode.VIRTUAL, sessions);
+    }
+
+    private static void legacy(final int sessions) throws InterruptedException {
+        final Baseline baseline = new Baseline();
+        final CountDownLatch idle = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(sessions);
+
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < sessions; i++) {
+            final Thread thread = new Thread(new IdleSession(started, idle));
+            thread.start();
+            threads.add(thread);
+        }
+
+        started.await();
+        baseline.report("thread", sessions);
+
+        idle.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void executor(final SessionExecutor.Mode mode, final int sessions) throws InterruptedException {
+        final SessionExecutor executor = new SessionExecutor(mode, sessions);
+        if (executor.getMode() != mode) {
+            System.out.printf("%-10s not supported by this JVM%n", mode.name().toLowerCase());
+            executor.shutdown();
+            return;
+        }
+
+        final Baseline baseline = new Baseline();
+        final CountDownLatch idle = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(sessions);
+
+        for (int i = 0; i < sessions; i++) {
+            executor.submit(new IdleSession(started, idle));
+        }
+
+        started.await();
+        baseline.report(mode.name().toLowerCase(), sessions);
+
+        idle.countDown();
+        executor.shutdown();
+    }
+
+    private static long heapUsed() {
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private static class Baseline {
+        private final int threads = THREADS.getThreadCount();
+        private final long heap = heapUsed();
+
+        public void report(final String name, final int sessions) {
+            final int addedThreads = THREADS.getThreadCount() - threads;
+            final long heapPerSession = (heapUsed() - heap) / sessions;
+            System.out.printf("%-10s %10s %14s %18s%n", name, sessions, addedThreads, heapPerSession);
+        }
+    }
+
+    private static class IdleSession implements Runnable {
+        private final CountDownLatch started;
+        private final CountDownLatch idle;
+
+        public IdleSession(final CountDownLatch started, final CountDownLatch idle) {
+            this.started = started;
+            this.idle = idle;
+        }
+
+        @Override
+        public void run() {
+            started.countDown();
+            try {
+                idle.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import jline.console.ConsoleReader;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Not a unit test, run the main method by hand.
+ *
+ * Prints 5 MB of properties-like output through the stream the
+ * console used to wrap the channel in and through TerminalOutputStream,
+ * reporting MB/s and how many writes reached the channel.
+ */
+public class TerminalOutputStreamBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final String line = "java.vm.specification.vendor = Oracle Corporation and some more text";
+        final long lines = megabytes * 1024L * 1024L / (line.length() + 1);
+
+        for (int round = 0; round < 5; round++) {
+            run("legacy", lines, line, new Sink() {
+                @Override
+                OutputStream wrap(final OutputStream out) {
+                    return legacy(out);
+                }
+            });
+            run("terminal", lines, line, new Sink() {
+                @Override
+                OutputStream wrap(final OutputStream out) {
+                    return new TerminalOutputStream(out, true, 32 * 1024);
+                }
+            });
+        }
+    }
+
+    private static void run(final String name, final long lines, final String line, final Sink sink) throws IOException {
+        final PrintStream out = new PrintStream(sink.wrap(sink));
+
+        final long start = System.nanoTime();
+        for (long i = 0; i < lines; i++) {
+            out.println(line);
+        }
+        out.flush();
+        final long nanos = System.nanoTime() - start;
+
+        final double mb = sink.bytes / (1024.0 * 1024.0);
+        System.out.printf("%-10s %8.1f MB/s %10s channel writes%n", name, mb / (nanos / 1e9), sink.writes);
+    }
+
+    /**
+     * The anonymous stream ConsoleSession used before
+     */
+    private static OutputStream legacy(final OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(final int i) throws IOException {
+                super.write(i);
+
+                if (i == ConsoleReader.CR.toCharArray()[0]) {
+                    super.write(ConsoleReader.RESET_LINE);
+                }
+            }
+        };
+    }
+
+    private abstract static class Sink extends OutputStream {
+        long writes;
+        long bytes;
+
+        abstract OutputStream wrap(OutputStream out);
+
+        @Override
+        public void write(final int b) {
+            writes++;
+            bytes++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            writes++;
+            bytes += len;
+        }
+    }
+}
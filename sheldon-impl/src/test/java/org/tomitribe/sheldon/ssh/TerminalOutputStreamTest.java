@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.ssh;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class TerminalOutputStreamTest {
+
+    @Test
+    public void translatesSingleBytes() throws IOException {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final TerminalOutputStream out = new TerminalOutputStream(sink, true, 16);
+
+        for (byte b : "one\ntwo\n".getBytes()) {
+            out.write(b);
+        }
+        out.flush();
+
+        assertEquals("one\n\rtwo\n\r", sink.toString());
+    }
+
+    @Test
+    public void translatesArrays() throws IOException {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final TerminalOutputStream out = new TerminalOutputStream(sink, true, 16);
+
+        out.write("\none\n\ntwo three four five six\nseven".getBytes());
+        out.flush();
+
+        assertEquals("\n\rone\n\r\n\rtwo three four five six\n\rseven", sink.toString());
+    }
+
+    @Test
+    public void noTranslation() throws IOException {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final TerminalOutputStream out = new TerminalOutputStream(sink, false, 4);
+
+        out.write("one\ntwo\n".getBytes());
+        out.write('x');
+        out.flush();
+
+        assertEquals("one\ntwo\nx", sink.toString());
+    }
+
+    @Test
+    public void buffersUntilFlush() throws IOException {
+        final CountingStream sink = new CountingStream();
+        final TerminalOutputStream out = new TerminalOutputStream(sink, true, 1024);
+
+        for (int i = 0; i < 100; i++) {
+            out.write("line\n".getBytes());
+        }
+
+        assertEquals(0, sink.writes);
+
+        out.flush();
+        out.flush();
+
+        assertEquals(1, sink.writes);
+        assertEquals(1, sink.flushes);
+        assertEquals(600, sink.bytes);
+    }
+
+    private static class CountingStream extends OutputStream {
+        private int writes;
+        private int flushes;
+        private long bytes;
+
+        @Override
+        public void write(final int b) throws IOException {
+            writes++;
+            bytes++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            writes++;
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+        }
+    }
+}
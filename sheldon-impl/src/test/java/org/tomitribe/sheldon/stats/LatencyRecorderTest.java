@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.stats;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void bucketsAreContiguous() {
+        int previous = -1;
+        for (long value = 0; value < 1 << 20; value++) {
+            final int index = LatencyRecorder.index(value);
+            assertTrue("at " + value, index == previous || index == previous + 1);
+            previous = index;
+        }
+        assertEquals(LatencyRecorder.BUCKETS - 1, LatencyRecorder.index((1L << 42) - 1));
+    }
+
+    @Test
+    public void percentilesWithinThreePercent() {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final long[] values = new long[10000];
+        final Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) (Math.exp(random.nextDouble() * 20));
+            recorder.record(values[i]);
+        }
+        java.util.Arrays.sort(values);
+
+        final LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            final long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long actual = snapshot.getValueAtPercentile(percentile);
+            assertTrue(percentile + ": " + actual + " vs " + expected, Math.abs(actual - expected) <= Math.max(1, expected * 0.03));
+        }
+        assertEquals(values[values.length - 1], snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void hugeAndNegativeValues() {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(-5);
+        recorder.record(Long.MAX_VALUE / 2);
+
+        final LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE / 2, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void concurrentRecording() throws Exception {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final int threads = 4;
+        final int perThread = 100000;
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final Thread[] recorders = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            recorders[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        recorder.record(i);
+                    }
+                }
+            });
+            recorders[t].start();
+        }
+        start.countDown();
+        for (Thread thread : recorders) {
+            thread.join();
+        }
+
+        assertEquals(threads * perThread, recorder.snapshot().getCount());
+
+        recorder.reset();
+        assertEquals(0, recorder.snapshot().getCount());
+        assertEquals(0, recorder.snapshot().getMax());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.stats;
+
+import org.junit.Test;
+import org.tomitribe.sheldon.stats.CommandStats.Phase;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StatsTest {
+
+    @Test
+    public void oneStatsPerCommand() {
+        final Stats stats = new Stats();
+        assertSame(stats.get("ls"), stats.get("ls"));
+    }
+
+    @Test
+    public void report() {
+        final Stats stats = new Stats();
+        final CommandStats ls = stats.get("ls");
+        ls.record(Phase.PARSE, TimeUnit.MICROSECONDS.toNanos(20));
+        ls.record(Phase.DISPATCH, TimeUnit.MILLISECONDS.toNanos(2));
+        ls.record(Phase.DISPATCH, TimeUnit.MILLISECONDS.toNanos(4));
+        ls.error();
+
+        final String[] lines = stats.report(false).split("\\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0], lines[0].matches("command +count +errors +rate/s +p50 ms +p99 ms +max ms"));
+        assertTrue(lines[1], lines[1].matches("ls +2 +1 +[0-9.]+ +(1\\.9|2\\.0)[0-9]+ +4\\.000 +4\\.000"));
+
+        final String[] phases = stats.report(true).split("\\n");
+        assertEquals(4, phases.length);
+        assertTrue(phases[2], phases[2].matches("  parse +1 +0\\.020 +0\\.020 +0\\.020"));
+        assertTrue(phases[3], phases[3].startsWith("  dispatch "));
+
+        stats.reset();
+        assertEquals(0, stats.getCommands().get("ls").getCount());
+        assertEquals(0, stats.getCommands().get("ls").getErrors());
+    }
+
+    @Test
+    public void mxbean() throws Exception {
+        final Stats stats = new Stats();
+        stats.get("ls").record(Phase.DISPATCH, TimeUnit.MILLISECONDS.toNanos(3));
+        stats.get("ls").record(Phase.INVOKE, TimeUnit.MILLISECONDS.toNanos(1));
+
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = new ObjectName("org.tomitribe.sheldon:type=Stats,port=2222");
+        server.registerMBean(stats, name);
+
+        final TabularData commands = (TabularData) server.getAttribute(name, "Commands");
+        final CompositeData ls = (CompositeData) commands.get(new Object[]{"ls"}).get("value");
+        assertEquals(1L, ls.get("count"));
+        assertEquals(0L, ls.get("errors"));
+        assertEquals(3.0, (Double) ls.get("maxMillis"), 0.001);
+
+        final TabularData phases = (TabularData) ls.get("phases");
+        final CompositeData invoke = (CompositeData) phases.get(new Object[]{"invoke"}).get("value");
+        assertEquals(1.0, (Double) invoke.get("maxMillis"), 0.001);
+
+        assertNotNull(server.getAttribute(name, "Report"));
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        assertEquals(0, stats.getCommands().get("ls").getCount());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.tomitribe.sheldon.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PipeTest {
+
+    @Test
+    public void readsWhatWasWritten() throws IOException {
+        final Pipe pipe = new Pipe(8);
+
+        pipe.getOutputStream().write("hello".getBytes());
+        pipe.getOutputStream().close();
+
+        assertEquals("hello", read(pipe.getInputStream()));
+    }
+
+    @Test
+    public void wrapsAround() throws IOException {
+        final Pipe pipe = new Pipe(4);
+        final OutputStream out = pipe.getOutputStream();
+        final InputStream in = pipe.getInputStream();
+        final byte[] b = new byte[3];
+
+        out.write("abc".getBytes());
+        assertEquals(3, in.read(b));
+
+        out.write("def".getBytes());
+        assertEquals(3, in.read(b));
+        assertEquals("def", new String(b));
+
+        out.write('g');
+        assertEquals('g', in.read());
+    }
+
+    @Test
+    public void streamsMoreThanTheBuffer() throws Exception {
+        final Pipe pipe = new Pipe(64);
+        final byte[] data = new byte[100000];
+        new Random(42).nextBytes(data);
+
+        final Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try (final OutputStream out = pipe.getOutputStream()) {
+                    for (int i = 0; i < data.length; i += 1000) {
+                        out.write(data, i, Math.min(1000, data.length - i));
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        writer.start();
+
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[37];
+        int n;
+        while ((n = pipe.getInputStream().read(buffer)) != -1) {
+            received.write(buffer, 0, n);
+        }
+
+        writer.join();
+        assertArrayEquals(data, received.toByteArray());
+    }
+
+    @Test
+    public void brokenPipe() throws Exception {
+        final Pipe pipe = new Pipe(4);
+        final OutputStream out = pipe.getOutputStream();
+
+        out.write("full".getBytes());
+
+        final Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                    pipe.getInputStream().close();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        reader.start();
+
+        try {
+            // blocks on the full buffer until the reader goes away
+            out.write('x');
+            fail("Expected a broken pipe");
+        } catch (IOException e) {
+            assertEquals("Broken pipe", e.getMessage());
+        }
+
+        reader.join();
+    }
+
+    @Test
+    public void growsUntilTheReaderStarts() throws IOException {
+        final Pipe pipe = new Pipe(4, 16);
+        final OutputStream out = pipe.getOutputStream();
+
+        // would block on a plain pipe of that size
+        out.write("0123456789".getBytes());
+        out.close();
+
+        pipe.readerStarted();
+        assertEquals("0123456789", read(pipe.getInputStream()));
+    }
+
+    @Test
+    public void failsBeyondTheLimit() throws IOException {
+        final Pipe pipe = new Pipe(4, 8);
+        final OutputStream out = pipe.getOutputStream();
+
+        out.write("01234567".getBytes());
+        try {
+            out.write('8');
+            fail("Expected a full pipe");
+        } catch (IOException e) {
+            assertEquals("Pipe full, the next command has not started", e.getMessage());
+        }
+    }
+
+    @Test
+    public void eofOnEmptyClosedPipe() throws IOException {
+        final Pipe pipe = new Pipe(4);
+        pipe.getOutputStream().close();
+
+        assertEquals(-1, pipe.getInputStream().read());
+        assertEquals(-1, pipe.getInputStream().read(new byte[4]));
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            out.write(b);
+        }
+        return out.toString();
+    }
+}
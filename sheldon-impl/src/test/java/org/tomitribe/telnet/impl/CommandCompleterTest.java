@@ -17,28 +17,42 @@
 package org.tomitribe.telnet.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 import jline.console.completer.Completer;
 
 import org.junit.Before;
 import org.junit.Test;
-import org.tomitribe.crest.Main;
 import org.tomitribe.crest.api.Command;
+import org.tomitribe.crest.cmds.Cmd;
+import org.tomitribe.crest.cmds.processors.Commands;
 import org.tomitribe.sheldon.ssh.CommandCompleter;
+import org.tomitribe.sheldon.ssh.CompletionIndex;
 
 import static org.junit.Assert.*;
 
 public class CommandCompleterTest {
 
     public static final String UNIT_TEST_PROMPT = "unittest>";
-    protected Main main;
+    protected Collection<Cmd> exitCommands;
+    protected CompletionIndex index;
     protected Completer completer;
 
     @Before
     public void setUp() {
-        main = new Main(EchoCommand.class);
-        completer = new CommandCompleter(main);
+        exitCommands = Commands.get(new ExitCommand()).values();
+        index = CompletionIndex.EMPTY
+                .with(Commands.get(new EchoCommand()).values())
+                .with(exitCommands);
+
+        completer = new CommandCompleter(new Supplier<CompletionIndex>() {
+            @Override
+            public CompletionIndex get() {
+                return index;
+            }
+        });
     }
 
     @Test
@@ -67,6 +81,41 @@ public class CommandCompleterTest {
         assertTrue(candidates.contains("echo "));
     }
 
+    @Test
+    public void testShouldOnlyReturnCommandsMatchingThePrefix() throws Exception {
+        final List<CharSequence> candidates = new ArrayList<CharSequence>();
+        final int position = completer.complete("ex", 2, candidates);
+
+        assertEquals(0, position);
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains("exit "));
+    }
+
+    @Test
+    public void testShouldReturnNothingForAnUnknownCommand() throws Exception {
+        final List<CharSequence> candidates = new ArrayList<CharSequence>();
+        completer.complete("unknown --", 10, candidates);
+
+        assertTrue(candidates.isEmpty());
+    }
+
+    @Test
+    public void testShouldNotCompleteRemovedCommands() throws Exception {
+        index = index.without(exitCommands);
+
+        final List<CharSequence> candidates = new ArrayList<CharSequence>();
+        completer.complete("ex", 2, candidates);
+
+        assertTrue(candidates.isEmpty());
+    }
+
+    public static class ExitCommand {
+
+        @Command
+        public void exit() {
+        }
+    }
+
     public static class EchoCommand {
 
         @Command